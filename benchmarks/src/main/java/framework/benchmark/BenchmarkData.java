@@ -0,0 +1,160 @@
+package framework.benchmark;
+
+import framework.cache.SolutionCache;
+import framework.kp.KpThing;
+import framework.matrix.CostMatrix;
+import framework.utils.WriteDataUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Генерация воспроизводимых данных задач для бенчмарков
+ * <p>
+ * Все данные строятся по фиксированному зерну, поэтому каждый запуск измеряет одни и те же экземпляры.
+ * Файлы, которые библиотека пишет при создании и решении задач, направляются во временный каталог.
+ */
+public class BenchmarkData {
+    /**
+     * Зерно генерации данных
+     */
+    public static final long SEED = 20240101L;
+
+    /**
+     * Временный каталог для файлов результатов
+     */
+    private static Path outputDirectory;
+
+    /**
+     * Направить запись файлов библиотеки во временный каталог и выключить кэш решений,
+     * чтобы каждое измерение решало задачу заново
+     */
+    public static synchronized void redirectOutput() {
+        SolutionCache.setInstance(SolutionCache.disabled());
+        try {
+            if (outputDirectory == null) {
+                outputDirectory = Files.createTempDirectory("np_complete_reduction-bench");
+            }
+            WriteDataUtils.setPath(outputDirectory.toString() + File.separator);
+            WriteDataUtils.setPathId(0);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return временный каталог для файлов результатов
+     */
+    public static Path getOutputDirectory() {
+        redirectOutput();
+        return outputDirectory;
+    }
+
+    /**
+     * Весовая матрица графа для задачи коммивояжера
+     * <p>
+     * Ребра i -> i + 1 (и последней вершины в 0) всегда есть, поэтому гамильтонов цикл существует
+     * при любой плотности.
+     * @param size    - количество вершин
+     * @param density - процент заполненности матрицы (100 - полная матрица)
+     */
+    public static CostMatrix pathMatrix(int size, int density) {
+        Random random = new Random(SEED + size * 31L + density);
+        CostMatrix matrix = CostMatrix.filled(size, size, INF);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                boolean cycleEdge = j == (i + 1) % size;
+                if (i != j && (cycleEdge || random.nextInt(100) < density)) {
+                    matrix.set(i, j, 1 + random.nextInt(100));
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Квадратная матрица двухуровневой задачи о назначениях
+     * @param size     - размер матрицы
+     * @param maxValue - максимальное значение (чем меньше, тем больше назначений с равным весом)
+     * @param salt     - дополнительное зерно, чтобы матрицы стоимостей и зарплат различались
+     */
+    public static CostMatrix assignmentMatrix(int size, int maxValue, int salt) {
+        Random random = new Random(SEED + size * 31L + maxValue * 17L + salt);
+        CostMatrix matrix = new CostMatrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.set(i, j, random.nextInt(maxValue + 1));
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Список вещей задачи о рюкзаке
+     * @param count - количество вещей
+     */
+    public static List<KpThing> things(int count) {
+        Random random = new Random(SEED + count);
+        List<KpThing> things = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int weight = 1 + random.nextInt(20);
+            double cost = 1 + random.nextInt(100);
+            things.add(new KpThing(Integer.toString(i), weight, cost, 1 + random.nextInt(3)));
+        }
+        return things;
+    }
+
+    /**
+     * Максимальный вес рюкзака как процент от суммарного веса всех вещей
+     * @param things  - список вещей
+     * @param percent - процент от суммарного веса
+     */
+    public static int capacity(List<KpThing> things, int percent) {
+        long total = 0;
+        int maxWeight = 1;
+        for (KpThing thing : things) {
+            total += (long) thing.weight() * thing.count();
+            maxWeight = Math.max(maxWeight, thing.weight());
+        }
+        return (int) Math.max(maxWeight, total * percent / 100);
+    }
+
+    /**
+     * Запись матрицы в файл в формате чтения задач: значения через пробел, отсутствующее ребро - inf
+     * @param matrix - матрица
+     * @param name   - имя файла во временном каталоге
+     * @return путь к файлу
+     */
+    public static String writeMatrixFile(CostMatrix matrix, String name) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                if (j > 0) {
+                    text.append(' ');
+                }
+                double value = matrix.get(i, j);
+                text.append(value == INF ? WriteDataUtils.INF_STRING : Double.toString(value));
+            }
+            if (i < matrix.getRows() - 1) {
+                text.append(WriteDataUtils.ENTER);
+            }
+        }
+        Path path = getOutputDirectory().resolve(name);
+        try {
+            Files.writeString(path, text);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return path.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package framework.benchmark;
+
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.cap.CapAssignmentMethod;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк решения двухуровневой задачи о назначениях венгерским алгоритмом
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapAssignmentBenchmark {
+    /**
+     * Размер матриц задачи
+     */
+    @Param({"100", "500"})
+    public int size;
+
+    /**
+     * Максимальное значение зарплаты и стоимости (чем меньше, тем больше назначений с равным весом)
+     */
+    @Param({"10", "10000"})
+    public int maxValue;
+
+    /**
+     * Способ решения
+     */
+    @Param({"HUNGARIAN", "BILEVEL"})
+    public CapAssignmentMethod method;
+
+    private Cap cap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        cap = Cap.byMatrix(
+                BenchmarkData.assignmentMatrix(size, maxValue, 0),
+                BenchmarkData.assignmentMatrix(size, maxValue, 1)
+        );
+    }
+
+    @Benchmark
+    public void solveAssignment() {
+        cap.solveAssignment(method);
+    }
+}
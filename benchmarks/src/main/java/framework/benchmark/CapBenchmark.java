@@ -0,0 +1,52 @@
+package framework.benchmark;
+
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.cap.Cap;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк точного решения двухуровневой задачи о назначениях как задачи с минимальным путем
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CapBenchmark {
+    /**
+     * Размер матриц задачи
+     */
+    @Param({"6", "8"})
+    public int size;
+
+    /**
+     * Максимальное значение зарплаты и стоимости (чем меньше, тем больше решений с равным весом)
+     */
+    @Param({"10", "1000"})
+    public int maxValue;
+
+    /**
+     * Способ точного решения
+     */
+    @Param({"EXHAUSTIVE", "HELD_KARP", "BRANCH_AND_BOUND", "PARALLEL"})
+    public PathSolveMethod method;
+
+    private Cap cap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        cap = Cap.byMatrix(
+                BenchmarkData.assignmentMatrix(size, maxValue, 0),
+                BenchmarkData.assignmentMatrix(size, maxValue, 1)
+        );
+    }
+
+    @Benchmark
+    public void solve() {
+        cap.solve(method);
+    }
+}
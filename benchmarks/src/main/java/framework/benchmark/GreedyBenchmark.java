@@ -0,0 +1,71 @@
+package framework.benchmark;
+
+import framework.algorithm.DynamicAlgorithm;
+import framework.algorithm.GreedyEdgeAlgorithm;
+import framework.kp.KpThing;
+import framework.matrix.CostMatrix;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк жадных алгоритмов: {@link DynamicAlgorithm} для графа и для рюкзака, {@link GreedyEdgeAlgorithm}
+ * для графа (построение списков соседей входит в измерение)
+ * <p>
+ * findKpPath на каждом вызове дописывает результат в файл, запись входит в измерение.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreedyBenchmark {
+    /**
+     * Количество вершин графа и количество вещей рюкзака
+     */
+    @Param({"100", "500"})
+    public int size;
+
+    /**
+     * Процент заполненности матрицы графа и максимальный вес рюкзака в процентах от суммарного веса вещей
+     */
+    @Param({"50", "100"})
+    public int density;
+
+    private CostMatrix matrix;
+
+    private List<KpThing> things;
+
+    private int capacity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        matrix = BenchmarkData.pathMatrix(size, density).snapshot();
+        things = BenchmarkData.things(size);
+        capacity = BenchmarkData.capacity(things, density);
+    }
+
+    @Benchmark
+    public double findPath() {
+        DynamicAlgorithm dynamicAlgorithm = new DynamicAlgorithm(matrix);
+        dynamicAlgorithm.findPath(size);
+        return dynamicAlgorithm.getMinWeight();
+    }
+
+    @Benchmark
+    public double findGreedyEdgePath() {
+        GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(matrix);
+        greedyEdgeAlgorithm.findPath();
+        return greedyEdgeAlgorithm.getMinWeight();
+    }
+
+    @Benchmark
+    public double findKpPath() {
+        DynamicAlgorithm dynamicAlgorithm = new DynamicAlgorithm(things);
+        dynamicAlgorithm.findKpPath(capacity);
+        return dynamicAlgorithm.getMinWeight();
+    }
+}
@@ -0,0 +1,53 @@
+package framework.benchmark;
+
+import framework.kp.Kp;
+import framework.kp.KpSolveMethod;
+import framework.kp.KpThing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк точного решения стандартной задачи о рюкзаке всеми способами
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KpBenchmark {
+    /**
+     * Количество вещей
+     */
+    @Param({"10", "15"})
+    public int things;
+
+    /**
+     * Максимальный вес рюкзака в процентах от суммарного веса всех вещей
+     */
+    @Param({"25", "50"})
+    public int density;
+
+    /**
+     * Способ точного решения
+     */
+    @Param({"EXHAUSTIVE", "DYNAMIC", "BRANCH_AND_BOUND"})
+    public KpSolveMethod method;
+
+    private Kp kp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        List<KpThing> list = BenchmarkData.things(things);
+        kp = Kp.byValues(BenchmarkData.capacity(list, density), new ArrayList<>(list));
+    }
+
+    @Benchmark
+    public void solve() {
+        kp.solve(method);
+    }
+}
@@ -0,0 +1,60 @@
+package framework.benchmark;
+
+import framework.algorithm.LinKernighanAlgorithm;
+import framework.algorithm.LocalSearchAlgorithm;
+import framework.matrix.CostMatrix;
+import framework.utils.RandomValueUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк локального поиска {@link LocalSearchAlgorithm} от жадного цикла по ребрам до локального минимума
+ * и эвристики {@link LinKernighanAlgorithm} с фиксированным количеством возмущений
+ * <p>
+ * EUCLIDEAN - симметричная матрица расстояний между случайными точками, RANDOM - несимметричная полная
+ * матрица случайных весов. Построение списков соседей входит в измерение.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalSearchBenchmark {
+    /**
+     * Количество вершин
+     */
+    @Param({"200", "1000"})
+    public int size;
+
+    /**
+     * Вид матрицы
+     */
+    @Param({"EUCLIDEAN", "RANDOM"})
+    public String matrixType;
+
+    private CostMatrix matrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        matrix = "EUCLIDEAN".equals(matrixType)
+                ? RandomValueUtils.getEuclideanMatrix(BenchmarkData.SEED, size, 10000, false)
+                : RandomValueUtils.getPathMatrix(BenchmarkData.SEED, size, 1, 1000, 100, false);
+    }
+
+    @Benchmark
+    public double findPath() {
+        LocalSearchAlgorithm localSearchAlgorithm = new LocalSearchAlgorithm(matrix);
+        localSearchAlgorithm.findPath(0);
+        return localSearchAlgorithm.getMinWeight();
+    }
+
+    @Benchmark
+    public double linKernighan() {
+        LinKernighanAlgorithm linKernighanAlgorithm = new LinKernighanAlgorithm(matrix);
+        linKernighanAlgorithm.findPath(0, 1000, 1);
+        return linKernighanAlgorithm.getMinWeight();
+    }
+}
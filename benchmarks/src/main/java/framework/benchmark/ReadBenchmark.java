@@ -0,0 +1,68 @@
+package framework.benchmark;
+
+import framework.matrix.CostMatrix;
+import framework.utils.BinaryContent;
+import framework.utils.ReadDataUtils;
+import framework.utils.WriteDataUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк чтения матрицы задачи из файла
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+    /**
+     * Количество строк и столбцов матрицы в файле
+     */
+    @Param({"100", "500"})
+    public int size;
+
+    /**
+     * Процент заполненности матрицы (остальные значения - inf)
+     */
+    @Param({"50", "100"})
+    public int density;
+
+    private String file;
+
+    private String binaryFile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        file = BenchmarkData.writeMatrixFile(
+                BenchmarkData.pathMatrix(size, density),
+                String.format("read_%d_%d.txt", size, density)
+        );
+        binaryFile = BenchmarkData.getOutputDirectory().resolve(String.format("read_%d_%d.bin", size, density)).toString();
+        WriteDataUtils.writeBinaryMatrices(binaryFile, BinaryContent.TSP, ReadDataUtils.readMatrices(file, 1).get(0));
+    }
+
+    @Benchmark
+    public List<List<String>> read() {
+        return ReadDataUtils.read(file);
+    }
+
+    @Benchmark
+    public ArrayList<ArrayList<Double>> readDoubleMatrix() {
+        return ReadDataUtils.readDoubleMatrix(ReadDataUtils.read(file), 0);
+    }
+
+    @Benchmark
+    public List<CostMatrix> readMatrices() {
+        return ReadDataUtils.readMatrices(file);
+    }
+
+    @Benchmark
+    public List<CostMatrix> readBinaryMatrices() {
+        return ReadDataUtils.readBinaryMatrices(binaryFile, BinaryContent.TSP, 1);
+    }
+}
@@ -0,0 +1,81 @@
+package framework.benchmark;
+
+import framework.kp.Kp;
+import framework.kp.KpThing;
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.tsp.Tsp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк сведений задач друг к другу
+ * <p>
+ * Каждое сведение создает объект задачи и дописывает его данные в файл, запись входит в измерение.
+ * Задача о рюкзаке с максимальным весом W сводится к графу из (2W - 1) вершин, поэтому вес рюкзака
+ * здесь ограничен.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReductionBenchmark {
+    /**
+     * Минимальный вес рюкзака - не меньше веса любой вещи
+     */
+    private static final int MIN_KP_WEIGHT = 20;
+
+    /**
+     * Количество вершин графа, размер матриц назначений и количество вещей рюкзака
+     */
+    @Param({"10", "50"})
+    public int size;
+
+    /**
+     * Процент заполненности матрицы графа, максимальный вес рюкзака - процент от количества вещей
+     */
+    @Param({"50", "100"})
+    public int density;
+
+    private Tsp tsp;
+
+    private Cap cap;
+
+    private Kp kp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        tsp = Tsp.byMatrix(BenchmarkData.pathMatrix(size, density));
+        cap = Cap.byMatrix(
+                BenchmarkData.assignmentMatrix(size, 100, 0),
+                BenchmarkData.assignmentMatrix(size, 100, 1)
+        );
+        List<KpThing> things = BenchmarkData.things(size);
+        kp = Kp.byValues(Math.max(size * density / 100, MIN_KP_WEIGHT), new ArrayList<>(things));
+    }
+
+    @Benchmark
+    public Cap tspToCap() {
+        return tsp.toCap();
+    }
+
+    @Benchmark
+    public Kp tspToKp() {
+        return tsp.toKp();
+    }
+
+    @Benchmark
+    public Tsp capToTsp() {
+        return cap.toTsp();
+    }
+
+    @Benchmark
+    public Tsp kpToTsp() {
+        return kp.toTSP();
+    }
+}
@@ -0,0 +1,49 @@
+package framework.benchmark;
+
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк точного решения задачи коммивояжера всеми способами
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TspBenchmark {
+    /**
+     * Количество вершин
+     */
+    @Param({"8", "10"})
+    public int size;
+
+    /**
+     * Процент заполненности матрицы
+     */
+    @Param({"50", "100"})
+    public int density;
+
+    /**
+     * Способ точного решения
+     */
+    @Param({"EXHAUSTIVE", "HELD_KARP", "BRANCH_AND_BOUND", "PARALLEL"})
+    public PathSolveMethod method;
+
+    private Tsp tsp;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.redirectOutput();
+        tsp = Tsp.byMatrix(BenchmarkData.pathMatrix(size, density));
+    }
+
+    @Benchmark
+    public void solve() {
+        tsp.solve(method);
+    }
+}
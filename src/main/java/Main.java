@@ -1,11 +1,27 @@
+import framework.batch.BatchRunner;
 import framework.kp.Kp;
 import framework.pathproblem.cap.Cap;
 import framework.pathproblem.tsp.Tsp;
 import framework.utils.WriteDataUtils;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 public class Main {
 
     public static void main(String[] args) {
+        // пакетное решение: каталог или список файлов экземпляров и выходной каталог
+        if (args.length > 0) {
+            BatchRunner batchRunner = new BatchRunner(args.length > 1 ? args[1] : "src/result/batch");
+            if (Files.isDirectory(Path.of(args[0]))) {
+                batchRunner.runDirectory(args[0]);
+            }
+            else {
+                batchRunner.runManifest(args[0]);
+            }
+            return;
+        }
+
         WriteDataUtils.setPathId(0);
         Cap cap = Cap.byRandomDoubleValues(5, 0, 50, 0, 10);
         cap.solveWithWriteFile();
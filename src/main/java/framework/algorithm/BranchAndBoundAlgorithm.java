@@ -0,0 +1,329 @@
+package framework.algorithm;
+
+import framework.anytime.SolveControl;
+import framework.matrix.CostMatrix;
+import framework.metrics.SolveMetrics;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Метод ветвей и границ для точного поиска гамильтонова цикла минимального веса
+ * <p>
+ * Нижняя граница узла - сумма приведения матрицы по строкам и столбцам (алгоритм Литтла).
+ * При переходе cur -> k строка cur и столбец k вычеркиваются, ребро k -> 0 запрещается,
+ * граница потомка = граница узла + приведенный вес ребра + приведение новой матрицы.
+ * <p>
+ * Потомки раскрываются в порядке возрастания нижней границы, узел отсекается,
+ * если его граница не меньше найденного (рекордного) пути.
+ */
+public class BranchAndBoundAlgorithm extends LoggerProvider {
+    /**
+     * Значение вычеркнутой ячейки приведенной матрицы (в отличие от INF - отсутствующего ребра)
+     */
+    private static final double BLOCKED = Double.POSITIVE_INFINITY;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Исходная матрица графа, построчно
+     */
+    private final double[] matrix;
+
+    /**
+     * Количество вершин графа
+     */
+    private final int size;
+
+    /**
+     * Приведенные матрицы для каждого уровня дерева поиска
+     */
+    private final double[][] levels;
+
+    /**
+     * Нижние границы потомков для каждого уровня дерева поиска
+     */
+    private final double[][] childBounds;
+
+    /**
+     * Порядок раскрытия потомков для каждого уровня дерева поиска
+     */
+    private final int[][] childOrders;
+
+    /**
+     * Текущий путь поиска
+     */
+    private final int[] currentPath;
+
+    /**
+     * Посещенные вершины текущего пути
+     */
+    private final boolean[] visited;
+
+    /**
+     * Кратчайший путь
+     */
+    private final ArrayList<Integer> minPath;
+
+    /**
+     * Минимальный вес пути
+     */
+    private double minWeight;
+
+    /**
+     * Количество раскрытых узлов дерева поиска
+     */
+    private long nodesExplored;
+
+    /**
+     * Количество отсеченных узлов дерева поиска
+     */
+    private long nodesPruned;
+
+    /**
+     * Управление поиском: ограничение времени, отмена и оповещение о новых рекордах
+     */
+    private SolveControl<List<Integer>> control = SolveControl.unlimited();
+
+    /**
+     * Счетчики поиска: раскрытые узлы по глубине, отсечения, улучшения рекорда
+     */
+    private SolveMetrics metrics;
+
+    /**
+     * Конструктор метода ветвей и границ
+     * @param matrix - матрица графа
+     */
+    public BranchAndBoundAlgorithm(CostMatrix matrix) {
+        super(BranchAndBoundAlgorithm.class);
+        size = matrix.getRows();
+        this.matrix = matrix.toArray();
+        levels = new double[size + 1][size * size];
+        childBounds = new double[size][size];
+        childOrders = new int[size][size];
+        currentPath = new int[size];
+        visited = new boolean[size];
+        minPath = new ArrayList<>();
+        metrics = new SolveMetrics(BranchAndBoundAlgorithm.class.getSimpleName(), "BRANCH_AND_BOUND", size);
+    }
+
+    /**
+     * Установить счетчики решения, в которые алгоритм записывает раскрытые и отсеченные узлы
+     * @param metrics - счетчики решения
+     */
+    public void setMetrics(SolveMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Установить управление поиском (ограничение времени, отмена, слушатель рекордов)
+     * @param control - управление поиском
+     */
+    public void setControl(SolveControl<List<Integer>> control) {
+        this.control = control;
+    }
+
+    /**
+     * @return кратчайший путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    public ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return минимальный вес пути
+     */
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    /**
+     * @return количество раскрытых узлов дерева поиска
+     */
+    public long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * @return количество отсеченных узлов дерева поиска
+     */
+    public long getNodesPruned() {
+        return nodesPruned;
+    }
+
+    /**
+     * Поиск гамильтонова цикла минимального веса
+     * @param upperBound - вес начального (рекордного) пути, например найденного жадным алгоритмом
+     * @param upperPath  - начальный путь, возвращается если не найден путь меньшего веса
+     */
+    public void findPath(double upperBound, List<Integer> upperPath) {
+        logInfo("Поиск кратчайшего пути методом ветвей и границ");
+        long startTime = System.nanoTime();
+        minWeight = upperBound;
+        minPath.clear();
+        minPath.addAll(upperPath);
+        nodesExplored = 0;
+        nodesPruned = 0;
+
+        double[] root = levels[0];
+        System.arraycopy(matrix, 0, root, 0, matrix.length);
+        for (int i = 0; i < size; i++) {
+            root[i * size + i] = BLOCKED;
+        }
+        double rootBound = reduce(root);
+        visited[0] = true;
+        currentPath[0] = 0;
+        if (rootBound < minWeight) {
+            branch(0, 1, rootBound, ZERO_DOUBLE);
+        }
+        else {
+            nodesPruned++;
+            metrics.prune();
+        }
+        visited[0] = false;
+
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        logInfo(String.format("Раскрыто узлов: %d, отсечено узлов: %d", nodesExplored, nodesPruned));
+        if (control.isStopped()) {
+            logInfo("Поиск остановлен до завершения, путь может быть не кратчайшим");
+        }
+    }
+
+    /**
+     * Раскрытие узла дерева поиска
+     * @param current     - последняя вершина текущего пути
+     * @param depth       - количество вершин в текущем пути
+     * @param bound       - нижняя граница узла
+     * @param currentCost - вес текущего пути по исходной матрице
+     */
+    private void branch(int current, int depth, double bound, double currentCost) {
+        if (control.checkStop()) {
+            return;
+        }
+        nodesExplored++;
+        metrics.expand(depth);
+        if (depth == size) {
+            double cost = currentCost + matrix[current * size];
+            if (cost < minWeight) {
+                minWeight = cost;
+                minPath.clear();
+                for (int vertex : currentPath) {
+                    minPath.add(vertex);
+                }
+                minPath.add(ZERO);
+                metrics.incumbent();
+                control.improve(cost, List.copyOf(minPath));
+            }
+            return;
+        }
+
+        double[] reduced = levels[depth - 1];
+        double[] bounds = childBounds[depth - 1];
+        int[] order = childOrders[depth - 1];
+        int count = 0;
+        for (int next = 1; next < size; next++) {
+            if (visited[next] || reduced[current * size + next] == BLOCKED) {
+                continue;
+            }
+            bounds[next] = createChild(reduced, levels[depth], current, next, depth, bound);
+            if (bounds[next] >= minWeight) {
+                nodesPruned++;
+                metrics.prune();
+                continue;
+            }
+            int position = count++;
+            while (position > 0 && bounds[order[position - 1]] > bounds[next]) {
+                order[position] = order[position - 1];
+                position--;
+            }
+            order[position] = next;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int next = order[i];
+            if (control.isStopped()) {
+                return;
+            }
+            if (bounds[next] >= minWeight) {
+                nodesPruned += count - i;
+                metrics.prune(count - i);
+                return;
+            }
+            createChild(reduced, levels[depth], current, next, depth, bound);
+            visited[next] = true;
+            currentPath[depth] = next;
+            branch(next, depth + 1, bounds[next], currentCost + matrix[current * size + next]);
+            visited[next] = false;
+        }
+    }
+
+    /**
+     * Построение приведенной матрицы потомка при переходе current -> next
+     * @param parent  - приведенная матрица узла
+     * @param child   - матрица, куда записывается приведенная матрица потомка
+     * @param current - последняя вершина текущего пути
+     * @param next    - следующая вершина пути
+     * @param depth   - количество вершин в текущем пути
+     * @param bound   - нижняя граница узла
+     * @return нижняя граница потомка
+     */
+    private double createChild(double[] parent, double[] child, int current, int next, int depth, double bound) {
+        double edge = parent[current * size + next];
+        System.arraycopy(parent, 0, child, 0, parent.length);
+        for (int i = 0; i < size; i++) {
+            child[current * size + i] = BLOCKED;
+            child[i * size + next] = BLOCKED;
+        }
+        if (depth + 1 < size) {
+            child[next * size] = BLOCKED;
+        }
+        return bound + edge + reduce(child);
+    }
+
+    /**
+     * Приведение матрицы по строкам и столбцам
+     * @param reduced - приводимая матрица
+     * @return сумма констант приведения
+     */
+    private double reduce(double[] reduced) {
+        double sum = ZERO_DOUBLE;
+        for (int i = 0; i < size; i++) {
+            int row = i * size;
+            double min = BLOCKED;
+            for (int j = 0; j < size; j++) {
+                if (reduced[row + j] < min) {
+                    min = reduced[row + j];
+                }
+            }
+            if (min != BLOCKED && min != ZERO_DOUBLE) {
+                for (int j = 0; j < size; j++) {
+                    reduced[row + j] -= min;
+                }
+                sum += min;
+            }
+        }
+        for (int j = 0; j < size; j++) {
+            double min = BLOCKED;
+            for (int i = 0; i < size; i++) {
+                if (reduced[i * size + j] < min) {
+                    min = reduced[i * size + j];
+                }
+            }
+            if (min != BLOCKED && min != ZERO_DOUBLE) {
+                for (int i = 0; i < size; i++) {
+                    reduced[i * size + j] -= min;
+                }
+                sum += min;
+            }
+        }
+        return sum;
+    }
+}
@@ -1,6 +1,11 @@
 package framework.algorithm;
 
+import framework.kp.KpEdge;
+import framework.kp.KpEdgeIndex;
 import framework.kp.KpThing;
+import framework.matrix.CostMatrix;
+import framework.metrics.Metrics;
+import framework.metrics.SolveMetrics;
 import framework.provider.LoggerProvider;
 import framework.utils.ArrayListUtils;
 import framework.utils.WriteDataUtils;
@@ -23,7 +28,7 @@ public class DynamicAlgorithm extends LoggerProvider {
     /**
      * Матрица графа
      */
-    private ArrayList<ArrayList<Double>> matrix;
+    private CostMatrix matrix;
     private List<KpThing> matrixKp;
 
     /**
@@ -42,8 +47,16 @@ public class DynamicAlgorithm extends LoggerProvider {
      * @param <T>    - значения матрицы (Double, Integer)
      */
     public <T extends Number> DynamicAlgorithm(ArrayList<ArrayList<T>> matrix) {
+        this(CostMatrix.fromList(ArrayListUtils.toDouble(matrix)));
+    }
+
+    /**
+     * Конструктор жадного алгоритма
+     * @param matrix - матрица графа
+     */
+    public DynamicAlgorithm(CostMatrix matrix) {
         super(DynamicAlgorithm.class);
-        this.matrix = ArrayListUtils.toDouble(matrix);
+        this.matrix = matrix;
         minPath = new ArrayList<>();
         minPath.add(ZERO);
         minWeight = ZERO;
@@ -80,6 +93,7 @@ public class DynamicAlgorithm extends LoggerProvider {
     public void findKpPath(int maxWeight) {
         logInfo("Поиск жадного алгоритма для переданной матрицы");
         long startTime = System.nanoTime();
+        SolveMetrics metrics = startMetrics("GREEDY_KP", matrixKp.size());
         ArrayList<Integer> openVertex = new ArrayList<>();
         ArrayList<Integer> closeVertex = new ArrayList<>();
         ArrayList<String> result = new ArrayList<>();
@@ -90,6 +104,7 @@ public class DynamicAlgorithm extends LoggerProvider {
         }
 
         while(minWeight < maxWeight) {
+            metrics.expand(closeVertex.size());
             int  minVertexIndex = matrixKp.size();
             maxVertex = 0;
             for (int i = 0; i < openVertex.size(); i++) {
@@ -108,6 +123,7 @@ public class DynamicAlgorithm extends LoggerProvider {
             result.add(matrixKp.get(openVertex.get(minVertexIndex)).number());
         }
         time = System.nanoTime() - startTime;
+        recordMetrics(metrics);
 
         String resultKp = String.format("Результат рюкзака: %s", result);
         String costKp = String.format("Максимальная стоимость: %f", maxCost);
@@ -126,69 +142,80 @@ public class DynamicAlgorithm extends LoggerProvider {
     public void findPath(int size) {
         logInfo("Поиск жадного алгоритма для переданной матрицы");
         long startTime = System.nanoTime();
-        ArrayList<Integer> openVertex = new ArrayList<>();
-        ArrayList<Integer> closeVertex = new ArrayList<>();
-        ArrayList<ArrayList<Double>> matrix = new ArrayList<>();
-        ArrayList<Double> matrixLine;
-        for(int i = 0; i < size; i++) {
-            matrixLine = new ArrayList<>();
-            for(int j = 0; j < size; j++) {
-                matrixLine.add(this.matrix.get(i).get(j));
-            }
-            matrix.add(matrixLine);
-        }
+        SolveMetrics metrics = startMetrics("GREEDY", size);
+        CostMatrix matrix = this.matrix.view(0, 0, size, size);
 
         double minVertex = INF;
-        for(int i = 0; i < matrix.size(); i++) {
-            for(int j = 0; j < matrix.size(); j++) {
-                if(matrix.get(i).get(j) < minVertex && matrix.get(i).get(j) != ZERO_DOUBLE) {
-                    closeVertex = new ArrayList<>();
-                    closeVertex.add(i);
-                    closeVertex.add(j);
-                    minWeight = matrix.get(i).get(j);
-                    minVertex = matrix.get(i).get(j);
+        int firstEdgeVertex = -1;
+        int lastEdgeVertex = -1;
+        for(int i = 0; i < size; i++) {
+            for(int j = 0; j < size; j++) {
+                if(matrix.get(i, j) < minVertex && matrix.get(i, j) != ZERO_DOUBLE) {
+                    firstEdgeVertex = i;
+                    lastEdgeVertex = j;
+                    minWeight = matrix.get(i, j);
+                    minVertex = matrix.get(i, j);
                 }
             }
         }
-        for(int i = 0; i < matrix.size(); i++) {
-            if(closeVertex.get(0) != i && closeVertex.get(1) != i) {
-                openVertex.add(i);
+        // Путь растет в обе стороны внутри массива двойной длины, открытые вершины - по возрастанию номера.
+        // Если подходящего ребра нет, путь начинается с одной вершины 0
+        int[] closeVertex = new int[2 * size + 2];
+        int first = size;
+        int last = first;
+        closeVertex[first] = firstEdgeVertex == -1 ? ZERO : firstEdgeVertex;
+        if (firstEdgeVertex != -1) {
+            closeVertex[++last] = lastEdgeVertex;
+        }
+        int[] openVertex = new int[size];
+        int openCount = 0;
+        for(int i = 0; i < size; i++) {
+            if(closeVertex[first] != i && closeVertex[last] != i) {
+                openVertex[openCount++] = i;
             }
         }
-        while(openVertex.size() != 0) {
-            int firstVertex = closeVertex.get(0);
-            int lastVertex = closeVertex.get(closeVertex.size() - 1);
-            int minVertex2 = matrix.size();
-            int minVertexIndex = matrix.size();
-            int openVertexCurrent = firstVertex;
+        while(openCount != 0) {
+            metrics.expand(last - first + 1);
+            int firstVertex = closeVertex[first];
+            int lastVertex = closeVertex[last];
+            int minVertex2 = size;
+            int minVertexIndex = size;
+            boolean toFirst = true;
             minVertex = INF;
-            for (int i = 0; i < openVertex.size(); i++) {
-                if(matrix.get(openVertex.get(i)).get(firstVertex) <= minVertex) {
-                    minVertex2 = openVertex.get(i);
+            for (int i = 0; i < openCount; i++) {
+                int vertex = openVertex[i];
+                double weightFirst = matrix.get(vertex, firstVertex);
+                if(weightFirst <= minVertex) {
+                    minVertex2 = vertex;
                     minVertexIndex = i;
-                    minVertex = matrix.get(openVertex.get(i)).get(firstVertex);
-                    openVertexCurrent = firstVertex;
+                    minVertex = weightFirst;
+                    toFirst = true;
                 }
-                if(matrix.get(lastVertex).get(openVertex.get(i)) <= minVertex) {
-                    minVertex2 = openVertex.get(i);
+                double weightLast = matrix.get(lastVertex, vertex);
+                if(weightLast <= minVertex) {
+                    minVertex2 = vertex;
                     minVertexIndex = i;
-                    minVertex = matrix.get(lastVertex).get(openVertex.get(i));
-                    openVertexCurrent = lastVertex;
+                    minVertex = weightLast;
+                    toFirst = false;
                 }
             }
-            if (minVertex2 == matrix.size()) break;
+            if (minVertex2 == size) break;
             minWeight += minVertex;
-            if (openVertexCurrent == firstVertex) {
-                closeVertex.add(0, minVertex2);
+            if (toFirst) {
+                closeVertex[--first] = minVertex2;
             }
             else {
-                closeVertex.add(minVertex2);
+                closeVertex[++last] = minVertex2;
             }
-            openVertex.remove(minVertexIndex);
+            openCount--;
+            System.arraycopy(openVertex, minVertexIndex + 1, openVertex, minVertexIndex, openCount - minVertexIndex);
+        }
+        minWeight += matrix.get(closeVertex[last], closeVertex[first]);
+        for (int i = first; i <= last; i++) {
+            minPath.add(closeVertex[i]);
         }
-        minWeight += matrix.get(closeVertex.get(closeVertex.size() - 1)).get(closeVertex.get(0));
-        minPath.addAll(closeVertex);
         time = System.nanoTime() - startTime;
+        recordMetrics(metrics);
 
         String resultTsp = String.format("Кратчайший путь: %s", minPath);
         String weightTsp = String.format(WriteDataUtils.WEIGHT, minWeight);
@@ -204,52 +231,51 @@ public class DynamicAlgorithm extends LoggerProvider {
 
     /**
      * Поиск кратчайшего пути жадным алгоритмом
+     * <p>
+     * Вещи - ребра графа (номера вида "i_j", {@link KpEdge}), на каждом шаге выбирается вещь с наибольшей
+     * удельной ценностью среди вещей, начинающихся в конце текущей цепочки (по индексу исходящих вещей вершины)
      */
     public void findKpFragilePath(int maxWeight, List<Integer> kpFragile) {
         logInfo("Поиск жадного алгоритма для переданной матрицы");
         long startTime = System.nanoTime();
-        ArrayList<Integer> openVertex = new ArrayList<>();
-        ArrayList<Integer> closeVertex = new ArrayList<>();
+        SolveMetrics metrics = startMetrics("GREEDY_KP_FRAGILE", matrixKp.size());
+        KpEdgeIndex edges = KpEdgeIndex.of(matrixKp, kpFragile.size());
         ArrayList<String> result = new ArrayList<>();
-        List<Integer> fragile = new ArrayList<>(kpFragile);
+        int[] fragile = kpFragile.stream().mapToInt(Integer::intValue).toArray();
         double maxVertex;
         double maxCost = 0;
-        for(int i = 0; i < matrixKp.size(); i++) {
-            openVertex.add(i);
-        }
         int finishNumberVertex = 0;
         int flag = 0;
-        while(minWeight < maxWeight && flag < fragile.size()) {
-            int  minVertexIndex = matrixKp.size();
+        while(minWeight < maxWeight && flag < fragile.length) {
+            metrics.expand(flag);
+            int minVertexIndex = -1;
             maxVertex = 0;
-            for (int i = 0; i < openVertex.size(); i++) {
-                if (getFinishNumber(openVertex.get(i)) != 0 && flag == fragile.size() - 1) continue;
-                if (getFinishNumber(openVertex.get(i)) == 0 && flag < fragile.size() - 1) continue;
-                if (fragile.get(getFinishNumber(openVertex.get(i))) == 2 && flag < fragile.size() - 1) continue;
-                int startNumberNext = getStartNumber(openVertex.get(i));
-                if (finishNumberVertex == startNumberNext) {
-                    if (matrixKp.get(openVertex.get(i)).cost() / matrixKp.get(openVertex.get(i)).weight() >= maxVertex &&
-                            matrixKp.get(openVertex.get(i)).count() != 0 &&
-                            matrixKp.get(openVertex.get(i)).weight() + minWeight <= maxWeight
-                    ) {
-                        maxVertex = matrixKp.get(openVertex.get(i)).cost() / matrixKp.get(openVertex.get(i)).weight();
-                        minVertexIndex = i;
-                    }
+            boolean last = flag == fragile.length - 1;
+            for (int k = edges.getStart(finishNumberVertex); k < edges.getEnd(finishNumberVertex); k++) {
+                int item = edges.getItem(k);
+                int finish = edges.getTo(item);
+                if (finish != 0 && last || finish == 0 && !last || fragile[finish] == 2 && !last) continue;
+                KpThing thing = matrixKp.get(item);
+                if (thing.cost() / thing.weight() >= maxVertex &&
+                        thing.count() != 0 &&
+                        thing.weight() + minWeight <= maxWeight
+                ) {
+                    maxVertex = thing.cost() / thing.weight();
+                    minVertexIndex = item;
                 }
             }
-            if (minVertexIndex == matrixKp.size()) break;
-            minWeight += matrixKp.get(openVertex.get(minVertexIndex)).weight();
-            maxCost += matrixKp.get(openVertex.get(minVertexIndex)).cost();
-            setFragile(fragile, getStartNumber(openVertex.get(minVertexIndex)), getFinishNumber(openVertex.get(minVertexIndex)));
-            closeVertex.add(openVertex.get(minVertexIndex));
-            result.add(matrixKp.get(openVertex.get(minVertexIndex)).number());
-            if (matrixKp.get(openVertex.get(minVertexIndex)).count() == 0) {
-                openVertex.remove(minVertexIndex);
-            }
+            if (minVertexIndex == -1) break;
+            KpThing thing = matrixKp.get(minVertexIndex);
+            minWeight += thing.weight();
+            maxCost += thing.cost();
+            fragile[edges.getFrom(minVertexIndex)] += 2;
+            fragile[edges.getTo(minVertexIndex)] -= 1;
+            result.add(thing.number());
             flag++;
-            finishNumberVertex = getFinishNumber(closeVertex.get(closeVertex.size() - 1));
+            finishNumberVertex = edges.getTo(minVertexIndex);
         }
         time = System.nanoTime() - startTime;
+        recordMetrics(metrics);
 
         String resultKp = String.format("Результат рюкзака: %s", result);
         String costKp = String.format("Максимальная стоимость: %f", maxCost);
@@ -262,24 +288,30 @@ public class DynamicAlgorithm extends LoggerProvider {
         write(path, timeResult + ENTER, resultKp + ENTER, costKp + DOUBLE_ENTER);
     }
 
-    private void setFragile(List<Integer> fragile, int startNumber, int finishNumber) {
-        fragile.set(startNumber, fragile.get(startNumber) + 2);
-        fragile.set(finishNumber, fragile.get(finishNumber) - 1);
-    }
-
-    private int getStartNumber(int i) {
-        return Integer.parseInt(matrixKp.get(i).number().split("_")[0]);
+    /**
+     * Счетчики жадного поиска: шаг - раскрытый узел, глубина - количество выбранных вершин (вещей)
+     * @param method   - вариант жадного алгоритма
+     * @param maxDepth - максимальное количество выбранных вершин (вещей)
+     */
+    private static SolveMetrics startMetrics(String method, int maxDepth) {
+        SolveMetrics metrics = new SolveMetrics(DynamicAlgorithm.class.getSimpleName(), method, maxDepth);
+        metrics.start();
+        return metrics;
     }
 
-    private int getFinishNumber(int i) {
-        int indexNext = matrixKp.get(i).number().indexOf("_");
-        return Integer.parseInt(matrixKp.get(i).number().substring(indexNext + 1));
+    /**
+     * Окончание жадного поиска: единственное решение находится в конце
+     */
+    private static void recordMetrics(SolveMetrics metrics) {
+        metrics.incumbent();
+        metrics.finish();
+        Metrics.record(metrics);
     }
 
     /**
      * Получить вес ребра из списка кратчайшего пути
      */
     private double getWeightEdgeMinPath(int endVertex) {
-        return matrix.get(minPath.get(minPath.size() - 1)).get(endVertex);
+        return matrix.get(minPath.get(minPath.size() - 1), endVertex);
     }
 }
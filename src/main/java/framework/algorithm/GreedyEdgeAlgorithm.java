@@ -0,0 +1,413 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Жадный алгоритм по ребрам для построения начального цикла
+ * <p>
+ * Ребра добавляются по возрастанию веса, если ребро не нарушает цикл: у симметричной матрицы степень
+ * вершин не больше 2, у несимметричной - одно исходящее и одно входящее ребро, и ребро не соединяет
+ * вершины одного фрагмента (система непересекающихся множеств). Последнее ребро замыкает цикл.
+ * <p>
+ * Кандидаты вершины берутся из списков ближайших соседей {@link NeighborLists}. В куче лежит по одному
+ * лучшему кандидату на вершину, кандидат, ставший недопустимым, пересчитывается при извлечении
+ * (допустимых ребер со временем только становится меньше). Когда список вершины исчерпан, следующие
+ * k лучших допустимых ребер добираются просмотром строки матрицы. Обычно это нужно немногим вершинам в конце
+ * построения, и после построения списков алгоритм работает за O(n * k * log n).
+ * <p>
+ * Для разреженного графа {@link SparseGraph} кандидаты вершины - ее исходящие ребра по возрастанию веса,
+ * алгоритм работает за O(m * log m). Если ребер графа не хватает, оставшиеся фрагменты соединяются
+ * в цикл отсутствующими ребрами (вес INF).
+ */
+public class GreedyEdgeAlgorithm extends LoggerProvider {
+    /**
+     * Количество ближайших соседей вершины по умолчанию
+     */
+    public static final int DEFAULT_NEIGHBORS = 10;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Матрица графа (null - разреженный граф)
+     */
+    private final CostMatrix matrix;
+
+    /**
+     * Разреженный граф (null - плотная матрица)
+     */
+    private final SparseGraph graph;
+
+    /**
+     * Количество вершин графа
+     */
+    private final int size;
+
+    /**
+     * Симметрична ли матрица
+     */
+    private final boolean symmetric;
+
+    /**
+     * Ближайшие соседи каждой вершины по исходящим ребрам (null - разреженный граф)
+     */
+    private final NeighborLists neighbors;
+
+    /**
+     * Кратчайший путь
+     */
+    private final ArrayList<Integer> minPath;
+
+    /**
+     * Минимальный вес пути
+     */
+    private double minWeight;
+
+    /**
+     * Родитель вершины в системе непересекающихся множеств (фрагменты цикла)
+     */
+    private int[] parent;
+
+    /**
+     * Количество ребер вершины: у симметричной матрицы - всех, у несимметричной - исходящих
+     */
+    private int[] degree;
+
+    /**
+     * Есть ли входящее ребро (только для несимметричной матрицы)
+     */
+    private boolean[] hasIn;
+
+    /**
+     * Смежные вершины: у симметричной матрицы две ячейки на вершину, у несимметричной - следующая вершина
+     */
+    private int[] links;
+
+    /**
+     * Номер следующего непроверенного кандидата вершины в списке соседей или в добранных кандидатах
+     */
+    private int[] pointer;
+
+    /**
+     * Добранные кандидаты вершин с исчерпанным списком соседей, null - список еще не исчерпан
+     * (для разреженного графа - все исходящие ребра по возрастанию веса)
+     */
+    private int[][] remaining;
+
+    /**
+     * Кандидат вершины from - ребро (from, to)
+     */
+    private record Candidate(double weight, int from, int to) {
+    }
+
+    /**
+     * Конструктор жадного алгоритма по ребрам
+     * @param matrix - матрица графа
+     */
+    public GreedyEdgeAlgorithm(CostMatrix matrix) {
+        this(matrix, NeighborLists.outgoing(matrix, DEFAULT_NEIGHBORS));
+    }
+
+    /**
+     * Конструктор жадного алгоритма по ребрам с уже построенными списками соседей
+     * @param matrix    - матрица графа
+     * @param neighbors - списки соседей по исходящим ребрам (для симметричной матрицы подходят любые)
+     */
+    public GreedyEdgeAlgorithm(CostMatrix matrix, NeighborLists neighbors) {
+        this(matrix, neighbors, isSymmetric(matrix));
+    }
+
+    /**
+     * Конструктор для алгоритмов, которые уже знают, симметрична ли матрица
+     * @param matrix    - матрица графа
+     * @param neighbors - списки соседей по исходящим ребрам
+     * @param symmetric - симметрична ли матрица
+     */
+    GreedyEdgeAlgorithm(CostMatrix matrix, NeighborLists neighbors, boolean symmetric) {
+        super(GreedyEdgeAlgorithm.class);
+        this.matrix = matrix;
+        this.neighbors = neighbors;
+        this.symmetric = symmetric;
+        graph = null;
+        size = matrix.getRows();
+        minPath = new ArrayList<>();
+    }
+
+    /**
+     * Конструктор жадного алгоритма по ребрам разреженного графа
+     * @param graph - разреженный граф
+     */
+    public GreedyEdgeAlgorithm(SparseGraph graph) {
+        super(GreedyEdgeAlgorithm.class);
+        this.graph = graph;
+        matrix = null;
+        neighbors = null;
+        symmetric = graph.isSymmetric();
+        size = graph.getSize();
+        minPath = new ArrayList<>();
+    }
+
+    /**
+     * @return найденный путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    public ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return вес найденного пути
+     */
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    /**
+     * Построение цикла жадным алгоритмом по ребрам
+     */
+    public void findPath() {
+        logInfo("Построение цикла жадным алгоритмом по ребрам");
+        long startTime = System.nanoTime();
+        int[] tour = size <= 2 ? IntStream.range(0, size).toArray() : getGreedyTour();
+        minPath.clear();
+        minWeight = ZERO_DOUBLE;
+        for (int i = 0; i < tour.length; i++) {
+            minPath.add(tour[i]);
+            minWeight += getWeight(tour[i], tour[(i + 1) % tour.length]);
+        }
+        minPath.add(ZERO);
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        logInfo(String.format("Вес пути: %f", minWeight));
+    }
+
+    /**
+     * Добавление ребер в порядке извлечения из кучи кандидатов и замыкание цикла
+     * @return вершины цикла по порядку, начиная с вершины 0
+     */
+    private int[] getGreedyTour() {
+        parent = IntStream.range(0, size).toArray();
+        degree = new int[size];
+        hasIn = new boolean[size];
+        links = new int[2 * size];
+        pointer = new int[size];
+        remaining = graph == null ? new int[size][] : getSortedEdges();
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(size, Comparator.comparingDouble(Candidate::weight)
+                .thenComparingInt(Candidate::from)
+                .thenComparingInt(Candidate::to));
+        for (int vertex = 0; vertex < size; vertex++) {
+            offer(queue, vertex);
+        }
+        int edges = 0;
+        while (edges < size - 1 && !queue.isEmpty()) {
+            Candidate candidate = queue.poll();
+            if (isValid(candidate.from(), candidate.to())) {
+                link(candidate.from(), candidate.to());
+                edges++;
+            }
+            offer(queue, candidate.from());
+        }
+        closeFragments();
+
+        int[] tour = new int[size];
+        int previous = -1;
+        for (int i = 1; i < size; i++) {
+            int current = tour[i - 1];
+            tour[i] = symmetric && links[2 * current] == previous ? links[2 * current + 1] : links[2 * current];
+            previous = current;
+        }
+        return tour;
+    }
+
+    /**
+     * Положить в кучу лучшего допустимого кандидата вершины, если вершине еще нужно ребро
+     */
+    private void offer(PriorityQueue<Candidate> queue, int vertex) {
+        if (!isFree(vertex)) {
+            return;
+        }
+        int batchSize = getBatchSize();
+        while (true) {
+            int[] batch = remaining[vertex];
+            int k = pointer[vertex];
+            if (k >= (batch == null ? neighbors.getCount() : batch.length)) {
+                if (graph != null || batch != null && batch.length < batchSize) {
+                    return;
+                }
+                remaining[vertex] = getRemaining(vertex);
+                pointer[vertex] = 0;
+                continue;
+            }
+            int to = batch == null ? neighbors.get(vertex, k) : batch[k];
+            if (isValid(vertex, to)) {
+                queue.add(new Candidate(getWeight(vertex, to), vertex, to));
+                return;
+            }
+            pointer[vertex]++;
+        }
+    }
+
+    /**
+     * Соединение фрагментов (путей) в цикл: конец каждого фрагмента соединяется с началом следующего
+     * в порядке наименьших вершин фрагментов. После построения по полной матрице фрагмент один,
+     * и добавляется только замыкающее ребро
+     */
+    private void closeFragments() {
+        int[] first = new int[size];
+        int[] last = new int[size];
+        boolean[] seen = new boolean[size];
+        int[] roots = new int[size];
+        int fragments = 0;
+        for (int vertex = 0; vertex < size; vertex++) {
+            int root = find(vertex);
+            if (!seen[root]) {
+                seen[root] = true;
+                roots[fragments++] = root;
+                first[root] = -1;
+            }
+            if (symmetric && degree[vertex] < 2) {
+                if (first[root] == -1) {
+                    first[root] = vertex;
+                }
+                last[root] = vertex;
+            }
+            else if (!symmetric) {
+                if (!hasIn[vertex]) {
+                    first[root] = vertex;
+                }
+                if (isFree(vertex)) {
+                    last[root] = vertex;
+                }
+            }
+        }
+        for (int i = 0; i < fragments; i++) {
+            link(last[roots[i]], first[roots[(i + 1) % fragments]]);
+        }
+    }
+
+    /**
+     * @return можно ли добавить ребро (from, to)
+     */
+    private boolean isValid(int from, int to) {
+        return isFree(from) && (symmetric ? degree[to] < 2 : !hasIn[to]) && find(from) != find(to);
+    }
+
+    /**
+     * @return нужно ли вершине еще одно ребро (исходящее для несимметричной матрицы)
+     */
+    private boolean isFree(int vertex) {
+        return degree[vertex] < (symmetric ? 2 : 1);
+    }
+
+    /**
+     * Добавление ребра (from, to) и объединение фрагментов
+     */
+    private void link(int from, int to) {
+        if (symmetric) {
+            links[2 * from + degree[from]++] = to;
+            links[2 * to + degree[to]++] = from;
+        }
+        else {
+            links[2 * from] = to;
+            degree[from]++;
+            hasIn[to] = true;
+        }
+        parent[find(from)] = find(to);
+    }
+
+    /**
+     * Фрагмент вершины (с сокращением пути)
+     */
+    private int find(int vertex) {
+        while (parent[vertex] != vertex) {
+            parent[vertex] = parent[parent[vertex]];
+            vertex = parent[vertex];
+        }
+        return vertex;
+    }
+
+    /**
+     * Следующие кандидаты вершины с исчерпанным списком: лучшие допустимые сейчас ребра по возрастанию веса
+     * (при равенстве - по номеру вершины). Ранее просмотренные кандидаты уже недопустимы и сюда не попадают
+     */
+    private int[] getRemaining(int vertex) {
+        int batchSize = getBatchSize();
+        int[] batch = new int[batchSize];
+        double[] weights = new double[batchSize];
+        int found = 0;
+        for (int other = 0; other < size; other++) {
+            if (other == vertex || !isValid(vertex, other)) {
+                continue;
+            }
+            double weight = matrix.get(vertex, other);
+            if (found == batchSize && weight >= weights[batchSize - 1]) {
+                continue;
+            }
+            int k = found < batchSize ? found++ : batchSize - 1;
+            while (k > 0 && weights[k - 1] > weight) {
+                weights[k] = weights[k - 1];
+                batch[k] = batch[k - 1];
+                k--;
+            }
+            weights[k] = weight;
+            batch[k] = other;
+        }
+        return found == batchSize ? batch : Arrays.copyOf(batch, found);
+    }
+
+    /**
+     * @return исходящие ребра каждой вершины разреженного графа по возрастанию веса (при равенстве - по номеру)
+     */
+    private int[][] getSortedEdges() {
+        int[][] sorted = new int[size][];
+        for (int vertex = 0; vertex < size; vertex++) {
+            sorted[vertex] = IntStream.range(graph.getStart(vertex), graph.getEnd(vertex))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(graph::getWeight))
+                    .mapToInt(graph::getTarget)
+                    .toArray();
+        }
+        return sorted;
+    }
+
+    /**
+     * @return вес ребра (from, to), INF - ребра нет
+     */
+    private double getWeight(int from, int to) {
+        return graph == null ? matrix.get(from, to) : graph.get(from, to);
+    }
+
+    /**
+     * @return количество кандидатов, которое добирается за один просмотр строки
+     */
+    private int getBatchSize() {
+        return neighbors == null ? 1 : Math.max(1, neighbors.getCount());
+    }
+
+    /**
+     * @return симметрична ли матрица
+     */
+    private static boolean isSymmetric(CostMatrix matrix) {
+        int size = matrix.getRows();
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (matrix.get(i, j) != matrix.get(j, i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
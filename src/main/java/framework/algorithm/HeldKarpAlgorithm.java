@@ -0,0 +1,262 @@
+package framework.algorithm;
+
+import framework.anytime.SolveControl;
+import framework.exception.NumberException;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.metrics.SolveMetrics;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Алгоритм Хелда-Карпа для точного поиска гамильтонова цикла минимального веса
+ * <p>
+ * Состояние динамики - (множество посещенных вершин, последняя вершина), стартовая вершина всегда 0.
+ * Таблица хранится в одномерном массиве: индекс = маска * (n - 1) + последняя вершина.
+ * Вершине v (v > 0) соответствует бит (v - 1) маски.
+ * <p>
+ * Время O(n^2 * 2^n), память O(n * 2^n). Для разреженного графа {@link SparseGraph} переходы идут только
+ * по существующим ребрам, время O(m * 2^n), где m - количество ребер. Если в разреженном графе нет
+ * гамильтонова цикла, путь не находится.
+ */
+public class HeldKarpAlgorithm extends LoggerProvider {
+    /**
+     * Максимальный размер матрицы, для которого таблица динамики помещается в память
+     */
+    public static final int MAX_SIZE = 24;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Матрица графа, построчно (null - разреженный граф)
+     */
+    private final double[] matrix;
+
+    /**
+     * Разреженный граф (null - плотная матрица)
+     */
+    private final SparseGraph graph;
+
+    /**
+     * Количество вершин графа
+     */
+    private final int size;
+
+    /**
+     * Кратчайший путь
+     */
+    private final ArrayList<Integer> minPath;
+
+    /**
+     * Минимальный вес пути
+     */
+    private double minWeight;
+
+    /**
+     * Управление поиском: ограничение времени и отмена
+     */
+    private SolveControl<List<Integer>> control = SolveControl.unlimited();
+
+    /**
+     * Счетчики поиска: раскрытые состояния по количеству посещенных вершин
+     */
+    private SolveMetrics metrics;
+
+    /**
+     * Конструктор алгоритма Хелда-Карпа
+     * @param matrix - матрица графа
+     */
+    public HeldKarpAlgorithm(CostMatrix matrix) {
+        super(HeldKarpAlgorithm.class);
+        size = matrix.getRows();
+        checkingCorrectnessSize(size);
+        this.matrix = matrix.toArray();
+        graph = null;
+        minPath = new ArrayList<>();
+        minWeight = INF * INF;
+        metrics = new SolveMetrics(HeldKarpAlgorithm.class.getSimpleName(), "HELD_KARP", size);
+    }
+
+    /**
+     * Конструктор алгоритма Хелда-Карпа для разреженного графа
+     * @param graph - разреженный граф
+     */
+    public HeldKarpAlgorithm(SparseGraph graph) {
+        super(HeldKarpAlgorithm.class);
+        size = graph.getSize();
+        checkingCorrectnessSize(size);
+        matrix = null;
+        this.graph = graph;
+        minPath = new ArrayList<>();
+        minWeight = INF * INF;
+        metrics = new SolveMetrics(HeldKarpAlgorithm.class.getSimpleName(), "HELD_KARP", size);
+    }
+
+    /**
+     * Установить счетчики решения, в которые алгоритм записывает раскрытые состояния динамики
+     * @param metrics - счетчики решения
+     */
+    public void setMetrics(SolveMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Установить управление поиском (ограничение времени, отмена)
+     * @param control - управление поиском
+     */
+    public void setControl(SolveControl<List<Integer>> control) {
+        this.control = control;
+    }
+
+    /**
+     * @return кратчайший путь (цикл, начинающийся и заканчивающийся в вершине 0),
+     * пустой - поиск остановлен до заполнения таблицы
+     */
+    public ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return минимальный вес пути
+     */
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    /**
+     * Поиск гамильтонова цикла минимального веса
+     */
+    public void findPath() {
+        logInfo("Поиск кратчайшего пути алгоритмом Хелда-Карпа");
+        long startTime = System.nanoTime();
+        int count = size - 1;
+        int full = (1 << count) - 1;
+        double[] dp = new double[(full + 1) * count];
+        byte[] parent = new byte[(full + 1) * count];
+        Arrays.fill(dp, Double.POSITIVE_INFINITY);
+
+        for (int j = 0; j < count; j++) {
+            dp[(1 << j) * count + j] = getWeight(0, j + 1);
+            parent[(1 << j) * count + j] = -1;
+        }
+        for (int mask = 1; mask < full; mask++) {
+            if ((mask & (SolveControl.CHECK_INTERVAL - 1)) == 0) {
+                control.addNodes(SolveControl.CHECK_INTERVAL);
+                if (control.poll()) {
+                    time = System.nanoTime() - startTime;
+                    logInfo(TIME, time/NANO);
+                    logInfo("Поиск остановлен до заполнения таблицы, путь не найден");
+                    return;
+                }
+            }
+            int base = mask * count;
+            metrics.expand(Integer.bitCount(mask));
+            for (int j = 0; j < count; j++) {
+                double current = dp[base + j];
+                if (current == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                if (graph != null) {
+                    for (int edge = graph.getStart(j + 1); edge < graph.getEnd(j + 1); edge++) {
+                        int k = graph.getTarget(edge) - 1;
+                        if (k < 0 || (mask & (1 << k)) != 0) {
+                            continue;
+                        }
+                        int next = (mask | (1 << k)) * count + k;
+                        double cost = current + graph.getWeight(edge);
+                        if (cost < dp[next]) {
+                            dp[next] = cost;
+                            parent[next] = (byte) j;
+                        }
+                    }
+                    continue;
+                }
+                int row = (j + 1) * size + 1;
+                int free = full & ~mask;
+                while (free != 0) {
+                    int k = Integer.numberOfTrailingZeros(free);
+                    free &= free - 1;
+                    int next = (mask | (1 << k)) * count + k;
+                    double cost = current + matrix[row + k];
+                    if (cost < dp[next]) {
+                        dp[next] = cost;
+                        parent[next] = (byte) j;
+                    }
+                }
+            }
+        }
+
+        control.addNodes(full & (SolveControl.CHECK_INTERVAL - 1));
+        int last = -1;
+        int base = full * count;
+        for (int j = 0; j < count; j++) {
+            double cost = dp[base + j] + getWeight(j + 1, 0);
+            if (cost < minWeight) {
+                minWeight = cost;
+                last = j;
+            }
+        }
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        if (last == -1) {
+            logInfo("Гамильтонов цикл по ребрам графа не найден");
+            return;
+        }
+        restorePath(parent, full, last);
+    }
+
+    /**
+     * @return вес ребра (from, to), для отсутствующего ребра разреженного графа - бесконечность (перехода нет)
+     */
+    private double getWeight(int from, int to) {
+        if (graph == null) {
+            return matrix[from * size + to];
+        }
+        double weight = graph.get(from, to);
+        return weight == INF ? Double.POSITIVE_INFINITY : weight;
+    }
+
+    /**
+     * Восстановление пути по указателям на предыдущую вершину
+     * @param parent - указатели на предыдущую вершину для каждого состояния
+     * @param mask   - маска конечного состояния
+     * @param last   - последняя вершина конечного состояния
+     */
+    private void restorePath(byte[] parent, int mask, int last) {
+        int count = size - 1;
+        int[] path = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            path[i] = last + 1;
+            int previous = parent[mask * count + last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        minPath.clear();
+        minPath.add(ZERO);
+        for (int vertex : path) {
+            minPath.add(vertex);
+        }
+        minPath.add(ZERO);
+    }
+
+    /**
+     * Проверка размера матрицы, допустимого для таблицы динамики
+     */
+    private static void checkingCorrectnessSize(int size) {
+        try {
+            if (size > MAX_SIZE) {
+                throw new NumberException("MAX_SIZE", "size", MAX_SIZE, size);
+            }
+        }
+        catch (NumberException ignored) {}
+    }
+}
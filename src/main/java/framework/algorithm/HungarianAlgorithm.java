@@ -0,0 +1,186 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Венгерский алгоритм (Куна-Манкреса) для задачи о назначениях минимального веса
+ * <p>
+ * Строки матрицы - работники, столбцы - задачи. Строки добавляются по одной, для каждой
+ * ищется кратчайшая увеличивающая цепь с пересчетом потенциалов строк u и столбцов v.
+ * Для всех ячеек выполняется matrix[i][j] - u[i] - v[j] >= 0, ячейки назначения - с равенством.
+ * <p>
+ * Время O(n^3), память O(n^2)
+ */
+public class HungarianAlgorithm extends LoggerProvider {
+    /**
+     * Относительная погрешность сравнения приведенного веса ячейки с нулем
+     */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Матрица назначений, построчно
+     */
+    private final double[] matrix;
+
+    /**
+     * Размер матрицы
+     */
+    private final int size;
+
+    /**
+     * Потенциалы строк
+     */
+    private final double[] rowPotential;
+
+    /**
+     * Потенциалы столбцов
+     */
+    private final double[] columnPotential;
+
+    /**
+     * Назначенный столбец для каждой строки
+     */
+    private final int[] assignment;
+
+    /**
+     * Минимальный вес назначения
+     */
+    private double minWeight;
+
+    /**
+     * Погрешность сравнения приведенного веса ячейки с нулем
+     */
+    private double tolerance;
+
+    /**
+     * Конструктор венгерского алгоритма
+     * @param matrix - квадратная матрица назначений
+     */
+    public HungarianAlgorithm(CostMatrix matrix) {
+        super(HungarianAlgorithm.class);
+        size = matrix.getRows();
+        this.matrix = matrix.toArray();
+        rowPotential = new double[size];
+        columnPotential = new double[size];
+        assignment = new int[size];
+        minWeight = INF * INF;
+    }
+
+    /**
+     * @return назначенный столбец (задача) для каждой строки (работника)
+     */
+    public ArrayList<Integer> getAssignment() {
+        ArrayList<Integer> result = new ArrayList<>(size);
+        for (int column : assignment) {
+            result.add(column);
+        }
+        return result;
+    }
+
+    /**
+     * @return минимальный вес назначения
+     */
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    /**
+     * Проверка, что ячейка может входить в назначение минимального веса
+     * <p>
+     * Назначение минимально тогда и только тогда, когда все его ячейки имеют нулевой приведенный вес,
+     * поэтому по таким ячейкам перебираются все назначения с равным минимальным весом.
+     * @param row    - индекс строки
+     * @param column - индекс столбца
+     */
+    public boolean isTight(int row, int column) {
+        double reduced = matrix[row * size + column] - rowPotential[row] - columnPotential[column];
+        return Math.abs(reduced) <= tolerance;
+    }
+
+    /**
+     * Поиск назначения минимального веса
+     */
+    public void findAssignment() {
+        logInfo("Поиск назначения минимального веса венгерским алгоритмом");
+        long startTime = System.nanoTime();
+        // Индексация с 1: столбец 0 - фиктивный, из него начинается увеличивающая цепь
+        double[] u = new double[size + 1];
+        double[] v = new double[size + 1];
+        int[] rowOfColumn = new int[size + 1];
+        int[] way = new int[size + 1];
+        double[] minReduced = new double[size + 1];
+        boolean[] used = new boolean[size + 1];
+        for (int i = 1; i <= size; i++) {
+            rowOfColumn[0] = i;
+            int column = 0;
+            Arrays.fill(minReduced, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+            do {
+                used[column] = true;
+                int row = rowOfColumn[column];
+                int rowOffset = (row - 1) * size - 1;
+                double rowValue = u[row];
+                double delta = Double.POSITIVE_INFINITY;
+                int nextColumn = 0;
+                for (int j = 1; j <= size; j++) {
+                    if (!used[j]) {
+                        double reduced = matrix[rowOffset + j] - rowValue - v[j];
+                        if (reduced < minReduced[j]) {
+                            minReduced[j] = reduced;
+                            way[j] = column;
+                        }
+                        if (minReduced[j] < delta) {
+                            delta = minReduced[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= size; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    }
+                    else {
+                        minReduced[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+            do {
+                int previous = way[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        minWeight = ZERO_DOUBLE;
+        for (int j = 1; j <= size; j++) {
+            assignment[rowOfColumn[j] - 1] = j - 1;
+        }
+        for (int i = 0; i < size; i++) {
+            rowPotential[i] = u[i + 1];
+            columnPotential[i] = v[i + 1];
+            minWeight += matrix[i * size + assignment[i]];
+        }
+        double maxAbs = ZERO_DOUBLE;
+        for (double value : matrix) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        tolerance = EPSILON * Math.max(maxAbs, 1) * Math.max(size, 1);
+
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+    }
+}
@@ -0,0 +1,326 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+
+import java.util.SplittableRandom;
+
+import static framework.utils.IntegerDataUtils.NANO;
+import static framework.utils.IntegerDataUtils.ZERO;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Эвристика Лина-Кернигана для больших задач коммивояжера
+ * <p>
+ * Кроме ходов {@link LocalSearchAlgorithm} для вершины t1 строится цепочка последовательных разворотов
+ * переменной глубины: ребро (t1, t2) удаляется, из кандидатов t2 выбирается t3 с наибольшим выигрышем
+ * w(t3, t4) - w(t2, t3), отрезок разворачивается так, что t4 становится соседом t1, и поиск продолжается
+ * от t4. Добавленная вершина t3 не выбирается повторно, пока цепочка не закончится. Цепочка откатывается
+ * до шага с наибольшим суммарным улучшением. Цепочки строятся только для симметричной матрицы: в несимметричной
+ * каждый разворот меняет вес всего отрезка, и длинные цепочки почти не дают улучшений.
+ * <p>
+ * Локальный минимум возмущается ходом "двойной мост" (три соседних отрезка переставляются в обратном
+ * порядке без разворота, что подходит и для несимметричной матрицы) и снова улучшается только вокруг
+ * измененных ребер. Возмущение принимается, если цикл стал короче. Поиск повторяется от нескольких
+ * начальных циклов: первый строится жадным алгоритмом по ребрам, остальные - методом ближайшего соседа.
+ */
+public class LinKernighanAlgorithm extends LocalSearchAlgorithm {
+    /**
+     * Количество ближайших соседей вершины (кандидатов) по умолчанию
+     */
+    public static final int DEFAULT_CANDIDATES = 8;
+
+    /**
+     * Максимальная глубина цепочки разворотов
+     */
+    private static final int MAX_DEPTH = 10;
+
+    /**
+     * Максимальная длина отрезка двойного моста
+     */
+    private static final int MAX_KICK_SEGMENT = 50;
+
+    /**
+     * Зерно случайных начальных вершин и возмущений
+     */
+    private final long seed;
+
+    /**
+     * Отрезки разворотов текущей цепочки
+     */
+    private final int[] chainFrom = new int[MAX_DEPTH];
+
+    private final int[] chainTo = new int[MAX_DEPTH];
+
+    /**
+     * Вершины t2, t3, t4 каждого шага текущей цепочки
+     */
+    private final int[] chainVertexes = new int[3 * MAX_DEPTH];
+
+    /**
+     * Вершины, добавленные в текущую цепочку как t3
+     */
+    private final boolean[] inChain;
+
+    /**
+     * Количество выполненных ходов Лина-Кернигана
+     */
+    private long linKernighanMoves;
+
+    /**
+     * Количество возмущений и принятых возмущений
+     */
+    private long kicks;
+
+    private long acceptedKicks;
+
+    /**
+     * Количество выполненных начальных циклов
+     */
+    private int startsDone;
+
+    /**
+     * Конструктор эвристики
+     * @param matrix - матрица графа
+     */
+    public LinKernighanAlgorithm(CostMatrix matrix) {
+        this(matrix, DEFAULT_CANDIDATES, ZERO);
+    }
+
+    /**
+     * Конструктор эвристики
+     * @param matrix     - матрица графа
+     * @param candidates - количество ближайших соседей вершины (кандидатов)
+     * @param seed       - зерно случайных начальных вершин и возмущений
+     */
+    public LinKernighanAlgorithm(CostMatrix matrix, int candidates, long seed) {
+        super(matrix, candidates, LinKernighanAlgorithm.class);
+        this.seed = seed;
+        inChain = new boolean[size];
+    }
+
+    /**
+     * @return количество выполненных ходов Лина-Кернигана
+     */
+    public long getLinKernighanMoves() {
+        return linKernighanMoves;
+    }
+
+    /**
+     * @return количество возмущений двойным мостом
+     */
+    public long getKicks() {
+        return kicks;
+    }
+
+    /**
+     * @return количество принятых возмущений
+     */
+    public long getAcceptedKicks() {
+        return acceptedKicks;
+    }
+
+    /**
+     * @return количество выполненных начальных циклов
+     */
+    public int getStartsDone() {
+        return startsDone;
+    }
+
+    /**
+     * Поиск кратчайшего цикла
+     * @param timeLimit  - ограничение времени в миллисекундах, 0 - без ограничения
+     * @param iterations - количество возмущений для каждого начального цикла
+     * @param starts     - количество начальных циклов (первый - жадный по ребрам, остальные - от случайной вершины)
+     */
+    public void findPath(long timeLimit, int iterations, int starts) {
+        logInfo("Поиск пути эвристикой Лина-Кернигана");
+        long startTime = System.nanoTime();
+        long deadline = getDeadline(startTime, timeLimit);
+        SplittableRandom random = new SplittableRandom(seed);
+        twoOptMoves = 0;
+        orOptMoves = 0;
+        threeOptMoves = 0;
+        linKernighanMoves = 0;
+        kicks = 0;
+        acceptedKicks = 0;
+        startsDone = 0;
+        int[] best = null;
+        double bestWeight = Double.POSITIVE_INFINITY;
+        for (int start = 0; start < Math.max(1, starts) && (start == 0 || System.nanoTime() < deadline); start++) {
+            if (start == 0) {
+                setGreedyTour();
+            }
+            else {
+                setNearestNeighborTour(random.nextInt(size));
+            }
+            initTour();
+            pushAll();
+            optimize(deadline);
+            double weight = getTourWeight();
+            int[] current = tour.clone();
+            for (int i = 0; i < iterations && size >= 8 && System.nanoTime() < deadline; i++) {
+                changedFrom = size;
+                changedTo = -1;
+                kick(random);
+                optimize(deadline);
+                int from = changedFrom;
+                int length = changedTo - changedFrom + 1;
+                double delta = getPathWeight(tour, from, changedTo) - getPathWeight(current, from, changedTo);
+                if (delta < -epsilon) {
+                    weight += delta;
+                    System.arraycopy(tour, from, current, from, length);
+                    acceptedKicks++;
+                }
+                else {
+                    System.arraycopy(current, from, tour, from, length);
+                    updatePositions(from, from + length - 1);
+                    updatePrefixSums(from, from + length - 1);
+                }
+            }
+            startsDone++;
+            if (weight < bestWeight) {
+                bestWeight = weight;
+                best = current;
+            }
+        }
+        setTour(best);
+        saveMinPath();
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        logInfo(String.format(
+                "Начальных циклов: %d, возмущений: %d (принято %d), ходов Лина-Кернигана: %d, вес пути: %f",
+                startsDone, kicks, acceptedKicks, linKernighanMoves, minWeight
+        ));
+    }
+
+    /**
+     * Вес части цикла от позиции from - 1 до позиции to + 1
+     * @param vertexes - вершины цикла по позициям
+     */
+    private double getPathWeight(int[] vertexes, int from, int to) {
+        double weight = 0;
+        for (int k = from - 1; k <= to; k++) {
+            weight += weight(vertexes[k], vertexes[next(k)]);
+        }
+        return weight;
+    }
+
+    /**
+     * Сначала простые ходы локального поиска, затем цепочки Лина-Кернигана в обе стороны от вершины
+     * (для симметричной матрицы)
+     */
+    @Override
+    protected boolean improve(int vertex) {
+        return super.improve(vertex) || symmetric && size >= 5 && (tryChain(vertex, true) || tryChain(vertex, false));
+    }
+
+    /**
+     * Цепочка разворотов от вершины t1
+     * @param t1      - начальная вершина
+     * @param forward - удаляемое ребро: true - (t1, следующая), false - (предыдущая, t1)
+     * @return улучшен ли цикл
+     */
+    private boolean tryChain(int t1, boolean forward) {
+        int t2 = forward ? tour[next(position[t1])] : tour[previous(position[t1])];
+        double gain = forward ? weight(t1, t2) : weight(t2, t1);
+        double total = 0;
+        double bestTotal = 0;
+        int bestDepth = 0;
+        int depth = 0;
+        while (depth < MAX_DEPTH) {
+            int t3 = -1;
+            int t4 = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int candidate : neighbors[t2]) {
+                if (candidate == t1 || inChain[candidate]) {
+                    continue;
+                }
+                int p3 = position[candidate];
+                int candidateT4 = forward ? tour[previous(p3)] : tour[next(p3)];
+                if (candidateT4 == t2 || candidateT4 == t1) {
+                    continue;
+                }
+                double added = forward ? weight(t2, candidate) : weight(candidate, t2);
+                if (gain - added <= epsilon) {
+                    continue;
+                }
+                double removed = forward ? weight(candidateT4, candidate) : weight(candidate, candidateT4);
+                if (removed - added > bestScore) {
+                    bestScore = removed - added;
+                    t3 = candidate;
+                    t4 = candidateT4;
+                }
+            }
+            if (t3 == -1) {
+                break;
+            }
+            int p1 = position[t1];
+            int p3 = position[t3];
+            int from = forward ? next(p1) : next(p3);
+            int to = forward ? previous(p3) : previous(p1);
+            if (from < 1 || from > to) {
+                from = forward ? p3 : p1;
+                to = forward ? p1 : p3;
+                forward = !forward;
+            }
+            total += getReversalDelta(from, to);
+            reverse(from, to);
+            chainFrom[depth] = from;
+            chainTo[depth] = to;
+            chainVertexes[3 * depth] = t2;
+            chainVertexes[3 * depth + 1] = t3;
+            chainVertexes[3 * depth + 2] = t4;
+            inChain[t3] = true;
+            depth++;
+            if (total < bestTotal - epsilon) {
+                bestTotal = total;
+                bestDepth = depth;
+            }
+            gain += bestScore;
+            t2 = t4;
+        }
+        for (int k = depth - 1; k >= 0; k--) {
+            inChain[chainVertexes[3 * k + 1]] = false;
+            if (k >= bestDepth) {
+                reverse(chainFrom[k], chainTo[k]);
+            }
+        }
+        if (bestDepth == 0) {
+            return false;
+        }
+        push(t1);
+        for (int k = 0; k < 3 * bestDepth; k++) {
+            push(chainVertexes[k]);
+        }
+        linKernighanMoves++;
+        return true;
+    }
+
+    /**
+     * Возмущение двойным мостом: отрезки B, C, D подряд идущих позиций переставляются как D, C, B
+     */
+    private void kick(SplittableRandom random) {
+        int maxLength = Math.max(1, Math.min(MAX_KICK_SEGMENT, (size - 1) / 3));
+        int first = 1 + random.nextInt(maxLength);
+        int second = 1 + random.nextInt(maxLength);
+        int third = 1 + random.nextInt(maxLength);
+        int from = 1 + random.nextInt(size - first - second - third);
+        int to = from + first + second + third - 1;
+        int[] segment = new int[to - from + 1];
+        System.arraycopy(tour, from + first + second, segment, 0, third);
+        System.arraycopy(tour, from + first, segment, third, second);
+        System.arraycopy(tour, from, segment, third + second, first);
+        push(tour[from - 1]);
+        push(tour[next(to)]);
+        push(tour[from]);
+        push(tour[from + first - 1]);
+        push(tour[from + first]);
+        push(tour[from + first + second - 1]);
+        push(tour[from + first + second]);
+        push(tour[to]);
+        System.arraycopy(segment, 0, tour, from, segment.length);
+        updatePositions(from, to);
+        updatePrefixSums(from, to);
+        kicks++;
+    }
+}
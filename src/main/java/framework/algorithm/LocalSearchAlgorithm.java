@@ -0,0 +1,705 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Локальный поиск для улучшения гамильтонова цикла: ходы 2-opt, Or-opt и 3-opt
+ * <p>
+ * Цикл хранится массивом вершин по позициям, вершина 0 всегда на позиции 0. Для каждой вершины заранее
+ * строится список ближайших соседей, ходы проверяются только с новым ребром между вершиной и ее соседом.
+ * Вершина, у которой не нашлось улучшающего хода, помечается битом "не смотреть" и снова проверяется
+ * только после изменения инцидентных ей ребер.
+ * <p>
+ * Матрица может быть несимметричной: вес развернутого отрезка при 2-opt и Or-opt считается за O(1)
+ * по префиксным суммам весов ребер цикла в прямом и обратном направлении. Суммы хранятся блоками
+ * примерно по sqrt(n) позиций со смещением каждого блока, поэтому после хода пересчитываются только
+ * блоки измененных позиций и смещения блоков: O(L + sqrt(n)) для хода, изменившего L позиций.
+ * Для симметричной матрицы разворот не меняет вес отрезка, и префиксные суммы не ведутся.
+ * 3-opt - обмен двух соседних отрезков местами без разворота (or-3opt).
+ */
+public class LocalSearchAlgorithm extends LoggerProvider {
+    /**
+     * Количество ближайших соседей вершины по умолчанию
+     */
+    public static final int DEFAULT_NEIGHBORS = 10;
+
+    /**
+     * Максимальная длина отрезка, переносимого ходом Or-opt
+     */
+    private static final int MAX_SEGMENT = 3;
+
+    /**
+     * Относительная точность сравнения весов (суммы весов копят ошибку округления)
+     */
+    private static final double RELATIVE_EPSILON = 1e-12;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Исходная матрица графа, построчно
+     */
+    private final double[] matrix;
+
+    /**
+     * Количество вершин графа
+     */
+    protected final int size;
+
+    /**
+     * Симметрична ли матрица
+     */
+    protected final boolean symmetric;
+
+    /**
+     * Ближайшие соседи каждой вершины по возрастанию веса ребра (в любую сторону)
+     */
+    protected final int[][] neighbors;
+
+    /**
+     * Те же списки соседей вместе с весами ребер
+     */
+    private final NeighborLists neighborLists;
+
+    /**
+     * Вершины цикла по позициям
+     */
+    protected final int[] tour;
+
+    /**
+     * Позиция каждой вершины в цикле
+     */
+    protected final int[] position;
+
+    /**
+     * Двоичный логарифм размера блока префиксных сумм
+     */
+    private final int blockShift;
+
+    /**
+     * Префиксные суммы весов ребер цикла в прямом направлении внутри блока: forwardOffset[k >> blockShift]
+     * + forward[k] - вес пути от позиции 0 до k
+     */
+    private final double[] forward;
+
+    /**
+     * Префиксные суммы весов ребер цикла в обратном направлении внутри блока: backwardOffset[k >> blockShift]
+     * + backward[k] - вес пути от позиции k до 0
+     */
+    private final double[] backward;
+
+    /**
+     * Веса путей в прямом направлении от позиции 0 до начала каждого блока
+     */
+    private final double[] forwardOffset;
+
+    /**
+     * Веса путей в обратном направлении от начала каждого блока до позиции 0
+     */
+    private final double[] backwardOffset;
+
+    /**
+     * Очередь вершин без бита "не смотреть" (кольцевой буфер)
+     */
+    private final int[] queue;
+
+    /**
+     * Признак вершины в очереди
+     */
+    private final boolean[] queued;
+
+    private int queueHead;
+
+    private int queueSize;
+
+    /**
+     * Отрезок позиций, измененных с последнего сброса (changedFrom > changedTo - изменений нет)
+     */
+    protected int changedFrom;
+
+    protected int changedTo;
+
+    /**
+     * Минимальное улучшение, которое считается улучшением
+     */
+    protected double epsilon;
+
+    /**
+     * Кратчайший найденный путь
+     */
+    protected final ArrayList<Integer> minPath;
+
+    /**
+     * Вес найденного пути
+     */
+    protected double minWeight;
+
+    /**
+     * Количество выполненных ходов каждого вида
+     */
+    protected long twoOptMoves;
+
+    protected long orOptMoves;
+
+    protected long threeOptMoves;
+
+    /**
+     * Конструктор локального поиска
+     * @param matrix - матрица графа
+     */
+    public LocalSearchAlgorithm(CostMatrix matrix) {
+        this(matrix, DEFAULT_NEIGHBORS);
+    }
+
+    /**
+     * Конструктор локального поиска
+     * @param matrix         - матрица графа
+     * @param neighborsCount - количество ближайших соседей вершины, проверяемых ходами
+     */
+    public LocalSearchAlgorithm(CostMatrix matrix, int neighborsCount) {
+        this(matrix, neighborsCount, LocalSearchAlgorithm.class);
+    }
+
+    /**
+     * Конструктор локального поиска для наследников
+     * @param matrix         - матрица графа
+     * @param neighborsCount - количество ближайших соседей вершины, проверяемых ходами
+     * @param objectClass    - класс для логирования
+     */
+    protected <T extends LoggerProvider> LocalSearchAlgorithm(CostMatrix matrix, int neighborsCount, Class<T> objectClass) {
+        super(objectClass);
+        size = matrix.getRows();
+        this.matrix = matrix.toArray();
+        symmetric = isSymmetric();
+        // для симметричной матрицы исходящие ребра совпадают с ребрами в любую сторону, а строки читаются быстрее
+        neighborLists = symmetric
+                ? NeighborLists.outgoing(matrix, Math.max(1, neighborsCount))
+                : NeighborLists.undirected(matrix, Math.max(1, neighborsCount));
+        neighbors = neighborLists.toArrays();
+        tour = new int[size];
+        position = new int[size];
+        blockShift = (Integer.SIZE - Integer.numberOfLeadingZeros(size)) / 2;
+        int blocks = size == 0 ? 0 : ((size - 1) >> blockShift) + 1;
+        forward = new double[size];
+        backward = new double[size];
+        forwardOffset = new double[blocks];
+        backwardOffset = new double[blocks];
+        queue = new int[size];
+        queued = new boolean[size];
+        minPath = new ArrayList<>();
+    }
+
+    /**
+     * @return найденный путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    public ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return вес найденного пути
+     */
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    /**
+     * @return количество выполненных ходов 2-opt
+     */
+    public long getTwoOptMoves() {
+        return twoOptMoves;
+    }
+
+    /**
+     * @return количество выполненных ходов Or-opt
+     */
+    public long getOrOptMoves() {
+        return orOptMoves;
+    }
+
+    /**
+     * @return количество выполненных ходов 3-opt
+     */
+    public long getThreeOptMoves() {
+        return threeOptMoves;
+    }
+
+    /**
+     * Локальный поиск от цикла, построенного жадным алгоритмом по ребрам
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - до локального минимума
+     */
+    public void findPath(long timeLimit) {
+        findPath(new ArrayList<>(), timeLimit);
+    }
+
+    /**
+     * Локальный поиск от переданного цикла
+     * @param startPath - начальный цикл [0, ..., 0], при некорректном цикле строится жадный цикл по ребрам
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - до локального минимума
+     */
+    public void findPath(List<Integer> startPath, long timeLimit) {
+        logInfo("Улучшение пути локальным поиском 2-opt, Or-opt, 3-opt");
+        long startTime = System.nanoTime();
+        long deadline = getDeadline(startTime, timeLimit);
+        twoOptMoves = 0;
+        orOptMoves = 0;
+        threeOptMoves = 0;
+        if (!setTour(startPath)) {
+            setGreedyTour();
+        }
+        initTour();
+        pushAll();
+        optimize(deadline);
+        saveMinPath();
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        logInfo(String.format(
+                "Ходов 2-opt: %d, Or-opt: %d, 3-opt: %d, вес пути: %f",
+                twoOptMoves, orOptMoves, threeOptMoves, minWeight
+        ));
+    }
+
+    /**
+     * Момент окончания поиска
+     * @param startTime - момент начала поиска (System.nanoTime)
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - без ограничения
+     */
+    protected static long getDeadline(long startTime, long timeLimit) {
+        return timeLimit > 0 ? startTime + timeLimit * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Улучшение цикла, пока в очереди есть вершины и не вышло время
+     * @param deadline - момент окончания поиска (System.nanoTime)
+     */
+    protected void optimize(long deadline) {
+        while (queueSize > 0 && System.nanoTime() < deadline) {
+            int vertex = poll();
+            if (improve(vertex)) {
+                push(vertex);
+            }
+        }
+        while (queueSize > 0) {
+            poll();
+        }
+    }
+
+    /**
+     * Поиск и выполнение первого улучшающего хода с новым ребром между вершиной и ее соседом
+     * @param vertex - проверяемая вершина
+     * @return выполнен ли ход
+     */
+    protected boolean improve(int vertex) {
+        if (size < 4) {
+            return false;
+        }
+        int i = position[vertex];
+        for (int neighbor : neighbors[vertex]) {
+            int j = position[neighbor];
+            int low = Math.min(i, j);
+            int high = Math.max(i, j);
+            if (tryTwoOpt(low, high) || low > 0 && tryTwoOpt(low - 1, high - 1)) {
+                return true;
+            }
+            for (int length = 1; length <= MAX_SEGMENT; length++) {
+                if (tryOrOpt(j, length, i, false) || tryOrOpt(j - length + 1, length, i, true)
+                        || tryOrOpt(i, length, j, false) || tryOrOpt(i - length + 1, length, j, true)) {
+                    return true;
+                }
+            }
+            if (j >= i + 2 && tryThreeOpt(i, j - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ход 2-opt: ребра (i, i + 1) и (j, j + 1) заменяются на (i, j) и (i + 1, j + 1), отрезок [i + 1, j]
+     * разворачивается
+     * @return выполнен ли ход
+     */
+    private boolean tryTwoOpt(int i, int j) {
+        if (i < 0 || j < i + 2 || j >= size) {
+            return false;
+        }
+        if (getReversalDelta(i + 1, j) >= -epsilon) {
+            return false;
+        }
+        push(tour[i]);
+        push(tour[i + 1]);
+        push(tour[j]);
+        push(tour[next(j)]);
+        reverse(i + 1, j);
+        twoOptMoves++;
+        return true;
+    }
+
+    /**
+     * Ход Or-opt: отрезок [from, from + length - 1] переносится между позициями after и after + 1
+     * @param reversed - вставить отрезок в обратном порядке
+     * @return выполнен ли ход
+     */
+    private boolean tryOrOpt(int from, int length, int after, boolean reversed) {
+        int to = from + length - 1;
+        if (from < 1 || to >= size || after >= from - 1 && after <= to || length >= size - 1) {
+            return false;
+        }
+        int previous = tour[from - 1];
+        int first = tour[from];
+        int last = tour[to];
+        int following = tour[next(to)];
+        int x = tour[after];
+        int y = tour[next(after)];
+        double delta = weight(previous, following) - weight(previous, first) - weight(last, following)
+                - weight(x, y);
+        if (reversed) {
+            delta += weight(x, last) + weight(first, y) + getSegmentReversalDelta(from, to);
+        }
+        else {
+            delta += weight(x, first) + weight(last, y);
+        }
+        if (delta >= -epsilon) {
+            return false;
+        }
+        int[] segment = new int[length];
+        for (int k = 0; k < length; k++) {
+            segment[k] = tour[reversed ? to - k : from + k];
+        }
+        if (after > to) {
+            System.arraycopy(tour, to + 1, tour, from, after - to);
+            System.arraycopy(segment, 0, tour, after - length + 1, length);
+            updatePositions(from, after);
+            updatePrefixSums(from, after);
+        }
+        else {
+            System.arraycopy(tour, after + 1, tour, after + 1 + length, from - after - 1);
+            System.arraycopy(segment, 0, tour, after + 1, length);
+            updatePositions(after + 1, to);
+            updatePrefixSums(after + 1, to);
+        }
+        push(previous);
+        push(following);
+        push(first);
+        push(last);
+        push(x);
+        push(y);
+        orOptMoves++;
+        return true;
+    }
+
+    /**
+     * Ход 3-opt: соседние отрезки [i + 1, j] и [j + 1, k] меняются местами без разворота,
+     * граница k выбирается по соседям вершины j
+     * @return выполнен ли ход
+     */
+    private boolean tryThreeOpt(int i, int j) {
+        int a = tour[i];
+        int b = tour[i + 1];
+        int c = tour[j];
+        int d = tour[j + 1];
+        double removed = weight(a, b) + weight(c, d);
+        double added = weight(a, d);
+        for (int neighbor : neighbors[c]) {
+            int k = position[neighbor] == 0 ? size - 1 : position[neighbor] - 1;
+            if (k <= j) {
+                continue;
+            }
+            int e = tour[k];
+            int f = tour[next(k)];
+            double delta = added + weight(e, b) + weight(c, f) - removed - weight(e, f);
+            if (delta < -epsilon) {
+                int[] first = new int[j - i];
+                System.arraycopy(tour, i + 1, first, 0, first.length);
+                System.arraycopy(tour, j + 1, tour, i + 1, k - j);
+                System.arraycopy(first, 0, tour, i + 1 + k - j, first.length);
+                updatePositions(i + 1, k);
+                updatePrefixSums(i + 1, k);
+                push(a);
+                push(b);
+                push(c);
+                push(d);
+                push(e);
+                push(f);
+                threeOptMoves++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Изменение веса цикла при развороте отрезка позиций [from, to], 1 <= from < to < size
+     */
+    protected double getReversalDelta(int from, int to) {
+        int a = tour[from - 1];
+        int b = tour[from];
+        int c = tour[to];
+        int d = tour[next(to)];
+        return weight(a, c) + weight(b, d) - weight(a, b) - weight(c, d) + getSegmentReversalDelta(from, to);
+    }
+
+    /**
+     * Изменение веса ребер внутри отрезка позиций [from, to] при его развороте
+     */
+    private double getSegmentReversalDelta(int from, int to) {
+        if (symmetric) {
+            return ZERO_DOUBLE;
+        }
+        return (getBackward(to) - getBackward(from)) - (getForward(to) - getForward(from));
+    }
+
+    /**
+     * Разворот отрезка позиций [from, to], 1 <= from < to < size
+     */
+    protected void reverse(int from, int to) {
+        for (int left = from, right = to; left < right; left++, right--) {
+            int vertex = tour[left];
+            tour[left] = tour[right];
+            tour[right] = vertex;
+        }
+        updatePositions(from, to);
+        updatePrefixSums(from, to);
+    }
+
+    /**
+     * Установка начального цикла
+     * @return корректен ли переданный цикл
+     */
+    protected boolean setTour(List<Integer> path) {
+        if (path.size() != size + 1 || path.get(0) != ZERO || path.get(size) != ZERO) {
+            return false;
+        }
+        boolean[] visited = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            int vertex = path.get(i);
+            if (vertex < 0 || vertex >= size || visited[vertex]) {
+                return false;
+            }
+            visited[vertex] = true;
+            tour[i] = vertex;
+            position[vertex] = i;
+        }
+        return true;
+    }
+
+    /**
+     * Установка цикла из массива вершин по позициям (вершина 0 на позиции 0)
+     */
+    protected void setTour(int[] vertices) {
+        System.arraycopy(vertices, 0, tour, 0, size);
+        updatePositions(0, size - 1);
+        updatePrefixSums(0, size - 1);
+    }
+
+    /**
+     * Начальный цикл жадным алгоритмом по ребрам {@link GreedyEdgeAlgorithm}. Для симметричной матрицы
+     * переиспользуются списки соседей локального поиска
+     */
+    protected void setGreedyTour() {
+        CostMatrix costMatrix = CostMatrix.wrapReadOnly(size, size, matrix);
+        GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(
+                costMatrix,
+                symmetric ? neighborLists : NeighborLists.outgoing(costMatrix, GreedyEdgeAlgorithm.DEFAULT_NEIGHBORS),
+                symmetric
+        );
+        greedyEdgeAlgorithm.findPath();
+        setTour(greedyEdgeAlgorithm.getMinPath());
+    }
+
+    /**
+     * Начальный цикл методом ближайшего соседа, цикл сдвигается так, чтобы вершина 0 была на позиции 0
+     * @param startVertex - вершина, с которой начинается построение
+     */
+    protected void setNearestNeighborTour(int startVertex) {
+        boolean[] visited = new boolean[size];
+        int[] path = new int[size];
+        int current = startVertex;
+        int start = 0;
+        visited[current] = true;
+        path[0] = current;
+        for (int i = 1; i < size; i++) {
+            int nearest = -1;
+            for (int vertex = 0; vertex < size; vertex++) {
+                if (!visited[vertex] && (nearest == -1 || weight(current, vertex) < weight(current, nearest))) {
+                    nearest = vertex;
+                }
+            }
+            visited[nearest] = true;
+            path[i] = nearest;
+            current = nearest;
+            if (nearest == ZERO) {
+                start = i;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            tour[i] = path[(start + i) % size];
+            position[tour[i]] = i;
+        }
+    }
+
+    /**
+     * Подготовка установленного цикла к поиску: префиксные суммы и точность сравнения
+     */
+    protected void initTour() {
+        updatePrefixSums(0, size - 1);
+        if (symmetric) {
+            epsilon = RELATIVE_EPSILON * (2 * Math.abs(getTourWeight()) + 1);
+        }
+    }
+
+    /**
+     * Снять бит "не смотреть" со всех вершин
+     */
+    protected void pushAll() {
+        for (int vertex : tour) {
+            push(vertex);
+        }
+    }
+
+    /**
+     * @return вес текущего цикла
+     */
+    protected double getTourWeight() {
+        double weight = ZERO_DOUBLE;
+        for (int i = 0; i < size; i++) {
+            weight += weight(tour[i], tour[next(i)]);
+        }
+        return weight;
+    }
+
+    /**
+     * Сохранение текущего цикла как найденного пути
+     */
+    protected void saveMinPath() {
+        minPath.clear();
+        for (int vertex : tour) {
+            minPath.add(vertex);
+        }
+        minPath.add(ZERO);
+        minWeight = getTourWeight();
+    }
+
+    /**
+     * @return симметрична ли матрица
+     */
+    private boolean isSymmetric() {
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                if (weight(i, j) != weight(j, i)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Пересчет префиксных сумм весов цикла и точности сравнения после изменения вершин на отрезке позиций
+     * [from, to] (только для несимметричной матрицы): пересчитываются блоки позиций [from, to + 1], в которые
+     * входят измененные ребра, и смещения следующих блоков
+     */
+    protected void updatePrefixSums(int from, int to) {
+        if (symmetric || size == 0) {
+            return;
+        }
+        int firstBlock = from >> blockShift;
+        int lastBlock = Math.min(to + 1, size - 1) >> blockShift;
+        for (int block = firstBlock; block <= lastBlock; block++) {
+            int start = block << blockShift;
+            int end = Math.min(start + (1 << blockShift), size);
+            double forwardSum = ZERO_DOUBLE;
+            double backwardSum = ZERO_DOUBLE;
+            for (int k = start; k < end; k++) {
+                if (k > 0) {
+                    forwardSum += weight(tour[k - 1], tour[k]);
+                    backwardSum += weight(tour[k], tour[k - 1]);
+                }
+                forward[k] = forwardSum;
+                backward[k] = backwardSum;
+            }
+        }
+        for (int block = firstBlock + 1; block < forwardOffset.length; block++) {
+            int last = (block << blockShift) - 1;
+            forwardOffset[block] = forwardOffset[block - 1] + forward[last];
+            backwardOffset[block] = backwardOffset[block - 1] + backward[last];
+        }
+        epsilon = RELATIVE_EPSILON * (Math.abs(getForward(size - 1)) + Math.abs(getBackward(size - 1)) + 1);
+    }
+
+    /**
+     * Вес пути в прямом направлении от позиции 0 до позиции k
+     */
+    private double getForward(int k) {
+        return forwardOffset[k >> blockShift] + forward[k];
+    }
+
+    /**
+     * Вес пути в обратном направлении от позиции k до позиции 0
+     */
+    private double getBackward(int k) {
+        return backwardOffset[k >> blockShift] + backward[k];
+    }
+
+    /**
+     * Пересчет позиций вершин на отрезке позиций [from, to]
+     */
+    protected void updatePositions(int from, int to) {
+        changedFrom = Math.min(changedFrom, from);
+        changedTo = Math.max(changedTo, to);
+        for (int k = from; k <= to; k++) {
+            position[tour[k]] = k;
+        }
+    }
+
+    /**
+     * Снять бит "не смотреть" с вершины
+     */
+    protected void push(int vertex) {
+        if (!queued[vertex]) {
+            queued[vertex] = true;
+            queue[(queueHead + queueSize++) % size] = vertex;
+        }
+    }
+
+    /**
+     * Следующая вершина для проверки
+     */
+    private int poll() {
+        int vertex = queue[queueHead];
+        queueHead = (queueHead + 1) % size;
+        queueSize--;
+        queued[vertex] = false;
+        return vertex;
+    }
+
+    /**
+     * Следующая позиция цикла
+     */
+    protected int next(int i) {
+        return i + 1 == size ? 0 : i + 1;
+    }
+
+    /**
+     * Предыдущая позиция цикла
+     */
+    protected int previous(int i) {
+        return i == 0 ? size - 1 : i - 1;
+    }
+
+    /**
+     * Вес ребра
+     */
+    protected double weight(int from, int to) {
+        return matrix[from * size + to];
+    }
+}
@@ -0,0 +1,159 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+
+import java.util.stream.IntStream;
+
+/**
+ * Списки кандидатов: для каждой вершины count ближайших вершин по возрастанию веса ребра
+ * <p>
+ * Вес ребра зависит от направления списков: исходящие ребра w(v, u), входящие ребра w(u, v) или
+ * ребро в любую сторону min(w(v, u), w(u, v)). При равных весах вершины идут по возрастанию номера.
+ * Списки строятся один раз за O(n^2 * count) (строки большой матрицы - параллельно) и переиспользуются
+ * жадными алгоритмами и локальным поиском вместо просмотра строки матрицы на каждом шаге.
+ * Вершина не входит в свой список, ребра с весом INF входят как обычные.
+ */
+public class NeighborLists {
+    /**
+     * Количество вершин, начиная с которого списки строятся параллельно
+     */
+    private static final int PARALLEL_ROWS = 128;
+
+    /**
+     * Количество вершин
+     */
+    private final int size;
+
+    /**
+     * Длина списка каждой вершины
+     */
+    private final int count;
+
+    /**
+     * Соседи вершины v - элементы [v * count, (v + 1) * count)
+     */
+    private final int[] vertexes;
+
+    /**
+     * Веса ребер до соседей в том же порядке
+     */
+    private final double[] weights;
+
+    /**
+     * Направление ребер в списках
+     */
+    private enum Direction {
+        OUTGOING,
+        INCOMING,
+        UNDIRECTED
+    }
+
+    private NeighborLists(CostMatrix matrix, int count, Direction direction) {
+        size = matrix.getRows();
+        this.count = Math.max(0, Math.min(count, size - 1));
+        vertexes = new int[size * this.count];
+        weights = new double[size * this.count];
+        IntStream rows = IntStream.range(0, size);
+        (size >= PARALLEL_ROWS ? rows.parallel() : rows).forEach(vertex -> fillRow(matrix, vertex, direction));
+    }
+
+    /**
+     * Списки по исходящим ребрам: w(v, u)
+     * @param matrix - матрица графа
+     * @param count  - длина списка каждой вершины
+     */
+    public static NeighborLists outgoing(CostMatrix matrix, int count) {
+        return new NeighborLists(matrix, count, Direction.OUTGOING);
+    }
+
+    /**
+     * Списки по входящим ребрам: w(u, v)
+     * @param matrix - матрица графа
+     * @param count  - длина списка каждой вершины
+     */
+    public static NeighborLists incoming(CostMatrix matrix, int count) {
+        return new NeighborLists(matrix, count, Direction.INCOMING);
+    }
+
+    /**
+     * Списки по ребрам в любую сторону: min(w(v, u), w(u, v))
+     * @param matrix - матрица графа
+     * @param count  - длина списка каждой вершины
+     */
+    public static NeighborLists undirected(CostMatrix matrix, int count) {
+        return new NeighborLists(matrix, count, Direction.UNDIRECTED);
+    }
+
+    /**
+     * @return количество вершин
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return длина списка каждой вершины
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @param vertex - вершина
+     * @param k      - номер соседа в списке (0 - ближайший)
+     * @return сосед вершины
+     */
+    public int get(int vertex, int k) {
+        return vertexes[vertex * count + k];
+    }
+
+    /**
+     * @param vertex - вершина
+     * @param k      - номер соседа в списке (0 - ближайший)
+     * @return вес ребра до соседа
+     */
+    public double getWeight(int vertex, int k) {
+        return weights[vertex * count + k];
+    }
+
+    /**
+     * @return списки соседей в виде массива массивов (копия)
+     */
+    public int[][] toArrays() {
+        int[][] result = new int[size][];
+        for (int vertex = 0; vertex < size; vertex++) {
+            result[vertex] = new int[count];
+            System.arraycopy(vertexes, vertex * count, result[vertex], 0, count);
+        }
+        return result;
+    }
+
+    /**
+     * Заполнение списка вершины вставкой: хранятся count лучших, равный вес не вытесняет меньший номер
+     */
+    private void fillRow(CostMatrix matrix, int vertex, Direction direction) {
+        int base = vertex * count;
+        int found = 0;
+        for (int other = 0; other < size && count > 0; other++) {
+            if (other == vertex) {
+                continue;
+            }
+            double weight = switch (direction) {
+                case OUTGOING -> matrix.get(vertex, other);
+                case INCOMING -> matrix.get(other, vertex);
+                case UNDIRECTED -> Math.min(matrix.get(vertex, other), matrix.get(other, vertex));
+            };
+            if (found == count && weight >= weights[base + count - 1]) {
+                continue;
+            }
+            int k = found < count ? found++ : count - 1;
+            while (k > 0 && weights[base + k - 1] > weight) {
+                weights[base + k] = weights[base + k - 1];
+                vertexes[base + k] = vertexes[base + k - 1];
+                k--;
+            }
+            weights[base + k] = weight;
+            vertexes[base + k] = other;
+        }
+    }
+}
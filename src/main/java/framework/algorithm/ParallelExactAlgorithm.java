@@ -0,0 +1,440 @@
+package framework.algorithm;
+
+import framework.anytime.SolveControl;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.metrics.SolveMetrics;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.TIME;
+
+/**
+ * Параллельный точный поиск гамильтонова цикла минимального веса на {@link ForkJoinPool}
+ * <p>
+ * Дерево перебора до глубины splitDepth разбивается на независимые подзадачи (по выбору следующих вершин),
+ * ниже поиск в каждой подзадаче последовательный. Рекордный путь общий для всех потоков
+ * и обновляется без блокировок через {@link AtomicReference}, поэтому отсечение работает между потоками.
+ * <p>
+ * Узел отсекается, если вес текущего пути плюс сумма минимальных исходящих ребер
+ * оставшихся вершин не меньше рекордного пути.
+ * <p>
+ * Для разреженного графа {@link SparseGraph} перебираются только существующие ребра, память O(n + m).
+ */
+public class ParallelExactAlgorithm extends LoggerProvider {
+    /**
+     * Глубина разбиения дерева перебора на подзадачи по умолчанию
+     */
+    public static final int DEFAULT_SPLIT_DEPTH = 3;
+
+    /**
+     * Время выполнения алгоритма
+     */
+    protected long time;
+
+    /**
+     * Количество вершин графа
+     */
+    private final int size;
+
+    /**
+     * Вершины, отсортированные по возрастанию веса ребра из каждой вершины
+     * (для разреженного графа - только существующие ребра)
+     */
+    private final int[][] nearest;
+
+    /**
+     * Веса ребер до вершин nearest в том же порядке
+     */
+    private final double[][] nearestWeights;
+
+    /**
+     * Вес ребра из каждой вершины в вершину 0, замыкающего цикл
+     */
+    private final double[] returnWeight;
+
+    /**
+     * Минимальный вес исходящего ребра каждой вершины
+     */
+    private final double[] minOut;
+
+    /**
+     * Глубина разбиения дерева перебора на подзадачи
+     */
+    private final int splitDepth;
+
+    /**
+     * Количество потоков
+     */
+    private final int parallelism;
+
+    /**
+     * Рекордный путь, общий для всех потоков
+     */
+    private final AtomicReference<Incumbent> incumbent;
+
+    /**
+     * Рекордный путь и его вес
+     * @param cost - вес пути
+     * @param path - путь, начинающийся и заканчивающийся в вершине 0
+     */
+    private record Incumbent(double cost, int[] path) {
+    }
+
+    /**
+     * Управление поиском: ограничение времени, отмена и оповещение о новых рекордах
+     */
+    private SolveControl<List<Integer>> control = SolveControl.unlimited();
+
+    /**
+     * Счетчики поиска, общие для всех потоков: задачи добавляют свои счетчики по завершении
+     */
+    private SolveMetrics metrics;
+
+    /**
+     * Поток, вызвавший поиск: его память учитывают сами счетчики, а не подзадачи
+     */
+    private Thread solveThread;
+
+    /**
+     * Конструктор параллельного поиска с параметрами по умолчанию
+     * @param matrix - матрица графа
+     */
+    public ParallelExactAlgorithm(CostMatrix matrix) {
+        this(matrix, DEFAULT_SPLIT_DEPTH, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор параллельного поиска
+     * @param matrix      - матрица графа
+     * @param splitDepth  - глубина разбиения дерева перебора на подзадачи
+     * @param parallelism - количество потоков
+     */
+    public ParallelExactAlgorithm(CostMatrix matrix, int splitDepth, int parallelism) {
+        this(
+                matrix.getRows(),
+                splitDepth,
+                parallelism,
+                vertex -> IntStream.range(0, matrix.getRows()).filter(j -> j != vertex).toArray(),
+                matrix::get
+        );
+    }
+
+    /**
+     * Конструктор параллельного поиска по разреженному графу с параметрами по умолчанию
+     * @param graph - разреженный граф
+     */
+    public ParallelExactAlgorithm(SparseGraph graph) {
+        this(graph, DEFAULT_SPLIT_DEPTH, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Конструктор параллельного поиска по разреженному графу
+     * @param graph       - разреженный граф
+     * @param splitDepth  - глубина разбиения дерева перебора на подзадачи
+     * @param parallelism - количество потоков
+     */
+    public ParallelExactAlgorithm(SparseGraph graph, int splitDepth, int parallelism) {
+        this(
+                graph.getSize(),
+                splitDepth,
+                parallelism,
+                vertex -> IntStream.range(graph.getStart(vertex), graph.getEnd(vertex)).map(graph::getTarget).toArray(),
+                graph::get
+        );
+    }
+
+    /**
+     * Общий конструктор: списки ближайших вершин строятся по смежным вершинам и весам ребер
+     * @param size        - количество вершин
+     * @param splitDepth  - глубина разбиения дерева перебора на подзадачи
+     * @param parallelism - количество потоков
+     * @param adjacent    - смежные вершины (концы исходящих ребер) вершины
+     * @param weight      - вес ребра (from, to)
+     */
+    private ParallelExactAlgorithm(
+            int size,
+            int splitDepth,
+            int parallelism,
+            IntFunction<int[]> adjacent,
+            EdgeWeight weight
+    ) {
+        super(ParallelExactAlgorithm.class);
+        this.size = size;
+        this.splitDepth = splitDepth;
+        this.parallelism = parallelism;
+        nearest = new int[size][];
+        nearestWeights = new double[size][];
+        returnWeight = new double[size];
+        minOut = new double[size];
+        for (int i = 0; i < size; i++) {
+            int from = i;
+            nearest[i] = Arrays.stream(adjacent.apply(i))
+                    .boxed()
+                    .sorted(Comparator.comparingDouble(j -> weight.get(from, j)))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            nearestWeights[i] = Arrays.stream(nearest[i]).mapToDouble(j -> weight.get(from, j)).toArray();
+            returnWeight[i] = weight.get(i, 0);
+            minOut[i] = nearest[i].length == 0 ? ZERO_DOUBLE : nearestWeights[i][0];
+        }
+        incumbent = new AtomicReference<>(new Incumbent(INF * INF, new int[0]));
+        metrics = new SolveMetrics(ParallelExactAlgorithm.class.getSimpleName(), "PARALLEL", size);
+    }
+
+    /**
+     * Вес ребра графа
+     */
+    @FunctionalInterface
+    private interface EdgeWeight {
+        double get(int from, int to);
+    }
+
+    /**
+     * Установить счетчики решения, в которые алгоритм записывает раскрытые и отсеченные узлы
+     * @param metrics - счетчики решения
+     */
+    public void setMetrics(SolveMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Установить управление поиском (ограничение времени, отмена, слушатель рекордов)
+     * @param control - управление поиском
+     */
+    public void setControl(SolveControl<List<Integer>> control) {
+        this.control = control;
+    }
+
+    /**
+     * @return кратчайший путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    public ArrayList<Integer> getMinPath() {
+        ArrayList<Integer> minPath = new ArrayList<>();
+        for (int vertex : incumbent.get().path()) {
+            minPath.add(vertex);
+        }
+        return minPath;
+    }
+
+    /**
+     * @return минимальный вес пути
+     */
+    public double getMinWeight() {
+        return incumbent.get().cost();
+    }
+
+    /**
+     * Поиск гамильтонова цикла минимального веса
+     * @param upperBound - вес начального (рекордного) пути, например найденного жадным алгоритмом
+     * @param upperPath  - начальный путь, возвращается если не найден путь меньшего веса
+     */
+    public void findPath(double upperBound, List<Integer> upperPath) {
+        logInfo(String.format(
+                "Параллельный поиск кратчайшего пути: потоков %d, глубина разбиения %d", parallelism, splitDepth
+        ));
+        long startTime = System.nanoTime();
+        incumbent.set(new Incumbent(upperBound, upperPath.stream().mapToInt(Integer::intValue).toArray()));
+
+        int[] path = new int[size];
+        boolean[] visited = new boolean[size];
+        visited[0] = true;
+        double remaining = ZERO_DOUBLE;
+        for (double value : minOut) {
+            remaining += value;
+        }
+        solveThread = Thread.currentThread();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SearchTask(path, visited, 1, ZERO_DOUBLE, remaining));
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        if (control.isStopped()) {
+            logInfo("Поиск остановлен до завершения, путь может быть не кратчайшим");
+        }
+    }
+
+    /**
+     * Обновление рекордного пути, если найденный путь короче
+     * @param cost - вес найденного пути
+     * @param path - найденный путь без возврата в вершину 0
+     */
+    private void offer(double cost, int[] path) {
+        Incumbent current = incumbent.get();
+        if (cost >= current.cost()) {
+            return;
+        }
+        int[] cycle = new int[size + 1];
+        System.arraycopy(path, 0, cycle, 0, size);
+        Incumbent candidate = new Incumbent(cost, cycle);
+        while (cost < current.cost() && !incumbent.compareAndSet(current, candidate)) {
+            current = incumbent.get();
+        }
+        synchronized (incumbent) {
+            if (incumbent.get() == candidate) {
+                metrics.incumbent();
+                control.improve(cost, Arrays.stream(cycle).boxed().toList());
+            }
+        }
+    }
+
+    /**
+     * Подзадача перебора поддерева с зафиксированным началом пути
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] path;
+        private final boolean[] visited;
+        private final int depth;
+        private final double cost;
+        private final double remaining;
+
+        /**
+         * Узлы последовательного поиска, еще не учтенные в управлении поиском
+         */
+        private long nodes;
+
+        /**
+         * Раскрытые узлы задачи по глубине и отсеченные узлы задачи
+         */
+        private final long[] depths = new long[size + 1];
+
+        private long pruned;
+
+        /**
+         * @param path      - текущий путь
+         * @param visited   - посещенные вершины текущего пути
+         * @param depth     - количество вершин в текущем пути
+         * @param cost      - вес текущего пути
+         * @param remaining - сумма минимальных исходящих ребер последней и непосещенных вершин
+         */
+        private SearchTask(int[] path, boolean[] visited, int depth, double cost, double remaining) {
+            this.path = path;
+            this.visited = visited;
+            this.depth = depth;
+            this.cost = cost;
+            this.remaining = remaining;
+        }
+
+        @Override
+        protected void compute() {
+            if (control.isStopped()) {
+                return;
+            }
+            long allocated = SolveMetrics.getThreadAllocatedBytes();
+            if (depth >= splitDepth || depth == size) {
+                search(path[depth - 1], depth, cost, remaining);
+                control.addNodes(nodes);
+                metrics.merge(depths, pruned);
+                addAllocatedBytes(allocated);
+                return;
+            }
+            depths[depth]++;
+            int current = path[depth - 1];
+            List<SearchTask> tasks = new ArrayList<>();
+            for (int k = 0; k < nearest[current].length; k++) {
+                int next = nearest[current][k];
+                if (visited[next]) {
+                    continue;
+                }
+                double nextCost = cost + nearestWeights[current][k];
+                double nextRemaining = remaining - minOut[current];
+                if (nextCost + nextRemaining >= incumbent.get().cost()) {
+                    pruned += countUnvisited(current, k);
+                    break;
+                }
+                int[] nextPath = path.clone();
+                boolean[] nextVisited = visited.clone();
+                nextPath[depth] = next;
+                nextVisited[next] = true;
+                tasks.add(new SearchTask(nextPath, nextVisited, depth + 1, nextCost, nextRemaining));
+            }
+            metrics.merge(depths, pruned);
+            addAllocatedBytes(allocated);
+            invokeAll(tasks);
+        }
+
+        /**
+         * Учет памяти, выделенной задачей в рабочем потоке (без подзадач, они учитывают себя сами). Задача,
+         * выполненная в потоке решения, уже учтена в {@link SolveMetrics#finish()}
+         * @param allocated - выделенная потоком память на начало задачи, -1 - учет не поддерживается
+         */
+        private void addAllocatedBytes(long allocated) {
+            if (allocated >= 0 && Thread.currentThread() != solveThread) {
+                metrics.addAllocatedBytes(SolveMetrics.getThreadAllocatedBytes() - allocated);
+            }
+        }
+
+        /**
+         * Последовательный перебор поддерева
+         * @param current   - последняя вершина текущего пути
+         * @param depth     - количество вершин в текущем пути
+         * @param cost      - вес текущего пути
+         * @param remaining - сумма минимальных исходящих ребер последней и непосещенных вершин
+         */
+        private void search(int current, int depth, double cost, double remaining) {
+            if (++nodes == SolveControl.CHECK_INTERVAL) {
+                control.addNodes(nodes);
+                nodes = 0;
+                control.poll();
+            }
+            if (control.isStopped()) {
+                return;
+            }
+            depths[depth]++;
+            if (depth == size) {
+                offer(cost + returnWeight[current], path);
+                return;
+            }
+            double nextRemaining = remaining - minOut[current];
+            for (int k = 0; k < nearest[current].length; k++) {
+                int next = nearest[current][k];
+                if (visited[next]) {
+                    continue;
+                }
+                double nextCost = cost + nearestWeights[current][k];
+                if (nextCost + nextRemaining >= incumbent.get().cost()) {
+                    pruned += countUnvisited(current, k);
+                    break;
+                }
+                visited[next] = true;
+                path[depth] = next;
+                search(next, depth + 1, nextCost, nextRemaining);
+                visited[next] = false;
+            }
+        }
+
+        /**
+         * Количество непосещенных соседей, отсекаемых вместе с соседом from: соседи отсортированы по весу ребра,
+         * поэтому граница не меньше веса лучшего решения и для всех следующих
+         * @param current - последняя вершина текущего пути
+         * @param from    - позиция первого отсекаемого соседа в nearest[current]
+         * @return количество отсеченных вершин
+         */
+        private int countUnvisited(int current, int from) {
+            int count = 0;
+            for (int k = from; k < nearest[current].length; k++) {
+                if (!visited[nearest[current][k]]) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package framework.anytime;
+
+/**
+ * Улучшение текущего лучшего решения (рекорда), найденное во время поиска
+ * @param cost     - стоимость решения (вес пути или ценность рюкзака)
+ * @param solution - решение (вершины пути или взятые вещи)
+ * @param elapsed  - время от начала решения, наносекунды
+ * @param nodes    - количество раскрытых узлов перебора к моменту улучшения
+ */
+public record Incumbent<T>(double cost, T solution, long elapsed, long nodes) {
+}
@@ -0,0 +1,167 @@
+package framework.anytime;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Управление решением: ограничение времени, кооперативная отмена и оповещение об улучшениях рекорда
+ * <p>
+ * Алгоритм сам проверяет, не пора ли остановиться: однопоточный перебор вызывает {@link #checkStop()}
+ * в каждом узле (время проверяется раз в {@link #CHECK_INTERVAL} узлов), параллельный - считает узлы
+ * в задаче и вызывает {@link #addNodes(long)} и {@link #poll()}. После остановки алгоритм сворачивает
+ * перебор и оставляет лучшее найденное решение.
+ * @param <T> - тип решения (вершины пути или взятые вещи)
+ */
+public class SolveControl<T> {
+    /**
+     * Количество узлов перебора между проверками времени и отмены
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * Время начала решения, наносекунды
+     */
+    private final long startTime;
+
+    /**
+     * Момент остановки по времени, наносекунды
+     */
+    private final long deadline;
+
+    /**
+     * Слушатель улучшений, null - улучшения только запоминаются
+     */
+    private final SolveListener<T> listener;
+
+    /**
+     * Узлы, учтенные при проверках
+     */
+    private final AtomicLong nodes = new AtomicLong();
+
+    /**
+     * Узлы потока решения после последней проверки
+     */
+    private long pending;
+
+    /**
+     * Запрошена ли отмена
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Остановлен ли перебор (по времени или отмене)
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Последний рекорд
+     */
+    private volatile Incumbent<T> best;
+
+    /**
+     * Управление решением
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - без ограничения
+     * @param listener  - слушатель улучшений, null - без оповещения
+     */
+    public SolveControl(long timeLimit, SolveListener<T> listener) {
+        this.listener = listener;
+        startTime = System.nanoTime();
+        deadline = timeLimit > 0 ? startTime + timeLimit * 1_000_000 : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return управление без ограничения времени и слушателя (обычное синхронное решение)
+     */
+    public static <T> SolveControl<T> unlimited() {
+        return new SolveControl<>(0, null);
+    }
+
+    /**
+     * Запрос отмены: перебор остановится при ближайшей проверке
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Учет узла перебора и проверка остановки раз в {@link #CHECK_INTERVAL} узлов
+     * (только для потока решения)
+     * @return нужно ли остановить перебор
+     */
+    public boolean checkStop() {
+        if (++pending < CHECK_INTERVAL) {
+            return stopped;
+        }
+        nodes.addAndGet(pending);
+        pending = 0;
+        return poll();
+    }
+
+    /**
+     * Учет узлов перебора из параллельной задачи
+     * @param count - количество узлов
+     */
+    public void addNodes(long count) {
+        nodes.addAndGet(count);
+    }
+
+    /**
+     * Немедленная проверка времени и отмены
+     * @return нужно ли остановить перебор
+     */
+    public boolean poll() {
+        if (!stopped && (cancelled || System.nanoTime() >= deadline)) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * @return был ли перебор остановлен до завершения (решение может быть не оптимальным)
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Новый рекорд: запоминается и передается слушателю
+     * @param cost     - стоимость решения
+     * @param solution - решение (неизменяемая копия)
+     */
+    public synchronized void improve(double cost, T solution) {
+        best = new Incumbent<>(cost, solution, getElapsed(), getNodes());
+        if (listener != null) {
+            listener.onIncumbent(best);
+        }
+    }
+
+    /**
+     * @return последний рекорд, null - решение еще не найдено
+     */
+    public Incumbent<T> getBest() {
+        return best;
+    }
+
+    /**
+     * @return количество раскрытых узлов перебора
+     */
+    public long getNodes() {
+        return nodes.get() + pending;
+    }
+
+    /**
+     * @return время от начала решения, наносекунды
+     */
+    public long getElapsed() {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Итог решения
+     * @param cost     - стоимость лучшего решения
+     * @param solution - лучшее решение
+     */
+    public SolveResult<T> getResult(double cost, T solution) {
+        SolveStatus status = !stopped ? SolveStatus.OPTIMAL : cancelled ? SolveStatus.CANCELLED : SolveStatus.DEADLINE;
+        return new SolveResult<>(cost, solution, getElapsed(), getNodes(), status);
+    }
+}
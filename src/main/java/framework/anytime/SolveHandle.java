@@ -0,0 +1,93 @@
+package framework.anytime;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Запущенное асинхронное решение
+ * <p>
+ * Решение выполняется в отдельном потоке-демоне. {@link #cancel()} останавливает перебор, и будущий результат
+ * завершается лучшим найденным решением со статусом {@link SolveStatus#CANCELLED}. Отмена самого
+ * {@link CompletableFuture} тоже останавливает перебор, но результат при этом теряется.
+ * @param <T> - тип решения (вершины пути или взятые вещи)
+ */
+public class SolveHandle<T> {
+    /**
+     * Потоки асинхронных решений
+     */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "anytime-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final SolveControl<T> control;
+
+    private final CompletableFuture<SolveResult<T>> future;
+
+    private SolveHandle(SolveControl<T> control, CompletableFuture<SolveResult<T>> future) {
+        this.control = control;
+        this.future = future;
+    }
+
+    /**
+     * Запуск решения в отдельном потоке
+     * @param control - управление решением, которое использует алгоритм
+     * @param solve   - решение задачи, возвращающее итог
+     */
+    public static <T> SolveHandle<T> start(SolveControl<T> control, Supplier<SolveResult<T>> solve) {
+        CompletableFuture<SolveResult<T>> future = new CompletableFuture<>();
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                control.cancel();
+            }
+        });
+        EXECUTOR.execute(() -> {
+            try {
+                future.complete(solve.get());
+            }
+            catch (Throwable error) {
+                future.completeExceptionally(error);
+            }
+        });
+        return new SolveHandle<>(control, future);
+    }
+
+    /**
+     * @return будущий итог решения
+     */
+    public CompletableFuture<SolveResult<T>> getFuture() {
+        return future;
+    }
+
+    /**
+     * Ожидание итога решения
+     */
+    public SolveResult<T> join() {
+        return future.join();
+    }
+
+    /**
+     * Кооперативная отмена: перебор останавливается, итог - лучшее найденное решение
+     */
+    public void cancel() {
+        control.cancel();
+    }
+
+    /**
+     * @return последний рекорд, null - решение еще не найдено
+     */
+    public Incumbent<T> getBest() {
+        return control.getBest();
+    }
+
+    /**
+     * @return завершено ли решение
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+}
@@ -0,0 +1,15 @@
+package framework.anytime;
+
+/**
+ * Слушатель улучшений рекорда
+ * <p>
+ * Вызывается в потоке решения при каждом улучшении, поэтому не должен выполнять долгих действий.
+ */
+@FunctionalInterface
+public interface SolveListener<T> {
+    /**
+     * Найдено решение лучше предыдущего
+     * @param incumbent - новый рекорд
+     */
+    void onIncumbent(Incumbent<T> incumbent);
+}
@@ -0,0 +1,18 @@
+package framework.anytime;
+
+/**
+ * Результат асинхронного решения
+ * @param cost     - стоимость лучшего решения
+ * @param solution - лучшее решение, пустое - решения нет
+ * @param time     - время решения, наносекунды
+ * @param nodes    - количество раскрытых узлов перебора
+ * @param status   - причина завершения
+ */
+public record SolveResult<T>(double cost, T solution, long time, long nodes, SolveStatus status) {
+    /**
+     * @return доказана ли оптимальность решения
+     */
+    public boolean isOptimal() {
+        return status == SolveStatus.OPTIMAL;
+    }
+}
@@ -0,0 +1,21 @@
+package framework.anytime;
+
+/**
+ * Причина завершения решения
+ */
+public enum SolveStatus {
+    /**
+     * Перебор завершен, решение оптимально
+     */
+    OPTIMAL,
+
+    /**
+     * Истекло ограничение времени, возвращен лучший найденный результат
+     */
+    DEADLINE,
+
+    /**
+     * Решение отменено, возвращен лучший найденный результат
+     */
+    CANCELLED
+}
@@ -0,0 +1,90 @@
+package framework.batch;
+
+import framework.utils.BinaryContent;
+import framework.utils.BinaryDataWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * Задача пакетного решения: файл экземпляра и вид задачи в нем
+ * @param name    - имя задачи (имя файла без расширения)
+ * @param file    - путь к файлу
+ * @param content - вид задачи ({@link BinaryContent#TSP}, {@link BinaryContent#CAP}, {@link BinaryContent#KP}),
+ *                null - вид задачи определить не удалось
+ * @param binary  - бинарный файл ({@link BinaryDataWriter}) или текстовый
+ */
+public record BatchJob(String name, String file, BinaryContent content, boolean binary) {
+    /**
+     * Размер начала заголовка бинарного файла: сигнатура, версия, код содержимого
+     */
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    /**
+     * Задача по файлу: вид бинарного файла берется из заголовка, вид текстового - из начала имени файла
+     * (tsp..., cap..., kp...)
+     * @param file - путь к файлу
+     */
+    public static BatchJob of(Path file) {
+        BinaryContent content = readBinaryContent(file);
+        if (content != null) {
+            return new BatchJob(getName(file), file.toString(), content, true);
+        }
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (BinaryContent problem : new BinaryContent[] {BinaryContent.TSP, BinaryContent.CAP, BinaryContent.KP}) {
+            if (fileName.startsWith(problem.name().toLowerCase(Locale.ROOT))) {
+                return new BatchJob(getName(file), file.toString(), problem, false);
+            }
+        }
+        return new BatchJob(getName(file), file.toString(), null, false);
+    }
+
+    /**
+     * Задача по файлу с заданным видом задачи: бинарный ли файл, определяется по заголовку
+     * @param content - вид задачи
+     * @param file    - путь к файлу
+     */
+    public static BatchJob of(BinaryContent content, Path file) {
+        return new BatchJob(getName(file), file.toString(), content, readBinaryContent(file) != null);
+    }
+
+    /**
+     * Вид задачи из заголовка бинарного файла
+     * @return вид задачи, null - файл не бинарный или не читается
+     */
+    private static BinaryContent readBinaryContent(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    return null;
+                }
+            }
+            header.flip();
+            if (header.getInt() != BinaryDataWriter.MAGIC || header.getInt() != BinaryDataWriter.VERSION) {
+                return null;
+            }
+            int code = header.getInt();
+            for (BinaryContent content : BinaryContent.values()) {
+                if (content.getCode() == code && content != BinaryContent.SOLUTION) {
+                    return content;
+                }
+            }
+            return null;
+        }
+        catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String getName(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
@@ -0,0 +1,19 @@
+package framework.batch;
+
+/**
+ * Итог одной задачи пакетного решения
+ * @param job       - задача
+ * @param size      - размер экземпляра (вершины, размер задачи о назначениях, вещи), -1 - экземпляр не прочитан
+ * @param waitTime  - ожидание в очереди до начала чтения, наносекунды
+ * @param readTime  - чтение экземпляра, наносекунды
+ * @param solveTime - решение с записью результата, наносекунды
+ * @param error     - сообщение об ошибке, null - задача решена
+ */
+public record BatchResult(BatchJob job, int size, long waitTime, long readTime, long solveTime, String error) {
+    /**
+     * @return решена ли задача
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,334 @@
+package framework.batch;
+
+import framework.exception.FrameworkException;
+import framework.exception.InvalidDataException;
+import framework.exception.WriteException;
+import framework.kp.Kp;
+import framework.kp.KpSolveMethod;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.tsp.Tsp;
+import framework.provider.LoggerProvider;
+import framework.utils.BinaryContent;
+import framework.utils.OutputContext;
+import framework.utils.WriteDataUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static framework.utils.WriteDataUtils.ENTER;
+
+/**
+ * Пакетное решение экземпляров задач из каталога или списка файлов
+ * <p>
+ * Чтение экземпляров выполняется в пуле потоков ввода-вывода, решение - в пуле размером с количество
+ * процессоров. Одновременно прочитанных, но еще не решенных экземпляров не больше двух на поток решения,
+ * поэтому большой пакет не загружается в память целиком. Каждая задача пишет файлы в свой каталог
+ * (имя задачи внутри выходного каталога) со своим индексом файла через {@link OutputContext},
+ * общие путь и индекс {@link WriteDataUtils} не меняются.
+ * <p>
+ * Ошибка чтения, записи или решения одной задачи попадает в ее итог и не останавливает пакет: чтение и решение
+ * выполняются в {@link FrameworkException#callWithoutExit}, поэтому некорректные данные или отсутствующий файл
+ * экземпляра бросают {@link InvalidDataException} вместо завершения программы.
+ */
+public class BatchRunner extends LoggerProvider {
+    /**
+     * Количество потоков чтения по умолчанию
+     */
+    public static final int DEFAULT_IO_THREADS = 4;
+
+    /**
+     * Имя файла сводной таблицы в выходном каталоге
+     */
+    public static final String SUMMARY_FILE = "batch_summary.txt";
+
+    /**
+     * Выходной каталог (с разделителем в конце)
+     */
+    private final String outputDirectory;
+
+    /**
+     * Способ решения задач о коммивояжере и двухуровневых задач о назначениях
+     */
+    private PathSolveMethod pathSolveMethod = PathSolveMethod.EXHAUSTIVE;
+
+    /**
+     * Способ решения задач о рюкзаке
+     */
+    private KpSolveMethod kpSolveMethod = KpSolveMethod.EXHAUSTIVE;
+
+    /**
+     * Количество потоков чтения
+     */
+    private int ioThreads = DEFAULT_IO_THREADS;
+
+    /**
+     * Количество потоков решения
+     */
+    private int solveThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Прочитанный экземпляр, готовый к решению
+     * @param size  - размер экземпляра
+     * @param solve - решение с записью результата
+     */
+    private record LoadedJob(int size, Runnable solve) {
+    }
+
+    /**
+     * Время шагов задачи, заполняется по мере выполнения (нужно и для итога задачи с ошибкой)
+     */
+    private static final class JobTimes {
+        private long waitTime;
+        private long readTime;
+        private int size = -1;
+    }
+
+    /**
+     * Конструктор пакетного решения
+     * @param outputDirectory - выходной каталог, в нем создается каталог каждой задачи
+     */
+    public BatchRunner(String outputDirectory) {
+        super(BatchRunner.class);
+        this.outputDirectory = outputDirectory.endsWith(File.separator)
+                ? outputDirectory
+                : outputDirectory + File.separator;
+    }
+
+    /**
+     * Установить способ решения задач о коммивояжере и двухуровневых задач о назначениях
+     */
+    public void setPathSolveMethod(PathSolveMethod pathSolveMethod) {
+        this.pathSolveMethod = pathSolveMethod;
+    }
+
+    /**
+     * Установить способ решения задач о рюкзаке
+     */
+    public void setKpSolveMethod(KpSolveMethod kpSolveMethod) {
+        this.kpSolveMethod = kpSolveMethod;
+    }
+
+    /**
+     * Установить количество потоков чтения
+     */
+    public void setIoThreads(int ioThreads) {
+        this.ioThreads = Math.max(1, ioThreads);
+    }
+
+    /**
+     * Установить количество потоков решения
+     */
+    public void setSolveThreads(int solveThreads) {
+        this.solveThreads = Math.max(1, solveThreads);
+    }
+
+    /**
+     * Решение всех файлов каталога (без вложенных каталогов) в порядке имен
+     * @param directory - каталог экземпляров
+     */
+    public BatchSummary runDirectory(String directory) {
+        try (Stream<Path> files = Files.list(Path.of(directory))) {
+            return run(files.filter(Files::isRegularFile).sorted().map(BatchJob::of).toList());
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Решение файлов из списка
+     * <p>
+     * Строка списка - путь к файлу, перед путем можно указать вид задачи (TSP, CAP, KP) через пробел.
+     * Относительные пути берутся от каталога списка, пустые строки и строки с # пропускаются.
+     * @param manifest - файл списка
+     */
+    public BatchSummary runManifest(String manifest) {
+        Path manifestPath = Path.of(manifest).toAbsolutePath();
+        List<BatchJob> jobs = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(manifestPath, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                String[] words = trimmed.split("\\s+", 2);
+                BinaryContent content = words.length == 2 ? getContent(words[0]) : null;
+                Path file = manifestPath.resolveSibling(content == null ? trimmed : words[1]);
+                jobs.add(content == null ? BatchJob.of(file) : BatchJob.of(content, file));
+            }
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return run(jobs);
+    }
+
+    /**
+     * Решение задач пакета
+     * @param jobs - задачи
+     * @return итоги задач в порядке задач и время пакета
+     */
+    public BatchSummary run(List<BatchJob> jobs) {
+        logInfo(String.format(
+                "Пакетное решение %d задач: потоков чтения %d, потоков решения %d",
+                jobs.size(), ioThreads, solveThreads
+        ));
+        long startTime = System.nanoTime();
+        createDirectory(outputDirectory);
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(ioThreads, getThreadFactory("batch-io"));
+        ExecutorService solveExecutor = Executors.newFixedThreadPool(solveThreads, getThreadFactory("batch-solver"));
+        Semaphore loaded = new Semaphore(2 * solveThreads);
+        List<CompletableFuture<BatchResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                loaded.acquireUninterruptibly();
+                futures.add(submit(jobs.get(i), i, ioExecutor, solveExecutor)
+                        .whenComplete((result, error) -> loaded.release()));
+            }
+            List<BatchResult> results = futures.stream().map(CompletableFuture::join).toList();
+            BatchSummary summary = new BatchSummary(results, System.nanoTime() - startTime);
+            String table = summary.toTable();
+            logInfo(ENTER + table);
+            WriteDataUtils.write(outputDirectory + SUMMARY_FILE, table, String.valueOf(ENTER));
+            return summary;
+        }
+        finally {
+            ioExecutor.shutdownNow();
+            solveExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Запуск одной задачи: чтение в пуле ввода-вывода, затем решение в пуле решения, оба шага
+     * с контекстом записи задачи
+     */
+    private CompletableFuture<BatchResult> submit(
+            BatchJob job,
+            int index,
+            ExecutorService ioExecutor,
+            ExecutorService solveExecutor
+    ) {
+        OutputContext context = new OutputContext(outputDirectory + job.name() + File.separator, index);
+        JobTimes times = new JobTimes();
+        long submitTime = System.nanoTime();
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    long startTime = System.nanoTime();
+                    times.waitTime = startTime - submitTime;
+                    LoadedJob loadedJob = WriteDataUtils.callWithContext(
+                            context,
+                            () -> FrameworkException.callWithoutExit(() -> load(job, context))
+                    );
+                    times.readTime = System.nanoTime() - startTime;
+                    times.size = loadedJob.size();
+                    return loadedJob;
+                }, ioExecutor)
+                .thenApplyAsync(loadedJob -> {
+                    long startTime = System.nanoTime();
+                    WriteDataUtils.runWithContext(context, () -> FrameworkException.callWithoutExit(() -> {
+                        loadedJob.solve().run();
+                        return null;
+                    }));
+                    long solveTime = System.nanoTime() - startTime;
+                    return new BatchResult(job, times.size, times.waitTime, times.readTime, solveTime, null);
+                }, solveExecutor)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    logError(String.format("Задача %s не решена: %s", job.name(), cause));
+                    String message = cause.getMessage() == null ? cause.toString() : cause.getMessage();
+                    return new BatchResult(job, times.size, times.waitTime, times.readTime, 0, message);
+                });
+    }
+
+    /**
+     * Чтение экземпляра (при создании задача записывает свои данные в каталог задачи)
+     */
+    private LoadedJob load(BatchJob job, OutputContext context) {
+        if (job.content() == null) {
+            throw new IllegalArgumentException(
+                    String.format("Не удалось определить вид задачи в файле %s", job.file())
+            );
+        }
+        createDirectory(context.filePath());
+        return switch (job.content()) {
+            case TSP -> {
+                Tsp tsp = job.binary() ? Tsp.byBinaryFile(job.file()) : Tsp.byFileValues(job.file());
+                yield new LoadedJob(
+                        tsp.getCountVertexes(),
+                        () -> tsp.solveWithWrite(pathSolveMethod)
+                );
+            }
+            case CAP -> {
+                Cap cap = job.binary() ? Cap.byBinaryFile(job.file()) : Cap.byFileValues(job.file());
+                yield new LoadedJob(
+                        cap.getSizeProblem(),
+                        () -> cap.solveWithWriteFile(pathSolveMethod)
+                );
+            }
+            case KP -> {
+                Kp kp = job.binary() ? Kp.byBinaryFile(job.file()) : Kp.byFileValues(job.file());
+                yield new LoadedJob(
+                        kp.getNumberOfThings(),
+                        () -> kp.solveWithWrite(kpSolveMethod)
+                );
+            }
+            default -> throw new IllegalArgumentException(String.format("Файл %s не содержит задачу", job.file()));
+        };
+    }
+
+    /**
+     * Создание каталога вместе с родительскими
+     * @throws WriteException при ошибке создания
+     */
+    private static void createDirectory(String directory) {
+        try {
+            Files.createDirectories(Path.of(directory));
+        }
+        catch (IOException ex) {
+            throw new WriteException(directory, ex);
+        }
+    }
+
+    /**
+     * @return вид задачи по имени (TSP, CAP, KP), null - не вид задачи
+     */
+    private static BinaryContent getContent(String word) {
+        for (BinaryContent content : new BinaryContent[] {BinaryContent.TSP, BinaryContent.CAP, BinaryContent.KP}) {
+            if (content.name().equals(word.toUpperCase(Locale.ROOT))) {
+                return content;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Фабрика потоков-демонов пакетного решения
+     * @param name - имя потоков
+     */
+    private static ThreadFactory getThreadFactory(String name) {
+        AtomicInteger number = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
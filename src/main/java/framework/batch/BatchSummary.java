@@ -0,0 +1,74 @@
+package framework.batch;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Итоги пакетного решения и сводная таблица времени
+ * @param results  - итоги задач в порядке задач
+ * @param wallTime - время всего пакета, наносекунды
+ */
+public record BatchSummary(List<BatchResult> results, long wallTime) {
+    private static final double NANO_MILLIS = 1e6;
+
+    /**
+     * @return количество решенных задач
+     */
+    public long getSolved() {
+        return results.stream().filter(BatchResult::isSuccess).count();
+    }
+
+    /**
+     * @return сумма времени решений (без ожидания и чтения), наносекунды
+     */
+    public long getSolveTime() {
+        return results.stream().mapToLong(BatchResult::solveTime).sum();
+    }
+
+    /**
+     * Сводная таблица: по строке на задачу (ожидание, чтение, решение в миллисекундах и итог) и общий итог
+     * с отношением суммы времени чтения и решения ко времени всего пакета
+     */
+    public String toTable() {
+        int nameWidth = "Файл".length();
+        for (BatchResult result : results) {
+            nameWidth = Math.max(nameWidth, result.job().name().length());
+        }
+        String row = "%4s  %-" + nameWidth + "s  %-6s  %8s  %12s  %10s  %11s  %s%n";
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(
+                row, "#", "Файл", "Задача", "Размер", "Ожидание, мс", "Чтение, мс", "Решение, мс", "Итог"
+        ));
+        long busyTime = 0;
+        for (int i = 0; i < results.size(); i++) {
+            BatchResult result = results.get(i);
+            busyTime += result.readTime() + result.solveTime();
+            table.append(String.format(
+                    row,
+                    i + 1,
+                    result.job().name(),
+                    result.job().content() == null ? "-" : result.job().content().name(),
+                    result.size() < 0 ? "-" : String.valueOf(result.size()),
+                    toMillis(result.waitTime()),
+                    toMillis(result.readTime()),
+                    toMillis(result.solveTime()),
+                    result.isSuccess() ? "OK" : "Ошибка: " + result.error()
+            ));
+        }
+        table.append(String.format(
+                Locale.ROOT,
+                "Задач: %d, решено: %d, с ошибкой: %d. Время пакета: %s мс, чтение и решение: %s мс (x%.2f)%n",
+                results.size(),
+                getSolved(),
+                results.size() - getSolved(),
+                toMillis(wallTime),
+                toMillis(busyTime),
+                wallTime == 0 ? 0 : (double) busyTime / wallTime
+        ));
+        return table.toString();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / NANO_MILLIS);
+    }
+}
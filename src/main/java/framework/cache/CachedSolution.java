@@ -0,0 +1,11 @@
+package framework.cache;
+
+/**
+ * Сохраненное решение задачи
+ * @param cost   - стоимость (вес) решения
+ * @param weight - вес рюкзака (для задач с путем - 0)
+ * @param time   - время исходного решения, наносекунды
+ * @param paths  - последовательности индексов решения (вершины пути или вещи), пустой массив - решения нет
+ */
+public record CachedSolution(double cost, int weight, long time, int[][] paths) {
+}
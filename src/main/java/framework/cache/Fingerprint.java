@@ -0,0 +1,115 @@
+package framework.cache;
+
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 128-битный отпечаток данных задачи для поиска сохраненных решений
+ * <p>
+ * Значения добавляются по порядку в две независимые 64-битные дорожки хеширования, итог - 32 шестнадцатеричных
+ * символа. Отпечаток не криптографический, но вероятность совпадения для разных задач пренебрежимо мала.
+ * Вещественные числа хешируются по битовому представлению, поэтому совпадают только одинаковые значения.
+ */
+public class Fingerprint {
+    private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_3 = 0x165667B19E3779F9L;
+    private static final long PRIME_4 = 0x85EBCA77C2B2AE63L;
+
+    /**
+     * Первая дорожка хеширования
+     */
+    private long first = PRIME_1;
+
+    /**
+     * Вторая дорожка хеширования
+     */
+    private long second = PRIME_2;
+
+    /**
+     * Количество добавленных значений
+     */
+    private long length;
+
+    /**
+     * Добавить целое число
+     */
+    public Fingerprint add(long value) {
+        first = Long.rotateLeft(first ^ value * PRIME_2, 31) * PRIME_1;
+        second = Long.rotateLeft(second + value * PRIME_4, 27) * PRIME_3 ^ first;
+        length++;
+        return this;
+    }
+
+    /**
+     * Добавить вещественное число
+     */
+    public Fingerprint add(double value) {
+        return add(Double.doubleToLongBits(value));
+    }
+
+    /**
+     * Добавить строку (с длиной, чтобы "ab" + "c" и "a" + "bc" различались)
+     */
+    public Fingerprint add(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        add(bytes.length);
+        for (byte b : bytes) {
+            add(b);
+        }
+        return this;
+    }
+
+    /**
+     * Добавить матрицу: размеры и значения построчно
+     */
+    public Fingerprint add(CostMatrix matrix) {
+        add(matrix.getRows());
+        add(matrix.getColumns());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                add(matrix.get(i, j));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Добавить разреженный граф: количество вершин, затем построчно количество ребер и ребра (конечная вершина и вес)
+     */
+    public Fingerprint add(SparseGraph graph) {
+        add(graph.getSize());
+        for (int i = 0; i < graph.getSize(); i++) {
+            add(graph.getDegree(i));
+            for (int edge = graph.getStart(i); edge < graph.getEnd(i); edge++) {
+                add(graph.getTarget(edge));
+                add(graph.getWeight(edge));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return отпечаток из 32 шестнадцатеричных символов
+     */
+    @Override
+    public String toString() {
+        long high = mix(first + length * PRIME_3);
+        long low = mix(second ^ high);
+        return String.format("%016x%016x", high, low);
+    }
+
+    /**
+     * Финальное перемешивание битов
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,264 @@
+package framework.cache;
+
+import framework.exception.WriteException;
+import framework.provider.LoggerProvider;
+import framework.utils.BinaryContent;
+import framework.utils.BinaryDataReader;
+import framework.utils.BinaryDataWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Кэш решений задач по отпечатку данных ({@link Fingerprint})
+ * <p>
+ * В памяти хранится ограниченное количество решений, при переполнении удаляется решение, к которому дольше всего
+ * не обращались. Дополнительно решения могут сохраняться в каталог на диске в бинарном формате
+ * ({@link BinaryContent#SOLUTION}) и переживать перезапуск программы.
+ * <p>
+ * По умолчанию кэш выключен: повторное решение выполняет перебор заново и записывает свое время.
+ * После {@link #setInstance} решение задачи сначала ищется в кэше, поэтому повторное решение той же задачи
+ * тем же способом (в том числе после сведения туда и обратно) не выполняет перебор.
+ */
+public class SolutionCache extends LoggerProvider {
+    /**
+     * Количество решений в памяти для включаемого кэша ({@code new SolutionCache(DEFAULT_CAPACITY, directory)})
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Кэш, который используют решения задач (по умолчанию выключен, включается {@link #setInstance})
+     */
+    private static volatile SolutionCache instance = disabled();
+
+    /**
+     * Максимальное количество решений в памяти, 0 - кэш выключен
+     */
+    private final int capacity;
+
+    /**
+     * Каталог сохраненных решений, null - решения не сохраняются на диск
+     */
+    private final Path directory;
+
+    /**
+     * Решения в памяти в порядке последнего обращения
+     */
+    private final LinkedHashMap<String, CachedSolution> solutions;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Создание кэша
+     * @param capacity  - максимальное количество решений в памяти, 0 - кэш выключен
+     * @param directory - каталог сохраненных решений, null - решения не сохраняются на диск
+     */
+    public SolutionCache(int capacity, String directory) {
+        super(SolutionCache.class);
+        this.capacity = Math.max(capacity, 0);
+        this.directory = directory == null ? null : Path.of(directory);
+        solutions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSolution> eldest) {
+                return size() > SolutionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * @return выключенный кэш (решения всегда ищутся заново)
+     */
+    public static SolutionCache disabled() {
+        return new SolutionCache(0, null);
+    }
+
+    /**
+     * @return кэш, который используют решения задач
+     */
+    public static SolutionCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Установить кэш, который используют решения задач
+     * @param solutionCache - новый кэш
+     */
+    public static void setInstance(SolutionCache solutionCache) {
+        instance = solutionCache;
+    }
+
+    /**
+     * @return включен ли кэш
+     */
+    public boolean isEnabled() {
+        return capacity > 0;
+    }
+
+    /**
+     * Поиск решения: в памяти, затем на диске
+     * @param key - отпечаток задачи и способа решения
+     * @return решение или null, если решение не найдено
+     */
+    public CachedSolution get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        CachedSolution solution;
+        synchronized (solutions) {
+            solution = solutions.get(key);
+        }
+        if (solution != null) {
+            hits.incrementAndGet();
+            return solution;
+        }
+        solution = readFromDisk(key);
+        if (solution != null) {
+            diskHits.incrementAndGet();
+            synchronized (solutions) {
+                solutions.put(key, solution);
+            }
+            return solution;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Сохранение решения в памяти и на диске
+     * @param key      - отпечаток задачи и способа решения
+     * @param solution - решение
+     */
+    public void put(String key, CachedSolution solution) {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (solutions) {
+            solutions.put(key, solution);
+        }
+        writeToDisk(key, solution);
+    }
+
+    /**
+     * Удаление всех решений из памяти (сохраненные на диске решения остаются) и обнуление счетчиков
+     */
+    public void clear() {
+        synchronized (solutions) {
+            solutions.clear();
+        }
+        hits.set(0);
+        diskHits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * @return количество решений в памяти
+     */
+    public int size() {
+        synchronized (solutions) {
+            return solutions.size();
+        }
+    }
+
+    /**
+     * @return количество решений, найденных в памяти
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return количество решений, найденных на диске
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return количество ненайденных решений
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Чтение решения с диска
+     * <p>
+     * Файл другой версии, обрезанный или посторонний файл считается отсутствующим решением и удаляется
+     */
+    private CachedSolution readFromDisk(String key) {
+        Path file = directory == null ? null : getFile(key);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (BinaryDataReader reader = new BinaryDataReader(file.toString(), BinaryContent.SOLUTION)) {
+            double cost = reader.getDouble();
+            int weight = reader.getInt();
+            long time = reader.getLong();
+            int count = reader.getInt();
+            if (count != 0 && count != 2) {
+                throw new IOException(String.format("Некорректное количество путей %d в файле %s", count, file));
+            }
+            int[][] paths = new int[count][];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = reader.getIntArray();
+            }
+            return new CachedSolution(cost, weight, time, paths);
+        }
+        catch (IOException e) {
+            logInfo("Не удалось прочитать сохраненное решение, файл удаляется: %s", e.getMessage());
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    /**
+     * Удаление непригодного файла решения
+     */
+    private void deleteFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            logInfo(String.format("Не удалось удалить файл решения %s: %s", file, e.getMessage()));
+        }
+    }
+
+    /**
+     * Запись решения на диск: сначала во временный файл, затем переименование, чтобы файл не был прочитан частично
+     */
+    private void writeToDisk(String key, CachedSolution solution) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try (BinaryDataWriter writer = new BinaryDataWriter(temporary.toString(), BinaryContent.SOLUTION)) {
+                writer.putDouble(solution.cost()).putInt(solution.weight()).putLong(solution.time());
+                writer.putInt(solution.paths().length);
+                for (int[] path : solution.paths()) {
+                    writer.putIntArray(path);
+                }
+            }
+            Files.move(temporary, getFile(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            logError(String.format(WriteException.WRITE_MESSAGE, getFile(key)) + ": " + e.getMessage());
+        }
+        catch (WriteException ignored) {}
+    }
+
+    /**
+     * @return путь к файлу решения
+     */
+    private Path getFile(String key) {
+        return directory.resolve(key + ".bin");
+    }
+}
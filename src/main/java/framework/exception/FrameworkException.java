@@ -2,10 +2,20 @@ package framework.exception;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Supplier;
+
 /**
  * Ошибки библиотеки
+ * <p>
+ * Ошибка логгируется и завершает программу. Внутри {@link #callWithoutExit} вместо завершения программы
+ * бросается {@link InvalidDataException}.
  */
 public class FrameworkException extends Exception {
+    /**
+     * Завершать ли программу при ошибке в текущем потоке
+     */
+    private static final ThreadLocal<Boolean> EXIT_ON_ERROR = ThreadLocal.withInitial(() -> true);
+
     /**
      * Конструктор класса ошибки с логгированием
      * @param objectClass - класс ошибки
@@ -14,6 +24,26 @@ public class FrameworkException extends Exception {
     protected <T extends FrameworkException> FrameworkException(Class<T> objectClass, String message) {
         super(message);
         LoggerFactory.getLogger(objectClass).error(message, objectClass);
+        if (!EXIT_ON_ERROR.get()) {
+            throw new InvalidDataException(message);
+        }
         System.exit(1);
     }
+
+    /**
+     * Выполнение действия, в котором ошибка библиотеки бросает {@link InvalidDataException}
+     * вместо завершения программы (в текущем потоке)
+     * @param action - действие
+     * @return результат действия
+     */
+    public static <T> T callWithoutExit(Supplier<T> action) {
+        boolean exitOnError = EXIT_ON_ERROR.get();
+        EXIT_ON_ERROR.set(false);
+        try {
+            return action.get();
+        }
+        finally {
+            EXIT_ON_ERROR.set(exitOnError);
+        }
+    }
 }
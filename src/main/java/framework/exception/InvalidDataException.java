@@ -0,0 +1,18 @@
+package framework.exception;
+
+/**
+ * Ошибка данных задачи, брошенная вместо завершения программы
+ * <p>
+ * Бросается конструктором {@link FrameworkException} внутри {@link FrameworkException#callWithoutExit}:
+ * например, при пакетном решении некорректный файл одной задачи не завершает весь пакет.
+ */
+public class InvalidDataException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message - сообщение об ошибке
+     */
+    public InvalidDataException(String message) {
+        super(message);
+    }
+}
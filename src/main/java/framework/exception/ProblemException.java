@@ -17,6 +17,8 @@ public class ProblemException extends FrameworkException {
     public static final String MAX_WEIGHT_MESSAGE = "Максимальный вес задан неверно.";
     public static final String MISS_ENTER_MESSAGE =
             "Пропущен перенос на новую строку после заданного максимального веса.";
+    public static final String BINARY_FORMAT_MESSAGE =
+            "Файл %s не является бинарным файлом '%s' версии %d";
 
 
     /**
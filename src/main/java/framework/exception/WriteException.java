@@ -0,0 +1,37 @@
+package framework.exception;
+
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Ошибка записи результатов в файл
+ * <p>
+ * В отличие от {@link FrameworkException} не завершает программу: ошибку обрабатывает вызывающий код.
+ */
+public class WriteException extends UncheckedIOException {
+    private static final long serialVersionUID = 1L;
+
+    public static final String WRITE_MESSAGE = "Ошибка вывода данных. Путь %s";
+    public static final String CLOSED_MESSAGE = "Запись результатов уже завершена";
+
+    /**
+     * Конструктор класса ошибки с логгированием {@link WriteException#WRITE_MESSAGE}
+     * @param path  - путь к файлу
+     * @param cause - ошибка ввода-вывода
+     */
+    public WriteException(String path, IOException cause) {
+        super(String.format(WRITE_MESSAGE, path), cause);
+        LoggerFactory.getLogger(WriteException.class).error(getMessage(), cause);
+    }
+
+    /**
+     * Конструктор класса ошибки с логгированием
+     * @param message - сообщение об ошибке
+     */
+    public WriteException(String message) {
+        super(message, new IOException(message));
+        LoggerFactory.getLogger(WriteException.class).error(message);
+    }
+}
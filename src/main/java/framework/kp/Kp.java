@@ -1,12 +1,19 @@
 package framework.kp;
 
+import framework.anytime.SolveControl;
+import framework.anytime.SolveHandle;
+import framework.anytime.SolveListener;
 import framework.exception.ProblemException;
 import framework.exception.NumberException;
 import framework.pathproblem.tsp.Tsp;
 import framework.provider.LoggerProvider;
+import framework.utils.BinaryContent;
+import framework.utils.BinaryDataReader;
+import framework.utils.BinaryDataWriter;
 import framework.utils.RandomValueUtils;
 import framework.utils.ReadDataUtils;
 
+import java.io.IOException;
 import java.util.*;
 
 import static framework.utils.WriteDataUtils.*;
@@ -83,6 +90,7 @@ public class Kp extends LoggerProvider {
 
     /**
      * Создание объекта с рандомными значениями в промежутке переданных значений максимума и минимума
+     * @param seed              - зерно генерации
      * @param maxKnapsackWeight - максимальный вес рюкзака
      * @param numberOfThings    - количество вещей
      * @param maxWeight         - максимальный вес вещи
@@ -93,6 +101,7 @@ public class Kp extends LoggerProvider {
      * @param minCount          - минимальное количество вещи
      */
     private Kp(
+            long seed,
             int maxKnapsackWeight,
             int numberOfThings,
             int maxWeight,
@@ -106,10 +115,11 @@ public class Kp extends LoggerProvider {
         logInfo("Заполнение рандомными значениями объекта задачи о рюкзаке ");
         this.maxWeight = maxKnapsackWeight;
         things = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(seed);
         for (int i = 0; i < numberOfThings;  i++) {
-            int weight = RandomValueUtils.getIntegerValue(minWeight, maxWeight);
-            double cost = RandomValueUtils.getDoubleValue(minCost, maxCost) * weight;
-            int count = RandomValueUtils.getIntegerValue(minCount, maxCount);
+            int weight = RandomValueUtils.getIntegerValue(random, minWeight, maxWeight);
+            double cost = RandomValueUtils.getDoubleValue(random, minCost, maxCost) * weight;
+            int count = RandomValueUtils.getIntegerValue(random, minCount, maxCount);
             things.add(new KpThing(Integer.toString(i), weight, cost, count));
         }
         things.sort(new ThingsWeightComparator());
@@ -221,6 +231,14 @@ public class Kp extends LoggerProvider {
         kpExactSolution.solve();
     }
 
+    /**
+     * Точное решение задачи выбранным способом
+     * @param method - способ точного решения
+     */
+    public void solve(KpSolveMethod method) {
+        createSolution(method).solve();
+    }
+
     /**
      * Точное решение задачи с записью в файл
      */
@@ -229,6 +247,37 @@ public class Kp extends LoggerProvider {
         kpExactSolution.solveWithWrite();
     }
 
+    /**
+     * Точное решение задачи выбранным способом с записью в файл
+     * @param method - способ точного решения
+     */
+    public void solveWithWrite(KpSolveMethod method) {
+        createSolution(method).solveWithWrite();
+    }
+
+    /**
+     * Асинхронное решение задачи выбранным способом
+     * <p>
+     * Перебор выполняется в отдельном потоке, каждый новый рекорд передается слушателю. По истечении времени
+     * или после {@link SolveHandle#cancel()} перебор останавливается, и итог содержит лучший найденный набор вещей.
+     * @param method    - способ точного решения
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - без ограничения
+     * @param listener  - слушатель новых рекордов, null - без оповещения
+     */
+    public SolveHandle<List<KpThing>> solveAsync(
+            KpSolveMethod method,
+            long timeLimit,
+            SolveListener<List<KpThing>> listener
+    ) {
+        SolveControl<List<KpThing>> control = new SolveControl<>(timeLimit, listener);
+        return SolveHandle.start(control, () -> {
+            KpExactSolutionAbstract solution = createSolution(method);
+            solution.setControl(control);
+            solution.solve();
+            return solution.getSolveResult();
+        });
+    }
+
     /**
      * Точное решение задачи до сведения к задаче коммивояжера с записью в файл
      */
@@ -239,12 +288,32 @@ public class Kp extends LoggerProvider {
 
     /**
      * Точное решение задачи после сведения из задачи коммивояжера с записью в файл
+     * <p>
+     * Решается динамическим программированием по подмножествам вершин ({@link KpFragileDynamicSolution}),
+     * если оно применимо, иначе перебором цепочек вещей
      */
     public void solveTspToKp() {
+        KpFragileDynamicSolution kpDynamicSolution = new KpFragileDynamicSolution(this);
+        if (kpDynamicSolution.isApplicable()) {
+            kpDynamicSolution.solveTspToKp();
+            return;
+        }
         KpFragileExactSolution kpExactSolution = new KpFragileExactSolution(this);
         kpExactSolution.solveTspToKp();
     }
 
+    /**
+     * Создание класса решения задачи выбранным способом
+     * @param method - способ точного решения
+     */
+    private KpExactSolutionAbstract createSolution(KpSolveMethod method) {
+        return switch (method) {
+            case DYNAMIC -> new KpDynamicSolution(this);
+            case BRANCH_AND_BOUND -> new KpBranchAndBoundSolution(this);
+            default -> new KpExactSolution(this);
+        };
+    }
+
     /**
      * Получение объекта задачи с переданными значениями
      * @param maxWeight - максимальный вес рюкзака
@@ -268,6 +337,66 @@ public class Kp extends LoggerProvider {
         return byValues(maxWeight, things);
     }
 
+    /**
+     * Получение объекта задачи из бинарного файла, записанного {@link #writeBinaryFile(String)}
+     * @param fileName - путь к файлу
+     */
+    public static Kp byBinaryFile(String fileName) {
+        int maxWeight = 0;
+        int fragileSize = 0;
+        List<KpThing> things = new ArrayList<>();
+        try (BinaryDataReader reader = new BinaryDataReader(fileName, BinaryContent.KP)) {
+            maxWeight = reader.getInt();
+            fragileSize = reader.getInt();
+            int numberOfThings = reader.getInt();
+            for (int i = 0; i < numberOfThings; i++) {
+                things.add(new KpThing(reader.getString(), reader.getInt(), reader.getDouble(), reader.getInt()));
+            }
+        }
+        catch (IOException ex) {
+            new ProblemException(ex.getMessage());
+        }
+        if (fragileSize > 0) {
+            return byValuesWithFragile(maxWeight, things, fragileSize);
+        }
+        return byValues(maxWeight, things);
+    }
+
+    /**
+     * Перевод текстового файла задачи в бинарный файл
+     * @param textFileName   - путь к текстовому файлу
+     * @param binaryFileName - путь к бинарному файлу
+     */
+    public static void convertFileToBinary(String textFileName, String binaryFileName) {
+        List<List<String>> file = ReadDataUtils.read(textFileName);
+        int maxWeight = checkingCorrectnessWeightFile(file);
+        List<KpThing> things = checkingCorrectnessThingsFile(file);
+        checkingCorrectnessKpData(maxWeight, things);
+        writeBinaryFile(binaryFileName, maxWeight, 0, things);
+    }
+
+    /**
+     * Запись задачи в бинарный файл (без потери точности значений)
+     * @param fileName - путь к файлу
+     */
+    public void writeBinaryFile(String fileName) {
+        logInfo("Запись задачи о рюкзаке в бинарный файл %s", fileName);
+        writeBinaryFile(fileName, maxWeight, fragile == null ? 0 : fragile.size(), things);
+    }
+
+    /**
+     * Запись данных задачи в бинарный файл: максимальный вес, размер матрицы хрупкости (0 - стандартная задача),
+     * количество вещей и вещи (номер, вес, стоимость, количество)
+     */
+    private static void writeBinaryFile(String fileName, int maxWeight, int fragileSize, List<KpThing> things) {
+        try (BinaryDataWriter writer = new BinaryDataWriter(fileName, BinaryContent.KP)) {
+            writer.putInt(maxWeight).putInt(fragileSize).putInt(things.size());
+            for (KpThing thing : things) {
+                writer.putString(thing.number()).putInt(thing.weight()).putDouble(thing.cost()).putInt(thing.count());
+            }
+        }
+    }
+
     /**
      * Получение объекта задачи с переданными значениями с динамической матрицей хрупкости
      * @param maxWeight - максимальный вес рюкзака
@@ -302,15 +431,92 @@ public class Kp extends LoggerProvider {
             int minCost,
             int maxCount,
             int minCount
+    ) {
+        return byRandomValues(
+                RandomValueUtils.getSeed(),
+                maxKnapsackWeight, numberOfThings, maxWeight, minWeight, maxCost, minCost, maxCount, minCount
+        );
+    }
+
+    /**
+     * Создание объекта с рандомными значениями, воспроизводимое по зерну
+     * @param seed              - зерно генерации
+     * @param maxKnapsackWeight - максимальный вес рюкзака
+     * @param numberOfThings    - количество вещей
+     * @param maxWeight         - максимальный вес вещи
+     * @param minWeight         - минимальный вес вещи
+     * @param maxCost           - максимальная ценность вещи
+     * @param minCost           - минимальная ценность вещи
+     * @param maxCount          - максимальное количество вещи
+     * @param minCount          - минимальное количество вещи
+     */
+    public static Kp byRandomValues(
+            long seed,
+            int maxKnapsackWeight,
+            int numberOfThings,
+            int maxWeight,
+            int minWeight,
+            int maxCost,
+            int minCost,
+            int maxCount,
+            int minCount
     ) {
         checkingCorrectnessOfInput(
                 maxKnapsackWeight, numberOfThings, maxWeight, minWeight, maxCost, minCost, maxCount, minCount
         );
-        Kp kp = new Kp(maxKnapsackWeight, numberOfThings, maxWeight, minWeight, maxCost, minCost, maxCount, minCount);
+        Kp kp = new Kp(
+                seed, maxKnapsackWeight, numberOfThings, maxWeight, minWeight, maxCost, minCost, maxCount, minCount
+        );
         kp.writeProblemInFile();
         return kp;
     }
 
+    /**
+     * Создание объекта с вещами, ценность которых связана с весом, воспроизводимое по зерну
+     * <p>
+     * Вес вещи случаен в [minWeight, maxWeight], ценность задается {@link KpCorrelation} с R = maxWeight.
+     * @param seed              - зерно генерации
+     * @param maxKnapsackWeight - максимальный вес рюкзака
+     * @param numberOfThings    - количество вещей
+     * @param maxWeight         - максимальный вес вещи
+     * @param minWeight         - минимальный вес вещи
+     * @param maxCount          - максимальное количество вещи
+     * @param minCount          - минимальное количество вещи
+     * @param correlation       - связь ценности с весом
+     */
+    public static Kp byCorrelatedValues(
+            long seed,
+            int maxKnapsackWeight,
+            int numberOfThings,
+            int maxWeight,
+            int minWeight,
+            int maxCount,
+            int minCount,
+            KpCorrelation correlation
+    ) {
+        checkingCorrectnessOfInput(
+                maxKnapsackWeight, numberOfThings, maxWeight, minWeight, maxWeight, minWeight, maxCount, minCount
+        );
+        SplittableRandom random = new SplittableRandom(seed);
+        int range = Math.max(maxWeight / 10, 1);
+        List<KpThing> things = new ArrayList<>(numberOfThings);
+        for (int i = 0; i < numberOfThings; i++) {
+            int weight = RandomValueUtils.getIntegerValue(random, minWeight, maxWeight + 1);
+            double cost = switch (correlation) {
+                case UNCORRELATED -> RandomValueUtils.getIntegerValue(random, 1, maxWeight + 1);
+                case WEAKLY_CORRELATED -> Math.max(
+                        RandomValueUtils.getIntegerValue(random, weight - range, weight + range + 1), 1
+                );
+                case STRONGLY_CORRELATED -> weight + range;
+                case INVERSE_STRONGLY_CORRELATED -> Math.max(weight - range, 1);
+                case SUBSET_SUM -> weight;
+            };
+            int count = RandomValueUtils.getIntegerValue(random, minCount, maxCount + 1);
+            things.add(new KpThing(Integer.toString(i), weight, cost, count));
+        }
+        return byValues(maxKnapsackWeight, things);
+    }
+
     /**
      * Запись данных задачи о коммивояжере в файл
      */
@@ -482,14 +688,9 @@ public class Kp extends LoggerProvider {
         try {
             HashSet<Integer> integerHashSet = new HashSet<>();
             for (int i = 0; i < things.size(); i++) {
-                if (things.get(i).number().indexOf('_') == -1) {
-                    throw new ProblemException(
-                            String.format(numberMessage)
-                    );
-                }
-                integerHashSet.add(Integer.parseInt(things.get(i).number().split("_")[0]));
-                int indexNext = things.get(i).number().indexOf("_");
-                integerHashSet.add(Integer.parseInt(things.get(i).number().substring(indexNext + 1)));
+                KpEdge edge = KpEdge.parse(things.get(i).number());
+                integerHashSet.add(edge.from());
+                integerHashSet.add(edge.to());
             }
             if (integerHashSet.size() != fragileSize) {
                 throw new ProblemException(String.format("Некорректный размер динамической матрицы"));
@@ -0,0 +1,175 @@
+package framework.kp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.ZERO;
+
+/**
+ * Класс точного решения стандартной задачи о рюкзаке методом ветвей и границ
+ * <p>
+ * Вещи сортируются по убыванию удельной ценности (ценность / вес). Ветвление - по количеству
+ * взятой вещи, от максимально возможного к нулю. Верхняя граница узла - решение линейной релаксации
+ * (граница Данцига): оставшиеся вещи берутся по убыванию удельной ценности, последняя - дробно.
+ * Узел отсекается, если граница не больше найденной максимальной ценности.
+ * <p>
+ * Память не зависит от максимального веса рюкзака.
+ */
+class KpBranchAndBoundSolution extends KpExactSolutionAbstract {
+    /**
+     * Веса вещей по убыванию удельной ценности
+     */
+    private int[] weights;
+
+    /**
+     * Ценности вещей по убыванию удельной ценности
+     */
+    private double[] costs;
+
+    /**
+     * Количества вещей по убыванию удельной ценности
+     */
+    private int[] counts;
+
+    /**
+     * Индексы вещей в задаче по убыванию удельной ценности
+     */
+    private int[] order;
+
+    /**
+     * Текущее количество взятых вещей
+     */
+    private int[] taken;
+
+    /**
+     * Количество раскрытых узлов дерева поиска
+     */
+    private long nodesExplored;
+
+    /**
+     * Количество отсеченных узлов дерева поиска
+     */
+    private long nodesPruned;
+
+    /**
+     * Конструктор создания класса
+     * @param kp - объект класса задачи о рюкзаке
+     */
+    protected KpBranchAndBoundSolution(Kp kp) {
+        super(kp, KpBranchAndBoundSolution.class);
+    }
+
+    /**
+     * @return количество раскрытых узлов дерева поиска
+     */
+    protected long getNodesExplored() {
+        return nodesExplored;
+    }
+
+    /**
+     * @return количество отсеченных узлов дерева поиска
+     */
+    protected long getNodesPruned() {
+        return nodesPruned;
+    }
+
+    @Override
+    protected String getMethodName() {
+        return KpSolveMethod.BRANCH_AND_BOUND.name();
+    }
+
+    /**
+     * Нахождение точного решения методом ветвей и границ
+     */
+    protected void exactSolution() {
+        int size = kp.getNumberOfThings();
+        order = IntStream.range(ZERO, size)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -kp.getCostThing(i) / kp.getWeightThing(i)))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        weights = new int[size];
+        costs = new double[size];
+        counts = new int[size];
+        for (int i = ZERO; i < size; i++) {
+            weights[i] = kp.getWeightThing(order[i]);
+            costs[i] = kp.getCostThing(order[i]);
+            counts[i] = kp.getCountThing(order[i]);
+        }
+        taken = new int[size];
+        nodesExplored = 0;
+        nodesPruned = 0;
+
+        branch(ZERO, kp.getMaxWeight(), ZERO);
+
+        logInfo(String.format("Раскрыто узлов: %d, отсечено узлов: %d", nodesExplored, nodesPruned));
+    }
+
+    /**
+     * Раскрытие узла дерева поиска
+     * @param index    - индекс текущей вещи (по убыванию удельной ценности)
+     * @param capacity - оставшийся вес рюкзака
+     * @param cost     - ценность взятых вещей
+     */
+    private void branch(int index, long capacity, double cost) {
+        if (control.checkStop()) {
+            return;
+        }
+        nodesExplored++;
+        metrics.expand(index);
+        if (cost > maxCost) {
+            setResult(cost);
+        }
+        if (index == weights.length) {
+            return;
+        }
+        if (getUpperBound(index, capacity, cost) <= maxCost) {
+            nodesPruned++;
+            metrics.prune();
+            return;
+        }
+        int maxCount = (int) Math.min(counts[index], capacity / weights[index]);
+        for (int count = maxCount; count >= 0; count--) {
+            taken[index] = count;
+            branch(index + 1, capacity - (long) count * weights[index], cost + count * costs[index]);
+        }
+        taken[index] = 0;
+    }
+
+    /**
+     * Граница Данцига: ценность линейной релаксации для вещей, начиная с переданной
+     * @param index    - индекс первой вещи
+     * @param capacity - оставшийся вес рюкзака
+     * @param cost     - ценность взятых вещей
+     */
+    private double getUpperBound(int index, long capacity, double cost) {
+        for (int i = index; i < weights.length && capacity > 0; i++) {
+            long weight = (long) counts[i] * weights[i];
+            if (weight <= capacity) {
+                capacity -= weight;
+                cost += counts[i] * costs[i];
+            }
+            else {
+                return cost + capacity * costs[i] / weights[i];
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Заполнение результата по текущему набору вещей, ставшему новым рекордом
+     * @param cost - ценность взятых вещей
+     */
+    private void setResult(double cost) {
+        currentResult = new ArrayList<>();
+        int weight = 0;
+        for (int i = ZERO; i < taken.length; i++) {
+            if (taken[i] > 0) {
+                currentResult.add(new KpThing(kp.getNumberThing(order[i]), weights[i], costs[i], taken[i]));
+                weight += taken[i] * weights[i];
+            }
+        }
+        setNewResult(weight, cost);
+    }
+}
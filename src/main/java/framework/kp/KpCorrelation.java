@@ -0,0 +1,34 @@
+package framework.kp;
+
+/**
+ * Связь ценности вещи с ее весом при генерации задачи о рюкзаке
+ * <p>
+ * R - максимальный вес вещи, w - вес вещи. Коррелированные задачи сложнее для метода ветвей и границ:
+ * плотности (ценность / вес) вещей близки, и граница отсекает мало ветвей.
+ */
+public enum KpCorrelation {
+    /**
+     * Ценность не зависит от веса: случайная в [1, R]
+     */
+    UNCORRELATED,
+
+    /**
+     * Слабая корреляция: ценность случайная в [w - R/10, w + R/10], но не меньше 1
+     */
+    WEAKLY_CORRELATED,
+
+    /**
+     * Сильная корреляция: ценность w + R/10
+     */
+    STRONGLY_CORRELATED,
+
+    /**
+     * Обратная сильная корреляция: ценность w - R/10, но не меньше 1
+     */
+    INVERSE_STRONGLY_CORRELATED,
+
+    /**
+     * Задача о сумме подмножества: ценность равна весу
+     */
+    SUBSET_SUM
+}
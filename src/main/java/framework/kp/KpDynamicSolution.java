@@ -0,0 +1,125 @@
+package framework.kp;
+
+import java.util.ArrayList;
+
+import static framework.utils.IntegerDataUtils.ZERO;
+
+/**
+ * Класс точного решения стандартной задачи о рюкзаке динамическим программированием
+ * <p>
+ * Вещь с количеством count разбивается на части 1, 2, 4, ..., остаток (двоичное разбиение),
+ * после чего решается задача 0/1 по массиву лучших ценностей размера (максимальный вес + 1).
+ * Для восстановления ответа по каждой части хранится битовая строка решений по всем весам.
+ * <p>
+ * Время O(W * sum(log count)), память O(W * sum(log count) / 64), где W - максимальный вес рюкзака.
+ * Порядок упаковки (динамическая матрица хрупкости) не учитывается.
+ */
+class KpDynamicSolution extends KpExactSolutionAbstract {
+    /**
+     * Конструктор создания класса
+     * @param kp - объект класса задачи о рюкзаке
+     */
+    protected KpDynamicSolution(Kp kp) {
+        super(kp, KpDynamicSolution.class);
+    }
+
+    @Override
+    protected String getMethodName() {
+        return KpSolveMethod.DYNAMIC.name();
+    }
+
+    /**
+     * Нахождение точного решения динамическим программированием
+     */
+    protected void exactSolution() {
+        int capacity = kp.getMaxWeight();
+        int partsCount = 0;
+        for (int i = ZERO; i < kp.getNumberOfThings(); i++) {
+            partsCount += 32 - Integer.numberOfLeadingZeros(Math.max(kp.getCountThing(i), 0));
+        }
+        int[] partThing = new int[partsCount];
+        int[] partCount = new int[partsCount];
+        int parts = 0;
+        for (int i = ZERO; i < kp.getNumberOfThings(); i++) {
+            int count = kp.getCountThing(i);
+            for (int part = 1; count > 0; part <<= 1) {
+                int taken = Math.min(part, count);
+                count -= taken;
+                if ((long) taken * kp.getWeightThing(i) <= capacity) {
+                    partThing[parts] = i;
+                    partCount[parts] = taken;
+                    parts++;
+                }
+            }
+        }
+
+        int words = (capacity >> 6) + 1;
+        long[] decisions = new long[parts * words];
+        double[] best = new double[capacity + 1];
+        for (int p = 0; p < parts; p++) {
+            if (control.poll()) {
+                logInfo(String.format("Решение остановлено, учтены первые %d частей вещей", p));
+                parts = p;
+                break;
+            }
+            int weight = kp.getWeightThing(partThing[p]) * partCount[p];
+            double cost = kp.getCostThing(partThing[p]) * partCount[p];
+            int base = p * words;
+            for (int w = capacity; w >= weight; w--) {
+                double candidate = best[w - weight] + cost;
+                if (candidate > best[w]) {
+                    best[w] = candidate;
+                    decisions[base + (w >> 6)] |= 1L << w;
+                }
+            }
+            control.addNodes(capacity - weight + 1);
+            metrics.expand(p, capacity - weight + 1);
+        }
+
+        int weight = capacity;
+        while (weight > 0 && best[weight - 1] == best[weight]) {
+            weight--;
+        }
+        if (best[weight] > maxCost) {
+            setResult(weight, best[weight], partThing, partCount, decisions, words, parts);
+        }
+    }
+
+    /**
+     * Восстановление списка вещей по битовым строкам решений
+     * @param weight    - вес найденного решения
+     * @param cost      - ценность найденного решения
+     * @param partThing - индекс вещи для каждой части
+     * @param partCount - количество вещи в каждой части
+     * @param decisions - битовые строки решений по частям
+     * @param words     - длина битовой строки одной части
+     * @param parts     - количество частей
+     */
+    private void setResult(
+            int weight,
+            double cost,
+            int[] partThing,
+            int[] partCount,
+            long[] decisions,
+            int words,
+            int parts
+    ) {
+        int[] taken = new int[kp.getNumberOfThings()];
+        int w = weight;
+        for (int p = parts - 1; p >= 0; p--) {
+            if ((decisions[p * words + (w >> 6)] & (1L << w)) != 0) {
+                taken[partThing[p]] += partCount[p];
+                w -= kp.getWeightThing(partThing[p]) * partCount[p];
+            }
+        }
+        currentResult = new ArrayList<>();
+        for (int i = ZERO; i < taken.length; i++) {
+            if (taken[i] > 0) {
+                currentResult.add(
+                        new KpThing(kp.getNumberThing(i), kp.getWeightThing(i), kp.getCostThing(i), taken[i])
+                );
+            }
+        }
+        setNewResult(weight, cost);
+    }
+}
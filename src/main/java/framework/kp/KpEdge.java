@@ -0,0 +1,43 @@
+package framework.kp;
+
+/**
+ * Вещь задачи о рюкзаке, полученной сведением из задачи о коммивояжере: ребро графа (from, to)
+ * <p>
+ * В списке вещей ребро хранится номером вещи вида "from_to", разбор номера выполняется один раз
+ * при построении {@link KpEdgeIndex}.
+ * @param from - начальная вершина ребра
+ * @param to   - конечная вершина ребра
+ */
+public record KpEdge(int from, int to) {
+    /**
+     * Разделитель вершин в номере вещи
+     */
+    public static final char SEPARATOR = '_';
+
+    /**
+     * Разбор номера вещи вида "from_to"
+     * @param number - номер вещи
+     * @throws NumberFormatException если номер не вида "int_int" с неотрицательными вершинами
+     */
+    public static KpEdge parse(String number) {
+        int index = number.indexOf(SEPARATOR);
+        if (index == -1) {
+            throw new NumberFormatException(number);
+        }
+        KpEdge edge = new KpEdge(
+                Integer.parseInt(number.substring(0, index)),
+                Integer.parseInt(number.substring(index + 1))
+        );
+        if (edge.from() < 0 || edge.to() < 0) {
+            throw new NumberFormatException(number);
+        }
+        return edge;
+    }
+
+    /**
+     * @return номер вещи вида "from_to"
+     */
+    public String toNumber() {
+        return from + String.valueOf(SEPARATOR) + to;
+    }
+}
@@ -0,0 +1,114 @@
+package framework.kp;
+
+import java.util.List;
+
+/**
+ * Индекс вещей-ребер задачи о рюкзаке с матрицей хрупкости
+ * <p>
+ * Хранит начальную и конечную вершину каждой вещи ({@link KpEdge}) и исходящие вещи каждой вершины
+ * в сжатом построчном виде: вещи, начинающиеся в вершине v, - элементы [getStart(v), getEnd(v)),
+ * по возрастанию индекса вещи. Переход к вещам, продолжающим цепочку, не просматривает все вещи.
+ */
+public class KpEdgeIndex {
+    /**
+     * Начальные вершины вещей
+     */
+    private final int[] from;
+
+    /**
+     * Конечные вершины вещей
+     */
+    private final int[] to;
+
+    /**
+     * Начало исходящих вещей каждой вершины, последний элемент - количество вещей
+     */
+    private final int[] offsets;
+
+    /**
+     * Индексы вещей, сгруппированные по начальной вершине
+     */
+    private final int[] items;
+
+    private KpEdgeIndex(int[] from, int[] to, int vertexes) {
+        this.from = from;
+        this.to = to;
+        offsets = new int[vertexes + 1];
+        for (int vertex : from) {
+            offsets[vertex + 1]++;
+        }
+        for (int vertex = 0; vertex < vertexes; vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
+        }
+        items = new int[from.length];
+        int[] next = new int[vertexes];
+        for (int item = 0; item < from.length; item++) {
+            items[offsets[from[item]] + next[from[item]]++] = item;
+        }
+    }
+
+    /**
+     * Построение индекса по вещам с номерами вида "from_to"
+     * @param things   - вещи задачи
+     * @param vertexes - количество вершин (размер матрицы хрупкости), увеличивается до наибольшей вершины + 1
+     * @throws NumberFormatException если номер вещи не вида "int_int"
+     */
+    public static KpEdgeIndex of(List<KpThing> things, int vertexes) {
+        int[] from = new int[things.size()];
+        int[] to = new int[things.size()];
+        for (int item = 0; item < things.size(); item++) {
+            KpEdge edge = KpEdge.parse(things.get(item).number());
+            from[item] = edge.from();
+            to[item] = edge.to();
+            vertexes = Math.max(vertexes, Math.max(edge.from(), edge.to()) + 1);
+        }
+        return new KpEdgeIndex(from, to, vertexes);
+    }
+
+    /**
+     * @return количество вершин
+     */
+    public int getVertexes() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @param item - индекс вещи
+     * @return начальная вершина вещи
+     */
+    public int getFrom(int item) {
+        return from[item];
+    }
+
+    /**
+     * @param item - индекс вещи
+     * @return конечная вершина вещи
+     */
+    public int getTo(int item) {
+        return to[item];
+    }
+
+    /**
+     * @param vertex - вершина
+     * @return позиция первой вещи, начинающейся в вершине
+     */
+    public int getStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * @param vertex - вершина
+     * @return позиция после последней вещи, начинающейся в вершине
+     */
+    public int getEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * @param position - позиция в списке исходящих вещей
+     * @return индекс вещи
+     */
+    public int getItem(int position) {
+        return items[position];
+    }
+}
@@ -43,8 +43,8 @@ class KpExactSolution extends KpExactSolutionAbstract {
      * Нахождение точного решения через рекурсию
      */
     protected void exactSolution() {
+        state = new KpSearchState(kp);
         for (int i = ZERO; i < kp.getNumberOfThings(); i++) {
-            currentResult = new ArrayList<>();
             next(i, ZERO, ZERO);
         }
     }
@@ -56,21 +56,25 @@ class KpExactSolution extends KpExactSolutionAbstract {
      * @param currentMaxCost   - текущая стоимость всех вещей из результирующего списка
      */
     private void next(int currentThing, int currentMaxWeight, double currentMaxCost) {
-        currentMaxCost += kp.getCostThing(currentThing);
-        currentMaxWeight += kp.getWeightThing(currentThing);
-        setThing(currentThing, kp.getCountThing(currentThing) - 1);
-        currentResult.add(kp.getThing(currentThing));
-        if (ifReturn(currentThing, currentMaxWeight)) return;
+        if (control.checkStop()) return;
+        currentMaxCost += state.getCost(currentThing);
+        currentMaxWeight += state.getWeight(currentThing);
+        if (ifReturn(currentThing, currentMaxWeight)) {
+            metrics.prune();
+            return;
+        }
+        state.take(currentThing);
+        metrics.expand(state.getDepth());
         if (currentMaxCost > maxCost) {
+            currentResult = state.getSelection(kp);
             setNewResult(currentMaxWeight, currentMaxCost);
         }
         if (currentMaxWeight < kp.getMaxWeight()) {
             for (int i = currentThing; i < kp.getNumberOfThings(); i++) {
                 next(i, currentMaxWeight, currentMaxCost);
-                setThing(i, kp.getCountThing(i) + 1);
-                currentResult.remove(currentResult.size() - 1);
             }
         }
+        state.release();
     }
 
     /**
@@ -1,5 +1,12 @@
 package framework.kp;
 
+import framework.anytime.SolveControl;
+import framework.anytime.SolveResult;
+import framework.cache.CachedSolution;
+import framework.cache.Fingerprint;
+import framework.cache.SolutionCache;
+import framework.metrics.Metrics;
+import framework.metrics.SolveMetrics;
 import framework.provider.LoggerProvider;
 
 import java.util.ArrayList;
@@ -20,6 +27,10 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
      * Текущий результат решения задачи
      */
     protected List<KpThing> currentResult;
+    /**
+     * Состояние перебора вещей
+     */
+    protected KpSearchState state;
     /**
      * Результат решения задачи
      */
@@ -36,6 +47,14 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
      * Время выполнения задачи
      */
     protected long time;
+    /**
+     * Управление решением: ограничение времени, отмена и оповещение о новых рекордах
+     */
+    protected SolveControl<List<KpThing>> control = SolveControl.unlimited();
+    /**
+     * Счетчики последнего решения: узлы, отсечения, улучшения рекорда, время до первого решения
+     */
+    protected SolveMetrics metrics;
 
     /**
      * Конструктор создания класса
@@ -45,16 +64,40 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
         this.kp = kp;
     }
 
+    /**
+     * Установить управление решением: перебор останавливается по времени или отмене, оставляя лучший набор вещей
+     * @param control - управление решением
+     */
+    protected void setControl(SolveControl<List<KpThing>> control) {
+        this.control = control;
+    }
+
+    /**
+     * Итог решения для асинхронного API
+     * @return лучший найденный набор вещей (пустой - вещи не взяты) и причина завершения
+     */
+    protected SolveResult<List<KpThing>> getSolveResult() {
+        return control.getResult(maxCost, result == null ? List.of() : List.copyOf(result));
+    }
+
     /**
      * Точное решение задачи
      */
     protected void solve() {
-        logInfo("Точное решение задачи о рюкзаке");
-        long startTime = System.nanoTime();
-        maxCost = ZERO;
-        maxWeight = kp.getMaxWeight();
-        exactSolution();
-        time = System.nanoTime() - startTime;
+        String key = getCacheKey();
+        if (!restoreFromCache(key)) {
+            logInfo("Точное решение задачи о рюкзаке");
+            long startTime = System.nanoTime();
+            maxCost = ZERO;
+            maxWeight = kp.getMaxWeight();
+            metrics = new SolveMetrics(getClass().getSimpleName(), getMethodName(), kp.getNumberOfThings());
+            metrics.start();
+            exactSolution();
+            time = System.nanoTime() - startTime;
+            metrics.finish();
+            Metrics.record(metrics);
+            storeInCache(key);
+        }
         logInfo(TIME, time/NANO);
         if (result != null) {
             logInfo(RESULT, result.toString());
@@ -73,13 +116,98 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
         writeResult();
     }
 
+    /**
+     * Ключ кэша решений: отпечаток способа решения, максимального веса, вещей и матрицы хрупкости
+     * @return ключ или null, если кэш выключен
+     */
+    private String getCacheKey() {
+        if (!SolutionCache.getInstance().isEnabled()) {
+            return null;
+        }
+        Fingerprint fingerprint = new Fingerprint().add(Kp.PROBLEM).add(getClass().getSimpleName());
+        fingerprint.add(kp.getMaxWeight()).add(kp.getNumberOfThings());
+        for (KpThing thing : kp.getThings()) {
+            fingerprint.add(thing.number()).add(thing.weight()).add(thing.cost()).add(thing.count());
+        }
+        List<Integer> fragile = kp.getFragile();
+        fingerprint.add(fragile == null ? -1 : fragile.size());
+        if (fragile != null) {
+            for (int value : fragile) {
+                fingerprint.add(value);
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Восстановление решения из кэша: индексы вещей в списке вещей задачи и взятые количества
+     * @param key - ключ кэша, null - кэш выключен
+     * @return найдено ли решение
+     */
+    private boolean restoreFromCache(String key) {
+        CachedSolution solution = key == null ? null : SolutionCache.getInstance().get(key);
+        if (solution == null) {
+            return false;
+        }
+        logInfo("Решение найдено в кэше %s", key);
+        maxCost = solution.cost();
+        maxWeight = solution.weight();
+        time = solution.time();
+        result = null;
+        if (solution.paths().length > 0) {
+            int[] thingIds = solution.paths()[0];
+            int[] counts = solution.paths()[1];
+            result = new ArrayList<>(thingIds.length);
+            for (int i = 0; i < thingIds.length; i++) {
+                KpThing thing = kp.getThing(thingIds[i]);
+                result.add(new KpThing(thing.number(), thing.weight(), thing.cost(), counts[i]));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Сохранение найденного решения в кэш
+     * @param key - ключ кэша, null - кэш выключен
+     */
+    private void storeInCache(String key) {
+        if (key == null || control.isStopped()) {
+            return;
+        }
+        int[][] paths = new int[0][];
+        if (result != null) {
+            int[] thingIds = new int[result.size()];
+            int[] counts = new int[result.size()];
+            for (int i = 0; i < thingIds.length; i++) {
+                thingIds[i] = getThingId(result.get(i));
+                counts[i] = result.get(i).count();
+            }
+            paths = new int[][] {thingIds, counts};
+        }
+        SolutionCache.getInstance().put(key, new CachedSolution(maxCost, maxWeight, time, paths));
+    }
+
+    /**
+     * Индекс вещи в списке вещей задачи (по номеру, весу и стоимости)
+     */
+    private int getThingId(KpThing thing) {
+        for (int i = 0; i < kp.getNumberOfThings(); i++) {
+            KpThing kpThing = kp.getThing(i);
+            if (kpThing.number().equals(thing.number()) && kpThing.weight() == thing.weight()
+                    && kpThing.cost() == thing.cost()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Условие возврата рекурсии при выходе за рамки максимального веса или невозможности взять вещь текущего веса
      * @param currentThing     - текущая вещь
      * @param currentMaxWeight - текуший максимальный вес
      */
     protected boolean ifReturn(int currentThing, int currentMaxWeight) {
-        if (kp.getCountThing(currentThing) == -1) {
+        if (!state.canTake(currentThing)) {
             return true;
         }
         return currentMaxWeight > kp.getMaxWeight();
@@ -95,18 +223,8 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
         maxWeight = currentMaxWeight;
         result = new ArrayList<>();
         result.addAll(currentResult);
-    }
-
-    /**
-     * Получить вещь по переданному индексу
-     */
-    protected void setThing(int thingId, int newCount) {
-        kp
-            .getThings()
-            .set(
-                thingId,
-                new KpThing(kp.getNumberThing(thingId), kp.getWeightThing(thingId), kp.getCostThing(thingId), newCount)
-            );
+        metrics.incumbent();
+        control.improve(currentMaxCost, List.copyOf(result));
     }
 
     /**
@@ -128,6 +246,13 @@ abstract class KpExactSolutionAbstract extends LoggerProvider {
         }
     }
 
+    /**
+     * @return название способа решения для счетчиков
+     */
+    protected String getMethodName() {
+        return KpSolveMethod.EXHAUSTIVE.name();
+    }
+
     /**
      * Нахождение точного решения через рекурсию
      */
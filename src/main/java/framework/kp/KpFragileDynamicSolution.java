@@ -0,0 +1,191 @@
+package framework.kp;
+
+import framework.algorithm.HeldKarpAlgorithm;
+import framework.anytime.SolveControl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.ZERO;
+
+/**
+ * Класс точного решения задачи о рюкзаке с динамической матрицей хрупкости динамическим программированием
+ * <p>
+ * Вещи - ребра графа (номера вида "i_j", {@link KpEdge}), решение - гамильтонов цикл из вершины 0 наибольшей
+ * ценности (финальное положение матрицы хрупкости [0, 2, 2, ...]). Состояние динамики - (множество посещенных
+ * вершин, последняя вершина), как в {@link HeldKarpAlgorithm}: индекс = маска * (n - 1) + последняя вершина,
+ * вершине v (v > 0) соответствует бит (v - 1) маски. Переходы идут только по исходящим вещам последней вершины.
+ * <p>
+ * Время O(m * 2^n), память O(n * 2^n), где n - количество вершин, m - количество вещей.
+ * Применимо, если вес любого цикла не превышает максимальный вес рюкзака (сумма наибольших весов исходящих
+ * вещей вершин не больше максимального веса, так для задачи, сведенной из задачи коммивояжера)
+ * и n не больше {@link HeldKarpAlgorithm#MAX_SIZE}, иначе используется перебор {@link KpFragileExactSolution}.
+ */
+class KpFragileDynamicSolution extends KpExactSolutionAbstract {
+    /**
+     * Начальные и конечные вершины вещей-ребер и исходящие вещи каждой вершины (null - нет матрицы хрупкости)
+     */
+    private final KpEdgeIndex edges;
+
+    /**
+     * Конструктор создания класса
+     * @param kp - объект класса задачи о рюкзаке
+     */
+    protected KpFragileDynamicSolution(Kp kp) {
+        super(kp, KpFragileDynamicSolution.class);
+        edges = kp.getFragile() == null ? null : KpEdgeIndex.of(kp.getThings(), kp.getFragile().size());
+    }
+
+    @Override
+    protected String getMethodName() {
+        return "FRAGILE_DYNAMIC";
+    }
+
+    /**
+     * Точное решение задачи о рюкзаке после сведения из задачи коммивояжера
+     */
+    protected void solveTspToKp() {
+        solveWithWrite();
+    }
+
+    /**
+     * @return применима ли динамика: размер таблицы допустим и максимальный вес не ограничивает циклы
+     */
+    protected boolean isApplicable() {
+        if (edges == null || edges.getVertexes() > HeldKarpAlgorithm.MAX_SIZE) {
+            return false;
+        }
+        long cycleWeight = 0;
+        for (int vertex = 0; vertex < edges.getVertexes(); vertex++) {
+            int maxThingWeight = 0;
+            for (int k = edges.getStart(vertex); k < edges.getEnd(vertex); k++) {
+                maxThingWeight = Math.max(maxThingWeight, kp.getWeightThing(edges.getItem(k)));
+            }
+            cycleWeight += maxThingWeight;
+        }
+        return cycleWeight <= kp.getMaxWeight();
+    }
+
+    /**
+     * Нахождение точного решения динамическим программированием по подмножествам вершин
+     */
+    protected void exactSolution() {
+        int size = edges.getVertexes();
+        int count = size - 1;
+        if (count == 0) {
+            return;
+        }
+        int[] pairThing = getPairThings(size);
+        int full = (1 << count) - 1;
+        double[] dp = new double[(full + 1) * count];
+        byte[] parent = new byte[(full + 1) * count];
+        Arrays.fill(dp, Double.NEGATIVE_INFINITY);
+
+        for (int j = 0; j < count; j++) {
+            int thing = pairThing[j + 1];
+            if (thing != -1) {
+                dp[(1 << j) * count + j] = kp.getCostThing(thing);
+                parent[(1 << j) * count + j] = -1;
+            }
+        }
+        for (int mask = 1; mask < full; mask++) {
+            if ((mask & (SolveControl.CHECK_INTERVAL - 1)) == 0) {
+                control.addNodes(SolveControl.CHECK_INTERVAL);
+                if (control.poll()) {
+                    logInfo("Решение остановлено до заполнения таблицы, вещи не найдены");
+                    return;
+                }
+            }
+            int base = mask * count;
+            metrics.expand(Integer.bitCount(mask));
+            for (int j = 0; j < count; j++) {
+                double current = dp[base + j];
+                if (current == Double.NEGATIVE_INFINITY) {
+                    continue;
+                }
+                int row = (j + 1) * size;
+                for (int k = edges.getStart(j + 1); k < edges.getEnd(j + 1); k++) {
+                    int finish = edges.getTo(edges.getItem(k)) - 1;
+                    if (finish < 0 || (mask & (1 << finish)) != 0) {
+                        continue;
+                    }
+                    int next = (mask | (1 << finish)) * count + finish;
+                    double cost = current + kp.getCostThing(pairThing[row + finish + 1]);
+                    if (cost > dp[next]) {
+                        dp[next] = cost;
+                        parent[next] = (byte) j;
+                    }
+                }
+            }
+        }
+
+        control.addNodes(full & (SolveControl.CHECK_INTERVAL - 1));
+        int last = -1;
+        int base = full * count;
+        for (int j = 0; j < count; j++) {
+            int thing = pairThing[(j + 1) * size];
+            if (thing == -1 || dp[base + j] == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            double cost = dp[base + j] + kp.getCostThing(thing);
+            if (cost > maxCost) {
+                maxCost = cost;
+                last = j;
+            }
+        }
+        if (last != -1) {
+            setResult(pairThing, parent, full, last);
+        }
+    }
+
+    /**
+     * Вещь наибольшей ценности для каждой пары вершин (петли не учитываются, они не входят в цикл)
+     * @param size - количество вершин
+     * @return индексы вещей, построчно по начальной вершине, -1 - вещи нет
+     */
+    private int[] getPairThings(int size) {
+        int[] pairThing = new int[size * size];
+        Arrays.fill(pairThing, -1);
+        for (int vertex = 0; vertex < size; vertex++) {
+            for (int k = edges.getStart(vertex); k < edges.getEnd(vertex); k++) {
+                int thing = edges.getItem(k);
+                int finish = edges.getTo(thing);
+                int pair = vertex * size + finish;
+                if (finish != vertex
+                        && (pairThing[pair] == -1 || kp.getCostThing(thing) > kp.getCostThing(pairThing[pair]))) {
+                    pairThing[pair] = thing;
+                }
+            }
+        }
+        return pairThing;
+    }
+
+    /**
+     * Восстановление цикла по указателям на предыдущую вершину и запись вещей в порядке обхода
+     * @param pairThing - вещи для каждой пары вершин
+     * @param parent    - указатели на предыдущую вершину для каждого состояния
+     * @param mask      - маска конечного состояния
+     * @param last      - последняя вершина конечного состояния
+     */
+    private void setResult(int[] pairThing, byte[] parent, int mask, int last) {
+        int size = edges.getVertexes();
+        int count = size - 1;
+        int[] path = new int[size + 1];
+        for (int i = count; i > 0; i--) {
+            path[i] = last + 1;
+            int previous = parent[mask * count + last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        List<KpThing> things = new ArrayList<>(size);
+        int weight = ZERO;
+        for (int i = 0; i < size; i++) {
+            KpThing thing = kp.getThing(pairThing[path[i] * size + path[i + 1]]);
+            things.add(new KpThing(thing.number(), thing.weight(), thing.cost(), thing.count() - 1));
+            weight += thing.weight();
+        }
+        currentResult = things;
+        setNewResult(weight, maxCost);
+    }
+}
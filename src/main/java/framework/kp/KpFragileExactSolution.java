@@ -1,7 +1,6 @@
 package framework.kp;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import static framework.utils.IntegerDataUtils.ZERO;
 
@@ -19,6 +18,15 @@ import static framework.utils.IntegerDataUtils.ZERO;
  * Финальное положение: [0, 2, 2, ...] (если путь существует)
  */
 class KpFragileExactSolution extends KpExactSolutionAbstract {
+    /**
+     * Текущее состояние динамической матрицы хрупкости
+     */
+    private int[] fragile;
+
+    /**
+     * Начальные и конечные вершины вещей-ребер и исходящие вещи каждой вершины
+     */
+    private KpEdgeIndex edges;
 
     /**
      * Конструктор создания класса
@@ -28,6 +36,11 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
         super(kp, KpFragileExactSolution.class);
     }
 
+    @Override
+    protected String getMethodName() {
+        return "FRAGILE";
+    }
+
     /**
      * Точное решение задачи о рюкзаке после сведения из задачи коммивояжера
      */
@@ -39,18 +52,13 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
      * Нахождение точного решения через рекурсию
      */
     protected void exactSolution() {
-        for (int i = ZERO; i < kp.getNumberOfThings(); i++) {
-            int startI = getStartNumber(i);
-            if(startI == 0) {
-                currentResult = new ArrayList<>();
-                List<Integer> fragile = new ArrayList<>();
-                fragile.add(-1);
-                for (int j = 1; j < kp.getMaxWeight(); j++) {
-                    fragile.add(1);
-                }
-                kp.setFragile(fragile);
-                next(i, ZERO, ZERO);
-            }
+        state = new KpSearchState(kp);
+        edges = KpEdgeIndex.of(kp.getThings(), kp.getMaxWeight());
+        fragile = new int[kp.getMaxWeight()];
+        for (int k = edges.getStart(ZERO); k < edges.getEnd(ZERO); k++) {
+            Arrays.fill(fragile, 1);
+            fragile[0] = -1;
+            next(edges.getItem(k), ZERO, ZERO);
         }
     }
 
@@ -61,29 +69,30 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
      * @param currentMaxCost   - текущая стоимость всех вещей из результирующего списка
      */
     private void next(int currentThing, int currentMaxWeight, double currentMaxCost) {
-        currentMaxCost += kp.getCostThing(currentThing);
-        currentMaxWeight += kp.getWeightThing(currentThing);
-        setThing(currentThing, kp.getCountThing(currentThing) - 1);
-        currentResult.add(kp.getThing(currentThing));
-        setFragile(getStartNumber(currentThing), 2, getFinishNumber(currentThing), -1);
-        if (ifReturnFragile(currentThing)) return;
-        if (ifReturn(currentThing, currentMaxWeight)) return;
-        if (currentMaxCost > maxCost) {
-            if (ifResultFragile()) {
+        if (control.checkStop()) return;
+        currentMaxCost += state.getCost(currentThing);
+        currentMaxWeight += state.getWeight(currentThing);
+        if (ifReturn(currentThing, currentMaxWeight)) {
+            metrics.prune();
+            return;
+        }
+        state.take(currentThing);
+        metrics.expand(state.getDepth());
+        setFragile(edges.getFrom(currentThing), 2, edges.getTo(currentThing), -1);
+        if (!ifReturnFragile(currentThing)) {
+            if (currentMaxCost > maxCost && ifResultFragile()) {
+                currentResult = state.getSelection(kp);
                 setNewResult(currentMaxWeight, currentMaxCost);
             }
-        }
-        if (currentMaxWeight < kp.getMaxWeight()) {
-            for (int i = 0; i < kp.getNumberOfThings(); i++) {
-                int startNumberNext = getStartNumber(i);
-                if (getFinishNumber(currentThing) == startNumberNext) {
-                    next(i, currentMaxWeight, currentMaxCost);
-                    setThing(i, kp.getCountThing(i) + 1);
-                    currentResult.remove(currentResult.size() - 1);
-                    setFragile(startNumberNext, -2, getFinishNumber(i), 1);
+            if (currentMaxWeight < kp.getMaxWeight()) {
+                int finish = edges.getTo(currentThing);
+                for (int k = edges.getStart(finish); k < edges.getEnd(finish); k++) {
+                    next(edges.getItem(k), currentMaxWeight, currentMaxCost);
                 }
             }
         }
+        setFragile(edges.getFrom(currentThing), -2, edges.getTo(currentThing), 1);
+        state.release();
     }
 
     /**
@@ -91,12 +100,12 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
      */
     private boolean ifResultFragile() {
         int flagSecond = 0;
-        for (int i = 0; i < kp.getFragile().size(); i++) {
-            if (kp.getFragile().get(i) == 2) {
+        for (int value : fragile) {
+            if (value == 2) {
                 flagSecond += 1;
             }
         }
-        return kp.getFragile().get(0) == 0 && flagSecond == kp.getFragile().size() - 1;
+        return fragile[0] == 0 && flagSecond == fragile.length - 1;
     }
 
     /**
@@ -104,8 +113,7 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
      * @param currentThing - текущая вещь
      */
     private boolean ifReturnFragile(int currentThing) {
-        return kp.getFragile().get(getStartNumber(currentThing)) > 2 &&
-                kp.getFragile().get(getFinishNumber(currentThing)) < 0;
+        return fragile[edges.getFrom(currentThing)] > 2 && fragile[edges.getTo(currentThing)] < 0;
     }
 
     /**
@@ -116,24 +124,7 @@ class KpFragileExactSolution extends KpExactSolutionAbstract {
      * @param shiftFinish  - сдвиг по конечному значению
      */
     private void setFragile(int startNumber, int shiftStart, int finishNumber, int shiftFinish) {
-        kp.getFragile().set(startNumber, kp.getFragile().get(startNumber) + shiftStart);
-        kp.getFragile().set(finishNumber, kp.getFragile().get(finishNumber) + shiftFinish);
-    }
-
-    /**
-     * Получить стартовый номер вещи
-     * @param i - интдекс вещи
-     */
-    private int getStartNumber(int i) {
-        return Integer.parseInt(kp.getNumberThing(i).split("_")[0]);
-    }
-
-    /**
-     * Получить конечный номер вещи
-     * @param i - интдекс вещи
-     */
-    private int getFinishNumber(int i) {
-        int indexNext = kp.getThings().get(i).number().indexOf("_");
-        return Integer.parseInt(kp.getNumberThing(i).substring(indexNext + 1));
+        fragile[startNumber] += shiftStart;
+        fragile[finishNumber] += shiftFinish;
     }
 }
@@ -0,0 +1,131 @@
+package framework.kp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.ZERO;
+
+/**
+ * Состояние перебора вещей задачи о рюкзаке на примитивных массивах
+ * <p>
+ * Оставшиеся количества вещей хранятся в массиве int, текущий выбор - в стеке индексов вещей.
+ * Объект задачи не изменяется, взятие и возврат вещи не создают объектов,
+ * список {@link KpThing} строится только при записи нового результата.
+ */
+class KpSearchState {
+    /**
+     * Веса вещей
+     */
+    private final int[] weights;
+
+    /**
+     * Ценности вещей
+     */
+    private final double[] costs;
+
+    /**
+     * Оставшиеся количества вещей
+     */
+    private final int[] remaining;
+
+    /**
+     * Стек индексов взятых вещей
+     */
+    private final int[] stack;
+
+    /**
+     * Оставшееся количество вещи в момент взятия, для каждого элемента стека
+     */
+    private final int[] stackRemaining;
+
+    /**
+     * Количество взятых вещей
+     */
+    private int depth;
+
+    /**
+     * @return количество взятых вещей (глубина перебора)
+     */
+    protected int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Создание состояния перебора по задаче
+     * @param kp - объект класса задачи о рюкзаке
+     */
+    protected KpSearchState(Kp kp) {
+        int size = kp.getNumberOfThings();
+        weights = new int[size];
+        costs = new double[size];
+        remaining = new int[size];
+        long totalCount = 0;
+        int minWeight = Integer.MAX_VALUE;
+        for (int i = ZERO; i < size; i++) {
+            weights[i] = kp.getWeightThing(i);
+            costs[i] = kp.getCostThing(i);
+            remaining[i] = kp.getCountThing(i);
+            totalCount += remaining[i];
+            minWeight = Math.min(minWeight, weights[i]);
+        }
+        int capacity = (int) Math.min(totalCount, size == 0 ? 0 : kp.getMaxWeight() / Math.max(minWeight, 1));
+        stack = new int[capacity];
+        stackRemaining = new int[capacity];
+    }
+
+    /**
+     * @param thingId - индекс вещи
+     * @return вес вещи
+     */
+    protected int getWeight(int thingId) {
+        return weights[thingId];
+    }
+
+    /**
+     * @param thingId - индекс вещи
+     * @return ценность вещи
+     */
+    protected double getCost(int thingId) {
+        return costs[thingId];
+    }
+
+    /**
+     * @param thingId - индекс вещи
+     * @return осталась ли вещь для взятия
+     */
+    protected boolean canTake(int thingId) {
+        return remaining[thingId] > 0;
+    }
+
+    /**
+     * Взять вещь
+     * @param thingId - индекс вещи
+     */
+    protected void take(int thingId) {
+        remaining[thingId]--;
+        stack[depth] = thingId;
+        stackRemaining[depth] = remaining[thingId];
+        depth++;
+    }
+
+    /**
+     * Вернуть последнюю взятую вещь
+     */
+    protected void release() {
+        depth--;
+        remaining[stack[depth]]++;
+    }
+
+    /**
+     * Получить список взятых вещей в порядке взятия
+     * @param kp - объект класса задачи о рюкзаке
+     */
+    protected List<KpThing> getSelection(Kp kp) {
+        List<KpThing> selection = new ArrayList<>(depth);
+        for (int i = ZERO; i < depth; i++) {
+            int thingId = stack[i];
+            selection.add(new KpThing(kp.getNumberThing(thingId), weights[thingId], costs[thingId], stackRemaining[i]));
+        }
+        return selection;
+    }
+}
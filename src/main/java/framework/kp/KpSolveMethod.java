@@ -0,0 +1,21 @@
+package framework.kp;
+
+/**
+ * Способ точного решения стандартной задачи о рюкзаке
+ */
+public enum KpSolveMethod {
+    /**
+     * Полный перебор всех сочетаний вещей в рамках максимального веса
+     */
+    EXHAUSTIVE,
+
+    /**
+     * Динамическое программирование по весу рюкзака с двоичным разбиением количества вещей
+     */
+    DYNAMIC,
+
+    /**
+     * Метод ветвей и границ с верхней границей линейной релаксации (граница Данцига)
+     */
+    BRANCH_AND_BOUND
+}
@@ -1,9 +1,11 @@
 package framework.kp;
 
+import framework.matrix.SparseGraph;
 import framework.pathproblem.tsp.Tsp;
 import framework.provider.LoggerProvider;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
 
 import static framework.utils.IntegerDataUtils.*;
 
@@ -39,12 +41,16 @@ class KpToProblem extends LoggerProvider {
      * Текущая вершина a соединяется ребром с последующей вершиной b (последняя соединяется с нулевой вершиной)
      * и с вершиной с, рассчитанной по формуле (2n + 1 - a)
      * Вершина c соединяется ребром с вершиной b.
+     * <p>
+     * В каждой строке не больше (количество вещей + 1) ребер, поэтому матрица (2n - 1) x (2n - 1) не строится:
+     * задача о коммивояжере получает разреженный граф {@link SparseGraph} с памятью O(n * количество вещей).
+     * Из вершины j ведут ребра длины каждого различного веса вещи, не выходящие за вершину n
+     * (при одинаковом весе действует последняя вещь).
      * @return объект задачи о коммивояжере
      */
     protected Tsp toTsp() {
         logInfo("Создание объекта задачи коммивояжера через сведение задачи о рюкзаке");
         int countVertexes = 2 * kp.getMaxWeight() - 1;
-        ArrayList<ArrayList<Double>> paths = createInfPath(countVertexes);
         int index = 1;
         while (kp.getThings().size() != index) {
             if(kp.getThings().get(index).weight() == kp.getThings().get(index - 1).weight()) {
@@ -60,39 +66,41 @@ class KpToProblem extends LoggerProvider {
             }
         }
 
-        for(int j = 0; j < kp.getMaxWeight(); j++) {
-            for(int i = 0; i < kp.getThings().size(); i++) {
-                if(j + kp.getWeightThing(i) < kp.getMaxWeight() + 1) {
-                    paths
-                        .get(j)
-                        .set(j + kp.getWeightThing(i), (kp.getWeightThing(i) * kp.getWeightThing(i) / kp.getCostThing(i)));
-                }
+        double[] lengthWeights = new double[kp.getMaxWeight() + 1];
+        Arrays.fill(lengthWeights, INF);
+        for(int i = 0; i < kp.getThings().size(); i++) {
+            int weight = kp.getWeightThing(i);
+            if (weight > 0 && weight <= kp.getMaxWeight()) {
+                lengthWeights[weight] = weight * weight / kp.getCostThing(i);
             }
         }
-        for(int j = kp.getMaxWeight(); j < countVertexes; j++) {
-            paths.get(j).set(countVertexes - j, ZERO_DOUBLE);
-            if(j == countVertexes - 1) paths.get(j).set(ZERO, ZERO_DOUBLE);
-            else paths.get(j).set(j + 1, ZERO_DOUBLE);
-        }
-        for(int j = kp.getMaxWeight() - 1; j > 0; j--) {
-            if(j == 1) paths.get(j).set(ZERO, ZERO_DOUBLE);
-            else paths.get(j).set(2 * kp.getMaxWeight() - j, ZERO_DOUBLE);
-        }
-        return Tsp.byValues(countVertexes, paths);
-    }
+        int[] lengths = IntStream.rangeClosed(1, kp.getMaxWeight()).filter(w -> lengthWeights[w] != INF).toArray();
 
-    /**
-     * Создание пути с бесконечными значениями
-     */
-    private static ArrayList<ArrayList<Double>> createInfPath(int countVertexes) {
-        ArrayList<ArrayList<Double>> paths = new ArrayList<>();
-        for(int i = 0; i < countVertexes; i++) {
-            ArrayList<Double> strPaths = new ArrayList<>();
-            for(int j = 0; j < countVertexes; j++) {
-                strPaths.add(INF);
+        int[][] targets = new int[countVertexes][];
+        double[][] weights = new double[countVertexes][];
+        for(int j = 0; j < kp.getMaxWeight(); j++) {
+            int count = 0;
+            while (count < lengths.length && j + lengths[count] <= kp.getMaxWeight()) {
+                count++;
+            }
+            boolean triangle = j > 0;
+            int first = j == 1 ? 1 : 0;
+            targets[j] = new int[count + (triangle ? 1 : 0)];
+            weights[j] = new double[targets[j].length];
+            for (int k = 0; k < count; k++) {
+                targets[j][first + k] = j + lengths[k];
+                weights[j][first + k] = lengthWeights[lengths[k]];
             }
-            paths.add(strPaths);
+            if (triangle) {
+                targets[j][j == 1 ? 0 : count] = j == 1 ? ZERO : 2 * kp.getMaxWeight() - j;
+            }
+        }
+        for(int j = kp.getMaxWeight(); j < countVertexes; j++) {
+            targets[j] = j == countVertexes - 1
+                    ? new int[] {ZERO, countVertexes - j}
+                    : new int[] {countVertexes - j, j + 1};
+            weights[j] = new double[] {ZERO_DOUBLE, ZERO_DOUBLE};
         }
-        return paths;
+        return Tsp.bySparseGraph(SparseGraph.fromRows(targets, weights));
     }
 }
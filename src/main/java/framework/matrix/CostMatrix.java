@@ -0,0 +1,250 @@
+package framework.matrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Плотная матрица весов на одномерном массиве double, построчно
+ * <p>
+ * Ячейка (i, j) хранится в values[offset + i * stride + j]. Представление (view) разделяет массив
+ * с исходной матрицей, снимок (snapshot) - неизменяемая копия.
+ */
+public class CostMatrix {
+    /**
+     * Значения матрицы
+     */
+    private final double[] values;
+
+    /**
+     * Количество строк
+     */
+    private final int rows;
+
+    /**
+     * Количество столбцов
+     */
+    private final int columns;
+
+    /**
+     * Индекс ячейки (0, 0) в массиве значений
+     */
+    private final int offset;
+
+    /**
+     * Расстояние в массиве значений между соседними строками
+     */
+    private final int stride;
+
+    /**
+     * Признак неизменяемой матрицы
+     */
+    private final boolean readOnly;
+
+    /**
+     * Создание нулевой матрицы
+     * @param rows    - количество строк
+     * @param columns - количество столбцов
+     */
+    public CostMatrix(int rows, int columns) {
+        this(new double[rows * columns], rows, columns, 0, columns, false);
+    }
+
+    private CostMatrix(double[] values, int rows, int columns, int offset, int stride, boolean readOnly) {
+        this.values = values;
+        this.rows = rows;
+        this.columns = columns;
+        this.offset = offset;
+        this.stride = stride;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Создание матрицы, заполненной одним значением
+     * @param rows    - количество строк
+     * @param columns - количество столбцов
+     * @param value   - значение всех ячеек
+     */
+    public static CostMatrix filled(int rows, int columns, double value) {
+        CostMatrix matrix = new CostMatrix(rows, columns);
+        Arrays.fill(matrix.values, value);
+        return matrix;
+    }
+
+    /**
+     * Создание матрицы по массиву значений, записанных построчно (массив не копируется)
+     * @param rows    - количество строк
+     * @param columns - количество столбцов
+     * @param values  - значения матрицы
+     */
+    public static CostMatrix wrap(int rows, int columns, double[] values) {
+        return new CostMatrix(values, rows, columns, 0, columns, false);
+    }
+
+    /**
+     * Создание неизменяемой матрицы по массиву значений, записанных построчно (массив не копируется,
+     * поэтому после вызова его нельзя изменять)
+     * @param rows    - количество строк
+     * @param columns - количество столбцов
+     * @param values  - значения матрицы
+     */
+    public static CostMatrix wrapReadOnly(int rows, int columns, double[] values) {
+        return new CostMatrix(values, rows, columns, 0, columns, true);
+    }
+
+    /**
+     * Создание матрицы по списку строк
+     * @param list - список строк матрицы одинаковой длины
+     */
+    public static CostMatrix fromList(List<? extends List<Double>> list) {
+        int columns = list.isEmpty() ? 0 : list.get(0).size();
+        CostMatrix matrix = new CostMatrix(list.size(), columns);
+        for (int i = 0; i < list.size(); i++) {
+            List<Double> line = list.get(i);
+            for (int j = 0; j < columns; j++) {
+                matrix.values[i * columns + j] = line.get(j);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return количество строк
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * @return количество столбцов
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return неизменяемая ли матрица
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * @param i - индекс строки
+     * @param j - индекс столбца
+     * @return значение ячейки
+     */
+    public double get(int i, int j) {
+        return values[offset + i * stride + j];
+    }
+
+    /**
+     * Установить значение ячейки
+     * @param i     - индекс строки
+     * @param j     - индекс столбца
+     * @param value - новое значение
+     */
+    public void set(int i, int j, double value) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Матрица неизменяема");
+        }
+        values[offset + i * stride + j] = value;
+    }
+
+    /**
+     * Представление части матрицы без копирования значений
+     * @param fromRow    - первая строка
+     * @param fromColumn - первый столбец
+     * @param rows       - количество строк
+     * @param columns    - количество столбцов
+     */
+    public CostMatrix view(int fromRow, int fromColumn, int rows, int columns) {
+        if (fromRow < 0 || fromColumn < 0 || fromRow + rows > this.rows || fromColumn + columns > this.columns) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Представление [%d, %d] размера %dx%d вне матрицы", fromRow, fromColumn, rows, columns)
+            );
+        }
+        return new CostMatrix(values, rows, columns, offset + fromRow * stride + fromColumn, stride, readOnly);
+    }
+
+    /**
+     * @return изменяемая копия матрицы
+     */
+    public CostMatrix copy() {
+        return wrap(rows, columns, toArray());
+    }
+
+    /**
+     * @return неизменяемая копия матрицы (без копирования, если матрица уже неизменяема)
+     */
+    public CostMatrix snapshot() {
+        if (readOnly) {
+            return this;
+        }
+        return new CostMatrix(toArray(), rows, columns, 0, columns, true);
+    }
+
+    /**
+     * @return копия значений матрицы построчно
+     */
+    public double[] toArray() {
+        if (offset == 0 && stride == columns && values.length == rows * columns) {
+            return values.clone();
+        }
+        double[] array = new double[rows * columns];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(values, offset + i * stride, array, i * columns, columns);
+        }
+        return array;
+    }
+
+    /**
+     * @return матрица в виде списка строк
+     */
+    public ArrayList<ArrayList<Double>> toList() {
+        ArrayList<ArrayList<Double>> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            ArrayList<Double> line = new ArrayList<>(columns);
+            for (int j = 0; j < columns; j++) {
+                line.add(get(i, j));
+            }
+            list.add(line);
+        }
+        return list;
+    }
+
+    /**
+     * @return сумма значений матрицы, не равных бесконечности
+     */
+    public double getSumNotInf() {
+        double sum = 0;
+        for (int i = 0; i < rows; i++) {
+            int row = offset + i * stride;
+            for (int j = 0; j < columns; j++) {
+                if (values[row + j] != INF) {
+                    sum += values[row + j];
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Запись строки матрицы в виде [a, b, c]
+     * @param i       - индекс строки
+     * @param builder - строка, куда дописывается результат
+     */
+    public void appendRow(int i, StringBuilder builder) {
+        builder.append('[');
+        int row = offset + i * stride;
+        for (int j = 0; j < columns; j++) {
+            if (j > 0) {
+                builder.append(", ");
+            }
+            builder.append(values[row + j]);
+        }
+        builder.append(']');
+    }
+}
@@ -0,0 +1,264 @@
+package framework.matrix;
+
+import java.util.Arrays;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Разреженный ориентированный граф: перечисляются только существующие ребра
+ * <p>
+ * Ребра пронумерованы подряд по начальной вершине: исходящие ребра вершины v - номера [getStart(v), getEnd(v)),
+ * внутри строки по возрастанию номера конечной вершины. Отсутствующее ребро равно INF, как в плотной матрице
+ * {@link CostMatrix}, петель нет. Граф неизменяем.
+ * <p>
+ * Ребра хранятся в сжатом построчном формате (CSR, {@link #fromMatrix}, {@link #fromRows}, память O(n + m),
+ * где m - количество ребер) или вычисляются по данным исходной задачи в наследнике (неявный граф сведения).
+ */
+public abstract class SparseGraph {
+    /**
+     * Граф в сжатом построчном формате: ребра вершины v - элементы [offsets[v], offsets[v + 1])
+     * массивов targets и weights
+     */
+    private static final class Csr extends SparseGraph {
+        private final int size;
+
+        /**
+         * Начало исходящих ребер каждой вершины, последний элемент - количество ребер
+         */
+        private final int[] offsets;
+
+        private final int[] targets;
+
+        private final double[] weights;
+
+        private Csr(int size, int[] offsets, int[] targets, double[] weights) {
+            this.size = size;
+            this.offsets = offsets;
+            this.targets = targets;
+            this.weights = weights;
+        }
+
+        @Override
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public int getStart(int vertex) {
+            return offsets[vertex];
+        }
+
+        @Override
+        public int getEnd(int vertex) {
+            return offsets[vertex + 1];
+        }
+
+        @Override
+        public int getTarget(int edge) {
+            return targets[edge];
+        }
+
+        @Override
+        public double getWeight(int edge) {
+            return weights[edge];
+        }
+
+        @Override
+        public double get(int i, int j) {
+            int edge = Arrays.binarySearch(targets, offsets[i], offsets[i + 1], j);
+            return edge < 0 ? INF : weights[edge];
+        }
+    }
+
+    /**
+     * Создание графа по плотной матрице: ребрами становятся ячейки вне диагонали со значением меньше INF
+     * @param matrix - квадратная матрица графа
+     */
+    public static SparseGraph fromMatrix(CostMatrix matrix) {
+        int size = matrix.getRows();
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int count = 0;
+            for (int j = 0; j < size; j++) {
+                if (i != j && matrix.get(i, j) < INF) {
+                    count++;
+                }
+            }
+            offsets[i + 1] = offsets[i] + count;
+        }
+        int[] targets = new int[offsets[size]];
+        double[] weights = new double[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            int edge = offsets[i];
+            for (int j = 0; j < size; j++) {
+                if (i != j && matrix.get(i, j) < INF) {
+                    targets[edge] = j;
+                    weights[edge++] = matrix.get(i, j);
+                }
+            }
+        }
+        return new Csr(size, offsets, targets, weights);
+    }
+
+    /**
+     * Создание графа по строкам смежности (значения копируются в общие массивы)
+     * @param targets - конечные вершины исходящих ребер каждой вершины, по возрастанию
+     * @param weights - веса ребер в том же порядке
+     * @throws IllegalArgumentException если строки разной длины, вершины не по возрастанию, вне графа или петля
+     */
+    public static SparseGraph fromRows(int[][] targets, double[][] weights) {
+        int size = targets.length;
+        if (weights.length != size) {
+            throw new IllegalArgumentException(
+                    String.format("Количество строк весов %d не равно количеству вершин %d", weights.length, size)
+            );
+        }
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            if (targets[i].length != weights[i].length) {
+                throw new IllegalArgumentException(String.format("Строка %d: длины вершин и весов различны", i));
+            }
+            for (int k = 0; k < targets[i].length; k++) {
+                int target = targets[i][k];
+                if (target < 0 || target >= size || target == i || k > 0 && target <= targets[i][k - 1]) {
+                    throw new IllegalArgumentException(
+                            String.format("Строка %d: некорректная вершина %d на месте %d", i, target, k)
+                    );
+                }
+            }
+            offsets[i + 1] = offsets[i] + targets[i].length;
+        }
+        int[] flatTargets = new int[offsets[size]];
+        double[] flatWeights = new double[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(targets[i], 0, flatTargets, offsets[i], targets[i].length);
+            System.arraycopy(weights[i], 0, flatWeights, offsets[i], weights[i].length);
+        }
+        return new Csr(size, offsets, flatTargets, flatWeights);
+    }
+
+    /**
+     * @return количество вершин
+     */
+    public abstract int getSize();
+
+    /**
+     * @param vertex - вершина
+     * @return номер первого исходящего ребра вершины
+     */
+    public abstract int getStart(int vertex);
+
+    /**
+     * @param vertex - вершина
+     * @return номер после последнего исходящего ребра вершины
+     */
+    public abstract int getEnd(int vertex);
+
+    /**
+     * @param edge - номер ребра
+     * @return конечная вершина ребра
+     */
+    public abstract int getTarget(int edge);
+
+    /**
+     * @param edge - номер ребра
+     * @return вес ребра
+     */
+    public abstract double getWeight(int edge);
+
+    /**
+     * @return количество ребер
+     */
+    public int getEdgeCount() {
+        return getSize() == 0 ? 0 : getEnd(getSize() - 1);
+    }
+
+    /**
+     * @param vertex - вершина
+     * @return количество исходящих ребер вершины
+     */
+    public int getDegree(int vertex) {
+        return getEnd(vertex) - getStart(vertex);
+    }
+
+    /**
+     * Вес ребра (i, j) двоичным поиском в строке i
+     * @param i - начальная вершина
+     * @param j - конечная вершина
+     * @return вес ребра, INF - ребра нет
+     */
+    public double get(int i, int j) {
+        int low = getStart(i);
+        int high = getEnd(i) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int target = getTarget(middle);
+            if (target < j) {
+                low = middle + 1;
+            }
+            else if (target > j) {
+                high = middle - 1;
+            }
+            else {
+                return getWeight(middle);
+            }
+        }
+        return INF;
+    }
+
+    /**
+     * @return симметричен ли граф: для каждого ребра есть обратное ребро того же веса
+     */
+    public boolean isSymmetric() {
+        for (int i = 0; i < getSize(); i++) {
+            for (int edge = getStart(i); edge < getEnd(i); edge++) {
+                if (get(getTarget(edge), i) != getWeight(edge)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return неизменяемая плотная матрица графа (O(n^2) памяти), отсутствующие ребра и диагональ - INF
+     */
+    public CostMatrix toCostMatrix() {
+        int size = getSize();
+        double[] values = new double[size * size];
+        Arrays.fill(values, INF);
+        for (int i = 0; i < size; i++) {
+            for (int edge = getStart(i); edge < getEnd(i); edge++) {
+                values[i * size + getTarget(edge)] = getWeight(edge);
+            }
+        }
+        return CostMatrix.wrapReadOnly(size, size, values);
+    }
+
+    /**
+     * @return сумма весов ребер
+     */
+    public double getSumNotInf() {
+        double sum = 0;
+        for (int edge = 0; edge < getEdgeCount(); edge++) {
+            sum += getWeight(edge);
+        }
+        return sum;
+    }
+
+    /**
+     * Запись исходящих ребер вершины в виде [j1=w1, j2=w2] (конечная вершина и вес, O(степени) вместо O(n))
+     * @param i       - вершина
+     * @param builder - строка, куда дописывается результат
+     */
+    public void appendEdges(int i, StringBuilder builder) {
+        builder.append('[');
+        for (int edge = getStart(i); edge < getEnd(i); edge++) {
+            if (edge > getStart(i)) {
+                builder.append(", ");
+            }
+            builder.append(getTarget(edge)).append('=').append(getWeight(edge));
+        }
+        builder.append(']');
+    }
+}
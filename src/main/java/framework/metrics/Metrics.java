@@ -0,0 +1,47 @@
+package framework.metrics;
+
+/**
+ * Получатель счетчиков, который используют решения задач
+ * <p>
+ * По умолчанию счетчики никуда не передаются. Решения считают узлы всегда (это дешевле проверки),
+ * а передают счетчики только при установленном получателе.
+ */
+public class Metrics {
+    /**
+     * Текущий получатель счетчиков, null - счетчики не передаются
+     */
+    private static volatile MetricsRecorder recorder;
+
+    /**
+     * @return текущий получатель счетчиков, null - счетчики не передаются
+     */
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Установить получателя счетчиков
+     * @param recorder - получатель, null - счетчики не передаются
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        Metrics.recorder = recorder;
+    }
+
+    /**
+     * @return передаются ли счетчики
+     */
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Передать счетчики законченного решения текущему получателю
+     * @param metrics - счетчики решения
+     */
+    public static void record(SolveMetrics metrics) {
+        MetricsRecorder current = recorder;
+        if (current != null) {
+            current.record(metrics);
+        }
+    }
+}
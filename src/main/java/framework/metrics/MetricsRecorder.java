@@ -0,0 +1,16 @@
+package framework.metrics;
+
+/**
+ * Получатель счетчиков решений
+ * <p>
+ * Вызывается в потоке решения один раз после его окончания. Реализация по умолчанию - {@link MetricsRegistry},
+ * свою можно подключить через {@link Metrics#setRecorder(MetricsRecorder)}.
+ */
+@FunctionalInterface
+public interface MetricsRecorder {
+    /**
+     * Учесть счетчики законченного решения
+     * @param metrics - счетчики решения
+     */
+    void record(SolveMetrics metrics);
+}
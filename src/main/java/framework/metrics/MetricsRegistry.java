@@ -0,0 +1,207 @@
+package framework.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Счетчики решений в памяти, сгруппированные по решению и способу решения
+ * <p>
+ * Выгружаются в JSON ({@link #toJson()}) или в текстовый формат Prometheus ({@link #toPrometheus()}):
+ * счетчики с суффиксом _total, распределение раскрытых узлов по глубине - гистограмма solver_node_depth.
+ */
+public class MetricsRegistry implements MetricsRecorder {
+    private static final double NANO_SECONDS = 1e9;
+
+    /**
+     * Сводные счетчики по ключу "решение|способ" в порядке первого решения
+     */
+    private final Map<String, Summary> summaries = new LinkedHashMap<>();
+
+    /**
+     * Сводные счетчики одного решения и способа
+     */
+    private static final class Summary {
+        private final String solver;
+        private final String method;
+        private long solves;
+        private long nodesExpanded;
+        private long nodesPruned;
+        private long incumbentUpdates;
+        private long time;
+        private long firstSolutions;
+        private long timeToFirstSolution;
+        private long allocatedBytes;
+        private long[] depths = new long[0];
+
+        private Summary(String solver, String method) {
+            this.solver = solver;
+            this.method = method;
+        }
+
+        private double getMeanTimeToFirstSolution() {
+            return firstSolutions == 0 ? 0 : timeToFirstSolution / NANO_SECONDS / firstSolutions;
+        }
+
+        private double getPruneRate() {
+            long total = nodesExpanded + nodesPruned;
+            return total == 0 ? 0 : (double) nodesPruned / total;
+        }
+    }
+
+    @Override
+    public synchronized void record(SolveMetrics metrics) {
+        Summary summary = summaries.computeIfAbsent(
+                metrics.getSolver() + "|" + metrics.getMethod(),
+                key -> new Summary(metrics.getSolver(), metrics.getMethod())
+        );
+        summary.solves++;
+        summary.nodesExpanded += metrics.getNodesExpanded();
+        summary.nodesPruned += metrics.getNodesPruned();
+        summary.incumbentUpdates += metrics.getIncumbentUpdates();
+        summary.time += metrics.getTime();
+        if (metrics.getTimeToFirstSolution() >= 0) {
+            summary.firstSolutions++;
+            summary.timeToFirstSolution += metrics.getTimeToFirstSolution();
+        }
+        if (metrics.getAllocatedBytes() > 0) {
+            summary.allocatedBytes += metrics.getAllocatedBytes();
+        }
+        long[] depths = metrics.getDepthHistogram();
+        if (depths.length > summary.depths.length) {
+            summary.depths = Arrays.copyOf(summary.depths, depths.length);
+        }
+        for (int depth = 0; depth < depths.length; depth++) {
+            summary.depths[depth] += depths[depth];
+        }
+    }
+
+    /**
+     * Удалить все накопленные счетчики
+     */
+    public synchronized void clear() {
+        summaries.clear();
+    }
+
+    /**
+     * Выгрузка в JSON: массив solvers, для каждого решения и способа - суммы счетчиков, доля отсечений,
+     * среднее время до первого решения и количество раскрытых узлов по глубине
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{\"solvers\":[");
+        boolean first = true;
+        for (Summary summary : summaries.values()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append(String.format(
+                    Locale.ROOT,
+                    "{\"solver\":\"%s\",\"method\":\"%s\",\"solves\":%d,\"nodesExpanded\":%d,\"nodesPruned\":%d,"
+                            + "\"pruneRate\":%.6f,\"incumbentUpdates\":%d,\"timeSeconds\":%.9f,"
+                            + "\"timeToFirstSolutionSeconds\":%.9f,\"allocatedBytes\":%d,\"depthHistogram\":%s}",
+                    escape(summary.solver),
+                    escape(summary.method),
+                    summary.solves,
+                    summary.nodesExpanded,
+                    summary.nodesPruned,
+                    summary.getPruneRate(),
+                    summary.incumbentUpdates,
+                    summary.time / NANO_SECONDS,
+                    summary.getMeanTimeToFirstSolution(),
+                    summary.allocatedBytes,
+                    Arrays.toString(summary.depths).replace(" ", "")
+            ));
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Выгрузка в текстовый формат Prometheus
+     */
+    public synchronized String toPrometheus() {
+        StringBuilder text = new StringBuilder();
+        counter(text, "solver_solves_total", "Количество решений", summary -> summary.solves);
+        counter(text, "solver_nodes_expanded_total", "Раскрытые узлы перебора", summary -> summary.nodesExpanded);
+        counter(text, "solver_nodes_pruned_total", "Отсеченные узлы перебора", summary -> summary.nodesPruned);
+        counter(text, "solver_incumbent_updates_total", "Улучшения рекорда", summary -> summary.incumbentUpdates);
+        counter(
+                text,
+                "solver_allocated_bytes_total",
+                "Память, выделенная потоком решения и рабочими потоками перебора",
+                summary -> summary.allocatedBytes
+        );
+        seconds(text, "solver_time_seconds_total", "Время решения", summary -> summary.time);
+        seconds(
+                text,
+                "solver_time_to_first_solution_seconds_total",
+                "Сумма времени до первого решения",
+                summary -> summary.timeToFirstSolution
+        );
+        counter(
+                text,
+                "solver_first_solutions_total",
+                "Решения, в которых найдено хотя бы одно решение",
+                summary -> summary.firstSolutions
+        );
+
+        text.append("# HELP solver_node_depth Глубина раскрытых узлов перебора\n");
+        text.append("# TYPE solver_node_depth histogram\n");
+        for (Summary summary : summaries.values()) {
+            long cumulative = 0;
+            long sum = 0;
+            for (int depth = 0; depth < summary.depths.length; depth++) {
+                cumulative += summary.depths[depth];
+                sum += depth * summary.depths[depth];
+                text.append(String.format(
+                        "solver_node_depth_bucket{%s,le=\"%d\"} %d\n", labels(summary), depth, cumulative
+                ));
+            }
+            text.append(String.format("solver_node_depth_bucket{%s,le=\"+Inf\"} %d\n", labels(summary), cumulative));
+            text.append(String.format("solver_node_depth_sum{%s} %d\n", labels(summary), sum));
+            text.append(String.format("solver_node_depth_count{%s} %d\n", labels(summary), cumulative));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Целочисленный счетчик для каждого решения и способа
+     */
+    private void counter(StringBuilder text, String name, String help, ToLongFunction<Summary> value) {
+        header(text, name, help);
+        for (Summary summary : summaries.values()) {
+            text.append(String.format("%s{%s} %d\n", name, labels(summary), value.applyAsLong(summary)));
+        }
+    }
+
+    /**
+     * Счетчик времени в секундах для каждого решения и способа
+     * @param nanos - значение в наносекундах
+     */
+    private void seconds(StringBuilder text, String name, String help, ToLongFunction<Summary> nanos) {
+        header(text, name, help);
+        for (Summary summary : summaries.values()) {
+            text.append(String.format(
+                    Locale.ROOT, "%s{%s} %.9f\n", name, labels(summary), nanos.applyAsLong(summary) / NANO_SECONDS
+            ));
+        }
+    }
+
+    private static void header(StringBuilder text, String name, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(" counter\n");
+    }
+
+    private static String labels(Summary summary) {
+        return String.format("solver=\"%s\",method=\"%s\"", escape(summary.solver), escape(summary.method));
+    }
+
+    /**
+     * Экранирование кавычек и обратной косой черты (одинаково для JSON и меток Prometheus)
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
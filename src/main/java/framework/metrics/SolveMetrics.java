@@ -0,0 +1,247 @@
+package framework.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Счетчики одного решения задачи
+ * <p>
+ * Счетчики - обычные поля без синхронизации: их увеличивает только поток решения, поэтому учет узла
+ * стоит одного увеличения элемента массива. Параллельные задачи считают узлы у себя и добавляют их
+ * через {@link #merge(long[], long)}. Раскрытые узлы учитываются по глубине дерева перебора, глубина больше
+ * максимальной попадает в последний элемент гистограммы.
+ * <p>
+ * Выделенная память считается для потока решения и для рабочих потоков параллельного перебора: подзадачи
+ * добавляют свою память через {@link #addAllocatedBytes(long)} (если JVM поддерживает учет по потокам).
+ */
+public class SolveMetrics {
+    /**
+     * Учет выделенной памяти по потокам, null - не поддерживается
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = getThreads();
+
+    /**
+     * Название решения (класса или алгоритма)
+     */
+    private final String solver;
+
+    /**
+     * Способ решения
+     */
+    private final String method;
+
+    /**
+     * Количество раскрытых узлов по глубине
+     */
+    private final long[] depths;
+
+    /**
+     * Количество отсеченных узлов
+     */
+    private long nodesPruned;
+
+    /**
+     * Количество улучшений рекорда
+     */
+    private long incumbentUpdates;
+
+    /**
+     * Время начала решения, наносекунды
+     */
+    private long startTime;
+
+    /**
+     * Время до первого решения, наносекунды, -1 - решение не найдено
+     */
+    private long timeToFirstSolution = -1;
+
+    /**
+     * Время решения, наносекунды
+     */
+    private long time;
+
+    /**
+     * Выделенная память потока решения на начало решения, затем - за время решения, байты, -1 - не поддерживается
+     */
+    private long allocatedBytes = -1;
+
+    /**
+     * Выделенная рабочими потоками параллельного перебора память, байты
+     */
+    private long workerAllocatedBytes;
+
+    /**
+     * Счетчики решения
+     * @param solver   - название решения (класса или алгоритма)
+     * @param method   - способ решения
+     * @param maxDepth - максимальная глубина гистограммы узлов
+     */
+    public SolveMetrics(String solver, String method, int maxDepth) {
+        this.solver = solver;
+        this.method = method;
+        depths = new long[Math.max(maxDepth, 0) + 1];
+    }
+
+    /**
+     * Начало решения: запоминается время и выделенная память потока
+     */
+    public void start() {
+        startTime = System.nanoTime();
+        allocatedBytes = getThreadAllocatedBytes();
+    }
+
+    /**
+     * Окончание решения: вычисляется время и выделенная память потока решения и рабочих потоков
+     */
+    public synchronized void finish() {
+        time = System.nanoTime() - startTime;
+        if (allocatedBytes >= 0) {
+            allocatedBytes = getThreadAllocatedBytes() - allocatedBytes + workerAllocatedBytes;
+        }
+    }
+
+    /**
+     * Учет раскрытого узла
+     * @param depth - глубина узла в дереве перебора
+     */
+    public void expand(int depth) {
+        depths[Math.min(depth, depths.length - 1)]++;
+    }
+
+    /**
+     * Учет нескольких раскрытых узлов одной глубины (например, ячеек одного слоя динамики)
+     * @param depth - глубина (слой)
+     * @param count - количество узлов
+     */
+    public void expand(int depth, long count) {
+        depths[Math.min(depth, depths.length - 1)] += count;
+    }
+
+    /**
+     * Учет отсеченного узла
+     */
+    public void prune() {
+        nodesPruned++;
+    }
+
+    /**
+     * Учет нескольких отсеченных узлов
+     * @param count - количество узлов
+     */
+    public void prune(long count) {
+        nodesPruned += count;
+    }
+
+    /**
+     * Учет улучшения рекорда, первое улучшение задает время до первого решения
+     */
+    public void incumbent() {
+        if (incumbentUpdates++ == 0) {
+            timeToFirstSolution = System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * Добавление счетчиков параллельной задачи
+     * @param depths - количество раскрытых узлов по глубине
+     * @param pruned - количество отсеченных узлов
+     */
+    public synchronized void merge(long[] depths, long pruned) {
+        for (int depth = 0; depth < depths.length; depth++) {
+            expand(depth, depths[depth]);
+        }
+        nodesPruned += pruned;
+    }
+
+    /**
+     * Добавление памяти, выделенной рабочим потоком параллельного перебора (не потоком решения)
+     * @param bytes - байты
+     */
+    public synchronized void addAllocatedBytes(long bytes) {
+        workerAllocatedBytes += bytes;
+    }
+
+    public String getSolver() {
+        return solver;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return количество раскрытых узлов
+     */
+    public long getNodesExpanded() {
+        return Arrays.stream(depths).sum();
+    }
+
+    /**
+     * @return количество отсеченных узлов
+     */
+    public long getNodesPruned() {
+        return nodesPruned;
+    }
+
+    /**
+     * @return доля отсеченных узлов среди всех рассмотренных
+     */
+    public double getPruneRate() {
+        long total = getNodesExpanded() + nodesPruned;
+        return total == 0 ? 0 : (double) nodesPruned / total;
+    }
+
+    /**
+     * @return количество улучшений рекорда
+     */
+    public long getIncumbentUpdates() {
+        return incumbentUpdates;
+    }
+
+    /**
+     * @return количество раскрытых узлов по глубине
+     */
+    public long[] getDepthHistogram() {
+        return depths.clone();
+    }
+
+    /**
+     * @return время до первого решения, наносекунды, -1 - решение не найдено
+     */
+    public long getTimeToFirstSolution() {
+        return timeToFirstSolution;
+    }
+
+    /**
+     * @return время решения, наносекунды
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return выделенная потоком решения и рабочими потоками память, байты, -1 - учет не поддерживается
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Выделенная текущим потоком память
+     * @return байты, -1 - учет не поддерживается
+     */
+    public static long getThreadAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean getThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean allocationThreads
+                && allocationThreads.isThreadAllocatedMemorySupported()
+                && allocationThreads.isThreadAllocatedMemoryEnabled()) {
+            return allocationThreads;
+        }
+        return null;
+    }
+}
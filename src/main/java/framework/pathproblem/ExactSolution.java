@@ -1,24 +1,53 @@
 package framework.pathproblem;
 
+import framework.algorithm.BranchAndBoundAlgorithm;
 import framework.algorithm.DynamicAlgorithm;
+import framework.algorithm.GreedyEdgeAlgorithm;
+import framework.algorithm.HeldKarpAlgorithm;
+import framework.algorithm.LocalSearchAlgorithm;
+import framework.algorithm.ParallelExactAlgorithm;
+import framework.anytime.SolveControl;
+import framework.anytime.SolveResult;
+import framework.cache.CachedSolution;
+import framework.cache.Fingerprint;
+import framework.cache.SolutionCache;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.metrics.Metrics;
+import framework.metrics.SolveMetrics;
 import framework.provider.LoggerProvider;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 
+import static framework.utils.ArrayListUtils.toIntArray;
+import static framework.utils.ArrayListUtils.toIntegerList;
 import static framework.utils.IntegerDataUtils.*;
 import static framework.utils.WriteDataUtils.TIME;
 
 /**
  * Вспомогательный класс нахождения решения задачи с минимальным путем в матрице nxn
+ * <p>
+ * Задача может быть задана разреженным графом {@link SparseGraph}: тогда начальный путь строится жадным
+ * алгоритмом по ребрам, полный перебор, алгоритм Хелда-Карпа и параллельный перебор идут только
+ * по существующим ребрам, а плотная матрица строится только для метода ветвей и границ и локального поиска.
  */
 public abstract class ExactSolution extends LoggerProvider {
     /**
-     * Матрица, где ищется минимальный путь
+     * Матрица, где ищется минимальный путь (для разреженного графа строится при первом обращении)
      */
+    private CostMatrix matrix;
 
-    protected final ArrayList<ArrayList<Double>> matrix;
+    /**
+     * Разреженный граф, где ищется минимальный путь, null - задача задана плотной матрицей
+     */
+    protected final SparseGraph graph;
+
+    /**
+     * Количество вершин
+     */
+    protected final int size;
 
     /**
      * Матрица всех открытых вершин
@@ -54,21 +83,94 @@ public abstract class ExactSolution extends LoggerProvider {
      * Время работы алгоритма
      */
     protected long time;
-    private ArrayList<ArrayList<Double>> distanceMatrix;
+
+    /**
+     * Способ точного решения
+     */
+    protected final PathSolveMethod method;
+
+    /**
+     * Ограничение времени локального поиска, улучшающего путь жадного алгоритма, в миллисекундах
+     * (отрицательное - локальный поиск выключен, 0 - до локального минимума)
+     */
+    protected long localSearchTime = -1;
+
+    /**
+     * Управление решением: ограничение времени, отмена и оповещение о новых рекордах
+     */
+    protected SolveControl<List<Integer>> control = SolveControl.unlimited();
+
+    /**
+     * Счетчики последнего решения: узлы, отсечения, улучшения рекорда, время до первого решения
+     */
+    protected SolveMetrics metrics;
     private int numberOfCities;
 
     /**
      * Конструктор класса решения
      */
-    protected <T extends LoggerProvider> ExactSolution(ArrayList<ArrayList<Double>> matrix, Class<T> objectClass) {
+    protected <T extends LoggerProvider> ExactSolution(CostMatrix matrix, Class<T> objectClass) {
+        this(matrix, PathSolveMethod.EXHAUSTIVE, objectClass);
+    }
+
+    /**
+     * Конструктор класса решения с выбранным способом точного решения
+     */
+    protected <T extends LoggerProvider> ExactSolution(
+        CostMatrix matrix,
+        PathSolveMethod method,
+        Class<T> objectClass
+    ) {
+        this(matrix, null, method, objectClass);
+    }
+
+    /**
+     * Конструктор класса решения, задача задается плотной матрицей или разреженным графом
+     * @param matrix - матрица задачи, null - задача задана разреженным графом
+     * @param graph  - разреженный граф задачи, null - задача задана матрицей
+     */
+    protected <T extends LoggerProvider> ExactSolution(
+        CostMatrix matrix,
+        SparseGraph graph,
+        PathSolveMethod method,
+        Class<T> objectClass
+    ) {
         super(objectClass);
         this.matrix = matrix;
+        this.graph = graph;
+        this.method = method;
+        size = graph == null ? matrix.getRows() : graph.getSize();
         minPath = new ArrayList<>(ZERO);
         allMinPath = new ArrayList<>();
         subMinPath = new ArrayList<>();
         minCost = ZERO;
     }
 
+    /**
+     * Улучшать путь жадного алгоритма (начальную границу стоимости) локальным поиском
+     * @param localSearchTime - ограничение времени локального поиска в миллисекундах,
+     *                          0 - до локального минимума, отрицательное - без локального поиска
+     */
+    public void setLocalSearchTime(long localSearchTime) {
+        this.localSearchTime = localSearchTime;
+    }
+
+    /**
+     * Установить управление решением: перебор останавливается по времени или отмене, оставляя лучший найденный путь
+     * @param control - управление решением
+     */
+    public void setControl(SolveControl<List<Integer>> control) {
+        this.control = control;
+    }
+
+    /**
+     * Итог решения для асинхронного API
+     * @return лучший найденный путь (пустой - путь не найден) и причина завершения
+     */
+    public SolveResult<List<Integer>> getSolveResult() {
+        return control.getResult(minCost, minCost > INF ? List.of() : List.copyOf(minPath));
+    }
+
     /**
      * Нахождение точного пути без дополнительной матрицы с 1 начальной вершиной
      * @param problem - название решаемой проблемы
@@ -79,7 +181,7 @@ public abstract class ExactSolution extends LoggerProvider {
 
     /**
      * Нахождение точного пути с дополнительной матрицей и несколькими начальными вершинами
-     * Жадным алгоритмом ищем границу стоимости
+     * Жадным алгоритмом ищем границу стоимости, при включенном локальном поиске граница улучшается им
      * @param maxStartVertex        - максималльно возможная стартовая вершина
      * @param problem               - название решаемой проблемы
      * @param solveSubProblem       - нахождение минимального пути с учетом зависимой матрицы
@@ -97,29 +199,142 @@ public abstract class ExactSolution extends LoggerProvider {
     ) {
         logInfo("Точное решение " + problem);
         long startTime = System.nanoTime();
-        DynamicAlgorithm dynamicAlgorithm = new DynamicAlgorithm(matrix);
-        dynamicAlgorithm.findPath(matrix.size());
-        minPath = dynamicAlgorithm.getMinPath();
+        metrics = new SolveMetrics(getClass().getSimpleName(), method.name(), size);
+        metrics.start();
+        ArrayList<Integer> upperPath;
+        if (graph == null) {
+            DynamicAlgorithm dynamicAlgorithm = new DynamicAlgorithm(matrix);
+            dynamicAlgorithm.findPath(size);
+            minPath = dynamicAlgorithm.getMinPath();
+            minCost = dynamicAlgorithm.getMinWeight();
+            upperPath = getGreedyCycle();
+        }
+        else {
+            GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(graph);
+            greedyEdgeAlgorithm.findPath();
+            minPath = greedyEdgeAlgorithm.getMinPath();
+            minCost = greedyEdgeAlgorithm.getMinWeight();
+            upperPath = minPath;
+        }
+        allMinPath = new ArrayList<>();
+        allMinPath.add(minPath);
+        if (localSearchTime >= 0 && !upperPath.isEmpty()) {
+            LocalSearchAlgorithm localSearchAlgorithm = new LocalSearchAlgorithm(getMatrix());
+            localSearchAlgorithm.findPath(upperPath, localSearchTime);
+            upperPath = localSearchAlgorithm.getMinPath();
+            minCost = localSearchAlgorithm.getMinWeight();
+        }
+        if (!upperPath.isEmpty()) {
+            metrics.incumbent();
+            control.improve(minCost, List.copyOf(upperPath));
+        }
+        switch (method) {
+            case HELD_KARP -> heldKarpSolve(upperPath);
+            case BRANCH_AND_BOUND -> branchAndBoundSolve(upperPath);
+            case PARALLEL -> parallelSolve(upperPath);
+            default -> initSolve(maxStartVertex, noEqualFinishSubSolve, equalFinishSubSolve, upperPath);
+        }
         allMinPath = new ArrayList<>();
         allMinPath.add(minPath);
-        minCost = dynamicAlgorithm.getMinWeight();
-        initSolve(maxStartVertex, noEqualFinishSubSolve, equalFinishSubSolve);
-//        solveSubProblem.get();
+        solveSubProblem.get();
         time = System.nanoTime() - startTime;
+        metrics.finish();
+        Metrics.record(metrics);
         logInfo(TIME, time/NANO);
     }
 
+    /**
+     * @return матрица задачи (для разреженного графа строится при первом обращении, O(n^2) памяти)
+     */
+    protected CostMatrix getMatrix() {
+        if (matrix == null) {
+            matrix = graph.toCostMatrix();
+        }
+        return matrix;
+    }
+
+    /**
+     * @return вес ребра (from, to), INF - ребра нет
+     */
+    protected double getWeight(int from, int to) {
+        return graph == null ? matrix.get(from, to) : graph.get(from, to);
+    }
+
+    /**
+     * Ключ кэша решений: отпечаток задачи, способа решения и разреженного графа задачи
+     * @param problem - название задачи
+     * @param graph   - разреженный граф задачи
+     * @return ключ или null, если кэш выключен
+     */
+    protected String getCacheKey(String problem, SparseGraph graph) {
+        if (!SolutionCache.getInstance().isEnabled()) {
+            return null;
+        }
+        return new Fingerprint().add(problem).add(method.name()).add(graph).toString();
+    }
+
+    /**
+     * Ключ кэша решений: отпечаток задачи, способа решения и матриц задачи
+     * @param problem  - название задачи
+     * @param matrices - матрицы, от которых зависит решение
+     * @return ключ или null, если кэш выключен
+     */
+    protected String getCacheKey(String problem, CostMatrix... matrices) {
+        if (!SolutionCache.getInstance().isEnabled()) {
+            return null;
+        }
+        Fingerprint fingerprint = new Fingerprint().add(problem).add(method.name());
+        for (CostMatrix costMatrix : matrices) {
+            fingerprint.add(costMatrix);
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Восстановление решения из кэша
+     * @param key - ключ кэша, null - кэш выключен
+     * @return найдено ли решение
+     */
+    protected boolean restoreFromCache(String key) {
+        CachedSolution solution = key == null ? null : SolutionCache.getInstance().get(key);
+        if (solution == null) {
+            return false;
+        }
+        logInfo("Решение найдено в кэше %s", key);
+        minCost = solution.cost();
+        time = solution.time();
+        minPath = toIntegerList(solution.paths()[0]);
+        subMinPath = toIntegerList(solution.paths()[1]);
+        allMinPath = new ArrayList<>();
+        allMinPath.add(minPath);
+        return true;
+    }
+
+    /**
+     * Сохранение найденного решения в кэш
+     * @param key - ключ кэша, null - кэш выключен
+     */
+    protected void storeInCache(String key) {
+        if (key != null && !control.isStopped()) {
+            SolutionCache.getInstance().put(
+                    key,
+                    new CachedSolution(minCost, ZERO, time, new int[][] {toIntArray(minPath), toIntArray(subMinPath)})
+            );
+        }
+    }
+
     /**
      * Заполнение начальных данных для старта рекурсивного алгоритма
+     * @param upperPath - начальный путь, стоимость которого - начальная граница
      */
     private void initSolve(
         int maxStartVertex,
         Supplier<ArrayList<ArrayList<Integer>>> noEqualFinishSubSolve,
-        Supplier<ArrayList<ArrayList<Integer>>> equalFinishSubSolve
+        Supplier<ArrayList<ArrayList<Integer>>> equalFinishSubSolve,
+        ArrayList<Integer> upperPath
     ) {
-        this.distanceMatrix = matrix;
-        this.numberOfCities = matrix.size();
-        this.minPath = new ArrayList<>();
+        this.numberOfCities = size;
+        this.minPath = upperPath;
         List<Integer> cities = new ArrayList<>();
         for (int i = 0; i < numberOfCities; i++) {
             cities.add(i);
@@ -132,25 +347,114 @@ public abstract class ExactSolution extends LoggerProvider {
 
     }
 
+    /**
+     * Нахождение точного пути динамическим программированием Хелда-Карпа
+     * @param upperPath - начальный путь, остается результатом, если таблица не заполнена до остановки
+     */
+    private void heldKarpSolve(ArrayList<Integer> upperPath) {
+        HeldKarpAlgorithm heldKarpAlgorithm = graph == null
+                ? new HeldKarpAlgorithm(matrix)
+                : new HeldKarpAlgorithm(graph);
+        heldKarpAlgorithm.setControl(control);
+        heldKarpAlgorithm.setMetrics(metrics);
+        heldKarpAlgorithm.findPath();
+        if (heldKarpAlgorithm.getMinPath().isEmpty()) {
+            minPath = upperPath;
+            return;
+        }
+        if (heldKarpAlgorithm.getMinWeight() < minCost) {
+            metrics.incumbent();
+            control.improve(heldKarpAlgorithm.getMinWeight(), List.copyOf(heldKarpAlgorithm.getMinPath()));
+        }
+        minPath = heldKarpAlgorithm.getMinPath();
+        minCost = heldKarpAlgorithm.getMinWeight();
+    }
+
+    /**
+     * Нахождение точного пути методом ветвей и границ
+     * @param upperPath - начальный путь, стоимость которого - начальная граница
+     */
+    private void branchAndBoundSolve(ArrayList<Integer> upperPath) {
+        BranchAndBoundAlgorithm branchAndBoundAlgorithm = new BranchAndBoundAlgorithm(getMatrix());
+        branchAndBoundAlgorithm.setControl(control);
+        branchAndBoundAlgorithm.setMetrics(metrics);
+        branchAndBoundAlgorithm.findPath(minCost, upperPath);
+        minPath = branchAndBoundAlgorithm.getMinPath();
+        minCost = branchAndBoundAlgorithm.getMinWeight();
+    }
+
+    /**
+     * Нахождение точного пути параллельным перебором
+     * @param upperPath - начальный путь, стоимость которого - начальная граница
+     */
+    private void parallelSolve(ArrayList<Integer> upperPath) {
+        ParallelExactAlgorithm parallelExactAlgorithm = graph == null
+                ? new ParallelExactAlgorithm(matrix)
+                : new ParallelExactAlgorithm(graph);
+        parallelExactAlgorithm.setControl(control);
+        parallelExactAlgorithm.setMetrics(metrics);
+        parallelExactAlgorithm.findPath(minCost, upperPath);
+        minPath = parallelExactAlgorithm.getMinPath();
+        minCost = parallelExactAlgorithm.getMinWeight();
+    }
+
+    /**
+     * Путь жадного алгоритма в виде цикла, начинающегося и заканчивающегося в вершине 0
+     * Пример: [0, 2, 0, 1, 3] -> [0, 1, 3, 2, 0]
+     */
+    private ArrayList<Integer> getGreedyCycle() {
+        ArrayList<Integer> cycle = new ArrayList<>();
+        List<Integer> vertexes = minPath.subList(1, minPath.size());
+        int start = vertexes.indexOf(ZERO);
+        if (vertexes.size() != size || start == -1) {
+            return cycle;
+        }
+        for (int i = 0; i < vertexes.size(); i++) {
+            cycle.add(vertexes.get((start + i) % vertexes.size()));
+        }
+        cycle.add(ZERO);
+        return cycle;
+    }
+
     private void findShortestPath(int currentCity, List<Integer> currentPath, boolean[] visited, double currentCost) {
+        if (control.checkStop()) {
+            return;
+        }
+        metrics.expand(currentPath.size());
         if (currentPath.size() == numberOfCities) {
-            currentCost += distanceMatrix.get(currentCity).get(0);
+            currentCost += getWeight(currentCity, 0);
             if (currentCost < minCost) {
                 minCost = currentCost;
                 minPath = new ArrayList<>(currentPath);
                 minPath.add(0);
+                metrics.incumbent();
+                control.improve(minCost, List.copyOf(minPath));
             }
             return;
         }
 
-        for (int nextCity = 0; nextCity < numberOfCities; nextCity++) {
-            if (!visited[nextCity]) {
-                visited[nextCity] = true;
-                currentPath.add(nextCity);
-                findShortestPath(nextCity, currentPath, visited, currentCost + distanceMatrix.get(currentCity).get(nextCity));
-                visited[nextCity] = false;
-                currentPath.remove(currentPath.size() - 1);
+        if (graph != null) {
+            for (int edge = graph.getStart(currentCity); edge < graph.getEnd(currentCity); edge++) {
+                visitCity(graph.getTarget(edge), currentPath, visited, currentCost + graph.getWeight(edge));
             }
+            return;
+        }
+        for (int nextCity = 0; nextCity < numberOfCities; nextCity++) {
+            visitCity(nextCity, currentPath, visited, currentCost + matrix.get(currentCity, nextCity));
+        }
+    }
+
+    /**
+     * Переход полного перебора в непосещенный город
+     * @param nextCost - вес пути с ребром в этот город
+     */
+    private void visitCity(int nextCity, List<Integer> currentPath, boolean[] visited, double nextCost) {
+        if (!visited[nextCity]) {
+            visited[nextCity] = true;
+            currentPath.add(nextCity);
+            findShortestPath(nextCity, currentPath, visited, nextCost);
+            visited[nextCity] = false;
+            currentPath.remove(currentPath.size() - 1);
         }
     }
 
@@ -202,7 +506,7 @@ public abstract class ExactSolution extends LoggerProvider {
      * Получить вес ребра последней вершины в закрытом списке
      */
     private double getWeightEdgeClose(int endVertex) {
-        return matrix.get(closeVertex.get(getLastCloseId())).get(endVertex);
+        return getWeight(closeVertex.get(getLastCloseId()), endVertex);
     }
 
     /**
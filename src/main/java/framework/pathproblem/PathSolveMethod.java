@@ -0,0 +1,26 @@
+package framework.pathproblem;
+
+/**
+ * Способ точного решения задач с минимальным путем в матрице nxn
+ */
+public enum PathSolveMethod {
+    /**
+     * Полный перебор всех перестановок вершин
+     */
+    EXHAUSTIVE,
+
+    /**
+     * Динамическое программирование Хелда-Карпа по битовым маскам посещенных вершин, O(n^2 * 2^n)
+     */
+    HELD_KARP,
+
+    /**
+     * Метод ветвей и границ с нижней границей по приведению матрицы
+     */
+    BRANCH_AND_BOUND,
+
+    /**
+     * Параллельный перебор с отсечением на {@link java.util.concurrent.ForkJoinPool}
+     */
+    PARALLEL
+}
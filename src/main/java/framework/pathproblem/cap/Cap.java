@@ -1,14 +1,21 @@
 package framework.pathproblem.cap;
 
+import framework.anytime.SolveControl;
+import framework.anytime.SolveHandle;
+import framework.anytime.SolveListener;
 import framework.exception.ProblemException;
 import framework.exception.NumberException;
+import framework.matrix.CostMatrix;
+import framework.pathproblem.PathSolveMethod;
 import framework.pathproblem.tsp.Tsp;
 import framework.provider.LoggerProvider;
+import framework.utils.BinaryContent;
 import framework.utils.RandomValueUtils;
 import framework.utils.ReadDataUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static framework.utils.WriteDataUtils.*;
 
@@ -29,12 +36,12 @@ public class Cap extends LoggerProvider {
     /**
      * Матрица стоимостей всех задач
      */
-    private final ArrayList<ArrayList<Double>> costs;
+    private final CostMatrix costs;
 
     /**
      * Матрица зарплат работников по всем задачам
      */
-    private final ArrayList<ArrayList<Double>> salaries;
+    private final CostMatrix salaries;
 
     /**
      * Размер матриц задачи
@@ -46,16 +53,17 @@ public class Cap extends LoggerProvider {
      * @param costs    - стоимость заказа
      * @param salaries - зарплата работников
      */
-    private Cap(ArrayList<ArrayList<Double>> costs, ArrayList<ArrayList<Double>> salaries) {
+    private Cap(CostMatrix costs, CostMatrix salaries) {
         super(Cap.class);
         logInfo("Заполнение переданными значениями объекта двухуровневой задачи о назначениях");
-        this.costs = costs;
-        this.salaries = salaries;
-        sizeProblem = costs.size();
+        this.costs = costs.snapshot();
+        this.salaries = salaries.snapshot();
+        sizeProblem = costs.getRows();
     }
 
     /**
      * Создание объекта с рандомными значениями в промежутке переданных значений максимума и минимума
+     * @param seed        - зерно генерации
      * @param sizeProblem - размер задачи (матриц)
      * @param minCost     - минимальная возможная стоимость
      * @param maxCost     - максимальная возможная стоимость
@@ -63,38 +71,38 @@ public class Cap extends LoggerProvider {
      * @param maxSalary   - максимальная возможная зарплата
      * @param isInteger   - целые/дробные числа (генерация)
      */
-    private Cap(int sizeProblem, int minCost, int maxCost, int minSalary, int maxSalary, boolean isInteger) {
+    private Cap(
+            long seed,
+            int sizeProblem,
+            int minCost,
+            int maxCost,
+            int minSalary,
+            int maxSalary,
+            boolean isInteger
+    ) {
         super(Cap.class);
         logInfo("Заполнение рандомными значениями в промежутке переданных значений максимума и минимума " +
                 "объекта двухуровневой задачи о назначениях");
-        costs = new ArrayList<>();
-        salaries = new ArrayList<>();
         this.sizeProblem = sizeProblem;
-
-        for(int i = 0; i < sizeProblem; i++) {
-            ArrayList<Double> cost = new ArrayList<>();
-            ArrayList<Double> salary = new ArrayList<>();
-            for(int j = 0; j < sizeProblem; j++) {
-                double costValue = RandomValueUtils.getDoubleValue(minCost, maxCost);
-                double salaryValue = RandomValueUtils.getDoubleValue(minSalary, maxSalary);
-                if(isInteger) {
-                    cost.add((double)RandomValueUtils.getIntegerValue(minCost, maxCost));
-                    salary.add((double)RandomValueUtils.getIntegerValue(minSalary, maxSalary));
-                }
-                else {
-                    cost.add(RandomValueUtils.getDoubleValue(minCost, maxCost));
-                    salary.add(RandomValueUtils.getDoubleValue(minSalary, maxSalary));
-                }
-            }
-            costs.add(cost);
-            salaries.add(salary);
-        }
+        SplittableRandom random = new SplittableRandom(seed);
+        long costSeed = random.nextLong();
+        long salarySeed = random.nextLong();
+        costs = RandomValueUtils.getMatrix(costSeed, sizeProblem, sizeProblem, minCost, maxCost, isInteger).snapshot();
+        salaries = RandomValueUtils.getMatrix(salarySeed, sizeProblem, sizeProblem, minSalary, maxSalary, isInteger)
+                .snapshot();
     }
 
     /**
      * @return Матрицу стоимости заказа
      */
     public ArrayList<ArrayList<Double>> getCosts() {
+        return costs.toList();
+    }
+
+    /**
+     * @return Неизменяемую матрицу стоимости заказа
+     */
+    public CostMatrix getCostMatrix() {
         return costs;
     }
 
@@ -102,6 +110,13 @@ public class Cap extends LoggerProvider {
      * @return Матрицу заработной платы
      */
     public ArrayList<ArrayList<Double>> getSalaries() {
+        return salaries.toList();
+    }
+
+    /**
+     * @return Неизменяемую матрицу заработной платы
+     */
+    public CostMatrix getSalaryMatrix() {
         return salaries;
     }
 
@@ -127,6 +142,14 @@ public class Cap extends LoggerProvider {
         solveProblem();
     }
 
+    /**
+     * Точное решение задачи выбранным способом
+     * @param method - способ точного решения
+     */
+    public void solve(PathSolveMethod method) {
+        solveProblem(method);
+    }
+
     /**
      * Точное решение задачи с записью в файл
      */
@@ -135,6 +158,77 @@ public class Cap extends LoggerProvider {
         capExactSolution.writeResult();
     }
 
+    /**
+     * Точное решение задачи выбранным способом с записью в файл
+     * @param method - способ точного решения
+     */
+    public void solveWithWriteFile(PathSolveMethod method) {
+        CapExactSolution capExactSolution = solveProblem(method);
+        capExactSolution.writeResult();
+    }
+
+    /**
+     * Точное решение задачи выбранным способом, начальная граница улучшается локальным поиском
+     * @param method          - способ точного решения
+     * @param localSearchTime - ограничение времени локального поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solve(PathSolveMethod method, long localSearchTime) {
+        solveProblem(method, localSearchTime);
+    }
+
+    /**
+     * Точное решение задачи выбранным способом с записью в файл, начальная граница улучшается локальным поиском
+     * @param method          - способ точного решения
+     * @param localSearchTime - ограничение времени локального поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solveWithWriteFile(PathSolveMethod method, long localSearchTime) {
+        CapExactSolution capExactSolution = solveProblem(method, localSearchTime);
+        capExactSolution.writeResult();
+    }
+
+    /**
+     * Асинхронное решение задачи выбранным способом
+     * <p>
+     * Перебор выполняется в отдельном потоке, слушателю передаются пути с новой минимальной зарплатой.
+     * По истечении времени или после {@link SolveHandle#cancel()} перебор останавливается, и итог
+     * содержит лучший найденный путь.
+     * @param method    - способ точного решения
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - без ограничения
+     * @param listener  - слушатель новых рекордов, null - без оповещения
+     */
+    public SolveHandle<List<Integer>> solveAsync(
+            PathSolveMethod method,
+            long timeLimit,
+            SolveListener<List<Integer>> listener
+    ) {
+        SolveControl<List<Integer>> control = new SolveControl<>(timeLimit, listener);
+        return SolveHandle.start(control, () -> {
+            CapExactSolution capExactSolution = new CapExactSolution(this, method);
+            capExactSolution.setControl(control);
+            capExactSolution.exactSolution();
+            return capExactSolution.getSolveResult();
+        });
+    }
+
+    /**
+     * Решение задачи как задачи о назначениях венгерским алгоритмом
+     * @param method - способ решения (нижний уровень или двухуровневое решение)
+     */
+    public void solveAssignment(CapAssignmentMethod method) {
+        CapAssignmentSolution capAssignmentSolution = new CapAssignmentSolution(this, method);
+        capAssignmentSolution.solve();
+    }
+
+    /**
+     * Решение задачи как задачи о назначениях венгерским алгоритмом с записью в файл
+     * @param method - способ решения (нижний уровень или двухуровневое решение)
+     */
+    public void solveAssignmentWithWriteFile(CapAssignmentMethod method) {
+        CapAssignmentSolution capAssignmentSolution = new CapAssignmentSolution(this, method);
+        capAssignmentSolution.solve();
+        capAssignmentSolution.writeResult();
+    }
+
     /**
      * Точное решение задачи после сведения из задачи коммивояжера
      */
@@ -148,7 +242,24 @@ public class Cap extends LoggerProvider {
      * Точное решение задачи
      */
     private CapExactSolution solveProblem() {
-        CapExactSolution capExactSolution = new CapExactSolution(this);
+        return solveProblem(PathSolveMethod.EXHAUSTIVE);
+    }
+
+    /**
+     * Точное решение задачи выбранным способом
+     */
+    private CapExactSolution solveProblem(PathSolveMethod method) {
+        CapExactSolution capExactSolution = new CapExactSolution(this, method);
+        capExactSolution.exactSolution();
+        return capExactSolution;
+    }
+
+    /**
+     * Точное решение задачи выбранным способом с локальным поиском начальной границы
+     */
+    private CapExactSolution solveProblem(PathSolveMethod method, long localSearchTime) {
+        CapExactSolution capExactSolution = new CapExactSolution(this, method);
+        capExactSolution.setLocalSearchTime(localSearchTime);
         capExactSolution.exactSolution();
         return capExactSolution;
     }
@@ -162,7 +273,18 @@ public class Cap extends LoggerProvider {
             ArrayList<ArrayList<Double>> costs,
             ArrayList<ArrayList<Double>> salaries
     ) {
-        checkingCorrectnessMatrix(salaries.size(), salaries, costs);
+        checkingCorrectnessMatrixSize(salaries.size(), salaries, costs);
+        return byMatrix(CostMatrix.fromList(costs), CostMatrix.fromList(salaries));
+    }
+
+    /**
+     * Получение объекта задачи с переданными матрицами
+     * @param costs    - стоимость заказа
+     * @param salaries - зарплата работников
+     */
+    public static Cap byMatrix(CostMatrix costs, CostMatrix salaries) {
+        checkingCorrectnessMatrixSize(costs, salaries);
+        checkingCorrectnessMatrix(salaries);
         Cap cap = new Cap(costs, salaries);
         cap.writeProblemInFile();
         return cap;
@@ -173,10 +295,38 @@ public class Cap extends LoggerProvider {
      * @param fileName - стоимость заказа
      */
     public static Cap byFileValues(String fileName) {
-        List<List<String>> file = ReadDataUtils.read(fileName);
-        ArrayList<ArrayList<Double>> cost = ReadDataUtils.readDoubleMatrix(file, 0);
-        ArrayList<ArrayList<Double>> salary = ReadDataUtils.readDoubleMatrix(file, cost.size() + 1);
-        return byValues(cost, salary);
+        List<CostMatrix> matrices = ReadDataUtils.readMatrices(fileName, 2);
+        return byMatrix(matrices.get(0), matrices.get(1));
+    }
+
+    /**
+     * Получение объекта задачи из бинарного файла, записанного {@link #writeBinaryFile(String)}
+     * @param fileName - путь к файлу
+     */
+    public static Cap byBinaryFile(String fileName) {
+        List<CostMatrix> matrices = ReadDataUtils.readBinaryMatrices(fileName, BinaryContent.CAP, 2);
+        return byMatrix(matrices.get(0), matrices.get(1));
+    }
+
+    /**
+     * Перевод текстового файла задачи в бинарный файл
+     * @param textFileName   - путь к текстовому файлу (матрица стоимостей, пустая строка, матрица зарплат)
+     * @param binaryFileName - путь к бинарному файлу
+     */
+    public static void convertFileToBinary(String textFileName, String binaryFileName) {
+        List<CostMatrix> matrices = ReadDataUtils.readMatrices(textFileName, 2);
+        checkingCorrectnessMatrixSize(matrices.get(0), matrices.get(1));
+        checkingCorrectnessMatrix(matrices.get(1));
+        writeBinaryMatrices(binaryFileName, BinaryContent.CAP, matrices.get(0), matrices.get(1));
+    }
+
+    /**
+     * Запись задачи в бинарный файл (без потери точности значений)
+     * @param fileName - путь к файлу
+     */
+    public void writeBinaryFile(String fileName) {
+        logInfo("Запись двухуровневой задачи о назначениях в бинарный файл %s", fileName);
+        writeBinaryMatrices(fileName, BinaryContent.CAP, costs, salaries);
     }
 
     /**
@@ -188,8 +338,28 @@ public class Cap extends LoggerProvider {
      * @param maxSalary   - максимальная возможная зарплата
      */
     public static Cap byRandomIntegerValues(int sizeProblem, int minCost, int maxCost, int minSalary, int maxSalary) {
+        return byRandomIntegerValues(RandomValueUtils.getSeed(), sizeProblem, minCost, maxCost, minSalary, maxSalary);
+    }
+
+    /**
+     * Получение объекта задачи с целыми рандомными значениями, воспроизводимое по зерну
+     * @param seed        - зерно генерации
+     * @param sizeProblem - размер задачи (матриц)
+     * @param minCost     - минимальная возможная стоимость
+     * @param maxCost     - максимальная возможная стоимость
+     * @param minSalary   - минимальная возможная зарплата
+     * @param maxSalary   - максимальная возможная зарплата
+     */
+    public static Cap byRandomIntegerValues(
+            long seed,
+            int sizeProblem,
+            int minCost,
+            int maxCost,
+            int minSalary,
+            int maxSalary
+    ) {
         checkingCorrectnessOfInput(sizeProblem, minCost, maxCost, minSalary, maxSalary);
-        Cap cap = new Cap(sizeProblem, minCost, maxCost, minSalary, maxSalary, true);
+        Cap cap = new Cap(seed, sizeProblem, minCost, maxCost, minSalary, maxSalary, true);
         cap.writeProblemInFile();
         return cap;
     }
@@ -203,8 +373,28 @@ public class Cap extends LoggerProvider {
      * @param maxSalary   - максимальная возможная зарплата
      */
     public static Cap byRandomDoubleValues(int sizeProblem, int minCost, int maxCost, int minSalary, int maxSalary) {
+        return byRandomDoubleValues(RandomValueUtils.getSeed(), sizeProblem, minCost, maxCost, minSalary, maxSalary);
+    }
+
+    /**
+     * Получение объекта задачи с рациональными рандомными значениями, воспроизводимое по зерну
+     * @param seed        - зерно генерации
+     * @param sizeProblem - размер задачи (матриц)
+     * @param minCost     - минимальная возможная стоимость
+     * @param maxCost     - максимальная возможная стоимость
+     * @param minSalary   - минимальная возможная зарплата
+     * @param maxSalary   - максимальная возможная зарплата
+     */
+    public static Cap byRandomDoubleValues(
+            long seed,
+            int sizeProblem,
+            int minCost,
+            int maxCost,
+            int minSalary,
+            int maxSalary
+    ) {
         checkingCorrectnessOfInput(sizeProblem, minCost, maxCost, minSalary, maxSalary);
-        Cap cap = new Cap(sizeProblem, minCost, maxCost, minSalary, maxSalary, false);
+        Cap cap = new Cap(seed, sizeProblem, minCost, maxCost, minSalary, maxSalary, false);
         cap.writeProblemInFile();
         return cap;
     }
@@ -252,9 +442,9 @@ public class Cap extends LoggerProvider {
     }
 
     /**
-     * Проверка корректности переданных матриц
+     * Проверка размеров переданных матриц
      */
-    private static void checkingCorrectnessMatrix(
+    private static void checkingCorrectnessMatrixSize(
             int sizeMatrix,
             ArrayList<ArrayList<Double>> salary,
             ArrayList<ArrayList<Double>> cost
@@ -270,9 +460,35 @@ public class Cap extends LoggerProvider {
                 if (cost.get(i).size() != sizeMatrix) {
                     throw new ProblemException(i, sizeMatrix, cost.get(i).size());
                 }
-                for (int j = 0; j < salary.get(i).size(); j++) {
-                    if (salary.get(i).get(j) < 0) {
-                        throw new ProblemException(i, salary.get(i).get(j), "> 0");
+            }
+        }
+        catch (ProblemException ignored) {}
+    }
+
+    /**
+     * Проверка, что переданные матрицы квадратные и одного размера
+     */
+    private static void checkingCorrectnessMatrixSize(CostMatrix cost, CostMatrix salary) {
+        try {
+            if (salary.getRows() != salary.getColumns()) {
+                throw new ProblemException(salary.getRows(), salary.getColumns());
+            }
+            if (cost.getRows() != salary.getRows() || cost.getColumns() != salary.getColumns()) {
+                throw new ProblemException(salary.getRows(), cost.getRows());
+            }
+        }
+        catch (ProblemException ignored) {}
+    }
+
+    /**
+     * Проверка корректности значений переданной матрицы зарплат
+     */
+    private static void checkingCorrectnessMatrix(CostMatrix salary) {
+        try {
+            for (int i = 0; i < salary.getRows(); i++) {
+                for (int j = 0; j < salary.getColumns(); j++) {
+                    if (salary.get(i, j) < 0) {
+                        throw new ProblemException(i, salary.get(i, j), "> 0");
                     }
                 }
             }
@@ -0,0 +1,16 @@
+package framework.pathproblem.cap;
+
+/**
+ * Способ решения двухуровневой задачи о назначениях как задачи о назначениях (перестановки работников)
+ */
+public enum CapAssignmentMethod {
+    /**
+     * Задача нижнего уровня: назначение минимальной зарплаты венгерским алгоритмом, O(n^3)
+     */
+    HUNGARIAN,
+
+    /**
+     * Двухуровневое решение: среди назначений минимальной зарплаты выбирается назначение минимальной стоимости
+     */
+    BILEVEL
+}
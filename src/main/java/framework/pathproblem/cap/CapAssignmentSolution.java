@@ -0,0 +1,157 @@
+package framework.pathproblem.cap;
+
+import framework.algorithm.HungarianAlgorithm;
+import framework.matrix.CostMatrix;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+
+import static framework.utils.IntegerDataUtils.*;
+import static framework.utils.WriteDataUtils.*;
+
+/**
+ * Класс решения двухуровневой задачи о назначениях как задачи о назначениях венгерским алгоритмом
+ * <p>
+ * Нижний уровень - назначение работников на задачи с минимальной суммарной зарплатой.
+ * На двухуровневом решении назначения с равной минимальной зарплатой - это назначения только по ячейкам
+ * с нулевым приведенным весом после венгерского алгоритма. Среди них назначение минимальной стоимости
+ * находится вторым запуском венгерского алгоритма по матрице стоимостей, где остальные ячейки запрещены.
+ */
+class CapAssignmentSolution extends LoggerProvider {
+    private static final String ASSIGNMENT = "Назначение (задача для каждого работника): %s";
+
+    private final Cap cap;
+
+    /**
+     * Способ решения
+     */
+    private final CapAssignmentMethod method;
+
+    /**
+     * Найденное назначение: задача для каждого работника
+     */
+    private ArrayList<Integer> assignment;
+
+    /**
+     * Суммарная зарплата назначения
+     */
+    private double salary;
+
+    /**
+     * Суммарная стоимость назначения
+     */
+    private double cost;
+
+    /**
+     * Время решения
+     */
+    private long time;
+
+    /**
+     * Конструктор класса решения
+     * @param cap    - объект класса двухуровневой задачи о назначениях
+     * @param method - способ решения
+     */
+    protected CapAssignmentSolution(Cap cap, CapAssignmentMethod method) {
+        super(CapAssignmentSolution.class);
+        this.cap = cap;
+        this.method = method;
+    }
+
+    /**
+     * @return задача для каждого работника
+     */
+    protected ArrayList<Integer> getAssignment() {
+        return assignment;
+    }
+
+    /**
+     * @return суммарная зарплата назначения
+     */
+    protected double getSalary() {
+        return salary;
+    }
+
+    /**
+     * @return суммарная стоимость назначения
+     */
+    protected double getCost() {
+        return cost;
+    }
+
+    /**
+     * Решение задачи о назначениях
+     */
+    protected void solve() {
+        logInfo("Решение двухуровневой задачи о назначениях венгерским алгоритмом");
+        long startTime = System.nanoTime();
+        HungarianAlgorithm salaryAlgorithm = new HungarianAlgorithm(cap.getSalaryMatrix());
+        salaryAlgorithm.findAssignment();
+        assignment = salaryAlgorithm.getAssignment();
+        if (method == CapAssignmentMethod.BILEVEL) {
+            HungarianAlgorithm costAlgorithm = new HungarianAlgorithm(getTightCostMatrix(salaryAlgorithm));
+            costAlgorithm.findAssignment();
+            assignment = costAlgorithm.getAssignment();
+        }
+        salary = getSum(cap.getSalaryMatrix());
+        cost = getSum(cap.getCostMatrix());
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        logInfo(ASSIGNMENT, assignment.toString());
+        logInfo(CapExactSolution.MIN_SALARY, Double.toString(salary));
+        logInfo(CapExactSolution.MIN_COST, Double.toString(cost));
+    }
+
+    /**
+     * Матрица стоимостей, где ячейки вне назначений минимальной зарплаты заменены штрафом,
+     * превышающим стоимость любого назначения по разрешенным ячейкам
+     * @param salaryAlgorithm - венгерский алгоритм, выполненный по матрице зарплат
+     */
+    private CostMatrix getTightCostMatrix(HungarianAlgorithm salaryAlgorithm) {
+        int size = cap.getSizeProblem();
+        CostMatrix costs = cap.getCostMatrix();
+        double maxAbs = ZERO_DOUBLE;
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                maxAbs = Math.max(maxAbs, Math.abs(costs.get(i, j)));
+            }
+        }
+        double penalty = 2 * size * maxAbs + 1;
+        CostMatrix tight = CostMatrix.filled(size, size, penalty);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (salaryAlgorithm.isTight(i, j)) {
+                    tight.set(i, j, costs.get(i, j));
+                }
+            }
+        }
+        return tight;
+    }
+
+    /**
+     * Сумма ячеек матрицы по найденному назначению
+     * @param matrix - матрица задачи
+     */
+    private double getSum(CostMatrix matrix) {
+        double sum = ZERO_DOUBLE;
+        for (int i = 0; i < assignment.size(); i++) {
+            sum += matrix.get(i, assignment.get(i));
+        }
+        return sum;
+    }
+
+    /**
+     * Запись результата решения задачи в файл
+     */
+    protected void writeResult() {
+        String path = String.format(getFilePath() + PATH, Cap.PROBLEM, EXACT_SOLUTION, getPathId());
+        logInfo("Запись результата решения задачи о назначениях в файл %s", path);
+        write(
+                path,
+                String.format(TIME + ENTER, time/NANO),
+                String.format(ASSIGNMENT + ENTER, assignment.toString()),
+                String.format(CapExactSolution.MIN_SALARY + ENTER, salary),
+                String.format(CapExactSolution.MIN_COST + DOUBLE_ENTER, cost)
+        );
+    }
+}
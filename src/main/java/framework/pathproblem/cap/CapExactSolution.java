@@ -1,6 +1,7 @@
 package framework.pathproblem.cap;
 
 import framework.pathproblem.ExactSolution;
+import framework.pathproblem.PathSolveMethod;
 
 import java.util.ArrayList;
 
@@ -20,7 +21,16 @@ class CapExactSolution extends ExactSolution {
      * @param cap - объект класса двухуровневой задачи о назначениях
      */
     protected CapExactSolution(Cap cap) {
-        super(cap.getSalaries(), CapExactSolution.class);
+        this(cap, PathSolveMethod.EXHAUSTIVE);
+    }
+
+    /**
+     * Конструктор класса решения выбранным способом
+     * @param cap    - объект класса двухуровневой задачи о назначениях
+     * @param method - способ точного решения
+     */
+    protected CapExactSolution(Cap cap, PathSolveMethod method) {
+        super(cap.getSalaryMatrix(), method, CapExactSolution.class);
         this.cap = cap;
     }
 
@@ -28,6 +38,12 @@ class CapExactSolution extends ExactSolution {
      * Нахождение точного пути двухуровневой задачи о назначениях
      */
     protected void exactSolution() {
+        String key = getCacheKey(Cap.PROBLEM, cap.getCostMatrix(), cap.getSalaryMatrix());
+        if (restoreFromCache(key)) {
+            logInfo(MIN_SALARY, allMinPath.toString());
+            logInfo(MIN_COST, subMinPath.toString());
+            return;
+        }
         solve(
                 cap.getSizeProblem() - 1,
                 "двухуровневой задачи о назначениях",
@@ -42,6 +58,7 @@ class CapExactSolution extends ExactSolution {
                     return allMinPath;
                 }
         );
+        storeInCache(key);
         logInfo(MIN_SALARY, allMinPath.toString());
         logInfo(MIN_COST, subMinPath.toString());
     }
@@ -53,11 +70,14 @@ class CapExactSolution extends ExactSolution {
         double minCost = INF * INF;
         ArrayList<Integer> minCosts = new ArrayList<>();
         for (ArrayList<Integer> salary : allMinPath) {
+            if (salary.isEmpty()) {
+                continue;
+            }
             double cost = 0;
             for (int j = 1; j < salary.size(); j++) {
-                cost += cap.getCosts().get(salary.get(j - 1)).get(salary.get(j));
+                cost += cap.getCostMatrix().get(salary.get(j - 1), salary.get(j));
             }
-            cost += cap.getCosts().get(salary.get(salary.size() - 1)).get(salary.get(0));
+            cost += cap.getCostMatrix().get(salary.get(salary.size() - 1), salary.get(0));
             if (cost <= minCost) {
                 minCost = cost;
                 subMinPath = salary;
@@ -95,9 +115,9 @@ class CapExactSolution extends ExactSolution {
         else  {
             double weight = 0;
             for (int i = 0; i < subMinPath.size() - 1; i++) {
-                weight += cap.getCosts().get(subMinPath.get(i)).get(subMinPath.get(i + 1));
+                weight += cap.getCostMatrix().get(subMinPath.get(i), subMinPath.get(i + 1));
             }
-            weight += cap.getSalaries().get(subMinPath.get(subMinPath.size() - 1)).get(subMinPath.get(0));
+            weight += cap.getSalaryMatrix().get(subMinPath.get(subMinPath.size() - 1), subMinPath.get(0));
             write(
                     path,
                     message,
@@ -0,0 +1,111 @@
+package framework.pathproblem.cap;
+
+import framework.exception.NumberException;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+
+import static framework.utils.IntegerDataUtils.INF;
+import static framework.utils.IntegerDataUtils.ZERO_DOUBLE;
+
+/**
+ * Неявный граф задачи о коммивояжере, полученный сведением двухуровневой задачи о назначениях
+ * <p>
+ * Матрица графа размера 2n состоит из блоков: из вершины i в [0, n) ведут ребра в каждую вершину n + j
+ * с весом (зарплата - 0.1 / стоимость), из вершины n + i - одно ребро в вершину i с весом 0, остальные ячейки - INF.
+ * Веса вычисляются по матрицам задачи при обращении, граф занимает O(1) памяти сверх самой задачи.
+ * Ребра вершины i < n имеют номера [i * n, (i + 1) * n), ребро вершины n + i - номер n * n + i,
+ * поэтому n * n + n должно помещаться в int (n не больше {@link #MAX_SIZE}).
+ * <p>
+ * Без плотной матрицы решают только методы, работающие с {@link SparseGraph}: полный перебор, алгоритм
+ * Хелда-Карпа, параллельный перебор и жадный алгоритм по ребрам. Метод ветвей и границ, граница локального
+ * поиска и решения локальным поиском и Лин-Керниганом строят матрицу 2n x 2n ({@link #toCostMatrix()}).
+ */
+class CapTspGraph extends SparseGraph {
+    /**
+     * Максимальный размер задачи, при котором номера ребер помещаются в int
+     */
+    public static final int MAX_SIZE = 46340;
+
+    /**
+     * Матрица стоимостей задачи
+     */
+    private final CostMatrix costs;
+
+    /**
+     * Матрица зарплат задачи
+     */
+    private final CostMatrix salaries;
+
+    /**
+     * Размер матриц задачи (половина количества вершин)
+     */
+    private final int count;
+
+    /**
+     * Количество ребер из вершин [0, n) (n * n), номер первого ребра вершин [n, 2n)
+     */
+    private final int assignments;
+
+    /**
+     * @param cap - двухуровневая задача о назначениях
+     */
+    CapTspGraph(Cap cap) {
+        costs = cap.getCostMatrix();
+        salaries = cap.getSalaryMatrix();
+        count = cap.getSizeProblem();
+        checkingCorrectnessSize(count);
+        assignments = count * count;
+    }
+
+    @Override
+    public int getSize() {
+        return 2 * count;
+    }
+
+    @Override
+    public int getStart(int vertex) {
+        return vertex < count ? vertex * count : assignments + vertex - count;
+    }
+
+    @Override
+    public int getEnd(int vertex) {
+        return vertex < count ? (vertex + 1) * count : assignments + vertex - count + 1;
+    }
+
+    @Override
+    public int getTarget(int edge) {
+        return edge < assignments ? count + edge % count : edge - assignments;
+    }
+
+    @Override
+    public double getWeight(int edge) {
+        return edge < assignments ? getAssignment(edge / count, edge % count) : ZERO_DOUBLE;
+    }
+
+    @Override
+    public double get(int i, int j) {
+        if (i < count && j >= count) {
+            return getAssignment(i, j - count);
+        }
+        return i >= count && j == i - count ? ZERO_DOUBLE : INF;
+    }
+
+    /**
+     * @return вес назначения работника i на задачу j
+     */
+    private double getAssignment(int i, int j) {
+        return salaries.get(i, j) - 0.1 / costs.get(i, j);
+    }
+
+    /**
+     * Проверка, что номера ребер графа помещаются в int
+     */
+    private static void checkingCorrectnessSize(int count) {
+        try {
+            if (count > MAX_SIZE) {
+                throw new NumberException("MAX_SIZE", "count", MAX_SIZE, count);
+            }
+        }
+        catch (NumberException ignored) {}
+    }
+}
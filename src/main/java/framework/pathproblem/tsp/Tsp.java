@@ -1,11 +1,18 @@
 package framework.pathproblem.tsp;
 
+import framework.anytime.SolveControl;
+import framework.anytime.SolveHandle;
+import framework.anytime.SolveListener;
 import framework.exception.NumberException;
 import framework.exception.ProblemException;
+import framework.pathproblem.PathSolveMethod;
 import framework.pathproblem.cap.Cap;
 import framework.kp.Kp;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
 import framework.provider.LoggerProvider;
 import framework.utils.RandomValueUtils;
+import framework.utils.BinaryContent;
 import framework.utils.ReadDataUtils;
 
 import java.util.ArrayList;
@@ -20,6 +27,10 @@ import static framework.utils.IntegerDataUtils.*;
  * Существует n городов, путь из одного города в другой имеет вес w. Значение w > 0.
  * <p>
  * Задача, найти гамильтонов цикл минимального веса.
+ * <p>
+ * Задача хранится плотной матрицей весов или разреженным графом {@link SparseGraph} (только существующие
+ * ребра). Для разреженной задачи плотная матрица строится при первом обращении к ней (сведение к другим
+ * задачам, бинарный файл, локальный поиск), точные методы решения ее не требуют.
  */
 public class Tsp extends LoggerProvider {
     protected static final String PROBLEM = "tsp";
@@ -30,19 +41,25 @@ public class Tsp extends LoggerProvider {
     private final int countVertexes;
 
     /**
-     * Матрица всех путей графа
+     * Матрица всех путей графа (для разреженной задачи строится при первом обращении)
+     */
+    private volatile CostMatrix paths;
+
+    /**
+     * Разреженный граф путей, null - задача задана плотной матрицей
      */
-    private final ArrayList<ArrayList<Double>> paths;
+    private final SparseGraph graph;
 
     /**
      * Создание объекта с рандомными значениями в промежутке переданных значений максимума и минимума
+     * @param seed              - зерно генерации
      * @param countVertexes     - количество вершин
      * @param minValue          - минимальное значение веса
      * @param maxValue          - максимальное значение веса
      * @param percentFullMatrix - процент заполненности матрицы (100 - полная матрица)
      * @param isInteger         - целые/дробные числа (генерация)
      */
-    private Tsp(int countVertexes, int minValue, int maxValue, int percentFullMatrix, boolean isInteger) {
+    private Tsp(long seed, int countVertexes, int minValue, int maxValue, int percentFullMatrix, boolean isInteger) {
         super(Tsp.class);
         logInfo(
                 String.format(
@@ -51,29 +68,9 @@ public class Tsp extends LoggerProvider {
                 )
         );
         this.countVertexes = countVertexes;
-        paths = new ArrayList<>();
-        for(int i = 0; i < countVertexes; i++) {
-            ArrayList<Double> strPaths = new ArrayList<>();
-            for(int j = 0; j < countVertexes; j++) {
-                if (i == j) {
-                    strPaths.add(INF);
-                }
-                else {
-                    if (RandomValueUtils.getIntegerValue(0, 100) < percentFullMatrix) {
-                        if (isInteger) {
-                            strPaths.add((double)RandomValueUtils.getIntegerValue(minValue, maxValue));
-                        }
-                        else {
-                            strPaths.add(RandomValueUtils.getDoubleValue(minValue, maxValue));
-                        }
-                    }
-                    else {
-                        strPaths.add(INF);
-                    }
-                }
-            }
-            paths.add(strPaths);
-        }
+        paths = RandomValueUtils.getPathMatrix(seed, countVertexes, minValue, maxValue, percentFullMatrix, isInteger)
+                .snapshot();
+        graph = null;
 //        super(Tsp.class);
 //        logInfo(String.format("Заполнение рандомными значениями матрицы объекта задачи о коммивояжере размера %d", countVertexes));
 //        this.countVertexes = countVertexes;
@@ -103,7 +100,7 @@ public class Tsp extends LoggerProvider {
      * @param countVertexes - количество вершин
      * @param paths         - матрица пути
      */
-    private Tsp(int countVertexes, ArrayList<ArrayList<Double>> paths) {
+    private Tsp(int countVertexes, CostMatrix paths) {
         super(Tsp.class);
         logInfo(
                 String.format(
@@ -112,14 +109,62 @@ public class Tsp extends LoggerProvider {
                 )
         );
         this.countVertexes = countVertexes;
-        this.paths = paths;
+        this.paths = paths.snapshot();
+        graph = null;
+    }
+
+    /**
+     * Создание объекта задачи по разреженному графу
+     * @param graph - разреженный граф путей
+     */
+    private Tsp(SparseGraph graph) {
+        super(Tsp.class);
+        logInfo(
+                String.format(
+                        "Заполнение разреженным графом объекта задачи о коммивояжере размера %d, ребер %d",
+                        graph.getSize(),
+                        graph.getEdgeCount()
+                )
+        );
+        countVertexes = graph.getSize();
+        this.graph = graph;
     }
 
     /**
      * @return матрица весов (путей)
      */
     public ArrayList<ArrayList<Double>> getPaths() {
-        return paths;
+        return getPathMatrix().toList();
+    }
+
+    /**
+     * @return неизменяемая матрица весов (путей), для разреженной задачи строится при первом вызове
+     */
+    public CostMatrix getPathMatrix() {
+        CostMatrix matrix = paths;
+        if (matrix == null) {
+            synchronized (this) {
+                if (paths == null) {
+                    paths = graph.toCostMatrix();
+                }
+                matrix = paths;
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * @return разреженный граф путей, null - задача задана плотной матрицей
+     */
+    public SparseGraph getSparseGraph() {
+        return graph;
+    }
+
+    /**
+     * @return задана ли задача разреженным графом
+     */
+    public boolean isSparse() {
+        return graph != null;
     }
 
     /**
@@ -152,6 +197,14 @@ public class Tsp extends LoggerProvider {
         baseSolve();
     }
 
+    /**
+     * Точное решение задачи выбранным способом
+     * @param method - способ точного решения
+     */
+    public void solve(PathSolveMethod method) {
+        baseSolve(method);
+    }
+
     /**
      * Точное решение задачи с записью в файл
      */
@@ -159,6 +212,100 @@ public class Tsp extends LoggerProvider {
         baseSolveWithWrite();
     }
 
+    /**
+     * Точное решение задачи выбранным способом с записью в файл
+     * @param method - способ точного решения
+     */
+    public void solveWithWrite(PathSolveMethod method) {
+        baseSolveWithWrite(method);
+    }
+
+    /**
+     * Точное решение задачи выбранным способом, начальная граница улучшается локальным поиском
+     * @param method          - способ точного решения
+     * @param localSearchTime - ограничение времени локального поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solve(PathSolveMethod method, long localSearchTime) {
+        baseSolve(method, localSearchTime);
+    }
+
+    /**
+     * Точное решение задачи выбранным способом с записью в файл, начальная граница улучшается локальным поиском
+     * @param method          - способ точного решения
+     * @param localSearchTime - ограничение времени локального поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solveWithWrite(PathSolveMethod method, long localSearchTime) {
+        baseSolve(method, localSearchTime).writeResult();
+    }
+
+    /**
+     * Асинхронное решение задачи выбранным способом
+     * <p>
+     * Перебор выполняется в отдельном потоке, начальный путь жадного алгоритма и каждый новый рекорд передаются
+     * слушателю. По истечении времени или после {@link SolveHandle#cancel()} перебор останавливается, и итог
+     * содержит лучший найденный путь. Неоптимальный итог не сохраняется в кэш решений.
+     * @param method    - способ точного решения
+     * @param timeLimit - ограничение времени в миллисекундах, 0 - без ограничения
+     * @param listener  - слушатель новых рекордов, null - без оповещения
+     */
+    public SolveHandle<List<Integer>> solveAsync(
+            PathSolveMethod method,
+            long timeLimit,
+            SolveListener<List<Integer>> listener
+    ) {
+        SolveControl<List<Integer>> control = new SolveControl<>(timeLimit, listener);
+        return SolveHandle.start(control, () -> {
+            TspExactSolution tspExactSolution = new TspExactSolution(this, method);
+            tspExactSolution.setControl(control);
+            tspExactSolution.solve();
+            return tspExactSolution.getSolveResult();
+        });
+    }
+
+    /**
+     * Приближенное решение задачи локальным поиском 2-opt, Or-opt, 3-opt
+     * @param timeLimit - ограничение времени поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solveLocalSearch(long timeLimit) {
+        TspLocalSearchSolution tspLocalSearchSolution = new TspLocalSearchSolution(this, timeLimit);
+        tspLocalSearchSolution.solve();
+    }
+
+    /**
+     * Приближенное решение задачи локальным поиском 2-opt, Or-opt, 3-opt с записью в файл
+     * @param timeLimit - ограничение времени поиска в миллисекундах, 0 - до локального минимума
+     */
+    public void solveLocalSearchWithWrite(long timeLimit) {
+        TspLocalSearchSolution tspLocalSearchSolution = new TspLocalSearchSolution(this, timeLimit);
+        tspLocalSearchSolution.solve();
+        tspLocalSearchSolution.writeResult();
+    }
+
+    /**
+     * Приближенное решение задачи эвристикой Лина-Кернигана для больших задач
+     * с отчетом о качестве и времени относительно жадного алгоритма
+     * @param timeLimit  - ограничение времени поиска в миллисекундах, 0 - без ограничения
+     * @param iterations - количество возмущений двойным мостом для каждого начального цикла
+     * @param starts     - количество начальных циклов
+     */
+    public void solveLinKernighan(long timeLimit, int iterations, int starts) {
+        TspLinKernighanSolution tspLinKernighanSolution = new TspLinKernighanSolution(this, timeLimit, iterations, starts);
+        tspLinKernighanSolution.solve();
+    }
+
+    /**
+     * Приближенное решение задачи эвристикой Лина-Кернигана с записью в файл результата и сравнения
+     * с жадным алгоритмом
+     * @param timeLimit  - ограничение времени поиска в миллисекундах, 0 - без ограничения
+     * @param iterations - количество возмущений двойным мостом для каждого начального цикла
+     * @param starts     - количество начальных циклов
+     */
+    public void solveLinKernighanWithWrite(long timeLimit, int iterations, int starts) {
+        TspLinKernighanSolution tspLinKernighanSolution = new TspLinKernighanSolution(this, timeLimit, iterations, starts);
+        tspLinKernighanSolution.solve();
+        tspLinKernighanSolution.writeResult();
+    }
+
     /**
      * Точное решение задачи после сведения из задачи о рюкзаке с записью в файл
      */
@@ -187,7 +334,24 @@ public class Tsp extends LoggerProvider {
      * Точное решение задачи о коммивояжере
      */
     private TspExactSolution baseSolve() {
-        TspExactSolution tspExactSolution = new TspExactSolution(this);
+        return baseSolve(PathSolveMethod.EXHAUSTIVE);
+    }
+
+    /**
+     * Точное решение задачи о коммивояжере выбранным способом
+     */
+    private TspExactSolution baseSolve(PathSolveMethod method) {
+        TspExactSolution tspExactSolution = new TspExactSolution(this, method);
+        tspExactSolution.solve();
+        return tspExactSolution;
+    }
+
+    /**
+     * Точное решение задачи о коммивояжере выбранным способом с локальным поиском начальной границы
+     */
+    private TspExactSolution baseSolve(PathSolveMethod method, long localSearchTime) {
+        TspExactSolution tspExactSolution = new TspExactSolution(this, method);
+        tspExactSolution.setLocalSearchTime(localSearchTime);
         tspExactSolution.solve();
         return tspExactSolution;
     }
@@ -196,7 +360,14 @@ public class Tsp extends LoggerProvider {
      * Точное решение задачи о коммивояжере с записью в файл
      */
     private TspExactSolution baseSolveWithWrite() {
-        TspExactSolution tspExactSolution = baseSolve();
+        return baseSolveWithWrite(PathSolveMethod.EXHAUSTIVE);
+    }
+
+    /**
+     * Точное решение задачи о коммивояжере выбранным способом с записью в файл
+     */
+    private TspExactSolution baseSolveWithWrite(PathSolveMethod method) {
+        TspExactSolution tspExactSolution = baseSolve(method);
         tspExactSolution.writeResult();
         return tspExactSolution;
     }
@@ -207,8 +378,28 @@ public class Tsp extends LoggerProvider {
      * @param paths         - значения матрицы пути
      */
     public static Tsp byValues(int countVertexes, ArrayList<ArrayList<Double>> paths) {
-        checkingCorrectnessPath(countVertexes, paths);
-        Tsp tsp = new Tsp(countVertexes, paths);
+        checkingCorrectnessPathSize(countVertexes, paths);
+        return byMatrix(CostMatrix.fromList(paths));
+    }
+
+    /**
+     * Получение объекта задачи с переданной матрицей пути
+     * @param paths - матрица пути
+     */
+    public static Tsp byMatrix(CostMatrix paths) {
+        checkingCorrectnessPath(paths);
+        Tsp tsp = new Tsp(paths.getRows(), paths);
+        tsp.writeProblemInFile();
+        return tsp;
+    }
+
+    /**
+     * Получение объекта задачи с переданным разреженным графом
+     * @param graph - разреженный граф путей
+     */
+    public static Tsp bySparseGraph(SparseGraph graph) {
+        checkingCorrectnessGraph(graph);
+        Tsp tsp = new Tsp(graph);
         tsp.writeProblemInFile();
         return tsp;
     }
@@ -218,9 +409,35 @@ public class Tsp extends LoggerProvider {
      * @param fileName - путь к файлу
      */
     public static Tsp byFileValues(String fileName) {
-        List<List<String>> file = ReadDataUtils.read(fileName);
-        ArrayList<ArrayList<Double>> paths =  ReadDataUtils.readDoubleMatrix(file, 0);
-        return byValues(paths.size(), paths);
+        return byMatrix(ReadDataUtils.readMatrices(fileName, 1).get(0));
+    }
+
+    /**
+     * Получение объекта задачи из бинарного файла, записанного {@link #writeBinaryFile(String)}
+     * @param fileName - путь к файлу
+     */
+    public static Tsp byBinaryFile(String fileName) {
+        return byMatrix(ReadDataUtils.readBinaryMatrices(fileName, BinaryContent.TSP, 1).get(0));
+    }
+
+    /**
+     * Перевод текстового файла задачи в бинарный файл
+     * @param textFileName   - путь к текстовому файлу
+     * @param binaryFileName - путь к бинарному файлу
+     */
+    public static void convertFileToBinary(String textFileName, String binaryFileName) {
+        CostMatrix paths = ReadDataUtils.readMatrices(textFileName, 1).get(0);
+        checkingCorrectnessPath(paths);
+        writeBinaryMatrices(binaryFileName, BinaryContent.TSP, paths);
+    }
+
+    /**
+     * Запись задачи в бинарный файл (без потери точности значений)
+     * @param fileName - путь к файлу
+     */
+    public void writeBinaryFile(String fileName) {
+        logInfo("Запись задачи о коммивояжере в бинарный файл %s", fileName);
+        writeBinaryMatrices(fileName, BinaryContent.TSP, getPathMatrix());
     }
 
     /**
@@ -231,8 +448,26 @@ public class Tsp extends LoggerProvider {
      * @param percentFullMatrix - процент заполненности матрицы (100 - полная матрица)
      */
     public static Tsp byRandomIntegerValues(int countVertexes, int minValue, int maxValue, int percentFullMatrix) {
+        return byRandomIntegerValues(RandomValueUtils.getSeed(), countVertexes, minValue, maxValue, percentFullMatrix);
+    }
+
+    /**
+     * Получение объекта задачи с целыми рандомными значениями, воспроизводимое по зерну
+     * @param seed              - зерно генерации
+     * @param countVertexes     - количество вершин
+     * @param minValue          - минимальное значение веса
+     * @param maxValue          - максимальное значение веса
+     * @param percentFullMatrix - процент заполненности матрицы (100 - полная матрица)
+     */
+    public static Tsp byRandomIntegerValues(
+            long seed,
+            int countVertexes,
+            int minValue,
+            int maxValue,
+            int percentFullMatrix
+    ) {
         checkingCorrectnessOfInput(countVertexes, minValue, maxValue, percentFullMatrix);
-        Tsp tsp = new Tsp(countVertexes, minValue, maxValue, percentFullMatrix, true);
+        Tsp tsp = new Tsp(seed, countVertexes, minValue, maxValue, percentFullMatrix, true);
         tsp.writeProblemInFile();
         return tsp;
     }
@@ -245,8 +480,84 @@ public class Tsp extends LoggerProvider {
      * @param percentFullMatrix - процент заполненности матрицы (100 - полная матрица)
      */
     public static Tsp byRandomDoubleValues(int countVertexes, int minValue, int maxValue, int percentFullMatrix) {
+        return byRandomDoubleValues(RandomValueUtils.getSeed(), countVertexes, minValue, maxValue, percentFullMatrix);
+    }
+
+    /**
+     * Получение объекта задачи с рациональными рандомными значениями, воспроизводимое по зерну
+     * @param seed              - зерно генерации
+     * @param countVertexes     - количество вершин
+     * @param minValue          - минимальное значение веса
+     * @param maxValue          - максимальное значение веса
+     * @param percentFullMatrix - процент заполненности матрицы (100 - полная матрица)
+     */
+    public static Tsp byRandomDoubleValues(
+            long seed,
+            int countVertexes,
+            int minValue,
+            int maxValue,
+            int percentFullMatrix
+    ) {
+        checkingCorrectnessOfInput(countVertexes, minValue, maxValue, percentFullMatrix);
+        Tsp tsp = new Tsp(seed, countVertexes, minValue, maxValue, percentFullMatrix, false);
+        tsp.writeProblemInFile();
+        return tsp;
+    }
+
+    /**
+     * Получение разреженной задачи с рандомными значениями, воспроизводимое по зерну: те же ребра и веса,
+     * что у {@link #byRandomIntegerValues(long, int, int, int, int)} и {@link #byRandomDoubleValues(long, int, int,
+     * int, int)}, но хранятся только существующие ребра
+     * @param seed              - зерно генерации
+     * @param countVertexes     - количество вершин
+     * @param minValue          - минимальное значение веса
+     * @param maxValue          - максимальное значение веса
+     * @param percentFullMatrix - процент заполненности матрицы (доля существующих ребер)
+     * @param isInteger         - целые/дробные числа (генерация)
+     */
+    public static Tsp bySparseRandomValues(
+            long seed,
+            int countVertexes,
+            int minValue,
+            int maxValue,
+            int percentFullMatrix,
+            boolean isInteger
+    ) {
         checkingCorrectnessOfInput(countVertexes, minValue, maxValue, percentFullMatrix);
-        Tsp tsp = new Tsp(countVertexes, minValue, maxValue, percentFullMatrix, false);
+        Tsp tsp = new Tsp(RandomValueUtils.getSparsePathGraph(
+                seed, countVertexes, minValue, maxValue, percentFullMatrix, isInteger
+        ));
+        tsp.writeProblemInFile();
+        return tsp;
+    }
+
+    /**
+     * Получение объекта задачи с евклидовыми расстояниями между случайными точками квадрата
+     * @param seed          - зерно генерации
+     * @param countVertexes - количество вершин (точек)
+     * @param maxCoordinate - размер стороны квадрата
+     */
+    public static Tsp byEuclideanValues(long seed, int countVertexes, int maxCoordinate) {
+        checkingCorrectnessOfPoints(countVertexes, 1, maxCoordinate);
+        Tsp tsp = new Tsp(countVertexes, RandomValueUtils.getEuclideanMatrix(seed, countVertexes, maxCoordinate, false));
+        tsp.writeProblemInFile();
+        return tsp;
+    }
+
+    /**
+     * Получение объекта задачи с евклидовыми расстояниями между точками, сгруппированными в кластеры
+     * @param seed          - зерно генерации
+     * @param countVertexes - количество вершин (точек)
+     * @param clusters      - количество кластеров
+     * @param maxCoordinate - размер стороны квадрата, в котором лежат центры кластеров
+     * @param spread        - стандартное отклонение точек от центра кластера
+     */
+    public static Tsp byClusteredValues(long seed, int countVertexes, int clusters, int maxCoordinate, double spread) {
+        checkingCorrectnessOfPoints(countVertexes, clusters, maxCoordinate);
+        Tsp tsp = new Tsp(
+                countVertexes,
+                RandomValueUtils.getClusteredMatrix(seed, countVertexes, clusters, maxCoordinate, spread, false)
+        );
         tsp.writeProblemInFile();
         return tsp;
     }
@@ -257,7 +568,32 @@ public class Tsp extends LoggerProvider {
     private void writeProblemInFile() {
         String path = String.format(getFilePath() + PATH, PROBLEM, DATA, getPathId());
         logInfo("Запись данных задачи о коммивояжере в файл %s", path);
-        writeArray(path, paths, "Весовая матрица (пути)");
+        if (graph == null) {
+            writeArray(path, paths, "Весовая матрица (пути)");
+        }
+        else {
+            writeArray(path, graph, "Ребра графа (вершина=вес) по начальным вершинам");
+        }
+    }
+
+    /**
+     * Проверка корректности переданных данных для генерации точек
+     */
+    private static void checkingCorrectnessOfPoints(int countVertexes, int clusters, int maxCoordinate) {
+        int minSizeMatrix = 2;
+        int minValue = 1;
+        try {
+            if (countVertexes < minSizeMatrix) {
+                throw new NumberException("countVertexes", "minSizeMatrix", countVertexes, minSizeMatrix);
+            }
+            if (clusters < minValue) {
+                throw new NumberException("clusters", "minValue", clusters, minValue);
+            }
+            if (maxCoordinate < minValue) {
+                throw new NumberException("maxCoordinate", "minValue", maxCoordinate, minValue);
+            }
+        }
+        catch (NumberException ignored) {}
     }
 
     /**
@@ -293,20 +629,54 @@ public class Tsp extends LoggerProvider {
     }
 
     /**
-     * Проверка корректности переданного пути
+     * Проверка размеров переданного пути
      */
-    private static void checkingCorrectnessPath(int countVertexes, ArrayList<ArrayList<Double>> paths) {
+    private static void checkingCorrectnessPathSize(int countVertexes, ArrayList<ArrayList<Double>> paths) {
         try {
             for (int i = 0; i < paths.size(); i++) {
                 if (paths.get(i).size() != countVertexes) {
                     throw new ProblemException(i, countVertexes, paths.get(i).size());
                 }
-                for (int j = 0; j < paths.get(i).size(); j++) {
-                    if (i == j && paths.get(i).get(j) != INF) {
-                        throw new ProblemException(i, paths.get(i).get(j), String.valueOf(INF));
+            }
+        }
+        catch (ProblemException ignored) {}
+    }
+
+    /**
+     * Проверка корректности переданного разреженного графа
+     */
+    private static void checkingCorrectnessGraph(SparseGraph graph) {
+        int minSizeMatrix = 2;
+        try {
+            if (graph.getSize() < minSizeMatrix) {
+                throw new NumberException("countVertexes", "minSizeMatrix", graph.getSize(), minSizeMatrix);
+            }
+            for (int i = 0; i < graph.getSize(); i++) {
+                for (int edge = graph.getStart(i); edge < graph.getEnd(i); edge++) {
+                    if (graph.getWeight(edge) < 0) {
+                        throw new ProblemException(i, graph.getWeight(edge), "> 0");
+                    }
+                }
+            }
+        }
+        catch (NumberException | ProblemException ignored) {}
+    }
+
+    /**
+     * Проверка корректности переданного пути
+     */
+    private static void checkingCorrectnessPath(CostMatrix paths) {
+        try {
+            if (paths.getRows() != paths.getColumns()) {
+                throw new ProblemException(paths.getRows(), paths.getColumns());
+            }
+            for (int i = 0; i < paths.getRows(); i++) {
+                for (int j = 0; j < paths.getColumns(); j++) {
+                    if (i == j && paths.get(i, j) != INF) {
+                        throw new ProblemException(i, paths.get(i, j), String.valueOf(INF));
                     }
-                    if (paths.get(i).get(j) < 0) {
-                        throw new ProblemException(i, paths.get(i).get(j), "> 0");
+                    if (paths.get(i, j) < 0) {
+                        throw new ProblemException(i, paths.get(i, j), "> 0");
                     }
                 }
             }
@@ -1,13 +1,15 @@
 package framework.pathproblem.tsp;
 
+import framework.kp.KpEdge;
 import framework.pathproblem.ExactSolution;
-import framework.utils.ArrayListUtils;
+import framework.pathproblem.PathSolveMethod;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static framework.utils.IntegerDataUtils.INF;
 import static framework.utils.IntegerDataUtils.NANO;
+import static framework.utils.IntegerDataUtils.ZERO;
 import static framework.utils.WriteDataUtils.*;
 
 /**
@@ -20,7 +22,16 @@ class TspExactSolution extends ExactSolution {
      * Конструктор класса решения задачи о коммивояжере
      */
     protected TspExactSolution(Tsp tsp) {
-        super(tsp.getPaths(), TspExactSolution.class);
+        this(tsp, PathSolveMethod.EXHAUSTIVE);
+    }
+
+    /**
+     * Конструктор класса решения задачи о коммивояжере выбранным способом
+     * @param tsp    - объект задачи о коммивояжере
+     * @param method - способ точного решения
+     */
+    protected TspExactSolution(Tsp tsp, PathSolveMethod method) {
+        super(tsp.isSparse() ? null : tsp.getPathMatrix(), tsp.getSparseGraph(), method, TspExactSolution.class);
         this.tsp = tsp;
     }
 
@@ -28,7 +39,11 @@ class TspExactSolution extends ExactSolution {
      * Нахождение точного пути задачи о коммивояжере
      */
     public void solve() {
-        solve("задачи о коммивояжере");
+        String key = graph == null ? getCacheKey(Tsp.PROBLEM, getMatrix()) : getCacheKey(Tsp.PROBLEM, graph);
+        if (!restoreFromCache(key)) {
+            solve("задачи о коммивояжере");
+            storeInCache(key);
+        }
         if (minCost > INF) {
             logInfo(NO_PATH);
         }
@@ -130,9 +145,9 @@ class TspExactSolution extends ExactSolution {
     private List<String> getPathToKp() {
         List<String> minPathKp = new ArrayList<>();
         for (int i = 0; i < minPath.size() - 1; i++) {
-            minPathKp.add(minPath.get(i) + "_" + minPath.get(i + 1));
+            minPathKp.add(new KpEdge(minPath.get(i), minPath.get(i + 1)).toNumber());
         }
-        minPathKp.add(minPath.get(minPath.size() - 1) + "_0");
+        minPathKp.add(new KpEdge(minPath.get(minPath.size() - 1), ZERO).toNumber());
         return minPathKp;
     }
 
@@ -143,12 +158,12 @@ class TspExactSolution extends ExactSolution {
      * W - вес ребра из кратчайшего пути
      */
     private double getWeightToKp() {
-        double perWeight = ArrayListUtils.getSumNotInf(tsp.getPaths());
+        double perWeight = tsp.getPathMatrix().getSumNotInf();
         double weightKp = tsp.getCountVertexes();
         for (int i = 0; i < minPath.size() - 1; i++) {
-            weightKp -= tsp.getPaths().get(minPath.get(i)).get(minPath.get(i + 1)) / perWeight;
+            weightKp -= tsp.getPathMatrix().get(minPath.get(i), minPath.get(i + 1)) / perWeight;
         }
-        weightKp -= tsp.getPaths().get(minPath.get(minPath.size() - 1)).get(minPath.get(0)) / perWeight;
+        weightKp -= tsp.getPathMatrix().get(minPath.get(minPath.size() - 1), minPath.get(0)) / perWeight;
         return weightKp;
     }
 
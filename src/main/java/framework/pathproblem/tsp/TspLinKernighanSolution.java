@@ -0,0 +1,156 @@
+package framework.pathproblem.tsp;
+
+import framework.algorithm.DynamicAlgorithm;
+import framework.algorithm.LinKernighanAlgorithm;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+
+import static framework.utils.IntegerDataUtils.INF;
+import static framework.utils.IntegerDataUtils.NANO;
+import static framework.utils.WriteDataUtils.*;
+
+/**
+ * Класс приближенного решения задачи о коммивояжере эвристикой Лина-Кернигана
+ * с отчетом о качестве и времени относительно жадного алгоритма
+ */
+class TspLinKernighanSolution extends LoggerProvider {
+    private static final String GREEDY = "Жадный алгоритм: вес %f, время %f секунд";
+    private static final String IMPROVEMENT = "Вес меньше жадного на %f%%, время больше в %f раз";
+    private static final String SEARCH = "Начальных циклов: %d, возмущений: %d (принято %d)";
+
+    private final Tsp tsp;
+
+    /**
+     * Ограничение времени поиска в миллисекундах, 0 - без ограничения
+     */
+    private final long timeLimit;
+
+    /**
+     * Количество возмущений для каждого начального цикла
+     */
+    private final int iterations;
+
+    /**
+     * Количество начальных циклов
+     */
+    private final int starts;
+
+    /**
+     * Эвристика после решения
+     */
+    private LinKernighanAlgorithm algorithm;
+
+    /**
+     * Найденный путь
+     */
+    private ArrayList<Integer> minPath;
+
+    /**
+     * Вес найденного пути
+     */
+    private double minCost;
+
+    /**
+     * Вес пути жадного алгоритма
+     */
+    private double greedyCost;
+
+    /**
+     * Время решения и время жадного алгоритма
+     */
+    private long time;
+
+    private long greedyTime;
+
+    /**
+     * Конструктор класса решения
+     * @param tsp        - объект задачи о коммивояжере
+     * @param timeLimit  - ограничение времени поиска в миллисекундах, 0 - без ограничения
+     * @param iterations - количество возмущений для каждого начального цикла
+     * @param starts     - количество начальных циклов
+     */
+    protected TspLinKernighanSolution(Tsp tsp, long timeLimit, int iterations, int starts) {
+        super(TspLinKernighanSolution.class);
+        this.tsp = tsp;
+        this.timeLimit = timeLimit;
+        this.iterations = iterations;
+        this.starts = starts;
+    }
+
+    /**
+     * @return найденный путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    protected ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return вес найденного пути
+     */
+    protected double getMinCost() {
+        return minCost;
+    }
+
+    /**
+     * Приближенное решение задачи о коммивояжере и жадный алгоритм для сравнения
+     */
+    protected void solve() {
+        logInfo("Приближенное решение задачи о коммивояжере эвристикой Лина-Кернигана");
+        long startTime = System.nanoTime();
+        algorithm = new LinKernighanAlgorithm(tsp.getPathMatrix());
+        algorithm.findPath(timeLimit, iterations, starts);
+        minPath = algorithm.getMinPath();
+        minCost = algorithm.getMinWeight();
+        time = System.nanoTime() - startTime;
+
+        startTime = System.nanoTime();
+        DynamicAlgorithm dynamicAlgorithm = new DynamicAlgorithm(tsp.getPathMatrix());
+        dynamicAlgorithm.findPath(tsp.getCountVertexes());
+        greedyCost = dynamicAlgorithm.getMinWeight();
+        greedyTime = System.nanoTime() - startTime;
+
+        logInfo(TIME, time/NANO);
+        if (minCost > INF) {
+            logInfo(NO_PATH);
+        }
+        else {
+            logInfo("Вес пути: %s", minCost);
+            logInfo("Путь: %s", minPath.toString());
+        }
+        logInfo(String.format(SEARCH, algorithm.getStartsDone(), algorithm.getKicks(), algorithm.getAcceptedKicks()));
+        logInfo(String.format(GREEDY, greedyCost, greedyTime/NANO));
+        logInfo(String.format(IMPROVEMENT, getImprovement(), (double) time / Math.max(1, greedyTime)));
+    }
+
+    /**
+     * @return на сколько процентов вес найденного пути меньше веса пути жадного алгоритма
+     */
+    private double getImprovement() {
+        return greedyCost == 0 ? 0 : (greedyCost - minCost) / greedyCost * 100;
+    }
+
+    /**
+     * Записать результат задачи и сравнение с жадным алгоритмом в файл
+     */
+    protected void writeResult() {
+        String path = String.format(getFilePath() + PATH, Tsp.PROBLEM, HEURISTIC_SOLUTION, getPathId());
+        logInfo("Запись решения задачи о коммивояжере эвристикой Лина-Кернигана в файл %s", path);
+        String comparison = String.format(SEARCH + ENTER, algorithm.getStartsDone(), algorithm.getKicks(),
+                algorithm.getAcceptedKicks())
+                + String.format(GREEDY + ENTER, greedyCost, greedyTime/NANO)
+                + String.format(IMPROVEMENT + DOUBLE_ENTER, getImprovement(), (double) time / Math.max(1, greedyTime));
+        if (minCost > INF) {
+            write(path, String.format(TIME + ENTER, time/NANO), NO_PATH + ENTER, comparison);
+        }
+        else {
+            write(
+                    path,
+                    String.format(TIME + ENTER, time/NANO),
+                    String.format(WEIGHT + ENTER, minCost),
+                    String.format(RESULT + ENTER, minPath.toString()),
+                    comparison
+            );
+        }
+    }
+}
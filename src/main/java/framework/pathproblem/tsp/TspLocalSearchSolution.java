@@ -0,0 +1,103 @@
+package framework.pathproblem.tsp;
+
+import framework.algorithm.LocalSearchAlgorithm;
+import framework.provider.LoggerProvider;
+
+import java.util.ArrayList;
+
+import static framework.utils.IntegerDataUtils.INF;
+import static framework.utils.IntegerDataUtils.NANO;
+import static framework.utils.WriteDataUtils.*;
+
+/**
+ * Класс приближенного решения задачи о коммивояжере локальным поиском 2-opt, Or-opt, 3-opt
+ * от цикла жадного алгоритма по ребрам
+ */
+class TspLocalSearchSolution extends LoggerProvider {
+    private final Tsp tsp;
+
+    /**
+     * Ограничение времени поиска в миллисекундах, 0 - до локального минимума
+     */
+    private final long timeLimit;
+
+    /**
+     * Найденный путь
+     */
+    private ArrayList<Integer> minPath;
+
+    /**
+     * Вес найденного пути
+     */
+    private double minCost;
+
+    /**
+     * Время решения
+     */
+    private long time;
+
+    /**
+     * Конструктор класса решения
+     * @param tsp       - объект задачи о коммивояжере
+     * @param timeLimit - ограничение времени поиска в миллисекундах, 0 - до локального минимума
+     */
+    protected TspLocalSearchSolution(Tsp tsp, long timeLimit) {
+        super(TspLocalSearchSolution.class);
+        this.tsp = tsp;
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * @return найденный путь (цикл, начинающийся и заканчивающийся в вершине 0)
+     */
+    protected ArrayList<Integer> getMinPath() {
+        return minPath;
+    }
+
+    /**
+     * @return вес найденного пути
+     */
+    protected double getMinCost() {
+        return minCost;
+    }
+
+    /**
+     * Приближенное решение задачи о коммивояжере
+     */
+    protected void solve() {
+        logInfo("Приближенное решение задачи о коммивояжере локальным поиском");
+        long startTime = System.nanoTime();
+        LocalSearchAlgorithm localSearchAlgorithm = new LocalSearchAlgorithm(tsp.getPathMatrix());
+        localSearchAlgorithm.findPath(timeLimit);
+        minPath = localSearchAlgorithm.getMinPath();
+        minCost = localSearchAlgorithm.getMinWeight();
+        time = System.nanoTime() - startTime;
+        logInfo(TIME, time/NANO);
+        if (minCost > INF) {
+            logInfo(NO_PATH);
+        }
+        else {
+            logInfo("Вес пути: %s", minCost);
+            logInfo("Путь: %s", minPath.toString());
+        }
+    }
+
+    /**
+     * Записать результат задачи в файл
+     */
+    protected void writeResult() {
+        String path = String.format(getFilePath() + PATH, Tsp.PROBLEM, HEURISTIC_SOLUTION, getPathId());
+        logInfo("Запись приближенного решения задачи о коммивояжере в файл %s", path);
+        if (minCost > INF) {
+            write(path, String.format(TIME + ENTER, time/NANO), NO_PATH + DOUBLE_ENTER);
+        }
+        else {
+            write(
+                    path,
+                    String.format(TIME + ENTER, time/NANO),
+                    String.format(WEIGHT + ENTER, minCost),
+                    String.format(RESULT + DOUBLE_ENTER, minPath.toString())
+            );
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package framework.pathproblem.tsp;
 
 import framework.kp.Kp;
+import framework.kp.KpEdge;
 import framework.kp.KpThing;
+import framework.matrix.CostMatrix;
 import framework.pathproblem.cap.Cap;
-import framework.utils.ArrayListUtils;
 import framework.provider.LoggerProvider;
 
 import java.util.ArrayList;
@@ -36,7 +37,7 @@ class TspToProblem extends LoggerProvider {
      */
     protected Cap toCap() {
         logInfo("Создание объекта двухуровневой задачи о назначениях через сведение задачи о коммивояжере");
-        return Cap.byValues(tsp.getPaths(), tsp.getPaths());
+        return Cap.byMatrix(tsp.getPathMatrix(), tsp.getPathMatrix());
     }
 
     /**
@@ -47,6 +48,7 @@ class TspToProblem extends LoggerProvider {
      * Шаг 1. Создать динамическую матрицу хрупкости со значениями [-1, 1, ...], размера матрицы коммивояжера (n)
      * <p>
      * Шаг 2. Создать вещи по количеству не бесконечных ребер с нумерацией: ребро ij имеет нумерацию "i_j"
+     * ({@link KpEdge})
      * <p>
      * Шаг 3. Добавить вещам вес:
      * <p>
@@ -64,15 +66,16 @@ class TspToProblem extends LoggerProvider {
     protected Kp toKp() {
         logInfo("Создание объекта задачи о рюкзаке через сведение задачи о коммивояжере");
         List<KpThing> things = new ArrayList<>();
-        double weightSum = ArrayListUtils.getSumNotInf(tsp.getPaths());
+        CostMatrix paths = tsp.getPathMatrix();
+        double weightSum = paths.getSumNotInf();
         for (int i = 0; i < tsp.getCountVertexes(); i++) {
             for (int j = 0; j < tsp.getCountVertexes(); j++) {
-                if(i != j && tsp.getPaths().get(i).get(j) != INF) {
+                if(i != j && paths.get(i, j) != INF) {
                     KpThing kpThing =
                             new KpThing(
-                                    i + "_" + j,
+                                    new KpEdge(i, j).toNumber(),
                                     1,
-                                    1 - (tsp.getPaths().get(i).get(j) / weightSum),
+                                    1 - (paths.get(i, j) / weightSum),
                                     1
                             );
                     things.add(kpThing);
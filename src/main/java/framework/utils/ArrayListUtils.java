@@ -1,6 +1,7 @@
 package framework.utils;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static framework.utils.IntegerDataUtils.INF;
 
@@ -39,4 +40,28 @@ public class ArrayListUtils {
         }
         return sum;
     }
+
+    /**
+     * Перевести список целых чисел в массив
+     * @param list - список целых чисел
+     */
+    public static int[] toIntArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Перевести массив целых чисел в список
+     * @param array - массив целых чисел
+     */
+    public static ArrayList<Integer> toIntegerList(int[] array) {
+        ArrayList<Integer> list = new ArrayList<>(array.length);
+        for (int value : array) {
+            list.add(value);
+        }
+        return list;
+    }
 }
@@ -0,0 +1,236 @@
+package framework.utils;
+
+import framework.exception.WriteException;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Асинхронная запись результатов в отдельном потоке
+ * <p>
+ * Вызов записи только ставит сообщения в очередь. Поток записи забирает из очереди все накопленные
+ * сообщения разом, передает их в {@link BufferedResultSink} и сбрасывает буферы один раз на пачку.
+ * Ошибка записи запоминается и бросается при следующем вызове записи, сброса или закрытия.
+ * <p>
+ * Запись и сброс ставят сообщения под общей блокировкой чтения, закрытие - под блокировкой записи,
+ * поэтому ни одно сообщение не попадает в очередь после завершающего и не теряется.
+ */
+public class AsyncResultSink implements ResultSink {
+    /**
+     * Максимальное количество сообщений, записываемых одной пачкой
+     */
+    private static final int MAX_BATCH = 1024;
+
+    /**
+     * Сообщение для записи
+     * @param path - путь к файлу, null - служебное сообщение
+     * @param text - текст сообщения
+     * @param done - счетчик, уменьшаемый после сброса пачки (для сброса и закрытия)
+     * @param last - последнее сообщение, после него поток записи завершается
+     */
+    private record Message(String path, String text, CountDownLatch done, boolean last) {}
+
+    /**
+     * Запись в файлы в потоке записи
+     */
+    private final BufferedResultSink delegate = new BufferedResultSink(false);
+
+    /**
+     * Очередь сообщений
+     */
+    private final BlockingQueue<Message> queue;
+
+    /**
+     * Поток записи
+     */
+    private final Thread writerThread;
+
+    /**
+     * Первая ошибка записи
+     */
+    private volatile WriteException error;
+
+    /**
+     * Завершена ли запись
+     */
+    private volatile boolean closed;
+
+    /**
+     * Блокировка постановки сообщений (чтение) против закрытия (запись)
+     */
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Асинхронная запись с неограниченной очередью
+     */
+    public AsyncResultSink() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity - максимальный размер очереди, при заполнении запись ждет освобождения места
+     */
+    public AsyncResultSink(int capacity) {
+        queue = new LinkedBlockingQueue<>(Math.max(capacity, 1));
+        writerThread = new Thread(this::run, "result-sink-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void write(String path, CharSequence... messages) {
+        StringBuilder text = new StringBuilder();
+        for (CharSequence message : messages) {
+            text.append(message);
+        }
+        Lock lock = closeLock.readLock();
+        lock.lock();
+        try {
+            checkState();
+            put(new Message(path, text.toString(), null, false));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() {
+        Lock lock = closeLock.readLock();
+        lock.lock();
+        try {
+            checkState();
+            awaitWriter(false);
+        }
+        finally {
+            lock.unlock();
+        }
+        checkError();
+    }
+
+    @Override
+    public void close() {
+        Lock lock = closeLock.writeLock();
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            awaitWriter(true);
+        }
+        finally {
+            lock.unlock();
+        }
+        try {
+            writerThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkError();
+    }
+
+    /**
+     * Постановка служебного сообщения и ожидание, пока поток записи сбросит все сообщения перед ним
+     * @param last - завершить поток записи
+     */
+    private void awaitWriter(boolean last) {
+        CountDownLatch done = new CountDownLatch(1);
+        put(new Message(null, null, done, last));
+        try {
+            done.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Постановка сообщения в очередь
+     */
+    private void put(Message message) {
+        try {
+            queue.put(message);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteException(message.path(), new InterruptedIOException());
+        }
+    }
+
+    /**
+     * Проверка, что запись не завершена и не было ошибки
+     */
+    private void checkState() {
+        if (closed) {
+            throw new WriteException(WriteException.CLOSED_MESSAGE);
+        }
+        checkError();
+    }
+
+    /**
+     * Бросить запомненную ошибку записи
+     */
+    private void checkError() {
+        WriteException writeException = error;
+        if (writeException != null) {
+            throw writeException;
+        }
+    }
+
+    /**
+     * Цикл потока записи: пачка сообщений, запись, сброс буферов
+     */
+    private void run() {
+        List<Message> batch = new ArrayList<>();
+        boolean last = false;
+        while (!last) {
+            try {
+                batch.add(queue.take());
+            }
+            catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            List<CountDownLatch> waiting = new ArrayList<>();
+            for (Message message : batch) {
+                if (message.done() != null) {
+                    waiting.add(message.done());
+                    last |= message.last();
+                }
+                else if (error == null) {
+                    try {
+                        delegate.write(message.path(), message.text());
+                    }
+                    catch (WriteException e) {
+                        error = e;
+                    }
+                }
+            }
+            batch.clear();
+            try {
+                if (last) {
+                    delegate.close();
+                }
+                else {
+                    delegate.flush();
+                }
+            }
+            catch (WriteException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+            for (CountDownLatch done : waiting) {
+                done.countDown();
+            }
+        }
+    }
+}
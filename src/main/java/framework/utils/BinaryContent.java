@@ -0,0 +1,33 @@
+package framework.utils;
+
+/**
+ * Содержимое бинарного файла, записывается в заголовок файла
+ */
+public enum BinaryContent {
+    /**
+     * Задача коммивояжера: одна матрица пути
+     */
+    TSP,
+
+    /**
+     * Двухуровневая задача о назначениях: матрица стоимостей и матрица зарплат
+     */
+    CAP,
+
+    /**
+     * Задача о рюкзаке: максимальный вес, размер матрицы хрупкости и записи вещей
+     */
+    KP,
+
+    /**
+     * Решение задачи: стоимость и последовательность индексов (вершин или вещей)
+     */
+    SOLUTION;
+
+    /**
+     * @return код содержимого в заголовке файла
+     */
+    public int getCode() {
+        return ordinal() + 1;
+    }
+}
@@ -0,0 +1,195 @@
+package framework.utils;
+
+import framework.exception.ProblemException;
+import framework.matrix.CostMatrix;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static framework.utils.BinaryDataWriter.MAGIC;
+import static framework.utils.BinaryDataWriter.VERSION;
+
+/**
+ * Чтение бинарного файла, записанного {@link BinaryDataWriter}
+ * <p>
+ * Файл отображается в память окнами до 1 ГБ, матрицы копируются из окна в массив double одной
+ * операцией без разбора текста. Некорректный заголовок или недостаток данных - {@link IOException}
+ * (программа не завершается, как при {@link ProblemException}): вызывающий код решает, ошибка ли это данных
+ * задачи или, например, устаревший файл кэша.
+ */
+public class BinaryDataReader implements Closeable {
+    /**
+     * Максимальный размер окна отображения файла в память
+     */
+    private static final int MAP_SIZE = 1 << 30;
+
+    /**
+     * Путь к файлу
+     */
+    private final String path;
+
+    /**
+     * Канал чтения
+     */
+    private final FileChannel channel;
+
+    /**
+     * Размер файла
+     */
+    private final long size;
+
+    /**
+     * Текущее окно отображения файла
+     */
+    private ByteBuffer window = ByteBuffer.allocate(0);
+
+    /**
+     * Позиция начала текущего окна в файле
+     */
+    private long windowPosition;
+
+    /**
+     * Открытие файла и проверка заголовка
+     * @param path    - путь к файлу
+     * @param content - ожидаемое содержимое файла
+     * @throws IOException если файл не читается или заголовок не совпадает (другая версия, другое содержимое)
+     */
+    public BinaryDataReader(String path, BinaryContent content) throws IOException {
+        this.path = path;
+        channel = FileChannel.open(Path.of(path), StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            if (size < 4L * Integer.BYTES || getInt() != MAGIC || getInt() != VERSION || getInt() != content.getCode()) {
+                throw new IOException(String.format(ProblemException.BINARY_FORMAT_MESSAGE, path, content, VERSION));
+            }
+            getInt();
+        }
+        catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return целое число
+     */
+    public int getInt() throws IOException {
+        ensure(Integer.BYTES);
+        return window.getInt();
+    }
+
+    /**
+     * @return длинное целое число
+     */
+    public long getLong() throws IOException {
+        ensure(Long.BYTES);
+        return window.getLong();
+    }
+
+    /**
+     * @return вещественное число
+     */
+    public double getDouble() throws IOException {
+        ensure(Double.BYTES);
+        return window.getDouble();
+    }
+
+    /**
+     * @return строка в UTF-8
+     */
+    public String getString() throws IOException {
+        int length = getLength(Byte.BYTES);
+        ensure(length);
+        byte[] bytes = new byte[length];
+        window.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return массив целых чисел
+     */
+    public int[] getIntArray() throws IOException {
+        int length = getLength(Integer.BYTES);
+        ensure((long) length * Integer.BYTES);
+        int[] values = new int[length];
+        window.asIntBuffer().get(values);
+        window.position(window.position() + length * Integer.BYTES);
+        return values;
+    }
+
+    /**
+     * @return неизменяемая матрица, значения копируются из отображенного файла без разбора
+     * @throws IOException если размеры отрицательны, матрица больше массива или в файле не хватает значений
+     */
+    public CostMatrix getMatrix() throws IOException {
+        int rows = getInt();
+        int columns = getInt();
+        long count = (long) rows * columns;
+        if (rows < 0 || columns < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new IOException(String.format("Некорректный размер матрицы %d x %d в файле %s", rows, columns, path));
+        }
+        if (count * Double.BYTES > getRemaining()) {
+            throw new EOFException(ProblemException.LOW_DATA_IN_FILE_MESSAGE + ": " + path);
+        }
+        double[] values = new double[(int) count];
+        for (int from = 0; from < values.length; ) {
+            ensure(Double.BYTES);
+            DoubleBuffer doubles = window.asDoubleBuffer();
+            int length = Math.min(doubles.remaining(), values.length - from);
+            doubles.get(values, from, length);
+            window.position(window.position() + length * Double.BYTES);
+            from += length;
+        }
+        return CostMatrix.wrapReadOnly(rows, columns, values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * @return количество непрочитанных байтов файла
+     */
+    private long getRemaining() {
+        return size - windowPosition - window.position();
+    }
+
+    /**
+     * Чтение длины массива с проверкой, что массив помещается в оставшуюся часть файла
+     * @param elementBytes - размер элемента массива
+     */
+    private int getLength(int elementBytes) throws IOException {
+        int length = getInt();
+        if (length < 0 || (long) length * elementBytes > getRemaining()) {
+            throw new EOFException(ProblemException.LOW_DATA_IN_FILE_MESSAGE + ": " + path);
+        }
+        return length;
+    }
+
+    /**
+     * Проверка, что в текущем окне есть нужное количество байтов, иначе окно сдвигается на текущую позицию
+     * @param bytes - количество байтов
+     * @throws EOFException если в файле не хватает данных
+     */
+    private void ensure(long bytes) throws IOException {
+        if (window.remaining() >= bytes) {
+            return;
+        }
+        long position = windowPosition + window.position();
+        if (position + bytes > size) {
+            throw new EOFException(ProblemException.LOW_DATA_IN_FILE_MESSAGE + ": " + path);
+        }
+        long length = Math.min(Math.max(MAP_SIZE, bytes), size - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, length).order(ByteOrder.LITTLE_ENDIAN);
+        windowPosition = position;
+    }
+}
@@ -0,0 +1,179 @@
+package framework.utils;
+
+import framework.exception.WriteException;
+import framework.matrix.CostMatrix;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Запись бинарного файла задачи или решения
+ * <p>
+ * Формат: заголовок из 16 байт (сигнатура {@link #MAGIC}, версия {@link #VERSION}, код {@link BinaryContent},
+ * резерв 0), затем значения в порядке записи. Все числа little-endian, матрица - количество строк, количество
+ * столбцов и значения double построчно, строка - длина в байтах и байты UTF-8.
+ * Файл перезаписывается. При ошибке ввода-вывода бросается {@link WriteException}.
+ */
+public class BinaryDataWriter implements Closeable {
+    /**
+     * Сигнатура бинарного файла ("NPCR")
+     */
+    public static final int MAGIC = 0x5243504E;
+
+    /**
+     * Версия формата
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Размер буфера записи
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Путь к файлу
+     */
+    private final String path;
+
+    /**
+     * Канал записи
+     */
+    private final FileChannel channel;
+
+    /**
+     * Буфер записи
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Создание файла и запись заголовка
+     * @param path    - путь к файлу
+     * @param content - содержимое файла
+     */
+    public BinaryDataWriter(String path, BinaryContent content) {
+        this.path = path;
+        try {
+            channel = FileChannel.open(Path.of(path), CREATE, WRITE, TRUNCATE_EXISTING);
+        }
+        catch (IOException e) {
+            throw new WriteException(path, e);
+        }
+        putInt(MAGIC);
+        putInt(VERSION);
+        putInt(content.getCode());
+        putInt(0);
+    }
+
+    /**
+     * Запись целого числа
+     */
+    public BinaryDataWriter putInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        return this;
+    }
+
+    /**
+     * Запись длинного целого числа
+     */
+    public BinaryDataWriter putLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        return this;
+    }
+
+    /**
+     * Запись вещественного числа
+     */
+    public BinaryDataWriter putDouble(double value) {
+        ensure(Double.BYTES);
+        buffer.putDouble(value);
+        return this;
+    }
+
+    /**
+     * Запись строки: длина в байтах и байты UTF-8
+     */
+    public BinaryDataWriter putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        for (int from = 0; from < bytes.length; ) {
+            ensure(1);
+            int length = Math.min(buffer.remaining(), bytes.length - from);
+            buffer.put(bytes, from, length);
+            from += length;
+        }
+        return this;
+    }
+
+    /**
+     * Запись массива целых чисел: длина и значения
+     */
+    public BinaryDataWriter putIntArray(int[] values) {
+        putInt(values.length);
+        for (int value : values) {
+            putInt(value);
+        }
+        return this;
+    }
+
+    /**
+     * Запись матрицы: количество строк, количество столбцов и значения построчно
+     */
+    public BinaryDataWriter putMatrix(CostMatrix matrix) {
+        putInt(matrix.getRows());
+        putInt(matrix.getColumns());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getColumns(); j++) {
+                putDouble(matrix.get(i, j));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Запись остатка буфера и закрытие файла
+     */
+    @Override
+    public void close() {
+        try (channel) {
+            drain();
+        }
+        catch (IOException e) {
+            throw new WriteException(path, e);
+        }
+    }
+
+    /**
+     * Освобождение места в буфере под значение
+     * @param bytes - размер значения
+     */
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            try {
+                drain();
+            }
+            catch (IOException e) {
+                throw new WriteException(path, e);
+            }
+        }
+    }
+
+    /**
+     * Запись накопленного буфера в канал
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
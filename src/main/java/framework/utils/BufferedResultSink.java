@@ -0,0 +1,161 @@
+package framework.utils;
+
+import framework.exception.WriteException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Запись результатов через буферизованные потоки, открытые на все время работы
+ * <p>
+ * Для каждого файла поток открывается один раз. Число одновременно открытых файлов ограничено,
+ * при превышении закрывается файл, в который дольше всего не писали.
+ */
+public class BufferedResultSink implements ResultSink {
+    /**
+     * Размер буфера записи
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Максимальное количество одновременно открытых файлов по умолчанию
+     */
+    private static final int DEFAULT_MAX_OPEN_FILES = 16;
+
+    /**
+     * Сбрасывать ли буфер после каждого вызова записи
+     */
+    private final boolean flushOnWrite;
+
+    /**
+     * Максимальное количество одновременно открытых файлов
+     */
+    private final int maxOpenFiles;
+
+    /**
+     * Открытые потоки записи по путям файлов, в порядке последнего обращения
+     */
+    private final LinkedHashMap<String, BufferedWriter> writers = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Завершена ли запись
+     */
+    private boolean closed;
+
+    /**
+     * Запись с накоплением сообщений до {@link #flush()} или {@link #close()}
+     */
+    public BufferedResultSink() {
+        this(false);
+    }
+
+    /**
+     * @param flushOnWrite - сбрасывать буфер после каждого вызова записи (файл сразу содержит сообщения)
+     */
+    public BufferedResultSink(boolean flushOnWrite) {
+        this(flushOnWrite, DEFAULT_MAX_OPEN_FILES);
+    }
+
+    /**
+     * @param flushOnWrite - сбрасывать буфер после каждого вызова записи (файл сразу содержит сообщения)
+     * @param maxOpenFiles - максимальное количество одновременно открытых файлов
+     */
+    public BufferedResultSink(boolean flushOnWrite, int maxOpenFiles) {
+        this.flushOnWrite = flushOnWrite;
+        this.maxOpenFiles = Math.max(maxOpenFiles, 1);
+    }
+
+    @Override
+    public synchronized void write(String path, CharSequence... messages) {
+        BufferedWriter writer = getWriter(path);
+        try {
+            for (CharSequence message : messages) {
+                writer.append(message);
+            }
+            if (flushOnWrite) {
+                writer.flush();
+            }
+        }
+        catch (IOException e) {
+            throw new WriteException(path, e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        for (Map.Entry<String, BufferedWriter> entry : writers.entrySet()) {
+            try {
+                entry.getValue().flush();
+            }
+            catch (IOException e) {
+                throw new WriteException(entry.getKey(), e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        WriteException error = null;
+        for (Map.Entry<String, BufferedWriter> entry : new ArrayList<>(writers.entrySet())) {
+            try {
+                entry.getValue().close();
+            }
+            catch (IOException e) {
+                if (error == null) {
+                    error = new WriteException(entry.getKey(), e);
+                }
+            }
+        }
+        writers.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Получение открытого потока записи файла, при необходимости файл открывается на дозапись
+     * @param path - путь к файлу
+     */
+    private BufferedWriter getWriter(String path) {
+        if (closed) {
+            throw new WriteException(WriteException.CLOSED_MESSAGE);
+        }
+        BufferedWriter writer = writers.get(path);
+        if (writer != null) {
+            return writer;
+        }
+        if (writers.size() >= maxOpenFiles) {
+            Map.Entry<String, BufferedWriter> eldest = writers.entrySet().iterator().next();
+            writers.remove(eldest.getKey());
+            try {
+                eldest.getValue().close();
+            }
+            catch (IOException e) {
+                throw new WriteException(eldest.getKey(), e);
+            }
+        }
+        try {
+            FileChannel channel = FileChannel.open(Path.of(path), CREATE, WRITE, APPEND);
+            writer = new BufferedWriter(
+                    new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+                    BUFFER_SIZE
+            );
+        }
+        catch (IOException e) {
+            throw new WriteException(path, e);
+        }
+        writers.put(path, writer);
+        return writer;
+    }
+}
@@ -0,0 +1,276 @@
+package framework.utils;
+
+import framework.exception.ProblemException;
+import framework.matrix.CostMatrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.INF;
+import static framework.utils.WriteDataUtils.ENTER;
+import static framework.utils.WriteDataUtils.INF_STRING;
+
+/**
+ * Потоковый разбор матриц из файла сразу в массив double
+ * <p>
+ * Значения разделяются пробелами, строки - переносом строки, матрицы - пустой строкой.
+ * Значение - число или 'inf'. Числа до 19 значащих цифр с порядком не больше 22 переводятся в double
+ * без создания строк (точное умножение или деление на степень 10), остальные - через {@link Double#parseDouble}.
+ */
+class MatrixParser {
+    /**
+     * Размер буфера чтения
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Максимальная мантисса, точно представимая в double
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Точно представимые в double степени 10
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final byte[] INF_BYTES = INF_STRING.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Прочитанные матрицы
+     */
+    private final List<CostMatrix> matrices = new ArrayList<>();
+
+    /**
+     * Значения текущей матрицы, построчно
+     */
+    private double[] values = new double[16];
+
+    /**
+     * Количество значений текущей матрицы
+     */
+    private int size;
+
+    /**
+     * Количество строк текущей матрицы
+     */
+    private int rows;
+
+    /**
+     * Количество столбцов текущей матрицы (по первой строке), -1 - первая строка не прочитана
+     */
+    private int columns = -1;
+
+    /**
+     * Количество значений в текущей строке
+     */
+    private int rowValues;
+
+    /**
+     * Индекс текущей строки файла
+     */
+    private int line;
+
+    /**
+     * Текущее слово
+     */
+    private byte[] token = new byte[32];
+
+    /**
+     * Длина текущего слова
+     */
+    private int tokenLength;
+
+    /**
+     * Разбор всех матриц из канала
+     * @param channel - канал чтения
+     */
+    protected List<CostMatrix> parse(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        while (channel.read(buffer) != -1) {
+            accept(bytes, buffer.position());
+            buffer.clear();
+        }
+        endToken();
+        endLine();
+        endMatrix();
+        return matrices;
+    }
+
+    /**
+     * Обработка прочитанных байтов
+     * @param bytes - буфер
+     * @param limit - количество прочитанных байтов
+     */
+    private void accept(byte[] bytes, int limit) {
+        for (int i = 0; i < limit; i++) {
+            byte c = bytes[i];
+            if (c == ' ' || c == '\t' || c == '\r') {
+                endToken();
+            }
+            else if (c == ENTER) {
+                endToken();
+                endLine();
+            }
+            else {
+                if (tokenLength == token.length) {
+                    token = Arrays.copyOf(token, token.length * 2);
+                }
+                token[tokenLength++] = c;
+            }
+        }
+    }
+
+    /**
+     * Завершение слова: перевод в число и добавление в матрицу
+     */
+    private void endToken() {
+        if (tokenLength == 0) {
+            return;
+        }
+        double value = parseToken();
+        tokenLength = 0;
+        if (size == values.length) {
+            int capacity = columns > 0 ? Math.max(columns * columns, values.length * 2) : values.length * 2;
+            values = Arrays.copyOf(values, capacity);
+        }
+        values[size++] = value;
+        rowValues++;
+    }
+
+    /**
+     * Завершение строки, пустая строка завершает матрицу
+     */
+    private void endLine() {
+        if (rowValues == 0) {
+            endMatrix();
+        }
+        else {
+            if (columns == -1) {
+                columns = rowValues;
+            }
+            else if (rowValues != columns) {
+                try {
+                    throw new ProblemException(rows, columns, rowValues);
+                }
+                catch (ProblemException ignored) {}
+            }
+            rows++;
+            rowValues = 0;
+        }
+        line++;
+    }
+
+    /**
+     * Завершение текущей матрицы
+     */
+    private void endMatrix() {
+        if (rows == 0) {
+            return;
+        }
+        double[] matrix = values.length == size ? values : Arrays.copyOf(values, size);
+        matrices.add(CostMatrix.wrap(rows, columns, matrix));
+        values = new double[16];
+        size = 0;
+        rows = 0;
+        columns = -1;
+    }
+
+    /**
+     * Перевод слова в число
+     */
+    private double parseToken() {
+        if (tokenLength == INF_BYTES.length && Arrays.equals(token, 0, tokenLength, INF_BYTES, 0, tokenLength)) {
+            return INF;
+        }
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean point = false;
+        boolean anyDigit = false;
+        for (; i < tokenLength; i++) {
+            int c = token[i];
+            if (c >= '0' && c <= '9') {
+                anyDigit = true;
+                if (mantissa != 0 || c != '0') {
+                    if (++digits > 18) {
+                        return parseSlow();
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                }
+                if (point) {
+                    exponent--;
+                }
+            }
+            else if (c == '.' && !point) {
+                point = true;
+            }
+            else if ((c == 'e' || c == 'E') && anyDigit && i + 1 < tokenLength) {
+                int power = parseExponent(i + 1);
+                if (power == Integer.MIN_VALUE) {
+                    return parseSlow();
+                }
+                exponent += power;
+                break;
+            }
+            else {
+                return parseSlow();
+            }
+        }
+        if (!anyDigit || mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return parseSlow();
+        }
+        double value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Разбор порядка числа
+     * @param from - индекс первого символа порядка
+     * @return порядок или Integer.MIN_VALUE, если порядок записан некорректно или слишком велик
+     */
+    private int parseExponent(int from) {
+        boolean negative = token[from] == '-';
+        int i = token[from] == '-' || token[from] == '+' ? from + 1 : from;
+        if (i == tokenLength || tokenLength - i > 3) {
+            return Integer.MIN_VALUE;
+        }
+        int power = 0;
+        for (; i < tokenLength; i++) {
+            int c = token[i];
+            if (c < '0' || c > '9') {
+                return Integer.MIN_VALUE;
+            }
+            power = power * 10 + (c - '0');
+        }
+        return negative ? -power : power;
+    }
+
+    /**
+     * Перевод слова в число через {@link Double#parseDouble}
+     */
+    private double parseSlow() {
+        String word = new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+        try {
+            return Double.parseDouble(word);
+        }
+        catch (NumberFormatException e) {
+            new ProblemException(line + 1);
+        }
+        return INF;
+    }
+}
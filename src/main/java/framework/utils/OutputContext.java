@@ -0,0 +1,13 @@
+package framework.utils;
+
+/**
+ * Контекст записи результатов одного решения: каталог файлов и индекс файла
+ * <p>
+ * Привязывается к потоку через {@link WriteDataUtils#runWithContext(OutputContext, Runnable)}. Пока контекст
+ * привязан, {@link WriteDataUtils#getFilePath()} и {@link WriteDataUtils#getPathId()} возвращают его значения
+ * вместо общих, поэтому задачи в разных потоках пишут каждая в свои файлы.
+ * @param filePath - путь к каталогу файлов (с разделителем в конце)
+ * @param pathId   - индекс файла (номер)
+ */
+public record OutputContext(String filePath, int pathId) {
+}
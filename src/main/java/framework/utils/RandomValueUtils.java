@@ -1,9 +1,28 @@
 package framework.utils;
 
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.INF;
+
 /**
  * Класс получения сгенерированных данных
+ * <p>
+ * Методы с зерном воспроизводимы: каждая строка матрицы получает свой {@link SplittableRandom}, зерно которого
+ * зависит только от общего зерна и номера строки, поэтому строки заполняются параллельно, а результат
+ * не зависит от количества потоков.
  */
 public class RandomValueUtils {
+    /**
+     * Количество строк, начиная с которого матрица заполняется параллельно
+     */
+    private static final int PARALLEL_ROWS = 128;
+
     /**
      * Генерация числа типа double в промежутке
      * @param min - минимальное целое значение
@@ -22,13 +41,226 @@ public class RandomValueUtils {
         return (int)getRandomNumber(min, max);
     }
 
+    /**
+     * @return случайное зерно для методов генерации с зерном
+     */
+    public static long getSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Генератор строки матрицы (или другой независимой части данных)
+     * @param seed - общее зерно
+     * @param row  - номер строки
+     */
+    public static SplittableRandom getRowRandom(long seed, int row) {
+        long value = seed ^ (row + 1) * 0x9E3779B97F4A7C15L;
+        value = (value ^ value >>> 33) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ value >>> 33) * 0xC4CEB9FE1A85EC53L;
+        return new SplittableRandom(value ^ value >>> 33);
+    }
+
+    /**
+     * Матрица пути со случайными весами ребер, отсутствующие ребра и диагональ - бесконечность
+     * @param seed        - зерно
+     * @param size        - количество вершин
+     * @param min         - минимальный вес
+     * @param max         - максимальный вес
+     * @param percentFull - процент заполненности матрицы (100 - полная матрица)
+     * @param isInteger   - целые/дробные числа
+     */
+    public static CostMatrix getPathMatrix(long seed, int size, int min, int max, int percentFull, boolean isInteger) {
+        double[] values = new double[size * size];
+        rows(size).forEach(i -> {
+            SplittableRandom random = getRowRandom(seed, i);
+            for (int j = 0; j < size; j++) {
+                values[i * size + j] = i != j && random.nextInt(100) < percentFull
+                        ? getValue(random, min, max, isInteger)
+                        : INF;
+            }
+        });
+        return CostMatrix.wrap(size, size, values);
+    }
+
+    /**
+     * Разреженный граф пути со случайными весами ребер: те же ребра и веса, что у {@link #getPathMatrix} с теми же
+     * параметрами, но без хранения отсутствующих ребер (память O(n + m))
+     * @param seed        - зерно
+     * @param size        - количество вершин
+     * @param min         - минимальный вес
+     * @param max         - максимальный вес
+     * @param percentFull - процент заполненности матрицы (100 - полная матрица)
+     * @param isInteger   - целые/дробные числа
+     */
+    public static SparseGraph getSparsePathGraph(
+            long seed,
+            int size,
+            int min,
+            int max,
+            int percentFull,
+            boolean isInteger
+    ) {
+        int[][] targets = new int[size][];
+        double[][] weights = new double[size][];
+        rows(size).forEach(i -> {
+            SplittableRandom random = getRowRandom(seed, i);
+            int capacity = Math.max(1, (int) ((long) size * percentFull / 100));
+            int[] rowTargets = new int[capacity];
+            double[] rowWeights = new double[capacity];
+            int count = 0;
+            for (int j = 0; j < size; j++) {
+                if (i != j && random.nextInt(100) < percentFull) {
+                    if (count == rowTargets.length) {
+                        rowTargets = Arrays.copyOf(rowTargets, 2 * count);
+                        rowWeights = Arrays.copyOf(rowWeights, 2 * count);
+                    }
+                    rowTargets[count] = j;
+                    rowWeights[count++] = getValue(random, min, max, isInteger);
+                }
+            }
+            targets[i] = Arrays.copyOf(rowTargets, count);
+            weights[i] = Arrays.copyOf(rowWeights, count);
+        });
+        return SparseGraph.fromRows(targets, weights);
+    }
+
+    /**
+     * Полная матрица со случайными значениями
+     * @param seed      - зерно
+     * @param rows      - количество строк
+     * @param columns   - количество столбцов
+     * @param min       - минимальное значение
+     * @param max       - максимальное значение
+     * @param isInteger - целые/дробные числа
+     */
+    public static CostMatrix getMatrix(long seed, int rows, int columns, int min, int max, boolean isInteger) {
+        double[] values = new double[rows * columns];
+        rows(rows).forEach(i -> {
+            SplittableRandom random = getRowRandom(seed, i);
+            for (int j = 0; j < columns; j++) {
+                values[i * columns + j] = getValue(random, min, max, isInteger);
+            }
+        });
+        return CostMatrix.wrap(rows, columns, values);
+    }
+
+    /**
+     * Матрица евклидовых расстояний между случайными точками квадрата [0, maxCoordinate) x [0, maxCoordinate)
+     * @param seed          - зерно
+     * @param size          - количество точек (вершин)
+     * @param maxCoordinate - размер стороны квадрата
+     * @param isInteger     - расстояния округляются до целых
+     */
+    public static CostMatrix getEuclideanMatrix(long seed, int size, int maxCoordinate, boolean isInteger) {
+        double[] x = new double[size];
+        double[] y = new double[size];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < size; i++) {
+            x[i] = random.nextDouble(maxCoordinate);
+            y[i] = random.nextDouble(maxCoordinate);
+        }
+        return getDistanceMatrix(x, y, isInteger);
+    }
+
+    /**
+     * Матрица евклидовых расстояний между точками, сгруппированными в кластеры
+     * <p>
+     * Центры кластеров равномерно распределены в квадрате [0, maxCoordinate) x [0, maxCoordinate),
+     * точки - нормально вокруг случайного центра со стандартным отклонением spread.
+     * @param seed          - зерно
+     * @param size          - количество точек (вершин)
+     * @param clusters      - количество кластеров
+     * @param maxCoordinate - размер стороны квадрата
+     * @param spread        - стандартное отклонение точек от центра кластера
+     * @param isInteger     - расстояния округляются до целых
+     */
+    public static CostMatrix getClusteredMatrix(
+            long seed,
+            int size,
+            int clusters,
+            int maxCoordinate,
+            double spread,
+            boolean isInteger
+    ) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] centerX = new double[clusters];
+        double[] centerY = new double[clusters];
+        for (int i = 0; i < clusters; i++) {
+            centerX[i] = random.nextDouble(maxCoordinate);
+            centerY[i] = random.nextDouble(maxCoordinate);
+        }
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            int cluster = random.nextInt(clusters);
+            x[i] = centerX[cluster] + random.nextGaussian() * spread;
+            y[i] = centerY[cluster] + random.nextGaussian() * spread;
+        }
+        return getDistanceMatrix(x, y, isInteger);
+    }
+
+    /**
+     * Матрица евклидовых расстояний между точками, диагональ - бесконечность
+     * @param x         - абсциссы точек
+     * @param y         - ординаты точек
+     * @param isInteger - расстояния округляются до целых
+     */
+    private static CostMatrix getDistanceMatrix(double[] x, double[] y, boolean isInteger) {
+        int size = x.length;
+        double[] values = new double[size * size];
+        rows(size).forEach(i -> {
+            for (int j = 0; j < size; j++) {
+                double dx = x[i] - x[j];
+                double dy = y[i] - y[j];
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                values[i * size + j] = i == j ? INF : isInteger ? Math.round(distance) : distance;
+            }
+        });
+        return CostMatrix.wrap(size, size, values);
+    }
+
+    /**
+     * Генерация числа типа double в промежутке [min, max) переданным генератором
+     * @param random - генератор
+     * @param min    - минимальное целое значение
+     * @param max    - максимальное целое значение
+     */
+    public static double getDoubleValue(SplittableRandom random, int min, int max) {
+        return max <= min ? min : random.nextDouble(min, max);
+    }
+
+    /**
+     * Генерация числа типа integer в промежутке [min, max) переданным генератором
+     * @param random - генератор
+     * @param min    - минимальное целое значение
+     * @param max    - максимальное целое значение
+     */
+    public static int getIntegerValue(SplittableRandom random, int min, int max) {
+        return max <= min ? min : random.nextInt(min, max);
+    }
+
+    /**
+     * Генерация целого или дробного числа в промежутке [min, max)
+     */
+    private static double getValue(SplittableRandom random, int min, int max, boolean isInteger) {
+        return isInteger ? getIntegerValue(random, min, max) : getDoubleValue(random, min, max);
+    }
+
+    /**
+     * Номера строк матрицы, для больших матриц - параллельный поток
+     */
+    private static IntStream rows(int size) {
+        IntStream rows = IntStream.range(0, size);
+        return size >= PARALLEL_ROWS ? rows.parallel() : rows;
+    }
+
     /**
      * Генерация числа в промежутке
      * @param min  - минимальное целое значение
      * @param max  - максимальное целое значение
      */
     private static double getRandomNumber(int min, int max) {
-        double rand = Math.random();
+        double rand = ThreadLocalRandom.current().nextDouble();
         return (rand * (max - min)) + min;
     }
 }
@@ -1,9 +1,16 @@
 package framework.utils;
 
 import framework.exception.ProblemException;
+import framework.matrix.CostMatrix;
 
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -16,6 +23,11 @@ import static framework.utils.WriteDataUtils.INF_STRING;
  * Класс чтения из файла
  */
 public class ReadDataUtils {
+    /**
+     * Размер буфера чтения
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
     /**
      * Чтение данных из файла и разбиение считанного по словам и строкам
      * @param file - путь к файлу
@@ -23,15 +35,15 @@ public class ReadDataUtils {
     public static List<List<String>> read(String file) {
         List<List<String>> text = new ArrayList<>();
         List<String> line = new ArrayList<>();
-        String word = "";
+        StringBuilder word = new StringBuilder();
         int flagNewComponent = 0;
-        try(FileReader reader = new FileReader(file))
+        try(Reader reader = new BufferedReader(new FileReader(file), BUFFER_SIZE))
         {
             int c;
             while((c = reader.read()) != -1) {
                 if (c == ' ') {
-                    line.add(word);
-                    word = "";
+                    line.add(word.toString());
+                    word.setLength(0);
                     continue;
                 }
                 if (c == ENTER) {
@@ -41,17 +53,17 @@ public class ReadDataUtils {
                         flagNewComponent = 0;
                     }
                     else {
-                        line.add(word);
+                        line.add(word.toString());
                         text.add(line);
                         line = new ArrayList<>();
-                        word = "";
+                        word.setLength(0);
                     }
                     continue;
                 }
                 flagNewComponent = 0;
-                word += ((char) c);
+                word.append((char) c);
             }
-            line.add(word);
+            line.add(word.toString());
             text.add(line);
         }
         catch(IOException ex){
@@ -60,6 +72,69 @@ public class ReadDataUtils {
         return text;
     }
 
+    /**
+     * Потоковое чтение матриц из файла сразу в массивы double, матрицы в файле разделены пустой строкой
+     * @param file - путь к файлу
+     */
+    public static List<CostMatrix> readMatrices(String file) {
+        try (FileChannel channel = FileChannel.open(Path.of(file), StandardOpenOption.READ)) {
+            return readMatrices(channel);
+        }
+        catch (IOException ex) {
+            System.out.println(ex.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Потоковое чтение заданного количества матриц из файла
+     * @param file  - путь к файлу
+     * @param count - ожидаемое количество матриц
+     */
+    public static List<CostMatrix> readMatrices(String file, int count) {
+        List<CostMatrix> matrices = readMatrices(file);
+        try {
+            if (matrices.size() < count) {
+                throw new ProblemException(ProblemException.LOW_DATA_IN_FILE_MESSAGE);
+            }
+        }
+        catch (ProblemException ignored) {}
+        return matrices;
+    }
+
+    /**
+     * Потоковое чтение матриц из канала сразу в массивы double, матрицы разделены пустой строкой
+     * @param channel - канал чтения
+     */
+    public static List<CostMatrix> readMatrices(ReadableByteChannel channel) throws IOException {
+        return new MatrixParser().parse(channel);
+    }
+
+    /**
+     * Чтение заданного количества матриц из бинарного файла, записанного {@link WriteDataUtils#writeBinaryMatrices}
+     * @param file    - путь к файлу
+     * @param content - ожидаемое содержимое файла
+     * @param count   - количество матриц
+     */
+    public static List<CostMatrix> readBinaryMatrices(String file, BinaryContent content, int count) {
+        List<CostMatrix> matrices = new ArrayList<>(count);
+        try (BinaryDataReader reader = new BinaryDataReader(file, content)) {
+            for (int i = 0; i < count; i++) {
+                matrices.add(reader.getMatrix());
+            }
+        }
+        catch (IOException ex) {
+            new ProblemException(ex.getMessage());
+        }
+        try {
+            if (matrices.size() < count) {
+                throw new ProblemException(ProblemException.LOW_DATA_IN_FILE_MESSAGE);
+            }
+        }
+        catch (ProblemException ignored) {}
+        return matrices;
+    }
+
     /**
      * Чтение матрицы пути из переданного файла в виде списка из строк и слов
      * @param file  - список из слов и строк
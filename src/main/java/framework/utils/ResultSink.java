@@ -0,0 +1,29 @@
+package framework.utils;
+
+import java.io.Closeable;
+
+/**
+ * Получатель результатов, записываемых в файлы
+ * <p>
+ * Сообщения дописываются в конец файла. При ошибке ввода-вывода бросается
+ * {@link framework.exception.WriteException}.
+ */
+public interface ResultSink extends Closeable {
+    /**
+     * Запись сообщений в конец файла по переданному пути
+     * @param path     - путь к файлу
+     * @param messages - список текстов сообщений
+     */
+    void write(String path, CharSequence... messages);
+
+    /**
+     * Сброс всех накопленных сообщений в файлы
+     */
+    void flush();
+
+    /**
+     * Сброс накопленных сообщений и закрытие всех файлов
+     */
+    @Override
+    void close();
+}
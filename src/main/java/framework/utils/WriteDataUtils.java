@@ -1,10 +1,10 @@
 package framework.utils;
 
-import org.slf4j.LoggerFactory;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
 
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 /**
  * Класс с данными по записи значений в файл
@@ -14,6 +14,7 @@ public class WriteDataUtils {
     public static final String DOUBLE_ENTER = "\n\n";
     public static final String PATH = "%s_%s_%d.txt";
     public static final String EXACT_SOLUTION = "exactSolution";
+    public static final String HEURISTIC_SOLUTION = "heuristicSolution";
     public static final String DATA = "data";
     public static final String INF_STRING = "inf";
     public static final String TIME = "Время решения %f секунд";
@@ -33,29 +34,90 @@ public class WriteDataUtils {
     /**
      * Путь к файлу
      */
-    private static String pathFile = DEFAULT_PATH_FILE;
+    private static volatile String pathFile = DEFAULT_PATH_FILE;
 
     /**
      * Индекс файла
      */
-    private static int pathId = DEFAULT_PATH_ID;
+    private static volatile int pathId = DEFAULT_PATH_ID;
 
     /**
-     * @return путь к файлу
+     * Контекст записи, привязанный к потоку, null - используются общие путь и индекс
+     */
+    private static final ThreadLocal<OutputContext> CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Получатель записываемых результатов
+     * <p>
+     * По умолчанию файлы держатся открытыми, а буфер сбрасывается после каждого вызова записи,
+     * поэтому файл сразу содержит все записанные сообщения
+     */
+    private static ResultSink resultSink = new BufferedResultSink(true);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WriteDataUtils::closeResultSink));
+    }
+
+    /**
+     * @return путь к файлу (из контекста потока, если он привязан)
      */
     public static String getFilePath() {
-        return pathFile;
+        OutputContext context = CONTEXT.get();
+        return context == null ? pathFile : context.filePath();
     }
 
     /**
-     * @return индекс файла (номер)
+     * @return индекс файла (номер) (из контекста потока, если он привязан)
      */
     public static int getPathId() {
-        return pathId;
+        OutputContext context = CONTEXT.get();
+        return context == null ? pathId : context.pathId();
+    }
+
+    /**
+     * @return контекст записи текущего потока или общие путь и индекс
+     */
+    public static OutputContext getContext() {
+        OutputContext context = CONTEXT.get();
+        return context == null ? new OutputContext(pathFile, pathId) : context;
+    }
+
+    /**
+     * Выполнение действия с контекстом записи, привязанным к текущему потоку
+     * @param context - контекст записи
+     * @param action  - действие
+     * @return результат действия
+     */
+    public static <T> T callWithContext(OutputContext context, Supplier<T> action) {
+        OutputContext previous = CONTEXT.get();
+        CONTEXT.set(context);
+        try {
+            return action.get();
+        }
+        finally {
+            if (previous == null) {
+                CONTEXT.remove();
+            }
+            else {
+                CONTEXT.set(previous);
+            }
+        }
     }
 
     /**
-     * Установить новый путь к файлу
+     * Выполнение действия с контекстом записи, привязанным к текущему потоку
+     * @param context - контекст записи
+     * @param action  - действие
+     */
+    public static void runWithContext(OutputContext context, Runnable action) {
+        callWithContext(context, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Установить новый общий путь к файлу (контекст, привязанный к потоку, его перекрывает)
      * @param path - путь к файлу
      */
     public static void setPath(String path) {
@@ -63,13 +125,50 @@ public class WriteDataUtils {
     }
 
     /**
-     * Установить новый индекс файла (номер)
+     * Установить новый общий индекс файла (номер) (контекст, привязанный к потоку, его перекрывает)
      * @param pathId - индекс файла (номер)
      */
     public static void setPathId(int pathId) {
         WriteDataUtils.pathId = pathId;
     }
 
+    /**
+     * @return текущий получатель записываемых результатов
+     */
+    public static synchronized ResultSink getResultSink() {
+        return resultSink;
+    }
+
+    /**
+     * Установить нового получателя записываемых результатов, предыдущий сбрасывается и закрывается
+     * @param resultSink - получатель результатов
+     */
+    public static void setResultSink(ResultSink resultSink) {
+        ResultSink previous;
+        synchronized (WriteDataUtils.class) {
+            previous = WriteDataUtils.resultSink;
+            WriteDataUtils.resultSink = resultSink;
+        }
+        previous.close();
+    }
+
+    /**
+     * Сброс всех накопленных результатов в файлы
+     */
+    public static void flush() {
+        getResultSink().flush();
+    }
+
+    /**
+     * Закрытие текущего получателя результатов при завершении программы
+     */
+    private static void closeResultSink() {
+        try {
+            getResultSink().close();
+        }
+        catch (RuntimeException ignored) {}
+    }
+
     /**
      * Запись значений из массива в файл по переданному пути
      * @param path        - путь к файлу
@@ -81,31 +180,74 @@ public class WriteDataUtils {
             ArrayList<ArrayList<Double>> listArray,
             String textMessage
     ) {
-            StringBuilder strArray = new StringBuilder(String.format("%s:\n", textMessage));
-            for (ArrayList<Double> array : listArray) {
-                strArray.append(array).append("\n");
+        ResultSink sink = getResultSink();
+        sink.write(path, textMessage, ":\n");
+        for (ArrayList<Double> array : listArray) {
+            sink.write(path, array.toString(), "\n");
+        }
+        sink.write(path, "\n");
+    }
+
+    /**
+     * Запись значений матрицы в файл по переданному пути
+     * @param path        - путь к файлу
+     * @param matrix      - матрица значений
+     * @param textMessage - текст сообщения
+     */
+    public static void writeArray(String path, CostMatrix matrix, String textMessage) {
+        ResultSink sink = getResultSink();
+        sink.write(path, textMessage, ":\n");
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            row.setLength(0);
+            matrix.appendRow(i, row);
+            row.append("\n");
+            sink.write(path, row);
+        }
+        sink.write(path, "\n");
+    }
+
+    /**
+     * Запись разреженного графа в файл: по строке исходящих ребер на вершину, размер файла O(n + m)
+     * @param path        - путь к файлу
+     * @param graph       - разреженный граф
+     * @param textMessage - текст сообщения
+     */
+    public static void writeArray(String path, SparseGraph graph, String textMessage) {
+        ResultSink sink = getResultSink();
+        sink.write(path, textMessage, ":\n");
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < graph.getSize(); i++) {
+            row.setLength(0);
+            graph.appendEdges(i, row);
+            row.append("\n");
+            sink.write(path, row);
+        }
+        sink.write(path, "\n");
+    }
+
+    /**
+     * Запись матриц в бинарный файл (файл перезаписывается)
+     * @param path     - путь к файлу
+     * @param content  - содержимое файла
+     * @param matrices - матрицы
+     * @throws framework.exception.WriteException при ошибке записи
+     */
+    public static void writeBinaryMatrices(String path, BinaryContent content, CostMatrix... matrices) {
+        try (BinaryDataWriter writer = new BinaryDataWriter(path, content)) {
+            for (CostMatrix matrix : matrices) {
+                writer.putMatrix(matrix);
             }
-            strArray.append("\n");
-            write(path, strArray.toString());
+        }
     }
 
     /**
-     * Запись значений в файл по переданному пути
+     * Запись значений в файл по переданному пути через {@link #getResultSink()}
      * @param path          - путь к файлу
      * @param writeMessages - список текстов сообщений
+     * @throws framework.exception.WriteException при ошибке записи
      */
     public static void write(String path, String ... writeMessages) {
-        try {
-            FileWriter writer = new FileWriter(path, true);
-            for (String writeMessage: writeMessages) {
-                writer.write(writeMessage);
-            }
-            writer.flush();
-            writer.close();
-        }
-        catch (IOException e) {
-            LoggerFactory.getLogger(WriteDataUtils.class).error(String.format("Ошибка вывода данных. Путь %s", path), e);
-            System.exit(1);
-        }
+        getResultSink().write(path, writeMessages);
     }
 }
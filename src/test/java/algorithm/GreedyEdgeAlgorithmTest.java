@@ -0,0 +1,220 @@
+package algorithm;
+
+import framework.algorithm.GreedyEdgeAlgorithm;
+import framework.algorithm.NeighborLists;
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Жадный алгоритм по ребрам: результат - цикл через все вершины с весом {@link GreedyEdgeAlgorithm#getMinWeight()},
+ * ребра совпадают с жадным выбором по отсортированному списку всех ребер (в том числе при исчерпании коротких
+ * списков соседей), разреженный граф без цикла достраивается отсутствующими ребрами
+ */
+public class GreedyEdgeAlgorithmTest {
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void symmetricTest() {
+        checkRandomMatrices(true);
+    }
+
+    @Test
+    public void asymmetricTest() {
+        checkRandomMatrices(false);
+    }
+
+    @Test
+    public void sparseFullGraphTest() {
+        Random random = new Random(3);
+        for (boolean symmetric : new boolean[] {true, false}) {
+            for (int size : new int[] {3, 20, 150}) {
+                CostMatrix matrix = getMatrix(random, size, symmetric);
+                GreedyEdgeAlgorithm dense = new GreedyEdgeAlgorithm(matrix);
+                dense.findPath();
+                GreedyEdgeAlgorithm sparse = new GreedyEdgeAlgorithm(SparseGraph.fromMatrix(matrix));
+                sparse.findPath();
+                Assertions.assertEquals(dense.getMinPath(), sparse.getMinPath());
+                Assertions.assertEquals(dense.getMinWeight(), sparse.getMinWeight(), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void sparseDisconnectedTest() {
+        SparseGraph graph = SparseGraph.fromRows(
+                new int[][] {{1, 2}, {0, 2}, {0, 1}, {4, 5}, {3, 5}, {3, 4}, {}},
+                new double[][] {{1, 2}, {1, 3}, {2, 3}, {4, 5}, {4, 6}, {5, 6}, {}}
+        );
+        GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(graph);
+        greedyEdgeAlgorithm.findPath();
+        List<Integer> path = greedyEdgeAlgorithm.getMinPath();
+        assertCycle(graph.getSize(), path);
+        Assertions.assertEquals(3, countMissingEdges(graph, path));
+        Assertions.assertEquals(getWeight(graph, path), greedyEdgeAlgorithm.getMinWeight(), DELTA);
+        Set<List<Integer>> edges = getEdges(path, true);
+        for (List<Integer> edge : List.of(List.of(0, 1), List.of(0, 2), List.of(3, 4), List.of(3, 5))) {
+            Assertions.assertTrue(edges.contains(edge), edge.toString());
+        }
+    }
+
+    @Test
+    public void sparseRandomTest() {
+        Random random = new Random(4);
+        for (int test = 0; test < 40; test++) {
+            boolean symmetric = test % 2 == 0;
+            int size = 2 + random.nextInt(60);
+            CostMatrix matrix = getMatrix(random, size, symmetric);
+            for (int i = 0; i < size; i++) {
+                for (int j = symmetric ? i + 1 : 0; j < size; j++) {
+                    if (random.nextInt(10) < 7) {
+                        matrix.set(i, j, INF);
+                        if (symmetric) {
+                            matrix.set(j, i, INF);
+                        }
+                    }
+                }
+            }
+            SparseGraph graph = SparseGraph.fromMatrix(matrix);
+            GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(graph);
+            greedyEdgeAlgorithm.findPath();
+            List<Integer> path = greedyEdgeAlgorithm.getMinPath();
+            assertCycle(size, path);
+            Assertions.assertEquals(getWeight(graph, path), greedyEdgeAlgorithm.getMinWeight(), DELTA);
+            Set<List<Integer>> expected = getGreedyEdges(matrix, symmetric);
+            Set<List<Integer>> edges = getEdges(path, symmetric);
+            Assertions.assertTrue(edges.containsAll(expected), "test " + test);
+            long closing = size - expected.size();
+            long missing = countMissingEdges(graph, path);
+            Assertions.assertTrue(closing == 1 ? missing <= 1 : missing == closing, "test " + test);
+        }
+    }
+
+    /**
+     * Сравнение с жадным выбором по всем ребрам для случайных матриц, в том числе с короткими списками соседей
+     */
+    private static void checkRandomMatrices(boolean symmetric) {
+        Random random = new Random(symmetric ? 1 : 2);
+        for (int test = 0; test < 60; test++) {
+            int size = 1 + random.nextInt(test < 40 ? 15 : 200);
+            CostMatrix matrix = getMatrix(random, size, symmetric);
+            for (int count : new int[] {1, 3, GreedyEdgeAlgorithm.DEFAULT_NEIGHBORS}) {
+                GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(
+                        matrix,
+                        NeighborLists.outgoing(matrix, count)
+                );
+                greedyEdgeAlgorithm.findPath();
+                List<Integer> path = greedyEdgeAlgorithm.getMinPath();
+                assertCycle(size, path);
+                double weight = IntStream.range(1, path.size())
+                        .mapToDouble(i -> matrix.get(path.get(i - 1), path.get(i)))
+                        .sum();
+                Assertions.assertEquals(weight, greedyEdgeAlgorithm.getMinWeight(), DELTA);
+                if (size > 2) {
+                    Set<List<Integer>> expected = getGreedyEdges(matrix, symmetric);
+                    Assertions.assertEquals(size - 1, expected.size());
+                    Assertions.assertTrue(getEdges(path, symmetric).containsAll(expected), "test " + test);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ребра жадного выбора по списку всех ребер конечного веса, отсортированному по весу
+     * (без замыкающих ребер)
+     */
+    private static Set<List<Integer>> getGreedyEdges(CostMatrix matrix, boolean symmetric) {
+        int size = matrix.getRows();
+        List<int[]> all = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = symmetric ? i + 1 : 0; j < size; j++) {
+                if (i != j && matrix.get(i, j) < INF) {
+                    all.add(new int[] {i, j});
+                }
+            }
+        }
+        all.sort(Comparator.comparingDouble(edge -> matrix.get(edge[0], edge[1])));
+        int[] fragment = IntStream.range(0, size).toArray();
+        int[] out = new int[size];
+        int[] in = new int[size];
+        Set<List<Integer>> edges = new HashSet<>();
+        for (int[] edge : all) {
+            int from = edge[0];
+            int to = edge[1];
+            boolean free = symmetric ? out[from] + in[from] < 2 && out[to] + in[to] < 2 : out[from] == 0 && in[to] == 0;
+            if (free && fragment[from] != fragment[to] && edges.size() < size - 1) {
+                out[from]++;
+                in[to]++;
+                int old = fragment[to];
+                for (int vertex = 0; vertex < size; vertex++) {
+                    if (fragment[vertex] == old) {
+                        fragment[vertex] = fragment[from];
+                    }
+                }
+                edges.add(List.of(from, to));
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Ребра цикла (у симметричного графа - от меньшей вершины к большей)
+     */
+    private static Set<List<Integer>> getEdges(List<Integer> path, boolean symmetric) {
+        Set<List<Integer>> edges = new HashSet<>();
+        for (int i = 1; i < path.size(); i++) {
+            int from = path.get(i - 1);
+            int to = path.get(i);
+            edges.add(symmetric ? List.of(Math.min(from, to), Math.max(from, to)) : List.of(from, to));
+        }
+        return edges;
+    }
+
+    /**
+     * Путь - цикл из вершины 0 через все вершины по одному разу
+     */
+    private static void assertCycle(int size, List<Integer> path) {
+        Assertions.assertEquals(size + 1, path.size());
+        Assertions.assertEquals(0, (int) path.get(0));
+        Assertions.assertEquals(0, (int) path.get(size));
+        Assertions.assertEquals(size, path.subList(0, size).stream().distinct().count());
+    }
+
+    private static long countMissingEdges(SparseGraph graph, List<Integer> path) {
+        return IntStream.range(1, path.size()).filter(i -> graph.get(path.get(i - 1), path.get(i)) >= INF).count();
+    }
+
+    private static double getWeight(SparseGraph graph, List<Integer> path) {
+        return IntStream.range(1, path.size()).mapToDouble(i -> graph.get(path.get(i - 1), path.get(i))).sum();
+    }
+
+    /**
+     * Полная матрица с различными весами ребер
+     */
+    private static CostMatrix getMatrix(Random random, int size, boolean symmetric) {
+        CostMatrix matrix = CostMatrix.filled(size, size, INF);
+        for (int i = 0; i < size; i++) {
+            for (int j = symmetric ? i + 1 : 0; j < size; j++) {
+                if (i != j) {
+                    double value = 1 + random.nextDouble() * 100;
+                    matrix.set(i, j, value);
+                    if (symmetric) {
+                        matrix.set(j, i, value);
+                    }
+                }
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,62 @@
+package algorithm;
+
+import framework.algorithm.HungarianAlgorithm;
+import framework.matrix.CostMatrix;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Венгерский алгоритм сравнивается с перебором всех перестановок
+ */
+public class HungarianAlgorithmTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void randomMatrixTest() {
+        Random random = new Random(1);
+        for (int test = 0; test < 50; test++) {
+            int size = 1 + test % 7;
+            CostMatrix matrix = CostMatrix.filled(size, size, 0);
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    matrix.set(i, j, test % 2 == 0 ? random.nextInt(20) : random.nextDouble() * 100);
+                }
+            }
+            HungarianAlgorithm hungarianAlgorithm = new HungarianAlgorithm(matrix);
+            hungarianAlgorithm.findAssignment();
+            ArrayList<Integer> assignment = hungarianAlgorithm.getAssignment();
+
+            Assertions.assertEquals(size, assignment.size());
+            Assertions.assertEquals(size, new HashSet<>(assignment).size(), "назначение не перестановка");
+            double weight = 0;
+            for (int i = 0; i < size; i++) {
+                weight += matrix.get(i, assignment.get(i));
+            }
+            double expected = getMinPermutation(matrix, new boolean[size], 0, 0);
+            Assertions.assertEquals(expected, hungarianAlgorithm.getMinWeight(), DELTA, "test " + test);
+            Assertions.assertEquals(expected, weight, DELTA, "test " + test);
+        }
+    }
+
+    /**
+     * Минимальный вес назначения перебором всех перестановок
+     */
+    private static double getMinPermutation(CostMatrix matrix, boolean[] used, int row, double weight) {
+        if (row == matrix.getRows()) {
+            return weight;
+        }
+        double min = Double.POSITIVE_INFINITY;
+        for (int column = 0; column < matrix.getColumns(); column++) {
+            if (!used[column]) {
+                used[column] = true;
+                min = Math.min(min, getMinPermutation(matrix, used, row + 1, weight + matrix.get(row, column)));
+                used[column] = false;
+            }
+        }
+        return min;
+    }
+}
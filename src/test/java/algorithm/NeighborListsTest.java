@@ -0,0 +1,101 @@
+package algorithm;
+
+import framework.algorithm.NeighborLists;
+import framework.matrix.CostMatrix;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Списки ближайших соседей сравниваются с сортировкой всей строки (при равном весе - по номеру вершины),
+ * в том числе при параллельном построении (не меньше 128 вершин)
+ */
+public class NeighborListsTest {
+    @Test
+    public void outgoingTest() {
+        checkRandomMatrices(NeighborLists::outgoing, (matrix, edge) -> matrix.get(edge[0], edge[1]));
+    }
+
+    @Test
+    public void incomingTest() {
+        checkRandomMatrices(NeighborLists::incoming, (matrix, edge) -> matrix.get(edge[1], edge[0]));
+    }
+
+    @Test
+    public void undirectedTest() {
+        checkRandomMatrices(
+                NeighborLists::undirected,
+                (matrix, edge) -> Math.min(matrix.get(edge[0], edge[1]), matrix.get(edge[1], edge[0]))
+        );
+    }
+
+    @Test
+    public void countTest() {
+        CostMatrix matrix = getMatrix(new Random(1), 5);
+        Assertions.assertEquals(4, NeighborLists.outgoing(matrix, 10).getCount());
+        Assertions.assertEquals(0, NeighborLists.outgoing(matrix, 0).getCount());
+        Assertions.assertEquals(0, NeighborLists.outgoing(matrix, -1).getCount());
+        NeighborLists single = NeighborLists.outgoing(getMatrix(new Random(2), 1), 3);
+        Assertions.assertEquals(1, single.getSize());
+        Assertions.assertEquals(0, single.getCount());
+        Assertions.assertEquals(0, single.toArrays()[0].length);
+    }
+
+    /**
+     * Списки для случайных матриц малого и большого (параллельное построение) размера
+     * @param lists  - построение списков по матрице и длине списка
+     * @param weight - вес ребра (вершина, сосед) в направлении списков
+     */
+    private static void checkRandomMatrices(
+            BiFunction<CostMatrix, Integer, NeighborLists> lists,
+            BiFunction<CostMatrix, int[], Double> weight
+    ) {
+        Random random = new Random(3);
+        for (int size : new int[] {2, 7, 40, 127, 128, 300}) {
+            CostMatrix matrix = getMatrix(random, size);
+            for (int count : new int[] {1, 5, 10, size - 1}) {
+                NeighborLists neighbors = lists.apply(matrix, count);
+                Assertions.assertEquals(size, neighbors.getSize());
+                Assertions.assertEquals(Math.min(count, size - 1), neighbors.getCount());
+                int[][] arrays = neighbors.toArrays();
+                for (int vertex = 0; vertex < size; vertex++) {
+                    int from = vertex;
+                    int[] expected = IntStream.range(0, size)
+                            .filter(other -> other != from)
+                            .boxed()
+                            .sorted(Comparator.comparingDouble(other -> weight.apply(matrix, new int[] {from, other})))
+                            .limit(neighbors.getCount())
+                            .mapToInt(Integer::intValue)
+                            .toArray();
+                    Assertions.assertArrayEquals(expected, arrays[vertex]);
+                    for (int k = 0; k < expected.length; k++) {
+                        Assertions.assertEquals(expected[k], neighbors.get(vertex, k));
+                        double expectedWeight = weight.apply(matrix, new int[] {vertex, expected[k]});
+                        Assertions.assertEquals(expectedWeight, neighbors.getWeight(vertex, k), 0);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Несимметричная матрица с частыми равными весами и отсутствующими ребрами (INF)
+     */
+    private static CostMatrix getMatrix(Random random, int size) {
+        CostMatrix matrix = CostMatrix.filled(size, size, INF);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (i != j && random.nextInt(10) > 0) {
+                    matrix.set(i, j, 1 + random.nextInt(20));
+                }
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,141 @@
+package anytime;
+
+import framework.anytime.Incumbent;
+import framework.anytime.SolveHandle;
+import framework.anytime.SolveResult;
+import framework.anytime.SolveStatus;
+import framework.cache.SolutionCache;
+import framework.kp.Kp;
+import framework.kp.KpSolveMethod;
+import framework.kp.KpThing;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Асинхронное решение: остановка по времени и отмена возвращают лучшее найденное решение, слушатель получает
+ * каждое улучшение рекорда, неоптимальное решение не сохраняется в кэш
+ */
+public class SolveHandleTest {
+    private static final double DELTA = 1e-9;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("anytime_test") + File.separator);
+    }
+
+    @After
+    public void tearDown() {
+        SolutionCache.setInstance(SolutionCache.disabled());
+    }
+
+    @Test
+    public void deadlineTest() {
+        Tsp tsp = Tsp.byRandomIntegerValues(1, 60, 1, 100, 100);
+        for (PathSolveMethod method : new PathSolveMethod[] {PathSolveMethod.EXHAUSTIVE, PathSolveMethod.PARALLEL}) {
+            long startTime = System.nanoTime();
+            SolveResult<List<Integer>> result = tsp.solveAsync(method, 300, null).join();
+            long elapsed = (System.nanoTime() - startTime) / 1_000_000L;
+            Assertions.assertEquals(SolveStatus.DEADLINE, result.status(), method.name());
+            Assertions.assertFalse(result.isOptimal());
+            Assertions.assertTrue(elapsed < 300 + 2000, "elapsed " + elapsed + " ms");
+            assertCycle(tsp, result);
+        }
+    }
+
+    @Test
+    public void cancelTest() throws InterruptedException {
+        Tsp tsp = Tsp.byRandomIntegerValues(2, 60, 1, 100, 100);
+        SolveHandle<List<Integer>> handle = tsp.solveAsync(PathSolveMethod.EXHAUSTIVE, 0, null);
+        Thread.sleep(200);
+        Assertions.assertFalse(handle.isDone());
+        Assertions.assertNotNull(handle.getBest());
+        handle.cancel();
+        SolveResult<List<Integer>> result = handle.join();
+        Assertions.assertEquals(SolveStatus.CANCELLED, result.status());
+        Assertions.assertTrue(handle.isDone());
+        assertCycle(tsp, result);
+        Assertions.assertTrue(result.cost() <= handle.getBest().cost() + DELTA);
+    }
+
+    @Test
+    public void tspListenerTest() {
+        for (PathSolveMethod method : PathSolveMethod.values()) {
+            Tsp tsp = Tsp.byRandomIntegerValues(3, 9, 1, 100, 100);
+            List<Incumbent<List<Integer>>> incumbents = new CopyOnWriteArrayList<>();
+            SolveResult<List<Integer>> result = tsp.solveAsync(method, 0, incumbents::add).join();
+            Assertions.assertEquals(SolveStatus.OPTIMAL, result.status(), method.name());
+            Assertions.assertFalse(incumbents.isEmpty(), method.name());
+            for (int i = 1; i < incumbents.size(); i++) {
+                Assertions.assertTrue(incumbents.get(i).cost() < incumbents.get(i - 1).cost(), method.name());
+                Assertions.assertTrue(incumbents.get(i).elapsed() >= incumbents.get(i - 1).elapsed());
+            }
+            Assertions.assertEquals(result.cost(), incumbents.get(incumbents.size() - 1).cost(), DELTA, method.name());
+        }
+    }
+
+    @Test
+    public void kpListenerTest() {
+        for (KpSolveMethod method : KpSolveMethod.values()) {
+            Kp kp = Kp.byRandomValues(4, 40, 8, 10, 1, 30, 1, 3, 1);
+            List<Incumbent<List<KpThing>>> incumbents = new CopyOnWriteArrayList<>();
+            SolveResult<List<KpThing>> result = kp.solveAsync(method, 0, incumbents::add).join();
+            Assertions.assertEquals(SolveStatus.OPTIMAL, result.status(), method.name());
+            Assertions.assertFalse(incumbents.isEmpty(), method.name());
+            for (int i = 1; i < incumbents.size(); i++) {
+                Assertions.assertTrue(incumbents.get(i).cost() > incumbents.get(i - 1).cost(), method.name());
+            }
+            Assertions.assertEquals(result.cost(), incumbents.get(incumbents.size() - 1).cost(), DELTA, method.name());
+        }
+    }
+
+    @Test
+    public void notOptimalNotCachedTest() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY, null);
+        SolutionCache.setInstance(cache);
+        Tsp tsp = Tsp.byRandomIntegerValues(5, 60, 1, 100, 100);
+        SolveResult<List<Integer>> result = tsp.solveAsync(PathSolveMethod.EXHAUSTIVE, 100, null).join();
+        Assertions.assertEquals(SolveStatus.DEADLINE, result.status());
+        Assertions.assertEquals(0, cache.size());
+
+        SolveHandle<List<Integer>> handle = tsp.solveAsync(PathSolveMethod.EXHAUSTIVE, 0, null);
+        handle.cancel();
+        Assertions.assertEquals(SolveStatus.CANCELLED, handle.join().status());
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getHits());
+
+        Tsp small = Tsp.byRandomIntegerValues(6, 7, 1, 100, 100);
+        result = small.solveAsync(PathSolveMethod.EXHAUSTIVE, 0, null).join();
+        Assertions.assertEquals(SolveStatus.OPTIMAL, result.status());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    /**
+     * Решение - цикл из вершины 0 через все вершины, его вес равен стоимости результата
+     */
+    private static void assertCycle(Tsp tsp, SolveResult<List<Integer>> result) {
+        List<Integer> path = result.solution();
+        int size = tsp.getPathMatrix().getRows();
+        Assertions.assertEquals(size + 1, path.size());
+        Assertions.assertEquals(path.get(0), path.get(size));
+        Assertions.assertEquals(size, path.subList(0, size).stream().distinct().count());
+        double weight = 0;
+        for (int i = 1; i < path.size(); i++) {
+            weight += tsp.getPathMatrix().get(path.get(i - 1), path.get(i));
+        }
+        Assertions.assertTrue(weight < INF);
+        Assertions.assertEquals(weight, result.cost(), DELTA);
+    }
+}
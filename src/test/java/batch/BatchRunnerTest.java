@@ -0,0 +1,113 @@
+package batch;
+
+import framework.batch.BatchResult;
+import framework.batch.BatchRunner;
+import framework.batch.BatchSummary;
+import framework.kp.Kp;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.BinaryContent;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Пакетное решение каталога: некорректный файл дает строку с ошибкой и не останавливает пакет, каждая задача
+ * пишет файлы в свой каталог со своим индексом, общий путь записи не используется
+ */
+public class BatchRunnerTest {
+    private Path shared;
+
+    private Path input;
+
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        shared = Files.createTempDirectory("batch_test");
+        WriteDataUtils.setPath(shared + File.separator);
+        input = Files.createTempDirectory("batch_input");
+        output = Files.createTempDirectory("batch_output");
+    }
+
+    @Test
+    public void directoryTest() throws IOException {
+        Kp kp = Kp.byRandomValues(1, 20, 8, 10, 1, 30, 1, 3, 1);
+        kp.writeBinaryFile(input.resolve("kp_valid.bin").toString());
+        Tsp.byRandomIntegerValues(2, 8, 1, 100, 100).writeBinaryFile(input.resolve("tsp_valid.bin").toString());
+        Files.writeString(input.resolve("tsp_broken.txt"), "1 2\nx y\n");
+        String[] sharedFiles = shared.toFile().list();
+
+        BatchRunner batchRunner = new BatchRunner(output.toString());
+        batchRunner.setIoThreads(2);
+        batchRunner.setSolveThreads(2);
+        BatchSummary summary = batchRunner.runDirectory(input.toString());
+
+        List<BatchResult> results = summary.results();
+        Assertions.assertEquals(3, results.size());
+        Assertions.assertEquals(2, summary.getSolved());
+        BatchResult kpResult = results.get(0);
+        Assertions.assertEquals("kp_valid", kpResult.job().name());
+        Assertions.assertEquals(BinaryContent.KP, kpResult.job().content());
+        Assertions.assertTrue(kpResult.isSuccess());
+        Assertions.assertEquals(kp.getNumberOfThings(), kpResult.size());
+        BatchResult brokenResult = results.get(1);
+        Assertions.assertEquals("tsp_broken", brokenResult.job().name());
+        Assertions.assertEquals(BinaryContent.TSP, brokenResult.job().content());
+        Assertions.assertFalse(brokenResult.job().binary());
+        Assertions.assertFalse(brokenResult.isSuccess());
+        Assertions.assertNotNull(brokenResult.error());
+        Assertions.assertEquals(-1, brokenResult.size());
+        Assertions.assertEquals(0, brokenResult.solveTime());
+        BatchResult tspResult = results.get(2);
+        Assertions.assertEquals("tsp_valid", tspResult.job().name());
+        Assertions.assertTrue(tspResult.isSuccess());
+        Assertions.assertEquals(8, tspResult.size());
+
+        String table = Files.readString(output.resolve(BatchRunner.SUMMARY_FILE), StandardCharsets.UTF_8);
+        Assertions.assertEquals(summary.toTable().trim(), table.trim());
+        Assertions.assertTrue(table.contains("Задач: 3, решено: 2, с ошибкой: 1."), table);
+        Assertions.assertTrue(table.contains("Ошибка: " + brokenResult.error()), table);
+
+        assertJobFiles("kp_valid", 0, "kp_data_0.txt", "kp_exactSolution_0.txt");
+        assertJobFiles("tsp_broken", 1);
+        assertJobFiles("tsp_valid", 2, "tsp_data_2.txt", "tsp_exactSolution_2.txt");
+        Assertions.assertEquals(sort(sharedFiles), sort(shared.toFile().list()));
+    }
+
+    @Test
+    public void emptyDirectoryTest() {
+        BatchSummary summary = new BatchRunner(output.toString()).runDirectory(input.toString());
+        Assertions.assertTrue(summary.results().isEmpty());
+        Assertions.assertEquals(0, summary.getSolved());
+        Assertions.assertTrue(Files.exists(output.resolve(BatchRunner.SUMMARY_FILE)));
+    }
+
+    /**
+     * Каталог задачи содержит нужные файлы, и все его файлы записаны с индексом задачи
+     */
+    private void assertJobFiles(String name, int pathId, String... expected) {
+        File directory = output.resolve(name).toFile();
+        Assertions.assertTrue(directory.isDirectory(), name);
+        List<String> files = Arrays.asList(directory.list());
+        for (String file : expected) {
+            Assertions.assertTrue(files.contains(file), name + ": " + files);
+        }
+        for (String file : files) {
+            Assertions.assertTrue(file.endsWith("_" + pathId + ".txt"), name + ": " + file);
+        }
+        Assertions.assertEquals(expected.length == 0, files.isEmpty(), name + ": " + files);
+    }
+
+    private static List<String> sort(String[] files) {
+        return Arrays.stream(files).sorted().toList();
+    }
+}
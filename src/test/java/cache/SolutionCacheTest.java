@@ -0,0 +1,131 @@
+package cache;
+
+import framework.cache.CachedSolution;
+import framework.cache.SolutionCache;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Кэш решений: вытеснение, счетчики обращений, сохранение на диск и непригодные файлы решений
+ */
+public class SolutionCacheTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("cache_test") + File.separator);
+        directory = Files.createTempDirectory("cache_dir");
+    }
+
+    @After
+    public void tearDown() {
+        SolutionCache.setInstance(SolutionCache.disabled());
+    }
+
+    @Test
+    public void disabledTest() {
+        Assertions.assertFalse(SolutionCache.disabled().isEnabled());
+        SolutionCache cache = new SolutionCache(0, directory.toString());
+        cache.put("key", getSolution(1));
+        Assertions.assertNull(cache.get("key"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertFalse(Files.exists(directory.resolve("key.bin")));
+    }
+
+    @Test
+    public void evictionTest() {
+        SolutionCache cache = new SolutionCache(2, null);
+        cache.put("a", getSolution(1));
+        cache.put("b", getSolution(2));
+        Assertions.assertNotNull(cache.get("a"));
+        cache.put("c", getSolution(3));
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertEquals(1, cache.get("a").cost(), 0);
+        Assertions.assertEquals(3, cache.get("c").cost(), 0);
+    }
+
+    @Test
+    public void countersTest() {
+        SolutionCache cache = new SolutionCache(4, null);
+        Assertions.assertNull(cache.get("a"));
+        cache.put("a", getSolution(1));
+        cache.get("a");
+        cache.get("a");
+        Assertions.assertEquals(2, cache.getHits());
+        Assertions.assertEquals(0, cache.getDiskHits());
+        Assertions.assertEquals(1, cache.getMisses());
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.getHits());
+        Assertions.assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void diskRoundTripTest() {
+        CachedSolution expected = getSolution(7.25);
+        new SolutionCache(4, directory.toString()).put("key", expected);
+        SolutionCache cache = new SolutionCache(4, directory.toString());
+        CachedSolution actual = cache.get("key");
+        Assertions.assertNotNull(actual);
+        Assertions.assertEquals(expected.cost(), actual.cost(), 0);
+        Assertions.assertEquals(expected.weight(), actual.weight());
+        Assertions.assertEquals(expected.time(), actual.time());
+        Assertions.assertEquals(expected.paths().length, actual.paths().length);
+        for (int i = 0; i < expected.paths().length; i++) {
+            Assertions.assertArrayEquals(expected.paths()[i], actual.paths()[i]);
+        }
+        Assertions.assertEquals(1, cache.getDiskHits());
+        cache.get("key");
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void corruptFileTest() throws IOException {
+        Path file = directory.resolve("key.bin");
+        Files.write(file, new byte[] {1, 2, 3});
+        assertMiss(file);
+
+        new SolutionCache(4, directory.toString()).put("key", getSolution(1));
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 4));
+        assertMiss(file);
+    }
+
+    @Test
+    public void solveFromCacheTest() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_CAPACITY, null);
+        SolutionCache.setInstance(cache);
+        Tsp tsp = Tsp.byRandomIntegerValues(1, 7, 1, 50, 100);
+        double expected = tsp.solveAsync(PathSolveMethod.HELD_KARP, 0, null).join().cost();
+        Assertions.assertEquals(1, cache.getMisses());
+        double actual = tsp.solveAsync(PathSolveMethod.HELD_KARP, 0, null).join().cost();
+        Assertions.assertEquals(expected, actual, 0);
+        Assertions.assertEquals(1, cache.getHits());
+    }
+
+    /**
+     * Непригодный файл решения считается промахом и удаляется
+     */
+    private void assertMiss(Path file) {
+        SolutionCache cache = new SolutionCache(4, directory.toString());
+        Assertions.assertNull(cache.get("key"));
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertFalse(Files.exists(file));
+    }
+
+    private static CachedSolution getSolution(double cost) {
+        return new CachedSolution(cost, 3, 1000L, new int[][] {{0, 2, 1, 0}, {}});
+    }
+}
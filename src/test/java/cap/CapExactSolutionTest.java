@@ -0,0 +1,107 @@
+package cap;
+
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Точные способы решения двухуровневой задачи о назначениях и сведение к задаче коммивояжера
+ */
+public class CapExactSolutionTest {
+    private static final double DELTA = 1e-9;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("cap_test") + File.separator);
+    }
+
+    @Test
+    public void heldKarpTest() {
+        compareWithExhaustive(PathSolveMethod.HELD_KARP);
+    }
+
+    @Test
+    public void branchAndBoundTest() {
+        compareWithExhaustive(PathSolveMethod.BRANCH_AND_BOUND);
+    }
+
+    @Test
+    public void parallelTest() {
+        compareWithExhaustive(PathSolveMethod.PARALLEL);
+    }
+
+    @Test
+    public void toTspGraphTest() {
+        for (int seed = 0; seed < 10; seed++) {
+            Cap cap = getCap(seed);
+            Tsp tsp = cap.toTsp();
+            CostMatrix dense = getDenseTspMatrix(cap);
+            SparseGraph graph = tsp.getSparseGraph();
+            Assertions.assertArrayEquals(dense.toArray(), graph.toCostMatrix().toArray(), "seed " + seed);
+            for (int i = 0; i < graph.getSize(); i++) {
+                for (int j = 0; j < graph.getSize(); j++) {
+                    Assertions.assertEquals(dense.get(i, j), graph.get(i, j), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void toTspSolveTest() {
+        for (int seed = 0; seed < 6; seed++) {
+            Cap cap = getCap(seed);
+            Tsp dense = Tsp.byMatrix(getDenseTspMatrix(cap));
+            double expected = solve(dense, PathSolveMethod.HELD_KARP);
+            for (PathSolveMethod method : PathSolveMethod.values()) {
+                Assertions.assertEquals(expected, solve(cap.toTsp(), method), DELTA, method + " " + seed);
+            }
+        }
+    }
+
+    private void compareWithExhaustive(PathSolveMethod method) {
+        for (int seed = 0; seed < 12; seed++) {
+            Cap cap = getCap(seed);
+            double expected = cap.solveAsync(PathSolveMethod.EXHAUSTIVE, 0, null).join().cost();
+            double actual = cap.solveAsync(method, 0, null).join().cost();
+            Assertions.assertEquals(expected, actual, DELTA, method + " " + seed);
+        }
+    }
+
+    private static Cap getCap(int seed) {
+        int size = 2 + seed % 3;
+        return seed % 2 == 0
+                ? Cap.byRandomIntegerValues(seed, size, 1, 30, 1, 30)
+                : Cap.byRandomDoubleValues(seed, size, 1, 30, 1, 30);
+    }
+
+    private static double solve(Tsp tsp, PathSolveMethod method) {
+        return tsp.solveAsync(method, 0, null).join().cost();
+    }
+
+    /**
+     * Плотная матрица сведения размера 2n: из i в n + j - (зарплата - 0.1 / стоимость), из n + i в i - 0
+     */
+    private static CostMatrix getDenseTspMatrix(Cap cap) {
+        int count = cap.getSizeProblem();
+        CostMatrix paths = CostMatrix.filled(2 * count, 2 * count, INF);
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < count; j++) {
+                paths.set(i, count + j, cap.getSalaryMatrix().get(i, j) - 0.1 / cap.getCostMatrix().get(i, j));
+            }
+            paths.set(count + i, i, 0.0);
+        }
+        return paths;
+    }
+}
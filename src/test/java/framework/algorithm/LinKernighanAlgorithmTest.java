@@ -0,0 +1,101 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Random;
+
+import static framework.algorithm.LocalSearchAlgorithmTest.assertValidPath;
+import static framework.algorithm.LocalSearchAlgorithmTest.getMatrix;
+import static framework.algorithm.LocalSearchAlgorithmTest.getWeight;
+
+/**
+ * Эвристика Лина-Кернигана: найденный путь - перестановка вершин с весом {@link LinKernighanAlgorithm#getMinWeight()},
+ * не хуже жадного цикла по ребрам и локального минимума первого начального цикла, при одном зерне результат
+ * воспроизводится
+ */
+public class LinKernighanAlgorithmTest {
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void symmetricTest() {
+        checkRandomInstances(true);
+    }
+
+    @Test
+    public void asymmetricTest() {
+        checkRandomInstances(false);
+    }
+
+    @Test
+    public void seedTest() {
+        Random random = new Random(7);
+        for (boolean symmetric : new boolean[] {true, false}) {
+            CostMatrix matrix = getMatrix(random, 120, symmetric);
+            int candidates = LinKernighanAlgorithm.DEFAULT_CANDIDATES;
+            LinKernighanAlgorithm first = new LinKernighanAlgorithm(matrix, candidates, 42);
+            LinKernighanAlgorithm second = new LinKernighanAlgorithm(matrix, candidates, 42);
+            first.findPath(0, 50, 3);
+            second.findPath(0, 50, 3);
+            Assertions.assertEquals(first.getMinPath(), second.getMinPath());
+            Assertions.assertEquals(first.getMinWeight(), second.getMinWeight(), 0);
+            Assertions.assertEquals(first.getKicks(), second.getKicks());
+            Assertions.assertEquals(first.getAcceptedKicks(), second.getAcceptedKicks());
+            Assertions.assertEquals(first.getLinKernighanMoves(), second.getLinKernighanMoves());
+        }
+    }
+
+    @Test
+    public void timeLimitTest() {
+        Random random = new Random(8);
+        CostMatrix matrix = getMatrix(random, 800, true);
+        LinKernighanAlgorithm linKernighanAlgorithm = new LinKernighanAlgorithm(matrix);
+        long timeLimit = 50;
+        long startTime = System.nanoTime();
+        linKernighanAlgorithm.findPath(timeLimit, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        long elapsed = (System.nanoTime() - startTime) / 1_000_000L;
+        Assertions.assertTrue(elapsed < timeLimit + 1000, "elapsed " + elapsed + " ms");
+        assertValidPath(matrix, linKernighanAlgorithm.getMinPath(), linKernighanAlgorithm.getMinWeight());
+    }
+
+    private static void checkRandomInstances(boolean symmetric) {
+        Random random = new Random(symmetric ? 1 : 2);
+        long moves = 0;
+        for (int test = 0; test < 60; test++) {
+            int size = 3 + random.nextInt(test < 40 ? 15 : 120);
+            CostMatrix matrix = getMatrix(random, size, symmetric);
+            GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(matrix);
+            greedyEdgeAlgorithm.findPath();
+            CheckedLinKernighan linKernighanAlgorithm = new CheckedLinKernighan(matrix, test);
+            linKernighanAlgorithm.findPath(0, 20, 2);
+            assertValidPath(matrix, linKernighanAlgorithm.getMinPath(), linKernighanAlgorithm.getMinWeight());
+            double weight = linKernighanAlgorithm.getMinWeight();
+            double greedyWeight = getWeight(matrix, greedyEdgeAlgorithm.getMinPath());
+            Assertions.assertTrue(weight <= greedyWeight + DELTA, "test " + test);
+            Assertions.assertTrue(weight <= linKernighanAlgorithm.firstLocalMinimum + DELTA, "test " + test);
+            Assertions.assertEquals(2, linKernighanAlgorithm.getStartsDone());
+            moves += linKernighanAlgorithm.getLinKernighanMoves();
+        }
+        Assertions.assertTrue(!symmetric || moves > 0);
+    }
+
+    /**
+     * Эвристика, запоминающая вес локального минимума первого (жадного) начального цикла
+     */
+    private static class CheckedLinKernighan extends LinKernighanAlgorithm {
+        private double firstLocalMinimum = Double.NaN;
+
+        CheckedLinKernighan(CostMatrix matrix, long seed) {
+            super(matrix, DEFAULT_CANDIDATES, seed);
+        }
+
+        @Override
+        protected void optimize(long deadline) {
+            super.optimize(deadline);
+            if (Double.isNaN(firstLocalMinimum)) {
+                firstLocalMinimum = getTourWeight();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package framework.algorithm;
+
+import framework.matrix.CostMatrix;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Локальный поиск: каждый ход 2-opt, Or-opt и 3-opt уменьшает вес цикла, блочные префиксные суммы дают тот же
+ * вес развернутого отрезка, что и прямой пересчет, найденный путь - перестановка вершин с весом
+ * {@link LocalSearchAlgorithm#getMinWeight()}
+ */
+public class LocalSearchAlgorithmTest {
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void symmetricTest() {
+        checkRandomInstances(true);
+    }
+
+    @Test
+    public void asymmetricTest() {
+        checkRandomInstances(false);
+    }
+
+    @Test
+    public void greedyStartTest() {
+        Random random = new Random(5);
+        for (boolean symmetric : new boolean[] {true, false}) {
+            CostMatrix matrix = getMatrix(random, 60, symmetric);
+            GreedyEdgeAlgorithm greedyEdgeAlgorithm = new GreedyEdgeAlgorithm(matrix);
+            greedyEdgeAlgorithm.findPath();
+            CheckedLocalSearch localSearch = new CheckedLocalSearch(matrix, random);
+            localSearch.findPath(0);
+            assertValidPath(matrix, localSearch.getMinPath(), localSearch.getMinWeight());
+            double greedyWeight = getWeight(matrix, greedyEdgeAlgorithm.getMinPath());
+            Assertions.assertTrue(localSearch.getMinWeight() <= greedyWeight + DELTA);
+        }
+    }
+
+    @Test
+    public void timeLimitTest() {
+        Random random = new Random(3);
+        int size = 1500;
+        CostMatrix matrix = getMatrix(random, size, false);
+        List<Integer> startPath = getShuffledPath(random, size);
+        LocalSearchAlgorithm localSearch = new LocalSearchAlgorithm(matrix);
+        long timeLimit = 20;
+        long startTime = System.nanoTime();
+        localSearch.findPath(startPath, timeLimit);
+        long elapsed = (System.nanoTime() - startTime) / 1_000_000L;
+        Assertions.assertTrue(elapsed < timeLimit + 1000, "elapsed " + elapsed + " ms");
+        assertValidPath(matrix, localSearch.getMinPath(), localSearch.getMinWeight());
+        Assertions.assertTrue(localSearch.getMinWeight() <= getWeight(matrix, startPath) + DELTA);
+    }
+
+    @Test
+    public void smallSizeTest() {
+        Random random = new Random(4);
+        for (int size = 1; size < 4; size++) {
+            CostMatrix matrix = getMatrix(random, size, false);
+            LocalSearchAlgorithm localSearch = new LocalSearchAlgorithm(matrix);
+            localSearch.findPath(getShuffledPath(random, size), 0);
+            assertValidPath(matrix, localSearch.getMinPath(), localSearch.getMinWeight());
+        }
+    }
+
+    private static void checkRandomInstances(boolean symmetric) {
+        Random random = new Random(symmetric ? 1 : 2);
+        long twoOptMoves = 0;
+        long orOptMoves = 0;
+        long threeOptMoves = 0;
+        for (int test = 0; test < 150; test++) {
+            int size = 4 + random.nextInt(test < 100 ? 12 : 150);
+            CostMatrix matrix = getMatrix(random, size, symmetric);
+            List<Integer> startPath = getShuffledPath(random, size);
+            CheckedLocalSearch localSearch = new CheckedLocalSearch(matrix, random);
+            localSearch.findPath(startPath, 0);
+            assertValidPath(matrix, localSearch.getMinPath(), localSearch.getMinWeight());
+            Assertions.assertTrue(localSearch.getMinWeight() <= getWeight(matrix, startPath) + DELTA, "test " + test);
+            twoOptMoves += localSearch.getTwoOptMoves();
+            orOptMoves += localSearch.getOrOptMoves();
+            threeOptMoves += localSearch.getThreeOptMoves();
+        }
+        Assertions.assertTrue(twoOptMoves > 0 && orOptMoves > 0 && threeOptMoves > 0);
+    }
+
+    /**
+     * Путь - цикл из вершины 0 через все вершины по одному разу, вес совпадает с переданным
+     */
+    static void assertValidPath(CostMatrix matrix, List<Integer> path, double weight) {
+        int size = matrix.getRows();
+        Assertions.assertEquals(size + 1, path.size());
+        Assertions.assertEquals(0, (int) path.get(0));
+        Assertions.assertEquals(0, (int) path.get(size));
+        boolean[] visited = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Assertions.assertFalse(visited[path.get(i)], "vertex " + path.get(i));
+            visited[path.get(i)] = true;
+        }
+        Assertions.assertEquals(getWeight(matrix, path), weight, DELTA);
+    }
+
+    static double getWeight(CostMatrix matrix, List<Integer> path) {
+        double weight = 0;
+        for (int i = 1; i < path.size(); i++) {
+            weight += matrix.get(path.get(i - 1), path.get(i));
+        }
+        return weight;
+    }
+
+    static List<Integer> getShuffledPath(Random random, int size) {
+        List<Integer> path = new ArrayList<>();
+        for (int vertex = 1; vertex < size; vertex++) {
+            path.add(vertex);
+        }
+        Collections.shuffle(path, random);
+        path.add(0, 0);
+        path.add(0);
+        return path;
+    }
+
+    static CostMatrix getMatrix(Random random, int size, boolean symmetric) {
+        CostMatrix matrix = CostMatrix.filled(size, size, INF);
+        for (int i = 0; i < size; i++) {
+            for (int j = symmetric ? i + 1 : 0; j < size; j++) {
+                if (i != j) {
+                    double value = random.nextBoolean() ? 1 + random.nextInt(100) : 1 + random.nextDouble() * 100;
+                    matrix.set(i, j, value);
+                    if (symmetric) {
+                        matrix.set(j, i, value);
+                    }
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Локальный поиск с проверкой после каждого хода: вес цикла уменьшился, вес разворота случайных отрезков
+     * по префиксным суммам совпадает с прямым пересчетом
+     */
+    private static class CheckedLocalSearch extends LocalSearchAlgorithm {
+        private final Random random;
+
+        private double lastWeight = Double.POSITIVE_INFINITY;
+
+        CheckedLocalSearch(CostMatrix matrix, Random random) {
+            super(matrix);
+            this.random = random;
+        }
+
+        @Override
+        protected void initTour() {
+            super.initTour();
+            lastWeight = getTourWeight();
+        }
+
+        @Override
+        protected void updatePrefixSums(int from, int to) {
+            super.updatePrefixSums(from, to);
+            if (Double.isInfinite(lastWeight)) {
+                return;
+            }
+            double weight = getTourWeight();
+            Assertions.assertTrue(weight < lastWeight, weight + " >= " + lastWeight);
+            lastWeight = weight;
+            for (int check = 0; check < 3 && size > 3; check++) {
+                int first = 1 + random.nextInt(size - 1);
+                int second = 1 + random.nextInt(size - 1);
+                if (first != second) {
+                    int low = Math.min(first, second);
+                    int high = Math.max(first, second);
+                    Assertions.assertEquals(getReversedWeight(low, high) - weight, getReversalDelta(low, high), DELTA);
+                }
+            }
+        }
+
+        /**
+         * Вес цикла с развернутым отрезком позиций [from, to], посчитанный заново
+         */
+        private double getReversedWeight(int from, int to) {
+            int[] reversed = tour.clone();
+            for (int left = from, right = to; left < right; left++, right--) {
+                int vertex = reversed[left];
+                reversed[left] = reversed[right];
+                reversed[right] = vertex;
+            }
+            double weight = 0;
+            for (int i = 0; i < size; i++) {
+                weight += weight(reversed[i], reversed[next(i)]);
+            }
+            return weight;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package framework.kp;
+
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Динамика по подмножествам вершин сравнивается с перебором цепочек вещей на задачах, сведенных
+ * из задачи коммивояжера
+ */
+public class KpFragileDynamicSolutionTest {
+    private static final double DELTA = 1e-9;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("kp_fragile_test") + File.separator);
+    }
+
+    @Test
+    public void tspToKpTest() {
+        for (int seed = 0; seed < 30; seed++) {
+            int size = 3 + seed % 6;
+            Tsp tsp = seed % 2 == 0
+                    ? Tsp.byRandomIntegerValues(seed, size, 1, 50, seed % 3 == 0 ? 60 : 100)
+                    : Tsp.byRandomDoubleValues(seed, size, 1, 50, 80);
+            Kp kp = tsp.toKp();
+
+            KpFragileExactSolution exactSolution = new KpFragileExactSolution(kp);
+            exactSolution.solve();
+            KpFragileDynamicSolution dynamicSolution = new KpFragileDynamicSolution(kp);
+            Assertions.assertTrue(dynamicSolution.isApplicable());
+            dynamicSolution.solve();
+
+            Assertions.assertEquals(exactSolution.maxCost, dynamicSolution.maxCost, DELTA, "seed " + seed);
+            Assertions.assertEquals(exactSolution.maxWeight, dynamicSolution.maxWeight, "seed " + seed);
+            double tspCost = tsp.solveAsync(PathSolveMethod.HELD_KARP, 0, null).join().cost();
+            if (dynamicSolution.result == null) {
+                Assertions.assertNull(exactSolution.result);
+                Assertions.assertTrue(tspCost >= INF);
+                continue;
+            }
+            Assertions.assertEquals(size, dynamicSolution.result.size());
+            double weight = 0;
+            int finish = 0;
+            for (KpThing thing : dynamicSolution.result) {
+                KpEdge edge = KpEdge.parse(thing.number());
+                Assertions.assertEquals(finish, edge.from(), "seed " + seed);
+                finish = edge.to();
+                weight += tsp.getPathMatrix().get(edge.from(), edge.to());
+            }
+            Assertions.assertEquals(0, finish);
+            Assertions.assertEquals(tspCost, weight, 1e-6, "seed " + seed);
+        }
+    }
+
+    @Test
+    public void notApplicableTest() {
+        Kp kp = Kp.byValues(10, new ArrayList<>(List.of(new KpThing("0", 1, 1, 1))));
+        Assertions.assertFalse(new KpFragileDynamicSolution(kp).isApplicable());
+    }
+}
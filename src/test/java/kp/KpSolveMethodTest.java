@@ -0,0 +1,126 @@
+package kp;
+
+import framework.kp.Kp;
+import framework.kp.KpSolveMethod;
+import framework.kp.KpThing;
+import framework.matrix.CostMatrix;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Способы решения задачи о рюкзаке сравниваются с полным перебором, сведение к задаче коммивояжера -
+ * с плотной матрицей сведения
+ */
+public class KpSolveMethodTest {
+    private static final double DELTA = 1e-9;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("kp_test") + File.separator);
+    }
+
+    @Test
+    public void dynamicTest() {
+        compareWithExhaustive(KpSolveMethod.DYNAMIC);
+    }
+
+    @Test
+    public void branchAndBoundTest() {
+        compareWithExhaustive(KpSolveMethod.BRANCH_AND_BOUND);
+    }
+
+    @Test
+    public void toTspGraphTest() {
+        Random random = new Random(1);
+        for (int test = 0; test < 30; test++) {
+            Kp kp = getKp(random, 2 + random.nextInt(30));
+            Tsp tsp = kp.toTSP();
+            CostMatrix dense = getDenseTspMatrix(kp);
+            CostMatrix sparse = tsp.getSparseGraph().toCostMatrix();
+            Assertions.assertArrayEquals(dense.toArray(), sparse.toArray(), "test " + test);
+        }
+    }
+
+    @Test
+    public void toTspSolveTest() {
+        Random random = new Random(2);
+        for (int test = 0; test < 20; test++) {
+            Kp kp = getKp(random, 2 + random.nextInt(6));
+            Tsp sparse = kp.toTSP();
+            Tsp dense = Tsp.byMatrix(getDenseTspMatrix(kp));
+            for (PathSolveMethod method : new PathSolveMethod[] {PathSolveMethod.HELD_KARP, PathSolveMethod.PARALLEL}) {
+                double expected = dense.solveAsync(method, 0, null).join().cost();
+                double actual = sparse.solveAsync(method, 0, null).join().cost();
+                if (expected >= INF) {
+                    Assertions.assertTrue(actual >= INF, method + " " + test);
+                }
+                else {
+                    Assertions.assertEquals(expected, actual, DELTA, method + " " + test);
+                }
+            }
+        }
+    }
+
+    private void compareWithExhaustive(KpSolveMethod method) {
+        for (int seed = 0; seed < 30; seed++) {
+            Kp kp = Kp.byRandomValues(seed, 5 + seed, 1 + seed % 7, 10, 1, 30, 1, 3, 1);
+            double expected = kp.solveAsync(KpSolveMethod.EXHAUSTIVE, 0, null).join().cost();
+            double actual = kp.solveAsync(method, 0, null).join().cost();
+            Assertions.assertEquals(expected, actual, DELTA, method + " " + seed);
+        }
+    }
+
+    private static Kp getKp(Random random, int maxWeight) {
+        List<KpThing> things = new ArrayList<>();
+        int count = 1 + random.nextInt(6);
+        for (int i = 0; i < count; i++) {
+            things.add(new KpThing(String.valueOf(i), 1 + random.nextInt(maxWeight), 1 + random.nextInt(20), 1));
+        }
+        return Kp.byValues(maxWeight, things);
+    }
+
+    /**
+     * Плотная матрица сведения размера 2W - 1: ребра вещей j -> j + вес, возврат по вершинам [W, 2W - 1) и к 0
+     * <p>
+     * Строится после сведения: сведение оставляет из вещей одного веса только вещь наибольшей ценности
+     */
+    private static CostMatrix getDenseTspMatrix(Kp kp) {
+        int maxWeight = kp.getMaxWeight();
+        int size = 2 * maxWeight - 1;
+        CostMatrix paths = CostMatrix.filled(size, size, INF);
+        for (int j = 0; j < maxWeight; j++) {
+            for (int i = 0; i < kp.getThings().size(); i++) {
+                int weight = kp.getWeightThing(i);
+                if (j + weight < maxWeight + 1) {
+                    paths.set(j, j + weight, (double) weight * weight / kp.getCostThing(i));
+                }
+            }
+        }
+        for (int j = maxWeight; j < size; j++) {
+            paths.set(j, size - j, 0.0);
+            if (j == size - 1) {
+                paths.set(j, 0, 0.0);
+            }
+            else {
+                paths.set(j, j + 1, 0.0);
+            }
+        }
+        for (int j = maxWeight - 1; j > 0; j--) {
+            paths.set(j, j == 1 ? 0 : 2 * maxWeight - j, 0.0);
+        }
+        return paths;
+    }
+}
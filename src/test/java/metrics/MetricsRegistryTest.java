@@ -0,0 +1,137 @@
+package metrics;
+
+import framework.metrics.Metrics;
+import framework.metrics.MetricsRegistry;
+import framework.metrics.SolveMetrics;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Счетчики решений: суммирование по решению и способу, выгрузка в JSON и Prometheus, учет памяти рабочих потоков
+ */
+public class MetricsRegistryTest {
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("metrics_test") + File.separator);
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setRecorder(null);
+    }
+
+    @Test
+    public void jsonTest() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.record(getMetrics("Solver \"A\"", "EXHAUSTIVE", new long[] {1, 2, 3}, 2));
+        registry.record(getMetrics("Solver \"A\"", "EXHAUSTIVE", new long[] {1, 0, 0, 4}, 10));
+        registry.record(getMetrics("Solver B", "DYNAMIC", new long[] {5}, 0));
+        String json = registry.toJson();
+        String first = "{\"solvers\":[{\"solver\":\"Solver \\\"A\\\"\",\"method\":\"EXHAUSTIVE\"";
+        Assertions.assertTrue(json.startsWith(first), json);
+        Assertions.assertTrue(json.contains("\"solves\":2,\"nodesExpanded\":11,\"nodesPruned\":12,"), json);
+        Assertions.assertTrue(json.contains("\"pruneRate\":0.521739,\"incumbentUpdates\":2,"), json);
+        Assertions.assertTrue(json.contains("\"depthHistogram\":[2,2,3,4]}"), json);
+        Assertions.assertTrue(json.contains("{\"solver\":\"Solver B\",\"method\":\"DYNAMIC\",\"solves\":1,"), json);
+        Assertions.assertTrue(json.endsWith("\"depthHistogram\":[5]}]}"), json);
+
+        registry.clear();
+        Assertions.assertEquals("{\"solvers\":[]}", registry.toJson());
+    }
+
+    @Test
+    public void prometheusTest() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.record(getMetrics("Solver", "PARALLEL", new long[] {1, 2, 3}, 4));
+        registry.record(getMetrics("Solver", "PARALLEL", new long[] {0, 1}, 1));
+        String text = registry.toPrometheus();
+        String labels = "{solver=\"Solver\",method=\"PARALLEL\"}";
+        Assertions.assertTrue(text.contains("# TYPE solver_solves_total counter\n"), text);
+        Assertions.assertTrue(text.contains("solver_solves_total" + labels + " 2\n"), text);
+        Assertions.assertTrue(text.contains("solver_nodes_expanded_total" + labels + " 7\n"), text);
+        Assertions.assertTrue(text.contains("solver_nodes_pruned_total" + labels + " 5\n"), text);
+        Assertions.assertTrue(text.contains("solver_incumbent_updates_total" + labels + " 2\n"), text);
+        Assertions.assertTrue(text.contains("solver_first_solutions_total" + labels + " 2\n"), text);
+        Assertions.assertTrue(text.contains("# TYPE solver_node_depth histogram\n"), text);
+        String bucket = "solver_node_depth_bucket{solver=\"Solver\",method=\"PARALLEL\",le=";
+        Assertions.assertTrue(text.contains(bucket + "\"0\"} 1\n"), text);
+        Assertions.assertTrue(text.contains(bucket + "\"1\"} 4\n"), text);
+        Assertions.assertTrue(text.contains(bucket + "\"2\"} 7\n"), text);
+        Assertions.assertTrue(text.contains(bucket + "\"+Inf\"} 7\n"), text);
+        Assertions.assertTrue(text.contains("solver_node_depth_sum" + labels + " 9\n"), text);
+        Assertions.assertTrue(text.contains("solver_node_depth_count" + labels + " 7\n"), text);
+        for (String line : text.split("\n")) {
+            Assertions.assertTrue(line.startsWith("# ") || line.matches("[a-z_]+\\{[^}]*} [0-9.]+"), line);
+        }
+    }
+
+    @Test
+    public void workerAllocatedBytesTest() {
+        SolveMetrics metrics = new SolveMetrics("Solver", "PARALLEL", 1);
+        metrics.start();
+        metrics.addAllocatedBytes(1L << 30);
+        metrics.finish();
+        if (SolveMetrics.getThreadAllocatedBytes() < 0) {
+            Assertions.assertEquals(-1, metrics.getAllocatedBytes());
+        }
+        else {
+            Assertions.assertTrue(metrics.getAllocatedBytes() >= 1L << 30);
+        }
+    }
+
+    @Test
+    public void solveTest() {
+        List<SolveMetrics> recorded = new CopyOnWriteArrayList<>();
+        MetricsRegistry registry = new MetricsRegistry();
+        Metrics.setRecorder(metrics -> {
+            recorded.add(metrics);
+            registry.record(metrics);
+        });
+        Tsp tsp = Tsp.byRandomIntegerValues(1, 11, 1, 100, 100);
+        for (PathSolveMethod method : PathSolveMethod.values()) {
+            tsp.solveAsync(method, 0, null).join();
+        }
+        List<SolveMetrics> solves = recorded.stream()
+                .filter(metrics -> metrics.getSolver().equals("TspExactSolution"))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(PathSolveMethod.values().length, solves.size());
+        for (SolveMetrics metrics : solves) {
+            Assertions.assertTrue(metrics.getNodesExpanded() > 0, metrics.getMethod());
+            Assertions.assertTrue(metrics.getTime() > 0, metrics.getMethod());
+            Assertions.assertTrue(metrics.getIncumbentUpdates() > 0, metrics.getMethod());
+            if (SolveMetrics.getThreadAllocatedBytes() >= 0) {
+                Assertions.assertTrue(metrics.getAllocatedBytes() > 0, metrics.getMethod());
+            }
+        }
+        for (PathSolveMethod method : PathSolveMethod.values()) {
+            Assertions.assertTrue(registry.toJson().contains("\"method\":\"" + method.name() + "\""), method.name());
+        }
+    }
+
+    /**
+     * Счетчики законченного решения с заданным распределением раскрытых узлов по глубине
+     */
+    private static SolveMetrics getMetrics(String solver, String method, long[] depths, long pruned) {
+        SolveMetrics metrics = new SolveMetrics(solver, method, depths.length - 1);
+        metrics.start();
+        for (int depth = 0; depth < depths.length; depth++) {
+            metrics.expand(depth, depths[depth]);
+        }
+        metrics.prune(pruned);
+        metrics.incumbent();
+        metrics.finish();
+        return metrics;
+    }
+}
@@ -0,0 +1,121 @@
+package tsp;
+
+import framework.matrix.CostMatrix;
+import framework.matrix.SparseGraph;
+import framework.pathproblem.PathSolveMethod;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static framework.utils.IntegerDataUtils.INF;
+
+/**
+ * Точные способы решения задачи коммивояжера сравниваются с полным перебором на малых случайных задачах
+ */
+public class TspExactSolutionTest {
+    private static final double DELTA = 1e-9;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("tsp_test") + File.separator);
+    }
+
+    @Test
+    public void heldKarpTest() {
+        compareWithExhaustive(PathSolveMethod.HELD_KARP);
+    }
+
+    @Test
+    public void branchAndBoundTest() {
+        compareWithExhaustive(PathSolveMethod.BRANCH_AND_BOUND);
+    }
+
+    @Test
+    public void parallelTest() {
+        compareWithExhaustive(PathSolveMethod.PARALLEL);
+    }
+
+    @Test
+    public void sparseGraphTest() {
+        for (int seed = 0; seed < 20; seed++) {
+            int size = 3 + seed % 6;
+            int percent = seed % 2 == 0 ? 100 : 60;
+            boolean isInteger = seed % 3 != 0;
+            Tsp dense = isInteger
+                    ? Tsp.byRandomIntegerValues(seed, size, 1, 50, percent)
+                    : Tsp.byRandomDoubleValues(seed, size, 1, 50, percent);
+            Tsp sparse = Tsp.bySparseRandomValues(seed, size, 1, 50, percent, isInteger);
+            Assertions.assertTrue(sparse.isSparse());
+            Assertions.assertArrayEquals(
+                    dense.getPathMatrix().toArray(),
+                    sparse.getSparseGraph().toCostMatrix().toArray(),
+                    "seed " + seed
+            );
+            for (PathSolveMethod method : PathSolveMethod.values()) {
+                assertSameCost(solve(dense, PathSolveMethod.EXHAUSTIVE), solve(sparse, method), method + " " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void sparseGraphFromMatrixTest() {
+        CostMatrix matrix = Tsp.byRandomIntegerValues(3, 7, 1, 20, 50).getPathMatrix();
+        SparseGraph graph = SparseGraph.fromMatrix(matrix);
+        Assertions.assertArrayEquals(matrix.toArray(), graph.toCostMatrix().toArray());
+        for (int i = 0; i < graph.getSize(); i++) {
+            for (int j = 0; j < graph.getSize(); j++) {
+                Assertions.assertEquals(matrix.get(i, j), graph.get(i, j), 0);
+            }
+        }
+        Assertions.assertEquals(matrix.getSumNotInf(), graph.getSumNotInf(), DELTA);
+    }
+
+    @Test
+    public void sparseGraphFromRowsTest() {
+        SparseGraph graph = SparseGraph.fromRows(new int[][] {{1, 2}, {2}, {0}}, new double[][] {{1, 5}, {2}, {3}});
+        Assertions.assertEquals(4, graph.getEdgeCount());
+        Assertions.assertEquals(5, graph.get(0, 2), 0);
+        Assertions.assertEquals(INF, graph.get(1, 0), 0);
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> SparseGraph.fromRows(new int[][] {{2, 1}, {}, {}}, new double[][] {{1, 1}, {}, {}})
+        );
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> SparseGraph.fromRows(new int[][] {{0}}, new double[][] {{1}})
+        );
+    }
+
+    private void compareWithExhaustive(PathSolveMethod method) {
+        for (int seed = 0; seed < 30; seed++) {
+            int size = 3 + seed % 6;
+            int percent = seed % 3 == 0 ? 70 : 100;
+            Tsp tsp = seed % 2 == 0
+                    ? Tsp.byRandomIntegerValues(seed, size, 1, 50, percent)
+                    : Tsp.byRandomDoubleValues(seed, size, 1, 50, percent);
+            assertSameCost(solve(tsp, PathSolveMethod.EXHAUSTIVE), solve(tsp, method), method + " " + seed);
+        }
+    }
+
+    private static double solve(Tsp tsp, PathSolveMethod method) {
+        return tsp.solveAsync(method, 0, null).join().cost();
+    }
+
+    /**
+     * Стоимости равны или пути нет в обоих случаях (стоимость не меньше INF)
+     */
+    private static void assertSameCost(double expected, double actual, String message) {
+        if (expected >= INF) {
+            Assertions.assertTrue(actual >= INF, message + ": " + actual);
+        }
+        else {
+            Assertions.assertEquals(expected, actual, DELTA, message);
+        }
+    }
+}
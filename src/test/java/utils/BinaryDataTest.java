@@ -0,0 +1,108 @@
+package utils;
+
+import framework.kp.Kp;
+import framework.matrix.CostMatrix;
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.BinaryContent;
+import framework.utils.BinaryDataReader;
+import framework.utils.BinaryDataWriter;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Бинарный формат: запись и чтение задач и значений без потери точности, ошибки формата - {@link IOException}
+ */
+public class BinaryDataTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("binary_test");
+        WriteDataUtils.setPath(directory + File.separator);
+    }
+
+    @Test
+    public void valuesTest() throws IOException {
+        String file = directory.resolve("values.bin").toString();
+        CostMatrix matrix = Tsp.byRandomDoubleValues(1, 9, 1, 100, 80).getPathMatrix();
+        try (BinaryDataWriter writer = new BinaryDataWriter(file, BinaryContent.SOLUTION)) {
+            writer.putInt(-7).putLong(Long.MIN_VALUE).putDouble(Math.PI).putString("вещь_1")
+                    .putIntArray(new int[] {3, 1, 2}).putMatrix(matrix);
+        }
+        try (BinaryDataReader reader = new BinaryDataReader(file, BinaryContent.SOLUTION)) {
+            Assertions.assertEquals(-7, reader.getInt());
+            Assertions.assertEquals(Long.MIN_VALUE, reader.getLong());
+            Assertions.assertEquals(Math.PI, reader.getDouble(), 0);
+            Assertions.assertEquals("вещь_1", reader.getString());
+            Assertions.assertArrayEquals(new int[] {3, 1, 2}, reader.getIntArray());
+            Assertions.assertArrayEquals(matrix.toArray(), reader.getMatrix().toArray());
+        }
+    }
+
+    @Test
+    public void tspTest() {
+        Tsp tsp = Tsp.byRandomDoubleValues(2, 15, 1, 100, 70);
+        String file = directory.resolve("tsp.bin").toString();
+        tsp.writeBinaryFile(file);
+        Assertions.assertArrayEquals(tsp.getPathMatrix().toArray(), Tsp.byBinaryFile(file).getPathMatrix().toArray());
+    }
+
+    @Test
+    public void capTest() {
+        Cap cap = Cap.byRandomDoubleValues(3, 6, 1, 50, 1, 50);
+        String file = directory.resolve("cap.bin").toString();
+        cap.writeBinaryFile(file);
+        Cap read = Cap.byBinaryFile(file);
+        Assertions.assertArrayEquals(cap.getCostMatrix().toArray(), read.getCostMatrix().toArray());
+        Assertions.assertArrayEquals(cap.getSalaryMatrix().toArray(), read.getSalaryMatrix().toArray());
+    }
+
+    @Test
+    public void kpTest() {
+        Kp kp = Kp.byRandomValues(4, 50, 10, 20, 1, 30, 1, 3, 1);
+        String file = directory.resolve("kp.bin").toString();
+        kp.writeBinaryFile(file);
+        Kp read = Kp.byBinaryFile(file);
+        Assertions.assertEquals(kp.getMaxWeight(), read.getMaxWeight());
+        Assertions.assertEquals(kp.getThings(), read.getThings());
+        Assertions.assertNull(read.getFragile());
+    }
+
+    @Test
+    public void fragileKpTest() {
+        Kp kp = Tsp.byRandomDoubleValues(5, 6, 1, 50, 100).toKp();
+        String file = directory.resolve("kp_fragile.bin").toString();
+        kp.writeBinaryFile(file);
+        Kp read = Kp.byBinaryFile(file);
+        Assertions.assertEquals(kp.getThings(), read.getThings());
+        Assertions.assertEquals(kp.getFragile(), read.getFragile());
+    }
+
+    @Test
+    public void wrongContentTest() {
+        String file = directory.resolve("tsp_content.bin").toString();
+        WriteDataUtils.writeBinaryMatrices(file, BinaryContent.TSP, CostMatrix.filled(2, 2, 1));
+        Assertions.assertThrows(IOException.class, () -> new BinaryDataReader(file, BinaryContent.CAP).close());
+    }
+
+    @Test
+    public void truncatedFileTest() throws IOException {
+        Path file = directory.resolve("tsp_truncated.bin");
+        WriteDataUtils.writeBinaryMatrices(file.toString(), BinaryContent.TSP, CostMatrix.filled(4, 4, 1));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        try (BinaryDataReader reader = new BinaryDataReader(file.toString(), BinaryContent.TSP)) {
+            Assertions.assertThrows(EOFException.class, reader::getMatrix);
+        }
+    }
+}
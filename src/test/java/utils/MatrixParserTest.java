@@ -0,0 +1,107 @@
+package utils;
+
+import framework.matrix.CostMatrix;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.ReadDataUtils;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static framework.utils.IntegerDataUtils.INF;
+import static framework.utils.WriteDataUtils.INF_STRING;
+
+/**
+ * Потоковый разбор текстовых матриц: значения совпадают с {@link Double#parseDouble} бит в бит
+ */
+public class MatrixParserTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("parser_test");
+        WriteDataUtils.setPath(directory + File.separator);
+    }
+
+    @Test
+    public void randomValuesTest() throws IOException {
+        Random random = new Random(1);
+        String[][][] tokens = new String[3][][];
+        StringBuilder text = new StringBuilder();
+        for (int m = 0; m < tokens.length; m++) {
+            int size = 1 + random.nextInt(20);
+            tokens[m] = new String[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    tokens[m][i][j] = getToken(random);
+                    text.append(j == 0 ? "" : " ").append(tokens[m][i][j]);
+                }
+                text.append('\n');
+            }
+            text.append('\n');
+        }
+        List<CostMatrix> matrices = parse(text.toString());
+
+        Assertions.assertEquals(tokens.length, matrices.size());
+        for (int m = 0; m < tokens.length; m++) {
+            CostMatrix matrix = matrices.get(m);
+            Assertions.assertEquals(tokens[m].length, matrix.getRows());
+            Assertions.assertEquals(tokens[m].length, matrix.getColumns());
+            for (int i = 0; i < matrix.getRows(); i++) {
+                for (int j = 0; j < matrix.getColumns(); j++) {
+                    String token = tokens[m][i][j];
+                    double expected = token.equals(INF_STRING) ? INF : Double.parseDouble(token);
+                    Assertions.assertEquals(
+                            Double.doubleToLongBits(expected),
+                            Double.doubleToLongBits(matrix.get(i, j)),
+                            token
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void tspFileTest() throws IOException {
+        Tsp tsp = Tsp.byRandomDoubleValues(5, 12, 1, 1000, 70);
+        CostMatrix paths = tsp.getPathMatrix();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < paths.getRows(); i++) {
+            for (int j = 0; j < paths.getColumns(); j++) {
+                text.append(j == 0 ? "" : " ").append(paths.get(i, j) == INF ? INF_STRING : paths.get(i, j));
+            }
+            text.append('\n');
+        }
+        Path file = directory.resolve("tsp_text.txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+
+        Assertions.assertArrayEquals(paths.toArray(), Tsp.byFileValues(file.toString()).getPathMatrix().toArray());
+    }
+
+    private static List<CostMatrix> parse(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return ReadDataUtils.readMatrices(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    private static String getToken(Random random) {
+        return switch (random.nextInt(7)) {
+            case 0 -> INF_STRING;
+            case 1 -> String.valueOf(random.nextInt(1000000));
+            case 2 -> String.valueOf(-random.nextInt(1000));
+            case 3 -> String.valueOf(random.nextDouble() * 1000);
+            case 4 -> String.format("%.3f", random.nextDouble() * 100).replace(',', '.');
+            case 5 -> String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+            default -> random.nextLong() + "." + Math.abs(random.nextLong());
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package utils;
+
+import framework.kp.Kp;
+import framework.kp.KpCorrelation;
+import framework.pathproblem.cap.Cap;
+import framework.pathproblem.tsp.Tsp;
+import framework.utils.WriteDataUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Генерация по зерну: одно и то же зерно дает одинаковые данные, в том числе при генерации в нескольких потоках
+ * и при параллельном заполнении строк матрицы (не меньше 128 строк)
+ */
+public class RandomValueUtilsTest {
+    private static final int COPIES = 4;
+
+    @Before
+    public void setUp() throws IOException {
+        WriteDataUtils.setPath(Files.createTempDirectory("random_test") + File.separator);
+    }
+
+    @Test
+    public void tspTest() {
+        for (int size : new int[] {10, 200}) {
+            assertSameMatrices(seed -> Tsp.byRandomIntegerValues(seed, size, 1, 100, 70).getPathMatrix().toArray());
+            assertSameMatrices(seed -> Tsp.byRandomDoubleValues(seed, size, 1, 100, 100).getPathMatrix().toArray());
+            assertSameMatrices(seed -> Tsp.byEuclideanValues(seed, size, 1000).getPathMatrix().toArray());
+            assertSameMatrices(seed -> Tsp.byClusteredValues(seed, size, 5, 1000, 20).getPathMatrix().toArray());
+        }
+    }
+
+    @Test
+    public void sparseTspTest() {
+        for (int size : new int[] {10, 200}) {
+            IntFunction<double[]> sparse = seed -> Tsp.bySparseRandomValues(seed, size, 1, 100, 30, true)
+                    .getSparseGraph()
+                    .toCostMatrix()
+                    .toArray();
+            assertSameMatrices(sparse);
+            Assertions.assertArrayEquals(
+                    Tsp.byRandomIntegerValues(3, size, 1, 100, 30).getPathMatrix().toArray(),
+                    sparse.apply(3)
+            );
+        }
+    }
+
+    @Test
+    public void capTest() {
+        for (int size : new int[] {5, 150}) {
+            assertSameMatrices(seed -> Cap.byRandomIntegerValues(seed, size, 1, 50, 1, 50).getCostMatrix().toArray());
+            assertSameMatrices(seed -> Cap.byRandomDoubleValues(seed, size, 1, 50, 1, 50).getSalaryMatrix().toArray());
+        }
+    }
+
+    @Test
+    public void kpTest() {
+        assertSameThings(seed -> Kp.byRandomValues(seed, 100, 50, 30, 1, 40, 1, 3, 1));
+        for (KpCorrelation correlation : KpCorrelation.values()) {
+            assertSameThings(seed -> Kp.byCorrelatedValues(seed, 100, 50, 30, 1, 3, 1, correlation));
+        }
+    }
+
+    @Test
+    public void differentSeedTest() {
+        Assertions.assertFalse(Arrays.equals(
+                Tsp.byRandomDoubleValues(1, 20, 1, 100, 100).getPathMatrix().toArray(),
+                Tsp.byRandomDoubleValues(2, 20, 1, 100, 100).getPathMatrix().toArray()
+        ));
+    }
+
+    /**
+     * Матрицы, сгенерированные по одному зерну последовательно и одновременно в нескольких потоках, совпадают
+     */
+    private static void assertSameMatrices(IntFunction<double[]> generator) {
+        for (int seed = 1; seed <= 3; seed++) {
+            double[] expected = generator.apply(seed);
+            int currentSeed = seed;
+            List<double[]> copies = IntStream.range(0, COPIES).parallel()
+                    .mapToObj(copy -> generator.apply(currentSeed))
+                    .collect(Collectors.toList());
+            for (double[] copy : copies) {
+                Assertions.assertArrayEquals(expected, copy, "seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Вещи задач о рюкзаке, сгенерированных по одному зерну последовательно и одновременно, совпадают
+     */
+    private static void assertSameThings(IntFunction<Kp> generator) {
+        for (int seed = 1; seed <= 3; seed++) {
+            Kp expected = generator.apply(seed);
+            int currentSeed = seed;
+            List<Kp> copies = IntStream.range(0, COPIES).parallel()
+                    .mapToObj(copy -> generator.apply(currentSeed))
+                    .collect(Collectors.toList());
+            for (Kp copy : copies) {
+                Assertions.assertEquals(expected.getMaxWeight(), copy.getMaxWeight());
+                Assertions.assertEquals(expected.getThings(), copy.getThings(), "seed " + seed);
+            }
+        }
+    }
+}
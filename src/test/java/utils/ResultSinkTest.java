@@ -0,0 +1,165 @@
+package utils;
+
+import framework.exception.WriteException;
+import framework.utils.AsyncResultSink;
+import framework.utils.BufferedResultSink;
+import framework.utils.ResultSink;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Буферизованная и асинхронная запись результатов: порядок сообщений, сброс при закрытии,
+ * запись после закрытия и ошибки ввода-вывода
+ */
+public class ResultSinkTest {
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("sink_test");
+    }
+
+    @Test
+    public void bufferedOrderTest() throws IOException {
+        orderTest(new BufferedResultSink());
+    }
+
+    @Test
+    public void bufferedEvictionOrderTest() throws IOException {
+        orderTest(new BufferedResultSink(false, 1));
+    }
+
+    @Test
+    public void asyncOrderTest() throws IOException {
+        orderTest(new AsyncResultSink(1));
+    }
+
+    @Test
+    public void asyncThreadsOrderTest() throws Exception {
+        String path = directory.resolve("threads.txt").toString();
+        int threads = 4;
+        int count = 500;
+        List<Thread> writers = new ArrayList<>();
+        try (ResultSink sink = new AsyncResultSink(8)) {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers.add(new Thread(() -> {
+                    for (int i = 0; i < count; i++) {
+                        sink.write(path, thread + " ", String.valueOf(i), "\n");
+                    }
+                }));
+            }
+            for (Thread writer : writers) {
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+        int[] next = new int[threads];
+        for (String line : Files.readAllLines(Path.of(path))) {
+            String[] parts = line.split(" ");
+            int thread = Integer.parseInt(parts[0]);
+            Assertions.assertEquals(next[thread]++, Integer.parseInt(parts[1]), line);
+        }
+        for (int t = 0; t < threads; t++) {
+            Assertions.assertEquals(count, next[t], "thread " + t);
+        }
+    }
+
+    @Test
+    public void bufferedFlushOnCloseTest() throws IOException {
+        String path = directory.resolve("buffered.txt").toString();
+        ResultSink sink = new BufferedResultSink();
+        sink.write(path, "first\n");
+        Assertions.assertEquals("", read(path));
+        sink.flush();
+        Assertions.assertEquals("first\n", read(path));
+        sink.write(path, "second\n");
+        sink.close();
+        Assertions.assertEquals("first\nsecond\n", read(path));
+    }
+
+    @Test
+    public void asyncFlushOnCloseTest() throws IOException {
+        String path = directory.resolve("async.txt").toString();
+        ResultSink sink = new AsyncResultSink();
+        sink.write(path, "first\n");
+        sink.flush();
+        Assertions.assertEquals("first\n", read(path));
+        sink.write(path, "second\n");
+        sink.close();
+        Assertions.assertEquals("first\nsecond\n", read(path));
+    }
+
+    @Test
+    public void writeAfterCloseTest() {
+        String path = directory.resolve("closed.txt").toString();
+        for (ResultSink sink : new ResultSink[] {new BufferedResultSink(), new AsyncResultSink()}) {
+            sink.write(path, "text\n");
+            sink.close();
+            sink.close();
+            Assertions.assertThrows(WriteException.class, () -> sink.write(path, "late\n"));
+        }
+        Assertions.assertThrows(WriteException.class, () -> {
+            ResultSink sink = new AsyncResultSink();
+            sink.close();
+            sink.flush();
+        });
+    }
+
+    @Test
+    public void bufferedWriteErrorTest() {
+        String path = directory.toString();
+        try (ResultSink sink = new BufferedResultSink()) {
+            Assertions.assertThrows(WriteException.class, () -> sink.write(path, "text\n"));
+        }
+    }
+
+    @Test
+    public void asyncWriteErrorTest() throws IOException {
+        String path = directory.toString();
+        String correctPath = directory.resolve("correct.txt").toString();
+        ResultSink sink = new AsyncResultSink();
+        sink.write(correctPath, "text\n");
+        sink.write(path, "text\n");
+        Assertions.assertThrows(WriteException.class, sink::flush);
+        Assertions.assertThrows(WriteException.class, () -> sink.write(correctPath, "late\n"));
+        Assertions.assertThrows(WriteException.class, sink::close);
+        Assertions.assertEquals("text\n", read(correctPath));
+    }
+
+    /**
+     * Сообщения в нескольких файлах вперемешку, в каждом файле - в порядке записи
+     */
+    private void orderTest(ResultSink sink) throws IOException {
+        String[] paths = new String[3];
+        StringBuilder[] expected = new StringBuilder[paths.length];
+        for (int k = 0; k < paths.length; k++) {
+            paths[k] = directory.resolve("order_" + k + ".txt").toString();
+            expected[k] = new StringBuilder();
+        }
+        try (sink) {
+            for (int i = 0; i < 300; i++) {
+                int k = i * 7 % paths.length;
+                sink.write(paths[k], "line ", String.valueOf(i), "\n");
+                expected[k].append("line ").append(i).append('\n');
+            }
+        }
+        for (int k = 0; k < paths.length; k++) {
+            Assertions.assertEquals(expected[k].toString(), read(paths[k]));
+        }
+    }
+
+    private static String read(String path) throws IOException {
+        return Files.readString(Path.of(path), StandardCharsets.UTF_8);
+    }
+}